@@ -0,0 +1,121 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.Product;
+
+/**
+ * Compares replacing 5k products in one transaction with the former separate delete and
+ * insert calls, on a database file so every commit is written to storage like in the app.
+ * Run with ./gradlew :grocy:connectedDebugAndroidTest on a device, the times are logged.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ProductReplaceBenchmarkTest {
+
+  private final static String TAG = ProductReplaceBenchmarkTest.class.getSimpleName();
+  private final static String DATABASE_NAME = "benchmark_database";
+
+  private final static int PRODUCT_COUNT = 5000;
+  private final static int WARMUP_RUNS = 2;
+  private final static int MEASURED_RUNS = 5;
+
+  private Context context;
+  private AppDatabase appDatabase;
+
+  @Before
+  public void createDatabase() {
+    context = ApplicationProvider.getApplicationContext();
+    context.deleteDatabase(DATABASE_NAME);
+    appDatabase = Room.databaseBuilder(context, AppDatabase.class, DATABASE_NAME).build();
+  }
+
+  @After
+  public void deleteDatabase() {
+    appDatabase.close();
+    context.deleteDatabase(DATABASE_NAME);
+  }
+
+  @Test
+  public void replaceProducts() {
+    ProductDao productDao = appDatabase.productDao();
+    List<Product> products = createProducts();
+
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      replaceSeparately(productDao, products);
+      productDao.replaceProducts(products);
+    }
+    long separateNanos = 0;
+    long transactionNanos = 0;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      replaceSeparately(productDao, products);
+      separateNanos += System.nanoTime() - start;
+      assertEquals(PRODUCT_COUNT, productDao.getProducts().blockingGet().size());
+
+      start = System.nanoTime();
+      productDao.replaceProducts(products);
+      transactionNanos += System.nanoTime() - start;
+      assertEquals(PRODUCT_COUNT, productDao.getProducts().blockingGet().size());
+    }
+    Log.i(TAG, String.format(
+        Locale.ENGLISH,
+        "%d products: transaction %.2f ms, separate delete and insert %.2f ms",
+        PRODUCT_COUNT,
+        transactionNanos / 1e6 / MEASURED_RUNS,
+        separateNanos / 1e6 / MEASURED_RUNS
+    ));
+  }
+
+  // the former update methods, readers could see the empty table in between
+  private static void replaceSeparately(ProductDao productDao, List<Product> products) {
+    productDao.deleteProducts().blockingGet();
+    productDao.insertProducts(products).blockingGet();
+  }
+
+  private static List<Product> createProducts() {
+    List<Product> products = new ArrayList<>(PRODUCT_COUNT);
+    for (int id = 1; id <= PRODUCT_COUNT; id++) {
+      Product product = new Product();
+      product.setId(id);
+      product.setName("Product " + id);
+      product.setQuIdStock(1 + id % 20);
+      product.setQuIdPurchase(1 + id % 20);
+      product.setQuFactorPurchaseToStock("1");
+      products.add(product);
+    }
+    return products;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+
+/**
+ * Checks with EXPLAIN QUERY PLAN that the lookups by barcode, product and due date use the
+ * indexes of the schema instead of scanning the tables. The statements are the ones of the
+ * DAO methods named in the tests. Run with ./gradlew :grocy:connectedDebugAndroidTest.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+  private AppDatabase appDatabase;
+
+  @Before
+  public void createDatabase() {
+    Context context = ApplicationProvider.getApplicationContext();
+    appDatabase = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+  }
+
+  @After
+  public void closeDatabase() {
+    appDatabase.close();
+  }
+
+  // ProductBarcodeDao.getBarcode()
+  @Test
+  public void getBarcode_usesIndex() {
+    assertUsesIndex(
+        "index_product_barcode_table_barcode",
+        "SELECT * FROM product_barcode_table WHERE barcode = ? LIMIT 1",
+        "4006381333931"
+    );
+  }
+
+  // StockEntryDao.getEntriesForProduct()
+  @Test
+  public void getEntriesForProduct_usesIndex() {
+    assertUsesIndex(
+        "index_stock_entry_table_product_id",
+        "SELECT * FROM stock_entry_table WHERE product_id = ?",
+        1
+    );
+  }
+
+  // QuantityUnitConversionResolvedDao.getConversionsForProduct()
+  @Test
+  public void getConversionsForProduct_usesIndex() {
+    assertUsesIndex(
+        "index_quantity_unit_conversion_resolved_table_product_id",
+        "SELECT * FROM quantity_unit_conversion_resolved_table "
+            + "WHERE product_id = ? OR product_id IS NULL",
+        1
+    );
+  }
+
+  // due stock entries are compared by epoch day
+  @Test
+  public void stockEntriesDueUntil_usesIndex() {
+    assertUsesIndex(
+        "index_stock_entry_table_best_before_date_epoch_day",
+        "SELECT * FROM stock_entry_table WHERE best_before_date_epoch_day <= ?",
+        20000
+    );
+  }
+
+  private void assertUsesIndex(String indexName, String sql, Object... args) {
+    List<String> details = new ArrayList<>();
+    try (Cursor cursor = appDatabase.getOpenHelper().getReadableDatabase()
+        .query("EXPLAIN QUERY PLAN " + sql, args)) {
+      int detailIndex = cursor.getColumnIndexOrThrow("detail");
+      while (cursor.moveToNext()) {
+        details.add(cursor.getString(detailIndex));
+      }
+    }
+    boolean usesIndex = false;
+    for (String detail : details) {
+      if (detail.contains("USING INDEX " + indexName)
+          || detail.contains("USING COVERING INDEX " + indexName)) {
+        usesIndex = true;
+        break;
+      }
+    }
+    assertTrue(sql + " doesn't use " + indexName + ": " + details, usesIndex);
+  }
+}
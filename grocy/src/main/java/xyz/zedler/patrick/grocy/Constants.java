@@ -117,6 +117,23 @@ public final class Constants {
     public final static String DB_LAST_TIME_USERFIELDS = "db_last_time_userfields";
     public final static String DB_LAST_TIME_MEAL_PLAN_ENTRIES = "db_last_time_meal_plan_entries";
     public final static String DB_LAST_TIME_MEAL_PLAN_SECTIONS = "db_last_time_meal_plan_sections";
+    // watermarks for incremental (delta) sync, highest synced id and time of last full download
+    public final static String DB_DELTA_MAX_ID_PRODUCTS = "db_delta_max_id_products";
+    public final static String DB_DELTA_MAX_ID_PRODUCT_BARCODES = "db_delta_max_id_product_barcodes";
+    public final static String DB_LAST_FULL_SYNC_PRODUCTS = "db_last_full_sync_products";
+    public final static String DB_LAST_FULL_SYNC_PRODUCT_BARCODES = "db_last_full_sync_product_barcodes";
+    // day range (yyyy-MM-dd) of the meal plan entries in the local table
+    public final static String DB_MEAL_PLAN_WINDOW_START = "db_meal_plan_window_start";
+    public final static String DB_MEAL_PLAN_WINDOW_END = "db_meal_plan_window_end";
+    // local time in millis when the table was last brought in sync with the server
+    public final static String DB_LAST_SYNC_STOCK_ITEMS = "db_last_sync_stock_items";
+    public final static String DB_LAST_SYNC_CHORE_ENTRIES = "db_last_sync_chore_entries";
+    // journal filter of the last refresh of the stock_log_table, see StockLogRemoteMediator
+    public final static String DB_STOCK_LOG_FILTER_PRODUCT_ID = "db_stock_log_filter_product_id";
+    public final static String DB_STOCK_LOG_FILTER_TRANSACTION_TYPE
+        = "db_stock_log_filter_transaction_type";
+    // prefix of ETag and Last-Modified values per URL, see ValidatorStore
+    public final static String HTTP_VALIDATOR_PREFIX = "http_validator_";
     // when adding new constant for DB, also add it to clearCachingRelatedSharedPreferences()
     // in PrefsUtil
 
@@ -162,6 +179,10 @@ public final class Constants {
       public final static String PROXY = "proxy";
       public final static String PROXY_HOST = "proxy_host";
       public final static String PROXY_PORT = "proxy_port";
+      public final static String DELTA_SYNC = "delta_sync";
+      public final static String POOLED_CONNECTIONS = "pooled_connections";
+      public final static String CACHE_SIZE = "cache_size";
+      public final static String MEAL_PLAN_SYNC_WEEKS = "meal_plan_sync_weeks";
     }
 
     public final static class BEHAVIOR {
@@ -246,6 +267,9 @@ public final class Constants {
       public final static String CHORES_TIME = "notification_chores_time";
       public final static String CHORES_CHANNEL = "xyz.zedler.patrick.grocy.chores";
       public final static int CHORES_ID = 2;
+
+      public final static String OUTBOX_CHANNEL = "xyz.zedler.patrick.grocy.outbox";
+      public final static int OUTBOX_ID = 3;
     }
   }
 
@@ -266,6 +290,10 @@ public final class Constants {
       public final static boolean PROXY = false;
       public final static String PROXY_HOST = "127.0.0.1";
       public final static int PROXY_PORT = 8118;
+      public final static boolean DELTA_SYNC = false;
+      public final static boolean POOLED_CONNECTIONS = false;
+      public final static int CACHE_SIZE = 10; // MB
+      public final static int MEAL_PLAN_SYNC_WEEKS = 4; // before and after the current week
     }
 
     public final static class BEHAVIOR {
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.adapter;
+
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Locale;
+import xyz.zedler.patrick.grocy.util.PrefsUtil;
+
+/**
+ * Adapter which calculates the DiffResult of updateData() on a background thread.
+ * <p>
+ * All diffs run one after another on the single scheduler, so the adapter data read by the
+ * DiffCallback can only change on the main thread after the latest diff was calculated.
+ * Diffs of updates which were superseded by a newer one are dropped, only the latest one is
+ * applied. With debugging enabled, the time spent on both threads and the duration of the
+ * following frame are logged.
+ */
+public abstract class AsyncDiffAdapter<VH extends RecyclerView.ViewHolder>
+    extends RecyclerView.Adapter<VH> {
+
+  private final static String TAG = AsyncDiffAdapter.class.getSimpleName();
+
+  private volatile int generation = 0;
+  private Disposable diffDisposable;
+  private boolean debug = false;
+
+  /**
+   * @param callback        DiffCallback which must not reference data changed before
+   *                        onCalculated is called
+   * @param onCalculated    called on the main thread right before the updates are dispatched,
+   *                        sets the new adapter data
+   */
+  protected void calculateDiffAsync(
+      DiffUtil.Callback callback,
+      Runnable onCalculated
+  ) {
+    calculateDiffAsync(null, callback, onCalculated);
+  }
+
+  /**
+   * @param backgroundWork  called on the background thread before the diff, e.g. to group
+   *                        the new items for the callback
+   */
+  protected void calculateDiffAsync(
+      @Nullable Runnable backgroundWork,
+      DiffUtil.Callback callback,
+      Runnable onCalculated
+  ) {
+    int generation = ++this.generation;
+    long requestTime = SystemClock.elapsedRealtime();
+    long[] calculationTime = new long[1];
+    // an empty Maybe is returned if a newer update was requested in the meantime
+    diffDisposable = Maybe.fromCallable(() -> {
+          if (generation != this.generation) {
+            return null;
+          }
+          long startTime = SystemClock.elapsedRealtime();
+          if (backgroundWork != null) {
+            backgroundWork.run();
+          }
+          DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(callback);
+          calculationTime[0] = SystemClock.elapsedRealtime() - startTime;
+          return diffResult;
+        })
+        .subscribeOn(Schedulers.single())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(diffResult -> {
+          if (generation != this.generation) {
+            return;
+          }
+          long startTime = SystemClock.elapsedRealtime();
+          onCalculated.run();
+          dispatchUpdates(diffResult);
+          if (debug) {
+            logMetrics(
+                callback,
+                SystemClock.elapsedRealtime() - requestTime,
+                calculationTime[0],
+                SystemClock.elapsedRealtime() - startTime
+            );
+          }
+        }, throwable -> Log.e(TAG, "calculateDiffAsync: " + throwable));
+  }
+
+  // can be overridden to dispatch the updates to another ListUpdateCallback
+  protected void dispatchUpdates(DiffUtil.DiffResult diffResult) {
+    diffResult.dispatchUpdatesTo(this);
+  }
+
+  // frame after dispatching includes the layout of changed items
+  private void logMetrics(
+      DiffUtil.Callback callback,
+      long totalTime,
+      long calculationTime,
+      long dispatchTime
+  ) {
+    String adapterName = getClass().getSimpleName();
+    int oldSize = callback.getOldListSize();
+    int newSize = callback.getNewListSize();
+    Choreographer.getInstance().postFrameCallback(
+        frameStart -> Choreographer.getInstance().postFrameCallback(
+            frameEnd -> Log.i(TAG, String.format(
+                Locale.ENGLISH,
+                "%s: %d -> %d items, diff %dms (background), apply %dms (main), "
+                    + "total %dms, next frame %.1fms",
+                adapterName, oldSize, newSize, calculationTime, dispatchTime,
+                totalTime, (frameEnd - frameStart) / 1_000_000f
+            ))
+        )
+    );
+  }
+
+  @Override
+  public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onAttachedToRecyclerView(recyclerView);
+    debug = PrefsUtil.isDebuggingEnabled(recyclerView.getContext());
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    if (diffDisposable != null) {
+      diffDisposable.dispose();
+    }
+  }
+}
@@ -44,7 +44,7 @@ import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.ResUtil;
 
 public class ChoreEntryAdapter extends
-    RecyclerView.Adapter<ChoreEntryAdapter.ViewHolder> {
+    AsyncDiffAdapter<ChoreEntryAdapter.ViewHolder> {
 
   private final static String TAG = ChoreEntryAdapter.class.getSimpleName();
   private final static boolean DEBUG = false;
@@ -125,7 +125,9 @@ public class ChoreEntryAdapter extends
     Integer days = null;
     boolean colorDays = false;
     if (date != null && !date.isEmpty() && !date.equals(DATE.NEVER_OVERDUE_WITH_TIME)) {
-      days = DateUtil.getDaysFromNow(date);
+      days = DateUtil.getDaysFromNowForEpochSecond(
+          choreEntry.getNextEstimatedExecutionEpochSecond()
+      );
     }
 
     if (days != null) {
@@ -246,19 +248,24 @@ public class ChoreEntryAdapter extends
         sortAscending
     );
 
-    if (onListFilled != null && !newList.isEmpty() && choreEntries.isEmpty()) {
-      onListFilled.run();
-    }
+    calculateDiffAsync(diffCallback, () -> {
+      if (onListFilled != null && !newList.isEmpty() && choreEntries.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.choreEntries.clear();
-    this.choreEntries.addAll(newList);
-    this.choreHashMap.clear();
-    this.choreHashMap.putAll(choreHashMap);
-    this.usersHashMap.clear();
-    this.usersHashMap.putAll(usersHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
+      this.choreEntries.clear();
+      this.choreEntries.addAll(newList);
+      this.choreHashMap.clear();
+      this.choreHashMap.putAll(choreHashMap);
+      this.usersHashMap.clear();
+      this.usersHashMap.putAll(usersHashMap);
+      this.sortMode = sortMode;
+      this.sortAscending = sortAscending;
+    });
+  }
+
+  @Override
+  protected void dispatchUpdates(DiffUtil.DiffResult diffResult) {
     diffResult.dispatchUpdatesTo(new AdapterListUpdateCallback(this, linearLayoutManager));
   }
 
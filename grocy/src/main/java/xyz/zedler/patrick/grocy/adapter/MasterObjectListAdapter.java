@@ -39,7 +39,7 @@ import xyz.zedler.patrick.grocy.util.PictureUtil;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class MasterObjectListAdapter extends
-    RecyclerView.Adapter<MasterObjectListAdapter.ViewHolder> {
+    AsyncDiffAdapter<MasterObjectListAdapter.ViewHolder> {
 
   private final static String TAG = MasterObjectListAdapter.class.getSimpleName();
 
@@ -126,24 +126,24 @@ public class MasterObjectListAdapter extends
         entity
     );
 
-    containsPictures = false;
-    for (Object object : newObjects) {
-      if (!(object instanceof Product)) continue;
-      String pictureFileName = ((Product) object).getPictureFileName();
-      if (pictureFileName != null && !pictureFileName.isEmpty()) {
-        containsPictures = true;
-        break;
+    calculateDiffAsync(diffCallback, () -> {
+      containsPictures = false;
+      for (Object object : newObjects) {
+        if (!(object instanceof Product)) continue;
+        String pictureFileName = ((Product) object).getPictureFileName();
+        if (pictureFileName != null && !pictureFileName.isEmpty()) {
+          containsPictures = true;
+          break;
+        }
       }
-    }
 
-    if (onListFilled != null && !newObjects.isEmpty() && objects.isEmpty()) {
-      onListFilled.run();
-    }
+      if (onListFilled != null && !newObjects.isEmpty() && objects.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.objects.clear();
-    this.objects.addAll(newObjects);
-    diffResult.dispatchUpdatesTo(this);
+      this.objects.clear();
+      this.objects.addAll(newObjects);
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
@@ -29,29 +29,30 @@ import android.widget.Filter;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.ExtractedResult;
 import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.util.SearchIndex;
 
 public class MatchProductsArrayAdapter extends ArrayAdapter<Product> {
 
   final Context context;
   final int resource;
   final List<Product> items;
-  final HashMap<String, Product> tempItems;
+  final SearchIndex<Product> searchIndex;
 
   public MatchProductsArrayAdapter(Context context, int resource, List<Product> items) {
     super(context, resource, items);
     this.context = context;
     this.resource = resource;
     this.items = items;
-    tempItems = new HashMap<>(); // this makes the difference.
+    // indexed once, items of the adapter are replaced with the suggestions
+    ArrayList<Product> products = new ArrayList<>();
     for (Product product : items) {
       if (product.getName() == null) continue;
-      tempItems.put(product.getName().toLowerCase(), product);
+      products.add(product);
     }
+    searchIndex = new SearchIndex<>(Product::getName);
+    searchIndex.setItems(products);
   }
 
   @NonNull
@@ -94,16 +95,7 @@ public class MatchProductsArrayAdapter extends ArrayAdapter<Product> {
         return new FilterResults();
       }
 
-      ArrayList<Product> suggestions = new ArrayList<>(30);
-      List<ExtractedResult> results = FuzzySearch.extractTop(
-          constraint.toString().toLowerCase(),
-          tempItems.keySet(),
-          30,
-          50
-      );
-      for (ExtractedResult result : results) {
-        suggestions.add(tempItems.get(result.getString()));
-      }
+      List<Product> suggestions = searchIndex.search(constraint.toString(), 30, 50);
       FilterResults filterResults = new FilterResults();
       filterResults.values = suggestions;
       filterResults.count = suggestions.size();
@@ -113,7 +105,7 @@ public class MatchProductsArrayAdapter extends ArrayAdapter<Product> {
     @Override
     @SuppressWarnings("unchecked")
     protected void publishResults(CharSequence constraint, FilterResults results) {
-      List<Product> filterList = (ArrayList<Product>) results.values;
+      List<Product> filterList = (List<Product>) results.values;
       if (results.count > 0) {
         clear();
         for (Product product : filterList) {
@@ -68,7 +68,7 @@ import xyz.zedler.patrick.grocy.view.MaterialTimelineView;
 import xyz.zedler.patrick.grocy.viewmodel.MealPlanViewModel;
 
 public class MealPlanEntryAdapter extends
-    RecyclerView.Adapter<MealPlanEntryAdapter.ViewHolder> {
+    AsyncDiffAdapter<MealPlanEntryAdapter.ViewHolder> {
 
   private final static String TAG = MealPlanEntryAdapter.class.getSimpleName();
 
@@ -584,26 +584,26 @@ public class MealPlanEntryAdapter extends
         date
     );
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.recipeHashMap.clear();
-    this.recipeHashMap.putAll(recipeHashMap);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.recipeResolvedFulfillmentHashMap.clear();
-    this.recipeResolvedFulfillmentHashMap.putAll(recipeResolvedFulfillmentHashMap);
-    this.stockItemHashMap.clear();
-    this.stockItemHashMap.putAll(stockItemHashMap);
-    this.userfieldHashMap.clear();
-    this.userfieldHashMap.putAll(userfieldHashMap);
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
+    calculateDiffAsync(diffCallback, () -> {
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(newGroupedListItems);
+      this.recipeHashMap.clear();
+      this.recipeHashMap.putAll(recipeHashMap);
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.recipeResolvedFulfillmentHashMap.clear();
+      this.recipeResolvedFulfillmentHashMap.putAll(recipeResolvedFulfillmentHashMap);
+      this.stockItemHashMap.clear();
+      this.stockItemHashMap.putAll(stockItemHashMap);
+      this.userfieldHashMap.clear();
+      this.userfieldHashMap.putAll(userfieldHashMap);
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
@@ -62,7 +62,7 @@ import xyz.zedler.patrick.grocy.viewmodel.RecipesViewModel;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class RecipeEntryAdapter extends
-    RecyclerView.Adapter<RecipeEntryAdapter.ViewHolder> {
+    AsyncDiffAdapter<RecipeEntryAdapter.ViewHolder> {
 
   private final static String TAG = RecipeEntryAdapter.class.getSimpleName();
   private final static boolean DEBUG = false;
@@ -70,7 +70,7 @@ public class RecipeEntryAdapter extends
   private Context context;
   private final LayoutManager layoutManager;
   private final ArrayList<Recipe> recipes;
-  private final ArrayList<RecipeFulfillment> recipeFulfillments;
+  private final HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
   private final HashMap<String, Userfield> userfieldHashMap;
   private final RecipesItemAdapterListener listener;
   private final GrocyApi grocyApi;
@@ -90,7 +90,7 @@ public class RecipeEntryAdapter extends
     this.context = context;
     this.layoutManager = layoutManager;
     this.recipes = new ArrayList<>();
-    this.recipeFulfillments = new ArrayList<>();
+    this.recipeFulfillmentHashMap = new HashMap<>();
     this.userfieldHashMap = new HashMap<>();
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
@@ -163,9 +163,7 @@ public class RecipeEntryAdapter extends
     int position = viewHolder.getAbsoluteAdapterPosition();
 
     Recipe recipe = recipes.get(position);
-    RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(
-        recipeFulfillments, recipe.getId()
-    );
+    RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
 
     ViewGroup container;
     TextView title;
@@ -273,7 +271,7 @@ public class RecipeEntryAdapter extends
 
   public void updateData(
       ArrayList<Recipe> newList,
-      ArrayList<RecipeFulfillment> newRecipeFulfillments,
+      HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap,
       HashMap<String, Userfield> newUserfieldHashMap,
       String sortMode,
       boolean sortAscending,
@@ -283,8 +281,8 @@ public class RecipeEntryAdapter extends
     RecipeEntryAdapter.DiffCallback diffCallback = new RecipeEntryAdapter.DiffCallback(
         this.recipes,
         newList,
-        this.recipeFulfillments,
-        newRecipeFulfillments,
+        this.recipeFulfillmentHashMap,
+        newRecipeFulfillmentHashMap,
         this.userfieldHashMap,
         newUserfieldHashMap,
         this.sortMode,
@@ -295,39 +293,39 @@ public class RecipeEntryAdapter extends
         activeFields
     );
 
-    if (onListFilled != null && !newList.isEmpty() && recipes.isEmpty()) {
-      onListFilled.run();
-    }
+    calculateDiffAsync(diffCallback, () -> {
+      if (onListFilled != null && !newList.isEmpty() && recipes.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.recipes.clear();
-    this.recipes.addAll(newList);
-    this.recipeFulfillments.clear();
-    this.recipeFulfillments.addAll(newRecipeFulfillments);
-    this.userfieldHashMap.clear();
-    this.userfieldHashMap.putAll(newUserfieldHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
-
-    containsPictures = false;
-    for (Recipe recipe : recipes) {
-      String pictureFileName = recipe.getPictureFileName();
-      if (pictureFileName != null && !pictureFileName.isEmpty()) {
-        containsPictures = true;
-        break;
+      this.recipes.clear();
+      this.recipes.addAll(newList);
+      this.recipeFulfillmentHashMap.clear();
+      this.recipeFulfillmentHashMap.putAll(newRecipeFulfillmentHashMap);
+      this.userfieldHashMap.clear();
+      this.userfieldHashMap.putAll(newUserfieldHashMap);
+      this.sortMode = sortMode;
+      this.sortAscending = sortAscending;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+
+      containsPictures = false;
+      for (Recipe recipe : recipes) {
+        String pictureFileName = recipe.getPictureFileName();
+        if (pictureFileName != null && !pictureFileName.isEmpty()) {
+          containsPictures = true;
+          break;
+        }
       }
-    }
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
 
     ArrayList<Recipe> oldItems;
     ArrayList<Recipe> newItems;
-    ArrayList<RecipeFulfillment> oldRecipeFulfillments;
-    ArrayList<RecipeFulfillment> newRecipeFulfillments;
+    HashMap<Integer, RecipeFulfillment> oldRecipeFulfillmentHashMap;
+    HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap;
     HashMap<String, Userfield> oldUserfieldHashMap;
     HashMap<String, Userfield> newUserfieldHashMap;
     String sortModeOld;
@@ -340,8 +338,8 @@ public class RecipeEntryAdapter extends
     public DiffCallback(
         ArrayList<Recipe> oldItems,
         ArrayList<Recipe> newItems,
-        ArrayList<RecipeFulfillment> oldRecipeFulfillments,
-        ArrayList<RecipeFulfillment> newRecipeFulfillments,
+        HashMap<Integer, RecipeFulfillment> oldRecipeFulfillmentHashMap,
+        HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap,
         HashMap<String, Userfield> oldUserfieldHashMap,
         HashMap<String, Userfield> newUserfieldHashMap,
         String sortModeOld,
@@ -353,8 +351,8 @@ public class RecipeEntryAdapter extends
     ) {
       this.oldItems = oldItems;
       this.newItems = newItems;
-      this.oldRecipeFulfillments = oldRecipeFulfillments;
-      this.newRecipeFulfillments = newRecipeFulfillments;
+      this.oldRecipeFulfillmentHashMap = oldRecipeFulfillmentHashMap;
+      this.newRecipeFulfillmentHashMap = newRecipeFulfillmentHashMap;
       this.oldUserfieldHashMap = oldUserfieldHashMap;
       this.newUserfieldHashMap = newUserfieldHashMap;
       this.sortModeOld = sortModeOld;
@@ -399,8 +397,8 @@ public class RecipeEntryAdapter extends
         return false;
       }
 
-      RecipeFulfillment recipeFulfillmentOld = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(oldRecipeFulfillments, oldItem.getId());
-      RecipeFulfillment recipeFulfillmentNew = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(newRecipeFulfillments, newItem.getId());
+      RecipeFulfillment recipeFulfillmentOld = oldRecipeFulfillmentHashMap.get(oldItem.getId());
+      RecipeFulfillment recipeFulfillmentNew = newRecipeFulfillmentHashMap.get(newItem.getId());
       if (recipeFulfillmentOld == null && recipeFulfillmentNew != null
           || recipeFulfillmentOld != null && recipeFulfillmentNew == null
           || recipeFulfillmentOld != null && !recipeFulfillmentOld.equals(recipeFulfillmentNew)) {
@@ -73,7 +73,7 @@ import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class ShoppingListItemAdapter extends
-    RecyclerView.Adapter<ShoppingListItemAdapter.ViewHolder> {
+    AsyncDiffAdapter<ShoppingListItemAdapter.ViewHolder> {
 
   private final static String TAG = ShoppingListItemAdapter.class.getSimpleName();
 
@@ -803,29 +803,29 @@ public class ShoppingListItemAdapter extends
         activeFields
     );
 
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
-
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.unitConversions.clear();
-    this.unitConversions.addAll(unitConversions);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.shoppingListItemAmountsHashMap.clear();
-    this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
-    this.missingProductIds.clear();
-    this.missingProductIds.addAll(missingProductIds);
-    this.groupingMode = groupingMode;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
+    calculateDiffAsync(diffCallback, () -> {
+      if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
+
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(newGroupedListItems);
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.unitConversions.clear();
+      this.unitConversions.addAll(unitConversions);
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.shoppingListItemAmountsHashMap.clear();
+      this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
+      this.missingProductIds.clear();
+      this.missingProductIds.addAll(missingProductIds);
+      this.groupingMode = groupingMode;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
@@ -77,7 +77,7 @@ import xyz.zedler.patrick.grocy.viewmodel.ShoppingModeViewModel;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class ShoppingModeItemAdapter extends
-    RecyclerView.Adapter<ShoppingModeItemAdapter.ViewHolder> {
+    AsyncDiffAdapter<ShoppingModeItemAdapter.ViewHolder> {
 
   private final Context context;
   private final LinearLayoutManager linearLayoutManager;
@@ -646,28 +646,33 @@ public class ShoppingModeItemAdapter extends
         activeFields
     );
 
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
+    calculateDiffAsync(diffCallback, () -> {
+      if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.unitConversions.clear();
-    this.unitConversions.addAll(unitConversions);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.shoppingListItemAmountsHashMap.clear();
-    this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
-    this.missingProductIds.clear();
-    this.missingProductIds.addAll(missingProductIds);
-    this.groupingMode = groupingMode;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(newGroupedListItems);
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.unitConversions.clear();
+      this.unitConversions.addAll(unitConversions);
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.shoppingListItemAmountsHashMap.clear();
+      this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
+      this.missingProductIds.clear();
+      this.missingProductIds.addAll(missingProductIds);
+      this.groupingMode = groupingMode;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+    });
+  }
+
+  @Override
+  protected void dispatchUpdates(DiffUtil.DiffResult diffResult) {
     diffResult.dispatchUpdatesTo(new AdapterListUpdateCallback(this, linearLayoutManager));
   }
 
@@ -59,7 +59,7 @@ import xyz.zedler.patrick.grocy.util.SortUtil;
 import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
 
 public class StockEntryAdapter extends
-    RecyclerView.Adapter<StockEntryAdapter.ViewHolder> {
+    AsyncDiffAdapter<StockEntryAdapter.ViewHolder> {
 
   private final static String TAG = StockEntryAdapter.class.getSimpleName();
 
@@ -303,8 +303,8 @@ public class StockEntryAdapter extends
     // BEST BEFORE
 
     String date = stockEntry.getBestBeforeDate();
-    int daysInt = DateUtil.getDaysFromNow(date);
-    String days = date != null ? String.valueOf(DateUtil.getDaysFromNow(date)) : null;
+    int daysInt = DateUtil.getDaysFromNowForEpochDay(stockEntry.getBestBeforeDateEpochDay());
+    String days = date != null ? String.valueOf(daysInt) : null;
     boolean colorDays = false;
 
     if (!showDateTracking) {
@@ -492,25 +492,25 @@ public class StockEntryAdapter extends
         groupingMode
     );
 
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
+    calculateDiffAsync(diffCallback, () -> {
+      if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.locationHashMap.clear();
-    this.locationHashMap.putAll(locationHashMap);
-    this.storeHashMap.clear();
-    this.storeHashMap.putAll(storeHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.groupingMode = groupingMode;
-    diffResult.dispatchUpdatesTo(this);
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(newGroupedListItems);
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.locationHashMap.clear();
+      this.locationHashMap.putAll(locationHashMap);
+      this.storeHashMap.clear();
+      this.storeHashMap.putAll(storeHashMap);
+      this.sortMode = sortMode;
+      this.sortAscending = sortAscending;
+      this.groupingMode = groupingMode;
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
@@ -28,12 +28,11 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
 import androidx.preference.PreferenceManager;
-import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
@@ -49,15 +48,14 @@ import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PluralUtil;
 
 public class StockLogEntryAdapter extends
-    RecyclerView.Adapter<StockLogEntryAdapter.ViewHolder> {
+    PagingDataAdapter<StockLogEntry, StockLogEntryAdapter.ViewHolder> {
 
   private final static String TAG = StockLogEntryAdapter.class.getSimpleName();
 
-  private final ArrayList<StockLogEntry> stockLogEntries;
-  private final HashMap<Integer, Product> productHashMap;
-  private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private final HashMap<Integer, Location> locationHashMap;
-  private final HashMap<Integer, User> userHashMap;
+  private HashMap<Integer, Product> productHashMap;
+  private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
+  private HashMap<Integer, Location> locationHashMap;
+  private HashMap<Integer, User> userHashMap;
   private final PluralUtil pluralUtil;
   private final StockLogEntryAdapterListener listener;
   private final DateUtil dateUtil;
@@ -66,13 +64,13 @@ public class StockLogEntryAdapter extends
 
   public StockLogEntryAdapter(
       Context context,
-      ArrayList<StockLogEntry> stockLogEntries,
       HashMap<Integer, QuantityUnit> quantityUnitHashMap,
       HashMap<Integer, Product> productHashMap,
       HashMap<Integer, Location> locationHashMap,
       HashMap<Integer, User> userHashMap,
       StockLogEntryAdapterListener listener
   ) {
+    super(DIFF_CALLBACK);
     SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
     this.currency = sharedPrefs.getString(PREF.CURRENCY, "");
     String days = sharedPrefs.getString(STOCK.DUE_SOON_DAYS, SETTINGS_DEFAULT.STOCK.DUE_SOON_DAYS);
@@ -81,7 +79,6 @@ public class StockLogEntryAdapter extends
     } else {
       this.dueSoonDays = Integer.parseInt(SETTINGS_DEFAULT.STOCK.DUE_SOON_DAYS);
     }
-    this.stockLogEntries = stockLogEntries;
     this.productHashMap = new HashMap<>(productHashMap);
     this.quantityUnitHashMap = new HashMap<>(quantityUnitHashMap);
     this.locationHashMap = new HashMap<>(locationHashMap);
@@ -108,11 +105,6 @@ public class StockLogEntryAdapter extends
     }
   }
 
-  @Override
-  public int getItemCount() {
-    return stockLogEntries == null ? 0 : stockLogEntries.size();
-  }
-
   @NonNull
   @Override
   public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -127,7 +119,8 @@ public class StockLogEntryAdapter extends
   @Override
   public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
 
-    StockLogEntry stockLogEntry = stockLogEntries.get(position);
+    StockLogEntry stockLogEntry = getItem(position);
+    if (stockLogEntry == null) return;
 
     StockLogEntryViewHolder stockLogViewHolder = (StockLogEntryViewHolder) holder;
     Context context = stockLogViewHolder.binding.container.getContext();
@@ -235,23 +228,24 @@ public class StockLogEntryAdapter extends
     );
   }
 
-  public void add(StockLogEntry stockLogEntry) {
-    stockLogEntries.add(stockLogEntry);
-    notifyItemInserted(stockLogEntries.size() - 1);
-  }
-
-  public void addAll(List<StockLogEntry> results) {
-    for (StockLogEntry result : results) {
-      add(result);
-    }
-  }
-
   public StockLogEntry getEntryForPos(int position) {
-    if (stockLogEntries == null || position < 0
-        || position >= stockLogEntries.size()) {
+    if (position < 0 || position >= getItemCount()) {
       return null;
     }
-    return stockLogEntries.get(position);
+    return peek(position);
+  }
+
+  public void updateData(
+      HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+      HashMap<Integer, Product> productHashMap,
+      HashMap<Integer, Location> locationHashMap,
+      HashMap<Integer, User> userHashMap
+  ) {
+    this.productHashMap = new HashMap<>(productHashMap);
+    this.quantityUnitHashMap = new HashMap<>(quantityUnitHashMap);
+    this.locationHashMap = new HashMap<>(locationHashMap);
+    this.userHashMap = new HashMap<>(userHashMap);
+    notifyItemRangeChanged(0, getItemCount());
   }
 
   public interface StockLogEntryAdapterListener {
@@ -259,35 +253,22 @@ public class StockLogEntryAdapter extends
     void onItemRowClicked(StockLogEntry entry);
   }
 
-  public abstract static class PaginationScrollListener extends RecyclerView.OnScrollListener {
-
-    private final LinearLayoutManager layoutManager;
-
-    public PaginationScrollListener(LinearLayoutManager layoutManager) {
-      this.layoutManager = layoutManager;
+  private static final DiffUtil.ItemCallback<StockLogEntry> DIFF_CALLBACK
+      = new DiffUtil.ItemCallback<>() {
+    @Override
+    public boolean areItemsTheSame(
+        @NonNull StockLogEntry oldItem,
+        @NonNull StockLogEntry newItem
+    ) {
+      return oldItem.getId() == newItem.getId();
     }
 
     @Override
-    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-      super.onScrolled(recyclerView, dx, dy);
-
-      int visibleItemCount = layoutManager.getChildCount();
-      int totalItemCount = layoutManager.getItemCount();
-      int firstVisibleItemPosition = layoutManager.findFirstVisibleItemPosition();
-
-      if (!isLoading() && !isLastPage()) {
-        if ((visibleItemCount + firstVisibleItemPosition) >= totalItemCount
-            && firstVisibleItemPosition >= 0) {
-          loadMoreItems();
-        }
-      }
+    public boolean areContentsTheSame(
+        @NonNull StockLogEntry oldItem,
+        @NonNull StockLogEntry newItem
+    ) {
+      return oldItem.equals(newItem);
     }
-
-    protected abstract void loadMoreItems();
-
-    public abstract boolean isLastPage();
-
-    public abstract boolean isLoading();
-
-  }
+  };
 }
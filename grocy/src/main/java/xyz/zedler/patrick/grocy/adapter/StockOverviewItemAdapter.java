@@ -68,19 +68,19 @@ import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class StockOverviewItemAdapter extends
-    RecyclerView.Adapter<StockOverviewItemAdapter.ViewHolder> {
+    AsyncDiffAdapter<StockOverviewItemAdapter.ViewHolder> {
 
   private final static String TAG = StockOverviewItemAdapter.class.getSimpleName();
 
-  private final ArrayList<GroupedListItem> groupedListItems;
-  private final ArrayList<String> shoppingListItemsProductIds;
-  private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private final List<QuantityUnitConversionResolved> quantityUnitConversions;
-  private final HashMap<Integer, String> productAveragePriceHashMap;
-  private final HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
+  private ArrayList<GroupedListItem> groupedListItems;
+  private ArrayList<String> shoppingListItemsProductIds;
+  private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
+  private List<QuantityUnitConversionResolved> quantityUnitConversions;
+  private HashMap<Integer, String> productAveragePriceHashMap;
+  private HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
   private final PluralUtil pluralUtil;
-  private final ArrayList<Integer> missingItemsProductIds;
-  private final HashMap<String, Userfield> userfieldHashMap;
+  private ArrayList<Integer> missingItemsProductIds;
+  private HashMap<String, Userfield> userfieldHashMap;
   private final StockOverviewItemAdapterListener listener;
   private final GrocyApi grocyApi;
   private final LazyHeaders grocyAuthHeaders;
@@ -90,7 +90,7 @@ public class StockOverviewItemAdapter extends
   private String sortMode;
   private boolean sortAscending;
   private String groupingMode;
-  private final List<String> activeFields;
+  private List<String> activeFields;
   private final DateUtil dateUtil;
   private final String currency;
   private final int maxDecimalPlacesAmount;
@@ -405,7 +405,9 @@ public class StockOverviewItemAdapter extends
     String date = stockItem.getBestBeforeDate();
     String days = null;
     if (date != null) {
-      days = String.valueOf(DateUtil.getDaysFromNow(date));
+      days = String.valueOf(
+          DateUtil.getDaysFromNowForEpochDay(stockItem.getBestBeforeDateEpochDay())
+      );
     }
 
     if (activeFields.contains(StockOverviewViewModel.FIELD_DUE_DATE) && showDateTracking
@@ -597,27 +599,42 @@ public class StockOverviewItemAdapter extends
       List<String> activeFields,
       Runnable onListFilled
   ) {
-    ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newList,
-        productGroupHashMap, productHashMap, locationHashMap, userfieldHashMap, this.currency,
-        this.dateUtil, sortMode, sortAscending, groupingMode, maxDecimalPlacesAmount,
-        decimalPlacesPriceDisplay);
+    // snapshots, so the lists can't change while grouping and diffing on another thread
+    ArrayList<StockItem> stockItems = new ArrayList<>(newList);
+    ArrayList<String> shoppingListItemsProductIdsNew = new ArrayList<>(
+        shoppingListItemsProductIds
+    );
+    HashMap<Integer, QuantityUnit> quantityUnitHashMapNew = new HashMap<>(quantityUnitHashMap);
+    List<QuantityUnitConversionResolved> quantityUnitConversionsNew = new ArrayList<>(
+        quantityUnitConversions
+    );
+    HashMap<Integer, String> productAveragePriceHashMapNew = new HashMap<>(
+        productAveragePriceHashMap
+    );
+    HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapNew = new HashMap<>(
+        productLastPurchasedHashMap
+    );
+    ArrayList<Integer> missingItemsProductIdsNew = new ArrayList<>(missingItemsProductIds);
+    HashMap<String, Userfield> userfieldHashMapNew = new HashMap<>(userfieldHashMap);
+    List<String> activeFieldsNew = new ArrayList<>(activeFields);
+    ArrayList<GroupedListItem> groupedListItemsOld = this.groupedListItems;
     StockOverviewItemAdapter.DiffCallback diffCallback = new StockOverviewItemAdapter.DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
+        groupedListItemsOld,
+        null, // grouped on the background thread below
         this.shoppingListItemsProductIds,
-        shoppingListItemsProductIds,
+        shoppingListItemsProductIdsNew,
         this.quantityUnitHashMap,
-        quantityUnitHashMap,
+        quantityUnitHashMapNew,
         this.quantityUnitConversions,
-        quantityUnitConversions,
+        quantityUnitConversionsNew,
         this.productAveragePriceHashMap,
-        productAveragePriceHashMap,
+        productAveragePriceHashMapNew,
         this.productLastPurchasedHashMap,
-        productLastPurchasedHashMap,
+        productLastPurchasedHashMapNew,
         this.missingItemsProductIds,
-        missingItemsProductIds,
+        missingItemsProductIdsNew,
         this.userfieldHashMap,
-        userfieldHashMap,
+        userfieldHashMapNew,
         this.sortMode,
         sortMode,
         this.sortAscending,
@@ -625,46 +642,46 @@ public class StockOverviewItemAdapter extends
         this.groupingMode,
         groupingMode,
         this.activeFields,
-        activeFields
+        activeFieldsNew
     );
 
-    containsPictures = false;
-    for (StockItem stockItem : newList) {
-      if (stockItem.getProduct() == null) continue;
-      String pictureFileName = stockItem.getProduct().getPictureFileName();
-      if (pictureFileName != null && !pictureFileName.isEmpty()) {
-        containsPictures = true;
-        break;
-      }
-    }
+    calculateDiffAsync(
+        () -> diffCallback.newItems = getGroupedListItems(context, stockItems,
+            productGroupHashMap, productHashMap, locationHashMap, userfieldHashMapNew,
+            currency, dateUtil, sortMode, sortAscending, groupingMode, maxDecimalPlacesAmount,
+            decimalPlacesPriceDisplay),
+        diffCallback,
+        () -> {
+          ArrayList<GroupedListItem> newGroupedListItems = diffCallback.newItems;
+          containsPictures = false;
+          for (StockItem stockItem : stockItems) {
+            if (stockItem.getProduct() == null) continue;
+            String pictureFileName = stockItem.getProduct().getPictureFileName();
+            if (pictureFileName != null && !pictureFileName.isEmpty()) {
+              containsPictures = true;
+              break;
+            }
+          }
 
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
+          if (onListFilled != null && !newGroupedListItems.isEmpty()
+              && groupedListItemsOld.isEmpty()) {
+            onListFilled.run();
+          }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.shoppingListItemsProductIds.clear();
-    this.shoppingListItemsProductIds.addAll(shoppingListItemsProductIds);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.quantityUnitConversions.clear();
-    this.quantityUnitConversions.addAll(quantityUnitConversions);
-    this.productAveragePriceHashMap.clear();
-    this.productAveragePriceHashMap.putAll(productAveragePriceHashMap);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.missingItemsProductIds.clear();
-    this.missingItemsProductIds.addAll(missingItemsProductIds);
-    this.userfieldHashMap.clear();
-    this.userfieldHashMap.putAll(userfieldHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.groupingMode = groupingMode;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
+          this.groupedListItems = newGroupedListItems;
+          this.shoppingListItemsProductIds = shoppingListItemsProductIdsNew;
+          this.quantityUnitHashMap = quantityUnitHashMapNew;
+          this.quantityUnitConversions = quantityUnitConversionsNew;
+          this.productAveragePriceHashMap = productAveragePriceHashMapNew;
+          this.productLastPurchasedHashMap = productLastPurchasedHashMapNew;
+          this.missingItemsProductIds = missingItemsProductIdsNew;
+          this.userfieldHashMap = userfieldHashMapNew;
+          this.sortMode = sortMode;
+          this.sortAscending = sortAscending;
+          this.groupingMode = groupingMode;
+          this.activeFields = activeFieldsNew;
+        }
+    );
   }
 
   static class DiffCallback extends DiffUtil.Callback {
@@ -45,7 +45,7 @@ import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.ResUtil;
 
 public class TaskEntryAdapter extends
-    RecyclerView.Adapter<TaskEntryAdapter.ViewHolder> {
+    AsyncDiffAdapter<TaskEntryAdapter.ViewHolder> {
 
   private final static String TAG = TaskEntryAdapter.class.getSimpleName();
   private final static boolean DEBUG = false;
@@ -136,7 +136,7 @@ public class TaskEntryAdapter extends
     Integer days = null;
     boolean colorDays = false;
     if (date != null && !date.isEmpty()) {
-      days = DateUtil.getDaysFromNow(date);
+      days = DateUtil.getDaysFromNowForEpochDay(task.getDueDateEpochDay());
     }
 
     if (days != null && !task.isDone()) {
@@ -245,19 +245,24 @@ public class TaskEntryAdapter extends
         sortAscending
     );
 
-    if (onListFilled != null && !newList.isEmpty() && tasks.isEmpty()) {
-      onListFilled.run();
-    }
+    calculateDiffAsync(diffCallback, () -> {
+      if (onListFilled != null && !newList.isEmpty() && tasks.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.tasks.clear();
-    this.tasks.addAll(newList);
-    this.taskCategoriesHashMap.clear();
-    this.taskCategoriesHashMap.putAll(taskCategoriesHashMap);
-    this.usersHashMap.clear();
-    this.usersHashMap.putAll(usersHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
+      this.tasks.clear();
+      this.tasks.addAll(newList);
+      this.taskCategoriesHashMap.clear();
+      this.taskCategoriesHashMap.putAll(taskCategoriesHashMap);
+      this.usersHashMap.clear();
+      this.usersHashMap.putAll(usersHashMap);
+      this.sortMode = sortMode;
+      this.sortAscending = sortAscending;
+    });
+  }
+
+  @Override
+  protected void dispatchUpdates(DiffUtil.DiffResult diffResult) {
     diffResult.dispatchUpdatesTo(new AdapterListUpdateCallback(this, linearLayoutManager));
   }
 
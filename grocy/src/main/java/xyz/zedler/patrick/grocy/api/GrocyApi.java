@@ -24,8 +24,10 @@ import android.app.Application;
 import android.content.SharedPreferences;
 import android.util.Base64;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.preference.PreferenceManager;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
@@ -188,6 +190,20 @@ public class GrocyApi {
     return getUrl("/objects/" + entity + "?query%5B%5D=" + field + "%3D" + value);
   }
 
+  /**
+   * Returns at most one object of the given entity with an id up to maxId, the one at the
+   * given position in ascending id order
+   */
+  public String getObjectUpToIdAt(String entity, int maxId, int position) {
+    return getUrl(
+        "/objects/" + entity,
+        "query%5B%5D=id%3C%3D" + maxId,
+        "order=id%3Aasc",
+        "limit=1",
+        "offset=" + position
+    );
+  }
+
   /**
    * Returns a single object of the given entity
    */
@@ -286,22 +302,30 @@ public class GrocyApi {
   }
 
   public String getStockLogEntries(int limit, int offset, int filterProductId) {
-    if (filterProductId == -1) {
-      return getUrl(
-          "/objects/stock_log",
-          "limit=" + limit,
-          "offset=" + offset,
-          "order=id%3Adesc"
-      );
-    } else {
-      return getUrl(
-          "/objects/stock_log",
-          "query%5B%5D=product_id%3D" + filterProductId,
-          "limit=" + limit,
-          "offset=" + offset,
-          "order=id%3Adesc"
-      );
+    return getStockLogEntries(limit, offset, filterProductId, null);
+  }
+
+  /**
+   * Returns one page of the stock journal, newest first, optionally filtered
+   * by product (-1 for all products) and transaction type (null for all types)
+   */
+  public String getStockLogEntries(
+      int limit,
+      int offset,
+      int filterProductId,
+      @Nullable String filterTransactionType
+  ) {
+    ArrayList<String> params = new ArrayList<>();
+    if (filterProductId != -1) {
+      params.add("query%5B%5D=product_id%3D" + filterProductId);
+    }
+    if (filterTransactionType != null) {
+      params.add("query%5B%5D=transaction_type%3D" + filterTransactionType);
     }
+    params.add("limit=" + limit);
+    params.add("offset=" + offset);
+    params.add("order=id%3Adesc");
+    return getUrl("/objects/stock_log", params.toArray(new String[0]));
   }
 
   /**
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.Chore;
@@ -40,4 +41,10 @@ public interface ChoreDao {
   @Query("DELETE FROM chore_table")
   Single<Integer> deleteChores();
 
+  @Transaction
+  default void replaceChores(List<Chore> chores) {
+    deleteChores().blockingGet();
+    insertChores(chores).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ChoreEntry;
@@ -34,10 +35,25 @@ public interface ChoreEntryDao {
   @Query("SELECT * FROM chore_entry_table")
   Single<List<ChoreEntry>> getChoreEntries();
 
+  @Query("SELECT COUNT(*) FROM chore_entry_table "
+      + "WHERE next_estimated_execution_epoch_second < :beforeEpochSecond")
+  Single<Integer> countChoreEntriesDueBefore(long beforeEpochSecond);
+
+  // rows stored before the epoch second column existed, they are not counted above
+  @Query("SELECT COUNT(*) FROM chore_entry_table WHERE next_estimated_execution_epoch_second "
+      + "IS NULL AND length(next_estimated_execution_time) >= 10")
+  Single<Integer> countChoreEntriesWithoutEpochSecond();
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertChoreEntries(List<ChoreEntry> choreEntries);
 
   @Query("DELETE FROM chore_entry_table")
   Single<Integer> deleteChoreEntries();
 
+  @Transaction
+  default void replaceChoreEntries(List<ChoreEntry> choreEntries) {
+    deleteChoreEntries().blockingGet();
+    insertChoreEntries(choreEntries).blockingGet();
+  }
+
 }
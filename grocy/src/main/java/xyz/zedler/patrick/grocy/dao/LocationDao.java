@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.Location;
@@ -40,4 +41,10 @@ public interface LocationDao {
   @Query("DELETE FROM location_table")
   Single<Integer> deleteLocations();
 
+  @Transaction
+  default void replaceLocations(List<Location> locations) {
+    deleteLocations().blockingGet();
+    insertLocations(locations).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
@@ -40,4 +41,34 @@ public interface MealPlanEntryDao {
   @Query("DELETE FROM meal_plan_entry_table")
   Single<Integer> deleteMealPlanEntries();
 
+  @Query("DELETE FROM meal_plan_entry_table WHERE day >= :startDay AND day <= :endDay")
+  Single<Integer> deleteMealPlanEntriesBetween(String startDay, String endDay);
+
+  @Query("DELETE FROM meal_plan_entry_table WHERE day < :startDay OR day > :endDay")
+  Single<Integer> deleteMealPlanEntriesOutside(String startDay, String endDay);
+
+  @Transaction
+  default void replaceMealPlanEntries(List<MealPlanEntry> mealPlanEntries) {
+    deleteMealPlanEntries().blockingGet();
+    insertMealPlanEntries(mealPlanEntries).blockingGet();
+  }
+
+  /**
+   * Replaces the entries of the downloaded day range and evicts all entries outside
+   * of the day range which should be kept. Days are formatted as yyyy-MM-dd, so they
+   * can be compared as strings.
+   */
+  @Transaction
+  default void replaceMealPlanEntriesBetween(
+      String startDay,
+      String endDay,
+      String keepStartDay,
+      String keepEndDay,
+      List<MealPlanEntry> mealPlanEntries
+  ) {
+    deleteMealPlanEntriesBetween(startDay, endDay).blockingGet();
+    insertMealPlanEntries(mealPlanEntries).blockingGet();
+    deleteMealPlanEntriesOutside(keepStartDay, keepEndDay).blockingGet();
+  }
+
 }
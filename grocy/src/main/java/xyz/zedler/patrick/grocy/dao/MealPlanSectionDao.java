@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
@@ -40,4 +41,10 @@ public interface MealPlanSectionDao {
   @Query("DELETE FROM meal_plan_section_table")
   Single<Integer> deleteMealPlanSections();
 
+  @Transaction
+  default void replaceMealPlanSections(List<MealPlanSection> mealPlanSections) {
+    deleteMealPlanSections().blockingGet();
+    insertMealPlanSections(mealPlanSections).blockingGet();
+  }
+
 }
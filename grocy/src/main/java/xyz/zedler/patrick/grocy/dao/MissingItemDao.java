@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.MissingItem;
@@ -40,4 +41,10 @@ public interface MissingItemDao {
   @Query("DELETE FROM missing_item_table")
   Single<Integer> deleteMissingItems();
 
+  @Transaction
+  default void replaceMissingItems(List<MissingItem> missingItems) {
+    deleteMissingItems().blockingGet();
+    insertMissingItems(missingItems).blockingGet();
+  }
+
 }
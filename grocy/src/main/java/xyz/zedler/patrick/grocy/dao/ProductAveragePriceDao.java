@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductAveragePrice;
@@ -40,4 +41,10 @@ public interface ProductAveragePriceDao {
   @Query("DELETE FROM product_average_price_table")
   Single<Integer> deleteProductsAveragePrice();
 
+  @Transaction
+  default void replaceProductsAveragePrice(List<ProductAveragePrice> productsAveragePrice) {
+    deleteProductsAveragePrice().blockingGet();
+    insertProductsAveragePrice(productsAveragePrice).blockingGet();
+  }
+
 }
@@ -24,6 +24,8 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -34,10 +36,26 @@ public interface ProductBarcodeDao {
   @Query("SELECT * FROM product_barcode_table")
   Single<List<ProductBarcode>> getProductBarcodes();
 
+  // uses the index on barcode, empty if the barcode is unknown
+  @Query("SELECT * FROM product_barcode_table WHERE barcode = :barcode LIMIT 1")
+  Maybe<ProductBarcode> getBarcode(String barcode);
+
+  @Query("SELECT * FROM product_barcode_table WHERE product_id = :productId")
+  Single<List<ProductBarcode>> getBarcodesForProduct(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertProductBarcodes(List<ProductBarcode> productBarcodes);
 
   @Query("DELETE FROM product_barcode_table")
   Single<Integer> deleteProductBarcodes();
 
+  @Query("SELECT COUNT(*) FROM product_barcode_table WHERE id <= :maxId")
+  Single<Integer> countProductBarcodesUpToId(int maxId);
+
+  @Transaction
+  default void replaceProductBarcodes(List<ProductBarcode> productBarcodes) {
+    deleteProductBarcodes().blockingGet();
+    insertProductBarcodes(productBarcodes).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -40,4 +41,13 @@ public interface ProductDao {
   @Query("DELETE FROM product_table")
   Single<Integer> deleteProducts();
 
+  @Query("SELECT COUNT(*) FROM product_table WHERE id <= :maxId")
+  Single<Integer> countProductsUpToId(int maxId);
+
+  @Transaction
+  default void replaceProducts(List<Product> products) {
+    deleteProducts().blockingGet();
+    insertProducts(products).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -40,4 +41,10 @@ public interface ProductGroupDao {
   @Query("DELETE FROM product_group_table")
   Single<Integer> deleteProductGroups();
 
+  @Transaction
+  default void replaceProductGroups(List<ProductGroup> productGroups) {
+    deleteProductGroups().blockingGet();
+    insertProductGroups(productGroups).blockingGet();
+  }
+
 }
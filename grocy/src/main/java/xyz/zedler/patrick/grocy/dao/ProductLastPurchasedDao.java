@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductLastPurchased;
@@ -40,4 +41,10 @@ public interface ProductLastPurchasedDao {
   @Query("DELETE FROM product_last_purchased_table")
   Single<Integer> deleteProductsLastPurchased();
 
+  @Transaction
+  default void replaceProductsLastPurchased(List<ProductLastPurchased> productsLastPurchased) {
+    deleteProductsLastPurchased().blockingGet();
+    insertProductsLastPurchased(productsLastPurchased).blockingGet();
+  }
+
 }
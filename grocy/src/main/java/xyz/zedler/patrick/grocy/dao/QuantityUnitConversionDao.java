@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
@@ -40,4 +41,10 @@ public interface QuantityUnitConversionDao {
   @Query("DELETE FROM quantity_unit_conversion_table")
   Single<Integer> deleteConversions();
 
+  @Transaction
+  default void replaceConversions(List<QuantityUnitConversion> quantityUnitConversions) {
+    deleteConversions().blockingGet();
+    insertConversions(quantityUnitConversions).blockingGet();
+  }
+
 }
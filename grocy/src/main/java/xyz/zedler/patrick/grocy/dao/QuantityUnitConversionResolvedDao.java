@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
@@ -34,10 +35,22 @@ public interface QuantityUnitConversionResolvedDao {
   @Query("SELECT * FROM quantity_unit_conversion_resolved_table")
   Single<List<QuantityUnitConversionResolved>> getConversionsResolved();
 
+  // product_id is a text column, so the parameter is compared as text and the index is used,
+  // conversions without product are only included with servers older than v4.0.0
+  @Query("SELECT * FROM quantity_unit_conversion_resolved_table "
+      + "WHERE product_id = :productId OR product_id IS NULL")
+  Single<List<QuantityUnitConversionResolved>> getConversionsForProduct(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertConversionsResolved(List<QuantityUnitConversionResolved> quantityUnitConversionsResolved);
 
   @Query("DELETE FROM quantity_unit_conversion_resolved_table")
   Single<Integer> deleteConversionsResolved();
 
+  @Transaction
+  default void replaceConversionsResolved(List<QuantityUnitConversionResolved> quantityUnitConversionsResolved) {
+    deleteConversionsResolved().blockingGet();
+    insertConversionsResolved(quantityUnitConversionsResolved).blockingGet();
+  }
+
 }
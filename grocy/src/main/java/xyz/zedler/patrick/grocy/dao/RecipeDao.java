@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import java.util.List;
 
@@ -42,4 +43,10 @@ public interface RecipeDao {
   @Query("DELETE FROM recipe_table")
   Single<Integer> deleteRecipes();
 
+  @Transaction
+  default void replaceRecipes(List<Recipe> recipes) {
+    deleteRecipes().blockingGet();
+    insertRecipes(recipes).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.RecipeFulfillment;
@@ -40,4 +41,10 @@ public interface RecipeFulfillmentDao {
   @Query("DELETE FROM recipe_fulfillment_table")
   Single<Integer> deleteRecipeFulfillments();
 
+  @Transaction
+  default void replaceRecipeFulfillments(List<RecipeFulfillment> recipeFulfillmentList) {
+    deleteRecipeFulfillments().blockingGet();
+    insertRecipeFulfillments(recipeFulfillmentList).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.RecipeNesting;
@@ -41,6 +42,12 @@ public interface RecipeNestingDao {
   @Query("DELETE FROM recipe_nesting_table")
   Single<Integer> deleteRecipeNestings();
 
+  @Transaction
+  default void replaceRecipeNestings(List<RecipeNesting> recipeNestings) {
+    deleteRecipeNestings().blockingGet();
+    insertRecipeNestings(recipeNestings).blockingGet();
+  }
+
   @Query("SELECT * FROM RecipeNestingResolved")
   Single<List<RecipeNestingResolved>> getRecipeNestingsResolved();
 
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import java.util.List;
 
@@ -42,4 +43,10 @@ public interface RecipePositionDao {
   @Query("DELETE FROM recipe_pos_table")
   Single<Integer> deleteRecipePositions();
 
+  @Transaction
+  default void replaceRecipePositions(List<RecipePosition> recipePositions) {
+    deleteRecipePositions().blockingGet();
+    insertRecipePositions(recipePositions).blockingGet();
+  }
+
 }
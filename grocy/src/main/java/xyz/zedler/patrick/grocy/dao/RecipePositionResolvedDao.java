@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.RecipePositionResolved;
@@ -40,4 +41,10 @@ public interface RecipePositionResolvedDao {
   @Query("DELETE FROM recipe_pos_resolved_table")
   Single<Integer> deleteRecipePositionsResolved();
 
+  @Transaction
+  default void replaceRecipePositionsResolved(List<RecipePositionResolved> recipePositions) {
+    deleteRecipePositionsResolved().blockingGet();
+    insertRecipePositionsResolved(recipePositions).blockingGet();
+  }
+
 }
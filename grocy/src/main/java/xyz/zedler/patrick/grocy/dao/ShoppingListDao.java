@@ -25,6 +25,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ShoppingList;
@@ -44,4 +45,10 @@ public interface ShoppingListDao {
   @Query("DELETE FROM shopping_list_table")
   Single<Integer> deleteShoppingLists();
 
+  @Transaction
+  default void replaceShoppingLists(List<ShoppingList> shoppingLists) {
+    deleteShoppingLists().blockingGet();
+    insertShoppingLists(shoppingLists).blockingGet();
+  }
+
 }
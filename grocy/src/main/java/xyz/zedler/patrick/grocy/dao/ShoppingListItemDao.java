@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
@@ -49,4 +50,22 @@ public interface ShoppingListItemDao {
   @Query("DELETE FROM shopping_list_item_table")
   Single<Integer> deleteShoppingListItems();
 
+  @Query("DELETE FROM shopping_list_item_table WHERE id IN (:ids)")
+  void deleteByIds(List<Integer> ids);
+
+  @Transaction
+  default void replaceShoppingListItems(List<ShoppingListItem> shoppingListItems) {
+    deleteAll();
+    insertAll(shoppingListItems);
+  }
+
+  // chunks stay below the SQLite limit of 999 variables per statement
+  @Transaction
+  default void applyChanges(List<Integer> deletedIds, List<ShoppingListItem> updatedItems) {
+    for (int i = 0; i < deletedIds.size(); i += 500) {
+      deleteByIds(deletedIds.subList(i, Math.min(i + 500, deletedIds.size())));
+    }
+    insertAll(updatedItems);
+  }
+
 }
@@ -24,8 +24,11 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import xyz.zedler.patrick.grocy.model.StockEntry;
 
 @Dao
@@ -34,10 +37,48 @@ public interface StockEntryDao {
   @Query("SELECT * FROM stock_entry_table")
   Single<List<StockEntry>> getStockEntries();
 
+  @Query("SELECT * FROM stock_entry_table WHERE product_id = :productId")
+  Single<List<StockEntry>> getEntriesForProduct(int productId);
+
+  @Query("SELECT * FROM stock_entry_table WHERE stock_id = :stockId")
+  Single<List<StockEntry>> getEntriesForStockId(String stockId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertStockEntries(List<StockEntry> stockEntries);
 
+  @Query("DELETE FROM stock_entry_table WHERE id = :id")
+  Single<Integer> deleteStockEntry(int id);
+
   @Query("DELETE FROM stock_entry_table")
   Single<Integer> deleteStockEntries();
 
+  @Transaction
+  default void replaceStockEntries(List<StockEntry> stockEntries) {
+    deleteStockEntries().blockingGet();
+    insertStockEntries(stockEntries).blockingGet();
+  }
+
+  /**
+   * Removes the consumed amounts from the entries with the given stock ids, entries which are
+   * used up are deleted.
+   */
+  @Transaction
+  default void consumeFromEntries(Map<String, Double> amountsByStockId) {
+    List<StockEntry> changedEntries = new ArrayList<>();
+    for (Map.Entry<String, Double> consumed : amountsByStockId.entrySet()) {
+      double amountLeft = consumed.getValue();
+      for (StockEntry stockEntry : getEntriesForStockId(consumed.getKey()).blockingGet()) {
+        if (amountLeft <= 0) break;
+        double amountConsumed = Math.min(amountLeft, stockEntry.getAmount());
+        amountLeft -= amountConsumed;
+        if (stockEntry.getAmount() - amountConsumed <= 0) {
+          deleteStockEntry(stockEntry.getId()).blockingGet();
+        } else {
+          stockEntry.setAmount(stockEntry.getAmount() - amountConsumed);
+          changedEntries.add(stockEntry);
+        }
+      }
+    }
+    insertStockEntries(changedEntries).blockingGet();
+  }
 }
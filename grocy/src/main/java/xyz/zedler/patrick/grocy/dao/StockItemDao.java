@@ -20,10 +20,12 @@
 
 package xyz.zedler.patrick.grocy.dao;
 
+import androidx.annotation.Nullable;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.StockItem;
@@ -34,10 +36,84 @@ public interface StockItemDao {
   @Query("SELECT * FROM stock_item_table")
   Single<List<StockItem>> getStockItems();
 
+  @Query("SELECT * FROM stock_item_table WHERE product_id = :productId")
+  Single<List<StockItem>> getStockItemsForProduct(int productId);
+
+  // due soon, overdue and expired items, the epoch day is null for items without due date
+  @Query("SELECT COUNT(*) FROM stock_item_table "
+      + "WHERE best_before_date_epoch_day <= :dueSoonEpochDay")
+  Single<Integer> countNotFreshStockItems(long dueSoonEpochDay);
+
+  // rows stored before the epoch day column existed, they are not counted above
+  @Query("SELECT COUNT(*) FROM stock_item_table "
+      + "WHERE best_before_date_epoch_day IS NULL AND length(best_before_date) >= 10")
+  Single<Integer> countStockItemsWithoutEpochDay();
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertStockItems(List<StockItem> stockItems);
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  Single<Long> insertStockItem(StockItem stockItem);
+
   @Query("DELETE FROM stock_item_table")
   Single<Integer> deleteStockItems();
 
+  @Query("DELETE FROM stock_item_table WHERE product_id = :productId")
+  Single<Integer> deleteStockItemForProduct(int productId);
+
+  @Transaction
+  default void replaceStockItems(List<StockItem> stockItems) {
+    deleteStockItems().blockingGet();
+    insertStockItems(stockItems).blockingGet();
+  }
+
+  /**
+   * Adds the given amounts to the stock item of the product, which is removed if nothing is
+   * left in stock. For parent products with aggregated amount, the change is based on the
+   * aggregated amount, which includes the sub-products.
+   * @return stock item before the change or null if the product was not in stock
+   */
+  @Nullable
+  @Transaction
+  default StockItem changeStockItemAmount(
+      int productId,
+      double amountChange,
+      double amountOpenedChange
+  ) {
+    List<StockItem> stockItems = getStockItemsForProduct(productId).blockingGet();
+    if (stockItems.isEmpty()) return null;
+    StockItem previous = stockItems.get(0);
+    boolean aggregated = previous.getIsAggregatedAmountInt() == 1;
+    double amountAggregated = previous.getAmountAggregatedDouble() + amountChange;
+    double amount = aggregated
+        ? Math.min(previous.getAmountDouble(), amountAggregated)
+        : previous.getAmountDouble() + amountChange;
+    if ((aggregated ? amountAggregated : amount) <= 0) {
+      deleteStockItemForProduct(productId).blockingGet();
+      return previous;
+    }
+    double amountOpened = Math.min(Math.max(amount, 0), Math.max(0,
+        previous.getAmountOpenedDouble() + amountOpenedChange));
+    double amountOpenedAggregated = Math.min(amountAggregated, Math.max(0,
+        previous.getAmountOpenedAggregatedDouble() + amountOpenedChange));
+    StockItem stockItem = previous.getClone();
+    stockItem.setAmount(String.valueOf(Math.max(amount, 0)));
+    stockItem.setAmountAggregated(String.valueOf(amountAggregated));
+    stockItem.setAmountOpened(String.valueOf(amountOpened));
+    stockItem.setAmountOpenedAggregated(String.valueOf(
+        aggregated ? amountOpenedAggregated
+            : previous.getAmountOpenedAggregatedDouble() + amountOpened
+                - previous.getAmountOpenedDouble()
+    ));
+    insertStockItem(stockItem).blockingGet();
+    return previous;
+  }
+
+  @Transaction
+  default void restoreStockItem(int productId, @Nullable StockItem previous) {
+    deleteStockItemForProduct(productId).blockingGet();
+    if (previous != null) {
+      insertStockItem(previous).blockingGet();
+    }
+  }
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.StockLocation;
@@ -39,4 +40,10 @@ public interface StockLocationDao {
 
   @Query("DELETE FROM stock_current_location_table")
   Single<Integer> deleteStockLocations();
+
+  @Transaction
+  default void replaceStockLocations(List<StockLocation> stockLocation) {
+    deleteStockLocations().blockingGet();
+    insertStockLocations(stockLocation).blockingGet();
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import androidx.annotation.Nullable;
+import androidx.paging.PagingSource;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import io.reactivex.rxjava3.core.Single;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
+
+@Dao
+public interface StockLogEntryDao {
+
+  // filterProductId -1 and filterTransactionType null for no filter
+  @Query("SELECT * FROM stock_log_table "
+      + "WHERE (:filterProductId = -1 OR product_id = :filterProductId) "
+      + "AND (:filterTransactionType IS NULL OR transaction_type = :filterTransactionType) "
+      + "ORDER BY id DESC")
+  PagingSource<Integer, StockLogEntry> getPagingSource(
+      int filterProductId,
+      @Nullable String filterTransactionType
+  );
+
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  Single<List<Long>> insertStockLogEntries(List<StockLogEntry> stockLogEntries);
+
+  @Query("SELECT COUNT(*) FROM stock_log_table "
+      + "WHERE (:filterProductId = -1 OR product_id = :filterProductId) "
+      + "AND (:filterTransactionType IS NULL OR transaction_type = :filterTransactionType)")
+  Single<Integer> countStockLogEntries(
+      int filterProductId,
+      @Nullable String filterTransactionType
+  );
+
+  @Query("SELECT COUNT(*) FROM stock_log_table WHERE id IN (:ids)")
+  Single<Integer> countStockLogEntriesWithIds(List<Integer> ids);
+
+  // removes entries of a filter from the id range of a downloaded page which the server
+  // didn't return anymore, e.g. because they were deleted
+  @Query("DELETE FROM stock_log_table WHERE id >= :minId AND id NOT IN (:ids) "
+      + "AND (:filterProductId = -1 OR product_id = :filterProductId) "
+      + "AND (:filterTransactionType IS NULL OR transaction_type = :filterTransactionType)")
+  Single<Integer> deleteStockLogEntriesNotInPage(
+      int minId,
+      List<Integer> ids,
+      int filterProductId,
+      @Nullable String filterTransactionType
+  );
+
+  // removes entries below the newest page of a filter, so the cached rows of this filter
+  // have no gaps when the following pages are downloaded again
+  @Query("DELETE FROM stock_log_table WHERE id < :id "
+      + "AND (:filterProductId = -1 OR product_id = :filterProductId) "
+      + "AND (:filterTransactionType IS NULL OR transaction_type = :filterTransactionType)")
+  Single<Integer> deleteStockLogEntriesBelow(
+      int id,
+      int filterProductId,
+      @Nullable String filterTransactionType
+  );
+
+  @Query("DELETE FROM stock_log_table WHERE id NOT IN "
+      + "(SELECT id FROM stock_log_table ORDER BY id DESC LIMIT :count)")
+  Single<Integer> deleteAllButNewestStockLogEntries(int count);
+
+  @Query("UPDATE stock_log_table SET undone = 1, undone_timestamp = :undoneTimestamp "
+      + "WHERE transaction_id = :transactionId")
+  Single<Integer> setTransactionUndone(String transactionId, String undoneTimestamp);
+
+}
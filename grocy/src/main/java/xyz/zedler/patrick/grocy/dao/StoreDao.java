@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.Store;
@@ -40,4 +41,10 @@ public interface StoreDao {
   @Query("DELETE FROM store_table")
   Single<Integer> deleteStores();
 
+  @Transaction
+  default void replaceStores(List<Store> stores) {
+    deleteStores().blockingGet();
+    insertStores(stores).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
@@ -40,4 +41,10 @@ public interface TaskCategoryDao {
   @Query("DELETE FROM task_category_table")
   Single<Integer> deleteCategories();
 
+  @Transaction
+  default void replaceCategories(List<TaskCategory> taskGroups) {
+    deleteCategories().blockingGet();
+    insertCategories(taskGroups).blockingGet();
+  }
+
 }
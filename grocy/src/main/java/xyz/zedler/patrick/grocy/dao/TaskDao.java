@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.Task;
@@ -40,4 +41,10 @@ public interface TaskDao {
   @Query("DELETE FROM task_table")
   Single<Integer> deleteTasks();
 
+  @Transaction
+  default void replaceTasks(List<Task> tasks) {
+    deleteTasks().blockingGet();
+    insertTasks(tasks).blockingGet();
+  }
+
 }
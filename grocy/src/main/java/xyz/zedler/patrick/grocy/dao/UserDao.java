@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.User;
@@ -40,4 +41,10 @@ public interface UserDao {
   @Query("DELETE FROM user_table")
   Single<Integer> deleteUsers();
 
+  @Transaction
+  default void replaceUsers(List<User> users) {
+    deleteUsers().blockingGet();
+    insertUsers(users).blockingGet();
+  }
+
 }
@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.Userfield;
@@ -40,4 +41,10 @@ public interface UserfieldDao {
   @Query("DELETE FROM userfield_table")
   Single<Integer> deleteUserfields();
 
+  @Transaction
+  default void replaceUserfields(List<Userfield> userfields) {
+    deleteUserfields().blockingGet();
+    insertStores(userfields).blockingGet();
+  }
+
 }
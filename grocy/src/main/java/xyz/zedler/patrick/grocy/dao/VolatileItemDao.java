@@ -24,6 +24,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
@@ -43,4 +44,10 @@ public interface VolatileItemDao {
   @Query("DELETE FROM volatile_item_table")
   Single<Integer> deleteVolatileItems();
 
+  @Transaction
+  default void replaceVolatileItems(List<VolatileItem> volatileItems) {
+    deleteVolatileItems().blockingGet();
+    insertVolatileItems(volatileItems).blockingGet();
+  }
+
 }
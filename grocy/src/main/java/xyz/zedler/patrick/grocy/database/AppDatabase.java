@@ -21,10 +21,13 @@
 package xyz.zedler.patrick.grocy.database;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
@@ -34,6 +37,7 @@ import xyz.zedler.patrick.grocy.dao.LocationDao;
 import xyz.zedler.patrick.grocy.dao.MealPlanEntryDao;
 import xyz.zedler.patrick.grocy.dao.MealPlanSectionDao;
 import xyz.zedler.patrick.grocy.dao.MissingItemDao;
+import xyz.zedler.patrick.grocy.dao.OutboxRequestDao;
 import xyz.zedler.patrick.grocy.dao.PendingProductBarcodeDao;
 import xyz.zedler.patrick.grocy.dao.PendingProductDao;
 import xyz.zedler.patrick.grocy.dao.ProductAveragePriceDao;
@@ -55,6 +59,7 @@ import xyz.zedler.patrick.grocy.dao.ShoppingListItemDao;
 import xyz.zedler.patrick.grocy.dao.StockEntryDao;
 import xyz.zedler.patrick.grocy.dao.StockItemDao;
 import xyz.zedler.patrick.grocy.dao.StockLocationDao;
+import xyz.zedler.patrick.grocy.dao.StockLogEntryDao;
 import xyz.zedler.patrick.grocy.dao.StoreDao;
 import xyz.zedler.patrick.grocy.dao.StoredPurchaseDao;
 import xyz.zedler.patrick.grocy.dao.TaskCategoryDao;
@@ -68,6 +73,7 @@ import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
 import xyz.zedler.patrick.grocy.model.MissingItem;
+import xyz.zedler.patrick.grocy.model.OutboxRequest;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -90,6 +96,7 @@ import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.StockEntry;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.StockLocation;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.model.StoredPurchase;
 import xyz.zedler.patrick.grocy.model.Task;
@@ -134,18 +141,122 @@ import xyz.zedler.patrick.grocy.repository.MainRepository.OnVersionListener;
         RecipeNesting.class,
         MealPlanEntry.class,
         MealPlanSection.class,
-        Userfield.class
+        Userfield.class,
+        StockLogEntry.class,
+        OutboxRequest.class
     },
     views = {
         RecipeNestingResolved.class
     },
-    version = 54
+    version = 60
 )
 @TypeConverters({Converters.class})
 public abstract class AppDatabase extends RoomDatabase {
 
   private static AppDatabase INSTANCE;
 
+  // epoch columns for dates, filled from the date strings when the objects are read or synced
+  static final Migration MIGRATION_54_55 = new Migration(54, 55) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("ALTER TABLE `stock_item_table` "
+          + "ADD COLUMN `best_before_date_epoch_day` INTEGER");
+      database.execSQL("ALTER TABLE `stock_entry_table` "
+          + "ADD COLUMN `best_before_date_epoch_day` INTEGER");
+      database.execSQL("ALTER TABLE `task_table` ADD COLUMN `due_date_epoch_day` INTEGER");
+      database.execSQL("ALTER TABLE `chore_entry_table` "
+          + "ADD COLUMN `next_estimated_execution_epoch_second` INTEGER");
+      // Backfill the new columns like DateUtil.getEpochDay() and getEpochSecond(), because
+      // the rows are only replaced when the db-changed-time of the server changes.
+      // Invalid dates stay NULL, julianday() and strftime() return NULL for them.
+      String epochDay = "CAST(julianday(substr(%1$s, 1, 10)) - 2440587.5 AS INTEGER)";
+      database.execSQL("UPDATE `stock_item_table` SET `best_before_date_epoch_day` = "
+          + String.format(epochDay, "`best_before_date`"));
+      database.execSQL("UPDATE `stock_entry_table` SET `best_before_date_epoch_day` = "
+          + String.format(epochDay, "`best_before_date`"));
+      database.execSQL("UPDATE `task_table` SET `due_date_epoch_day` = "
+          + String.format(epochDay, "`due_date`"));
+      database.execSQL("UPDATE `chore_entry_table` "
+          + "SET `next_estimated_execution_epoch_second` = CAST(strftime('%s', CASE WHEN length(`next_estimated_execution_time`) >= 19 "
+          + "THEN substr(`next_estimated_execution_time`, 1, 19) "
+          + "ELSE substr(`next_estimated_execution_time`, 1, 10) END) AS INTEGER)");
+    }
+  };
+
+  // indexes for the lookups by product, barcode, location and due date
+  static final Migration MIGRATION_55_56 = new Migration(55, 56) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_product_barcode_table_product_id` "
+          + "ON `product_barcode_table` (`product_id`)");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_product_barcode_table_barcode` "
+          + "ON `product_barcode_table` (`barcode`)");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_stock_entry_table_product_id` "
+          + "ON `stock_entry_table` (`product_id`)");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_stock_entry_table_location_id` "
+          + "ON `stock_entry_table` (`location_id`)");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_stock_entry_table_best_before_date` "
+          + "ON `stock_entry_table` (`best_before_date`)");
+      database.execSQL("CREATE INDEX IF NOT EXISTS "
+          + "`index_quantity_unit_conversion_resolved_table_product_id` "
+          + "ON `quantity_unit_conversion_resolved_table` (`product_id`)");
+    }
+  };
+
+  // local copy of the newest stock journal pages
+  static final Migration MIGRATION_56_57 = new Migration(56, 57) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("CREATE TABLE IF NOT EXISTS `stock_log_table` ("
+          + "`id` INTEGER NOT NULL, `product_id` INTEGER NOT NULL, `amount` TEXT, "
+          + "`best_before_date` TEXT, `purchased_date` TEXT, `used_date` TEXT, "
+          + "`spoiled` TEXT, `stock_id` TEXT, `transaction_type` TEXT, `price` TEXT, "
+          + "`undone` TEXT, `undone_timestamp` TEXT, `opened_date` TEXT, `location_id` TEXT, "
+          + "`recipe_id` TEXT, `correlation_id` TEXT, `transaction_id` TEXT, "
+          + "`stock_row_id` TEXT, `shopping_location_id` TEXT, `user_id` TEXT, "
+          + "`row_created_timestamp` TEXT, `note` TEXT, PRIMARY KEY(`id`))");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_stock_log_table_product_id` "
+          + "ON `stock_log_table` (`product_id`)");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_stock_log_table_transaction_type` "
+          + "ON `stock_log_table` (`transaction_type`)");
+    }
+  };
+
+  // index for the meal plan entries of a day range
+  static final Migration MIGRATION_57_58 = new Migration(57, 58) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_meal_plan_entry_table_day` "
+          + "ON `meal_plan_entry_table` (`day`)");
+    }
+  };
+
+  // write requests which wait for the connection to the server
+  static final Migration MIGRATION_58_59 = new Migration(58, 59) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("CREATE TABLE IF NOT EXISTS `outbox_request_table` ("
+          + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+          + "`idempotency_key` TEXT NOT NULL, `method` TEXT, `url` TEXT, `body` TEXT, "
+          + "`description` TEXT, `created_time` INTEGER NOT NULL, "
+          + "`attempts` INTEGER NOT NULL, `last_error` TEXT)");
+      database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS "
+          + "`index_outbox_request_table_idempotency_key` "
+          + "ON `outbox_request_table` (`idempotency_key`)");
+    }
+  };
+
+  // due dates are compared by epoch day, the index on the date string was never used
+  static final Migration MIGRATION_59_60 = new Migration(59, 60) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("DROP INDEX IF EXISTS `index_stock_entry_table_best_before_date`");
+      database.execSQL("CREATE INDEX IF NOT EXISTS "
+          + "`index_stock_entry_table_best_before_date_epoch_day` "
+          + "ON `stock_entry_table` (`best_before_date_epoch_day`)");
+    }
+  };
+
   public abstract ShoppingListDao shoppingListDao();
 
   public abstract ShoppingListItemDao shoppingListItemDao();
@@ -212,6 +323,10 @@ public abstract class AppDatabase extends RoomDatabase {
 
   public abstract UserfieldDao userfieldDao();
 
+  public abstract StockLogEntryDao stockLogEntryDao();
+
+  public abstract OutboxRequestDao outboxRequestDao();
+
   public abstract ServerDao serverDao();
 
   public static AppDatabase getAppDatabase(Context context) {
@@ -220,7 +335,10 @@ public abstract class AppDatabase extends RoomDatabase {
           context.getApplicationContext(),
           AppDatabase.class,
           "app_database"
-      ).fallbackToDestructiveMigration().build();
+      ).addMigrations(MIGRATION_54_55, MIGRATION_55_56, MIGRATION_56_57, MIGRATION_57_58,
+          MIGRATION_58_59, MIGRATION_59_60)
+          .fallbackToDestructiveMigration()
+          .build();
     }
     return INSTANCE;
   }
@@ -0,0 +1,296 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.database;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import xyz.zedler.patrick.grocy.model.Location;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.ProductBarcode;
+import xyz.zedler.patrick.grocy.model.ProductGroup;
+import xyz.zedler.patrick.grocy.model.QuantityUnit;
+import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
+import xyz.zedler.patrick.grocy.model.Store;
+import xyz.zedler.patrick.grocy.model.Userfield;
+
+/**
+ * Application-wide cache of the master data tables which nearly every screen loads.
+ * The first screen reads a table from the database, all other screens get the same snapshot
+ * until the table is written again. Tables are invalidated by the InvalidationTracker of
+ * Room after every write and additionally right after a sync, because the tracker notifies
+ * its observers asynchronously.
+ * <p>
+ * Snapshots are shared between screens, so neither the items nor the HashMaps must be
+ * modified. The lists returned for the repositories are copies and can be sorted.
+ * The snapshots are released when no ViewModel holds a reference anymore.
+ */
+public class EntityCache {
+
+  private static EntityCache INSTANCE;
+
+  private final Table<Product> products;
+  private final Table<ProductGroup> productGroups;
+  private final Table<ProductBarcode> productBarcodes;
+  private final Table<QuantityUnit> quantityUnits;
+  private final Table<QuantityUnitConversionResolved> conversionsResolved;
+  private final Table<Location> locations;
+  private final Table<Store> stores;
+  private final Table<Userfield> userfields;
+  private final HashMap<String, Table<?>> tablesByName;
+  private final HashMap<Class<?>, Table<?>> tablesByType;
+  private int referenceCount = 0;
+
+  public static synchronized EntityCache getInstance(Context context) {
+    if (INSTANCE == null) {
+      INSTANCE = new EntityCache(AppDatabase.getAppDatabase(context));
+    }
+    return INSTANCE;
+  }
+
+  private EntityCache(AppDatabase appDatabase) {
+    tablesByName = new HashMap<>();
+    tablesByType = new HashMap<>();
+    products = addTable(
+        "product_table", Product.class,
+        () -> appDatabase.productDao().getProducts(), Product::getId
+    );
+    productGroups = addTable(
+        "product_group_table", ProductGroup.class,
+        () -> appDatabase.productGroupDao().getProductGroups(), ProductGroup::getId
+    );
+    productBarcodes = addTable(
+        "product_barcode_table", ProductBarcode.class,
+        () -> appDatabase.productBarcodeDao().getProductBarcodes(), ProductBarcode::getId
+    );
+    quantityUnits = addTable(
+        "quantity_unit_table", QuantityUnit.class,
+        () -> appDatabase.quantityUnitDao().getQuantityUnits(), QuantityUnit::getId
+    );
+    conversionsResolved = addTable(
+        "quantity_unit_conversion_resolved_table", QuantityUnitConversionResolved.class,
+        () -> appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(), null
+    );
+    locations = addTable(
+        "location_table", Location.class,
+        () -> appDatabase.locationDao().getLocations(), Location::getId
+    );
+    stores = addTable(
+        "store_table", Store.class,
+        () -> appDatabase.storeDao().getStores(), Store::getId
+    );
+    userfields = addTable(
+        "userfield_table", Userfield.class,
+        () -> appDatabase.userfieldDao().getUserfields(), Userfield::getId
+    );
+
+    String[] tableNames = tablesByName.keySet().toArray(new String[0]);
+    appDatabase.getInvalidationTracker().addObserver(
+        new InvalidationTracker.Observer(tableNames) {
+          @Override
+          public void onInvalidated(@NonNull Set<String> tables) {
+            for (String tableName : tables) {
+              Table<?> table = tablesByName.get(tableName);
+              if (table != null) table.invalidate();
+            }
+          }
+        }
+    );
+  }
+
+  private <T> Table<T> addTable(
+      String tableName,
+      Class<T> type,
+      Query<T> query,
+      @Nullable IdFunction<T> idFunction
+  ) {
+    Table<T> table = new Table<>(query, idFunction);
+    tablesByName.put(tableName, table);
+    tablesByType.put(type, table);
+    return table;
+  }
+
+  public synchronized void acquire() {
+    referenceCount++;
+  }
+
+  public synchronized void release() {
+    referenceCount--;
+    if (referenceCount <= 0) {
+      referenceCount = 0;
+      for (Table<?> table : tablesByName.values()) {
+        table.invalidate();
+      }
+    }
+  }
+
+  /**
+   * Invalidates the tables of the given entity classes synchronously, so a screen which
+   * loads its data right after the sync doesn't get the snapshot from before the sync.
+   */
+  public void invalidate(Class<?>... types) {
+    for (Class<?> type : types) {
+      Table<?> table = tablesByType.get(type);
+      if (table != null) table.invalidate();
+    }
+  }
+
+  public Single<Snapshot<Product>> getProductsSnapshot() {
+    return products.getSnapshot();
+  }
+
+  public Single<List<Product>> getProducts() {
+    return products.getList();
+  }
+
+  public Single<Snapshot<ProductGroup>> getProductGroupsSnapshot() {
+    return productGroups.getSnapshot();
+  }
+
+  public Single<List<ProductGroup>> getProductGroups() {
+    return productGroups.getList();
+  }
+
+  public Single<List<ProductBarcode>> getProductBarcodes() {
+    return productBarcodes.getList();
+  }
+
+  public Single<Snapshot<QuantityUnit>> getQuantityUnitsSnapshot() {
+    return quantityUnits.getSnapshot();
+  }
+
+  public Single<List<QuantityUnit>> getQuantityUnits() {
+    return quantityUnits.getList();
+  }
+
+  public Single<List<QuantityUnitConversionResolved>> getConversionsResolved() {
+    return conversionsResolved.getList();
+  }
+
+  public Single<Snapshot<Location>> getLocationsSnapshot() {
+    return locations.getSnapshot();
+  }
+
+  public Single<List<Location>> getLocations() {
+    return locations.getList();
+  }
+
+  public Single<Snapshot<Store>> getStoresSnapshot() {
+    return stores.getSnapshot();
+  }
+
+  public Single<List<Store>> getStores() {
+    return stores.getList();
+  }
+
+  public Single<List<Userfield>> getUserfields() {
+    return userfields.getList();
+  }
+
+  public static class Snapshot<T> {
+
+    private final List<T> items;
+    private final HashMap<Integer, T> hashMap;
+
+    private Snapshot(List<T> items, @Nullable IdFunction<T> idFunction) {
+      this.items = Collections.unmodifiableList(items);
+      if (idFunction != null) {
+        hashMap = new HashMap<>();
+        for (T item : items) {
+          hashMap.put(idFunction.getId(item), item);
+        }
+      } else {
+        hashMap = null;
+      }
+    }
+
+    public List<T> getList() {
+      return items;
+    }
+
+    // shared with all other screens, must not be modified
+    public HashMap<Integer, T> getHashMap() {
+      return hashMap;
+    }
+  }
+
+  private static class Table<T> {
+
+    private final Query<T> query;
+    private final IdFunction<T> idFunction;
+    private Snapshot<T> snapshot;
+    // increased with every invalidation, so a query which was started before can't store
+    // the outdated result
+    private int generation = 0;
+
+    Table(Query<T> query, @Nullable IdFunction<T> idFunction) {
+      this.query = query;
+      this.idFunction = idFunction;
+    }
+
+    Single<Snapshot<T>> getSnapshot() {
+      return Single.defer(() -> {
+        int generation;
+        synchronized (this) {
+          if (snapshot != null) {
+            return Single.just(snapshot);
+          }
+          generation = this.generation;
+        }
+        return query.get().map(items -> {
+          Snapshot<T> snapshot = new Snapshot<>(items, idFunction);
+          synchronized (this) {
+            if (generation == this.generation) {
+              this.snapshot = snapshot;
+            }
+          }
+          return snapshot;
+        });
+      });
+    }
+
+    Single<List<T>> getList() {
+      return getSnapshot().map(snapshot -> new ArrayList<>(snapshot.getList()));
+    }
+
+    synchronized void invalidate() {
+      generation++;
+      snapshot = null;
+    }
+  }
+
+  private interface Query<T> {
+
+    Single<List<T>> get();
+  }
+
+  private interface IdFunction<T> {
+
+    int getId(T item);
+  }
+}
@@ -382,6 +382,21 @@ public class FormDataInventory {
     );
   }
 
+  /**
+   * @return difference between the entered amount and the amount in stock, which is used as
+   * expected result if the server's response is not available
+   */
+  public double getAmountDiff() {
+    ProductDetails productDetails = productDetailsLive.getValue();
+    String amountStock = getAmountStock();
+    if (productDetails == null || amountStock == null) return 0;
+    double amount = NumUtil.toDouble(amountStock);
+    if (isTareWeightEnabled()) {
+      amount -= productDetails.getProduct().getTareWeightDouble();
+    }
+    return amount - productDetails.getStockAmount();
+  }
+
   private String getAmountHelpText() {
     QuantityUnit stock = quantityUnitStockLive.getValue();
     QuantityUnit current = quantityUnitLive.getValue();
@@ -257,6 +257,11 @@ public class FormDataTransfer {
     );
   }
 
+  public double getAmountStockDouble() {
+    String amountStock = getAmountStock();
+    return amountStock != null ? NumUtil.toDouble(amountStock) : 0;
+  }
+
   private String getAmountHelpText() {
     QuantityUnit stock = quantityUnitStockLive.getValue();
     QuantityUnit current = quantityUnitLive.getValue();
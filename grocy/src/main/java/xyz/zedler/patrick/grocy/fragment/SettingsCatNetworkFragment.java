@@ -123,6 +123,8 @@ public class SettingsCatNetworkFragment extends BaseFragment {
 
     binding.switchLoadingCircle.post(() -> {
       binding.switchLoadingCircle.jumpDrawablesToCurrentState();
+      binding.switchDeltaSync.jumpDrawablesToCurrentState();
+      binding.switchPooledConnections.jumpDrawablesToCurrentState();
       binding.switchTor.jumpDrawablesToCurrentState();
       binding.switchProxy.jumpDrawablesToCurrentState();
     });
@@ -139,6 +141,8 @@ public class SettingsCatNetworkFragment extends BaseFragment {
     setForPreviousDestination(Constants.ARGUMENT.ANIMATED, false);
 
     updateTimeoutValue();
+    updateCacheSizeValue();
+    updateMealPlanSyncWeeksValue();
   }
 
   public MutableLiveData<String> getProxyHostLive() {
@@ -157,6 +161,18 @@ public class SettingsCatNetworkFragment extends BaseFragment {
     ));
   }
 
+  private void updateCacheSizeValue() {
+    binding.cacheSize.setText(getString(R.string.property_megabytes_num, viewModel.getCacheSize()));
+  }
+
+  private void updateMealPlanSyncWeeksValue() {
+    binding.mealPlanSyncWeeks.setText(getResources().getQuantityString(
+        R.plurals.property_weeks_num,
+        viewModel.getMealPlanSyncWeeks(),
+        viewModel.getMealPlanSyncWeeks()
+    ));
+  }
+
   @Override
   public void saveInput(String text, Bundle argsBundle) {
     String type = argsBundle.getString(ARGUMENT.TYPE);
@@ -168,6 +184,18 @@ public class SettingsCatNetworkFragment extends BaseFragment {
         viewModel.setLoadingTimeout(timeout);
         updateTimeoutValue();
         break;
+      case NETWORK.CACHE_SIZE:
+        int cacheSize = NumUtil.isStringInt(text) && Integer.parseInt(text) > 0
+            ? Integer.parseInt(text) : SETTINGS_DEFAULT.NETWORK.CACHE_SIZE;
+        viewModel.setCacheSize(cacheSize);
+        updateCacheSizeValue();
+        break;
+      case NETWORK.MEAL_PLAN_SYNC_WEEKS:
+        int weeks = NumUtil.isStringInt(text) && Integer.parseInt(text) > 0
+            ? Integer.parseInt(text) : SETTINGS_DEFAULT.NETWORK.MEAL_PLAN_SYNC_WEEKS;
+        viewModel.setMealPlanSyncWeeks(weeks);
+        updateMealPlanSyncWeeksValue();
+        break;
       case NETWORK.PROXY_HOST:
         viewModel.setProxyHost(text.isEmpty() ? SETTINGS_DEFAULT.NETWORK.PROXY_HOST : text);
         proxyHostLive.setValue(text.isEmpty() ? SETTINGS_DEFAULT.NETWORK.PROXY_HOST : text);
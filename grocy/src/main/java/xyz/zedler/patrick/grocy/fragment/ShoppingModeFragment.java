@@ -58,6 +58,7 @@ import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.util.ClickUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.viewmodel.ShoppingModeViewModel;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class ShoppingModeFragment extends BaseFragment implements
     ShoppingModeItemAdapter.ShoppingModeItemClickListener {
@@ -391,7 +392,9 @@ public class ShoppingModeFragment extends BaseFragment implements
         if (debug) {
           Log.i(TAG, "auto sync shopping list (but may skip download)");
         }
-        handler.post(() -> viewModel.downloadData(false, false));
+        handler.post(() -> viewModel.downloadData(
+            false, false, NetworkQueue.PRIORITY_BACKGROUND
+        ));
       }
     };
   }
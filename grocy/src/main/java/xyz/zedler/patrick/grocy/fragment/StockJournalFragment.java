@@ -35,10 +35,10 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import java.util.List;
+import kotlin.Unit;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.activity.MainActivity;
 import xyz.zedler.patrick.grocy.adapter.StockLogEntryAdapter;
-import xyz.zedler.patrick.grocy.adapter.StockLogEntryAdapter.PaginationScrollListener;
 import xyz.zedler.patrick.grocy.adapter.StockLogEntryAdapter.StockLogEntryAdapterListener;
 import xyz.zedler.patrick.grocy.adapter.StockLogPlaceholderAdapter;
 import xyz.zedler.patrick.grocy.behavior.AppBarBehavior;
@@ -133,35 +133,6 @@ public class StockJournalFragment extends BaseFragment implements StockLogEntryA
     );
     binding.recycler.setAdapter(new StockLogPlaceholderAdapter());
 
-    binding.recycler.addOnScrollListener(new PaginationScrollListener(
-        (LinearLayoutManager) binding.recycler.getLayoutManager()) {
-      @Override
-      protected void loadMoreItems() {
-        if (binding.recycler.getAdapter() instanceof StockLogPlaceholderAdapter) return;
-        viewModel.setCurrentPage(viewModel.getCurrentPage() + 1);
-        viewModel.loadNextPage(stockLogEntries -> {
-          if (stockLogEntries.size() == 0) {
-            viewModel.setLastPage(true);
-            return;
-          }
-          StockLogEntryAdapter adapter = (StockLogEntryAdapter) binding.recycler.getAdapter();
-          if (adapter == null) return;
-          adapter.addAll(stockLogEntries);
-        });
-      }
-
-      @Override
-      public boolean isLastPage() {
-        return viewModel.isLastPage();
-      }
-
-      @Override
-      public boolean isLoading() {
-        return viewModel.getIsLoadingLive().getValue() != null
-            && viewModel.getIsLoadingLive().getValue();
-      }
-    });
-
     if (savedInstanceState == null) {
       binding.recycler.scrollToPosition(0);
       viewModel.resetSearch();
@@ -172,22 +143,35 @@ public class StockJournalFragment extends BaseFragment implements StockLogEntryA
         infoFullscreen -> infoFullscreenHelper.setInfo(infoFullscreen)
     );
 
-    viewModel.getFilteredStockLogEntriesLive().observe(getViewLifecycleOwner(), items -> {
-      if (items == null) return;
-      binding.recycler.setAdapter(
-          new StockLogEntryAdapter(
-              requireContext(),
-              items,
-              viewModel.getQuantityUnitHashMap(),
-              viewModel.getProductHashMap(),
-              viewModel.getLocationHashMap(),
-              viewModel.getUserHashMap(),
-              this
-          )
+    viewModel.getMasterDataLoadedLive().observe(getViewLifecycleOwner(), loaded -> {
+      if (!loaded) return;
+      if (binding.recycler.getAdapter() instanceof StockLogEntryAdapter) {
+        ((StockLogEntryAdapter) binding.recycler.getAdapter()).updateData(
+            viewModel.getQuantityUnitHashMap(),
+            viewModel.getProductHashMap(),
+            viewModel.getLocationHashMap(),
+            viewModel.getUserHashMap()
+        );
+        return;
+      }
+      StockLogEntryAdapter adapter = new StockLogEntryAdapter(
+          requireContext(),
+          viewModel.getQuantityUnitHashMap(),
+          viewModel.getProductHashMap(),
+          viewModel.getLocationHashMap(),
+          viewModel.getUserHashMap(),
+          this
       );
+      adapter.addLoadStateListener(loadStates -> {
+        viewModel.onLoadStatesChanged(loadStates, adapter.getItemCount());
+        return Unit.INSTANCE;
+      });
+      binding.recycler.setAdapter(adapter);
       binding.recycler.scheduleLayoutAnimation();
-      viewModel.setLastPage(false);
-      viewModel.setCurrentPage(0);
+      viewModel.getStockLogEntriesLive().observe(
+          getViewLifecycleOwner(),
+          pagingData -> adapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData)
+      );
     });
 
     viewModel.getEventHandler().observeEvent(getViewLifecycleOwner(), event -> {
@@ -303,7 +287,14 @@ public class StockJournalFragment extends BaseFragment implements StockLogEntryA
     if (!isOnline == viewModel.isOffline()) {
       return;
     }
+    refresh();
+  }
+
+  public void refresh() {
     viewModel.downloadData(true);
+    if (binding.recycler.getAdapter() instanceof StockLogEntryAdapter) {
+      ((StockLogEntryAdapter) binding.recycler.getAdapter()).refresh();
+    }
   }
 
   private void showConfirmationDialog(StockLogEntry entry) {
@@ -29,6 +29,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.lifecycle.MutableLiveData;
 import androidx.preference.PreferenceManager;
+import com.android.volley.NoConnectionError;
 import com.android.volley.Request;
 import com.android.volley.RequestQueue;
 import com.android.volley.VolleyError;
@@ -38,6 +39,10 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,12 +53,14 @@ import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Chore;
 import xyz.zedler.patrick.grocy.model.ChoreEntry;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
 import xyz.zedler.patrick.grocy.model.MissingItem;
+import xyz.zedler.patrick.grocy.model.OutboxRequest;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductAveragePrice;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -80,19 +87,31 @@ import xyz.zedler.patrick.grocy.model.Userfield;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.web.CustomByteArrayRequest;
 import xyz.zedler.patrick.grocy.web.CustomJsonArrayRequest;
 import xyz.zedler.patrick.grocy.web.CustomJsonObjectRequest;
+import xyz.zedler.patrick.grocy.web.CustomJsonStreamRequest;
+import xyz.zedler.patrick.grocy.web.CustomJsonStreamRequest.OnBatchListener;
 import xyz.zedler.patrick.grocy.web.CustomStringRequest;
 import xyz.zedler.patrick.grocy.web.NetworkQueue;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.OnQueueEmptyListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
+import xyz.zedler.patrick.grocy.web.ProductDetailsCache;
 import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
+import xyz.zedler.patrick.grocy.web.ResponseBodyDecoder;
+import xyz.zedler.patrick.grocy.web.ValidatorStore;
+import xyz.zedler.patrick.grocy.web.ValidatorStore.Validators;
 
 public class DownloadHelper {
 
   private static final String TAG = DownloadHelper.class.getSimpleName();
 
+  // In delta sync mode only objects with a higher id than the last synced one are downloaded.
+  // Deleted objects are detected before every delta download, see checkDeltaSyncIds().
+  // Edited objects can't be detected this way, so a full download is done after this
+  // interval, on forced updates and after the app itself changed or deleted an object.
+  private static final long DELTA_SYNC_RECONCILE_INTERVAL = 60 * 60 * 1000;
+  private static final int STREAM_BATCH_SIZE = 200;
+
   public final Application application;
   public final GrocyApi grocyApi;
   private final RequestQueue requestQueue;
@@ -108,6 +127,8 @@ public class DownloadHelper {
   private final String apiKey;
   public final boolean debug;
   private final int timeoutSeconds;
+  private final boolean deltaSyncEnabled;
+  private final ValidatorStore validatorStore;
   private int loadingRequests;
 
   public DownloadHelper(
@@ -135,6 +156,11 @@ public class DownloadHelper {
         Constants.SETTINGS.NETWORK.LOADING_TIMEOUT,
         Constants.SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
     );
+    deltaSyncEnabled = sharedPrefs.getBoolean(
+        Constants.SETTINGS.NETWORK.DELTA_SYNC,
+        Constants.SETTINGS_DEFAULT.NETWORK.DELTA_SYNC
+    );
+    validatorStore = new ValidatorStore(sharedPrefs);
   }
 
   public DownloadHelper(
@@ -163,6 +189,11 @@ public class DownloadHelper {
         Constants.SETTINGS.NETWORK.LOADING_TIMEOUT,
         Constants.SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
     );
+    deltaSyncEnabled = sharedPrefs.getBoolean(
+        Constants.SETTINGS.NETWORK.DELTA_SYNC,
+        Constants.SETTINGS_DEFAULT.NETWORK.DELTA_SYNC
+    );
+    validatorStore = new ValidatorStore(sharedPrefs);
   }
 
   public DownloadHelper(Activity activity, String tag) {
@@ -206,6 +237,32 @@ public class DownloadHelper {
     requestQueue.add(request);
   }
 
+  // conditional GET, see getNotModifiedHandler()
+  public void get(
+      String url,
+      String tag,
+      OnStringResponseListener onResponse,
+      @Nullable Runnable onNotModified,
+      OnErrorListener onError
+  ) {
+    String sessionKey = sharedPrefs
+        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
+    CustomStringRequest request = new CustomStringRequest(
+        Request.Method.GET,
+        url,
+        apiKey,
+        sessionKey,
+        onResponse::onResponse,
+        onError::onError,
+        timeoutSeconds,
+        tag
+    );
+    if (onNotModified != null) {
+      request.setConditional(validatorStore, onNotModified);
+    }
+    requestQueue.add(request);
+  }
+
   // for requests without loading progress (set noLoadingProgress=true) TODO
   public void get(
       String url,
@@ -231,6 +288,85 @@ public class DownloadHelper {
     requestQueue.add(request);
   }
 
+  /**
+   * Downloads a large object list which nobody needs decoded in memory afterwards. Only the
+   * received body is kept until the write, which runs through storeObjects, so it is part of
+   * the sync session transaction of the queue and never runs on the network thread. There the
+   * body is decoded with a JsonReader and handed to databaseWrite in batches of
+   * STREAM_BATCH_SIZE objects. prefsWrite runs after all batches, e.g. for the delta sync
+   * watermark. A forced update is never sent as conditional GET.
+   */
+  public <T> void downloadStreamed(
+      String url,
+      @Nullable String queueUuid,
+      Class<T> objectClass,
+      OnBatchListener<T> databaseWrite,
+      @Nullable OnStreamedPrefsWriteListener prefsWrite,
+      String dbChangedTimePrefKey,
+      String dbChangedTime,
+      boolean forceUpdate,
+      @Nullable OnStringResponseListener responseListener,
+      @Nullable OnMultiTypeErrorListener errorListener
+  ) {
+    String sessionKey = sharedPrefs
+        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
+    CustomJsonStreamRequest<T> request = new CustomJsonStreamRequest<>(
+        url,
+        apiKey,
+        sessionKey,
+        gson,
+        objectClass,
+        !forceUpdate ? validatorStore : null,
+        body -> {
+          if (debug) {
+            Log.i(tag, "download " + objectClass.getSimpleName() + " (streamed): "
+                + (body != null ? body.getSize() + " bytes" : "not modified"));
+          }
+          storeObjects(
+              queueUuid,
+              () -> {
+                if (body == null) {
+                  return;
+                }
+                appDatabase.runInTransaction(() -> {
+                  try {
+                    int count = body.decode(STREAM_BATCH_SIZE, databaseWrite);
+                    if (debug) {
+                      Log.i(tag, "store " + objectClass.getSimpleName() + " (streamed): "
+                          + count);
+                    }
+                  } catch (IOException e) {
+                    // rolls back the transaction
+                    throw new RuntimeException(e);
+                  }
+                });
+              },
+              editor -> {
+                if (prefsWrite != null) {
+                  prefsWrite.write(editor, body == null);
+                }
+                editor.putString(dbChangedTimePrefKey, dbChangedTime);
+              },
+              () -> {},
+              () -> {
+                if (responseListener != null) {
+                  responseListener.onResponse(null);
+                }
+              },
+              errorListener
+          );
+        },
+        error -> {
+          if (errorListener != null) {
+            errorListener.onError(error);
+          }
+        },
+        timeoutSeconds,
+        queueUuid
+    );
+    requestQueue.add(request);
+  }
+
   // for single requests without a queue
   public void get(
       String url,
@@ -269,6 +405,7 @@ public class DownloadHelper {
       OnJSONResponseListener onResponse,
       OnErrorListener onError
   ) {
+    ProductDetailsCache.getInstance().invalidate(url);
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomJsonObjectRequest request = new CustomJsonObjectRequest(
@@ -277,8 +414,14 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         json,
-        onResponse::onResponse,
-        onError::onError,
+        response -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onResponse.onResponse(response);
+        },
+        error -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onError.onError(error);
+        },
         timeoutSeconds,
         uuidHelper
     );
@@ -291,6 +434,7 @@ public class DownloadHelper {
       OnJSONArrayResponseListener onResponse,
       OnErrorListener onError
   ) {
+    ProductDetailsCache.getInstance().invalidate(url);
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomJsonArrayRequest request = new CustomJsonArrayRequest(
@@ -299,15 +443,117 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         json,
-        onResponse::onResponse,
-        onError::onError,
+        response -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onResponse.onResponse(response);
+        },
+        error -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onError.onError(error);
+        },
         timeoutSeconds,
         uuidHelper
     );
     requestQueue.add(request);
   }
 
+  /**
+   * Sends the request like post, but stores it in the outbox if the server is not reachable.
+   * If older requests are still waiting in the outbox, it is stored behind them, so the server
+   * receives all requests in the order they were made.
+   */
+  public void postOrStore(
+      String url,
+      JSONObject json,
+      String description,
+      OnJSONResponseListener onResponse,
+      Runnable onStored,
+      OnErrorListener onError
+  ) {
+    sendOrStore(url, json, description, onStored, onError,
+        errorListener -> post(url, json, onResponse, errorListener));
+  }
+
+  public void postWithArrayOrStore(
+      String url,
+      JSONObject json,
+      String description,
+      OnJSONArrayResponseListener onResponse,
+      Runnable onStored,
+      OnErrorListener onError
+  ) {
+    sendOrStore(url, json, description, onStored, onError,
+        errorListener -> postWithArray(url, json, onResponse, errorListener));
+  }
+
+  private void sendOrStore(
+      String url,
+      JSONObject json,
+      String description,
+      Runnable onStored,
+      OnErrorListener onError,
+      OutboxSendAction sendAction
+  ) {
+    if (offlineLive != null && Boolean.TRUE.equals(offlineLive.getValue())) {
+      storeInOutbox(url, json, description, onStored, onError);
+      return;
+    }
+    appDatabase.outboxRequestDao().countOutboxRequests()
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(count -> {
+          if (count > 0) {
+            storeInOutbox(url, json, description, onStored, onError);
+            return;
+          }
+          sendAction.send(error -> {
+            // only requests which certainly did not reach the server can be sent again
+            if (error instanceof NoConnectionError && OutboxWorker.isNotSent(error.getCause())) {
+              storeInOutbox(url, json, description, onStored, onError);
+            } else {
+              onError.onError(error);
+            }
+          });
+        })
+        .doOnError(throwable -> {
+          Log.e(tag, "sendOrStore: " + throwable);
+          sendAction.send(onError);
+        })
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private void storeInOutbox(
+      String url,
+      JSONObject json,
+      String description,
+      Runnable onStored,
+      OnErrorListener onError
+  ) {
+    ProductDetailsCache.getInstance().invalidate(url);
+    OutboxRequest outboxRequest = new OutboxRequest(
+        OutboxRequest.METHOD_POST,
+        url,
+        json != null ? json.toString() : null,
+        description
+    );
+    appDatabase.outboxRequestDao().insertOutboxRequest(outboxRequest)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(id -> {
+          if (debug) {
+            Log.i(tag, "storeInOutbox: " + outboxRequest);
+          }
+          OutboxWorker.enqueue(application);
+          onStored.run();
+        })
+        .doOnError(throwable -> onError.onError(new VolleyError(throwable)))
+        .onErrorComplete()
+        .subscribe();
+  }
+
   public void post(String url, OnStringResponseListener onResponse, OnErrorListener onError) {
+    ProductDetailsCache.getInstance().invalidate(url);
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomStringRequest request = new CustomStringRequest(
@@ -315,8 +561,14 @@ public class DownloadHelper {
         url,
         apiKey,
         sessionKey,
-        onResponse::onResponse,
-        onError::onError,
+        response -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onResponse.onResponse(response);
+        },
+        error -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onError.onError(error);
+        },
         timeoutSeconds,
         uuidHelper
     );
@@ -329,6 +581,8 @@ public class DownloadHelper {
       OnJSONResponseListener onResponse,
       OnErrorListener onError
   ) {
+    invalidateDeltaSyncWatermarks(url);
+    ProductDetailsCache.getInstance().invalidate(url);
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomJsonObjectRequest request = new CustomJsonObjectRequest(
@@ -337,30 +591,14 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         json,
-        onResponse::onResponse,
-        onError::onError,
-        timeoutSeconds,
-        uuidHelper
-    );
-    requestQueue.add(request);
-  }
-
-  public void putFile(
-      String url,
-      byte[] fileContent,
-      Runnable onSuccess,
-      OnErrorListener onError
-  ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
-    CustomByteArrayRequest request = new CustomByteArrayRequest(
-        Request.Method.PUT,
-        url,
-        apiKey,
-        sessionKey,
-        fileContent,
-        onSuccess,
-        onError::onError,
+        response -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onResponse.onResponse(response);
+        },
+        error -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onError.onError(error);
+        },
         timeoutSeconds,
         uuidHelper
     );
@@ -373,6 +611,8 @@ public class DownloadHelper {
       OnStringResponseListener onResponse,
       OnErrorListener onError
   ) {
+    invalidateDeltaSyncWatermarks(url);
+    ProductDetailsCache.getInstance().invalidate(url);
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomStringRequest request = new CustomStringRequest(
@@ -380,8 +620,14 @@ public class DownloadHelper {
         url,
         apiKey,
         sessionKey,
-        onResponse::onResponse,
-        onError::onError,
+        response -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onResponse.onResponse(response);
+        },
+        error -> {
+          ProductDetailsCache.getInstance().invalidate(url);
+          onError.onError(error);
+        },
         timeoutSeconds,
         tag
     );
@@ -421,15 +667,239 @@ public class DownloadHelper {
     );
   }
 
+  /**
+   * Returns the highest object id which is already stored in the database if only newer
+   * objects have to be downloaded, or -1 if a full download of the entity is required.
+   */
+  public int getDeltaSyncMaxId(
+      String maxIdPrefKey,
+      String lastFullSyncPrefKey,
+      boolean forceUpdate
+  ) {
+    if (!deltaSyncEnabled || forceUpdate) {
+      return -1;
+    }
+    long lastFullSync = sharedPrefs.getLong(lastFullSyncPrefKey, 0);
+    if (System.currentTimeMillis() - lastFullSync > DELTA_SYNC_RECONCILE_INTERVAL) {
+      return -1;
+    }
+    return sharedPrefs.getInt(maxIdPrefKey, -1);
+  }
+
+  /**
+   * Edits of objects which were synced with a delta download are only noticed by the next full
+   * download. The db-changed-time can't tell about them, because it was stored with the delta
+   * download, so the full download is also due if the db-changed-time did not change since.
+   */
+  public boolean isDeltaSyncReconcileDue(String maxIdPrefKey, String lastFullSyncPrefKey) {
+    if (!deltaSyncEnabled || !sharedPrefs.contains(maxIdPrefKey)) {
+      return false;
+    }
+    long lastFullSync = sharedPrefs.getLong(lastFullSyncPrefKey, 0);
+    return System.currentTimeMillis() - lastFullSync > DELTA_SYNC_RECONCILE_INTERVAL;
+  }
+
+  /**
+   * Checks whether objects up to the delta sync watermark were deleted on the server, which a
+   * delta download can't notice. The server can't have objects up to maxId which are not stored
+   * locally, so both have the same ids if the server has an object at the position of the
+   * last local one. onChecked gets false if a full download is required.
+   */
+  public void checkDeltaSyncIds(
+      String entity,
+      int maxId,
+      Single<Integer> localCountSingle,
+      @Nullable String queueUuid,
+      OnDeltaSyncCheckedListener onChecked,
+      @Nullable OnMultiTypeErrorListener onError
+  ) {
+    localCountSingle
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(localCount -> {
+          if (localCount == 0) {
+            onChecked.onChecked(true);
+            return;
+          }
+          get(
+              grocyApi.getObjectUpToIdAt(entity, maxId, localCount - 1),
+              queueUuid,
+              response -> {
+                boolean idsMatch;
+                try {
+                  idsMatch = new JSONArray(response).length() == 1;
+                } catch (JSONException e) {
+                  idsMatch = false;
+                }
+                if (debug && !idsMatch) {
+                  Log.i(tag, "checkDeltaSyncIds: " + entity + " deleted on server");
+                }
+                onChecked.onChecked(idsMatch);
+              },
+              error -> {
+                if (onError != null) {
+                  onError.onError(error);
+                }
+              }
+          );
+        })
+        .doOnError(throwable -> {
+          if (onError != null) {
+            onError.onError(throwable);
+          }
+        })
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  public SharedPreferences.Editor putDeltaSyncWatermark(
+      SharedPreferences.Editor editor,
+      String maxIdPrefKey,
+      String lastFullSyncPrefKey,
+      int maxId,
+      boolean fullSync
+  ) {
+    editor.putInt(maxIdPrefKey, maxId);
+    if (fullSync) {
+      editor.putLong(lastFullSyncPrefKey, System.currentTimeMillis());
+    }
+    return editor;
+  }
+
+  private void invalidateDeltaSyncWatermarks(String url) {
+    if (!deltaSyncEnabled || url == null) {
+      return;
+    }
+    if (url.contains("/objects/" + GrocyApi.ENTITY.PRODUCTS + "/")) {
+      sharedPrefs.edit()
+          .remove(Constants.PREF.DB_DELTA_MAX_ID_PRODUCTS)
+          .remove(Constants.PREF.DB_LAST_FULL_SYNC_PRODUCTS)
+          .apply();
+    } else if (url.contains("/objects/" + GrocyApi.ENTITY.PRODUCT_BARCODES + "/")) {
+      sharedPrefs.edit()
+          .remove(Constants.PREF.DB_DELTA_MAX_ID_PRODUCT_BARCODES)
+          .remove(Constants.PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES)
+          .apply();
+    }
+  }
+
+  /**
+   * Stores downloaded objects in the database and updates the related preferences afterwards.
+   * If the QueueItem with this UUID belongs to a queue in sync session mode, both are only
+   * collected and committed together with all other results when the queue is empty.
+   * onStored is called after the objects are committed, onFinished as soon as the QueueItem
+   * is done (in sync session mode before the commit).
+   * Must be called while the response is delivered, because the HTTP validators of a
+   * conditional GET are taken from there and stored with the other preferences.
+   */
+  public void storeObjects(
+      @Nullable String queueUuid,
+      Runnable databaseWrite,
+      OnPrefsWriteListener prefsWrite,
+      Runnable onStored,
+      Runnable onFinished,
+      @Nullable OnMultiTypeErrorListener onError
+  ) {
+    Validators validators = validatorStore.getDeliveredValidators();
+    OnPrefsWriteListener prefsWriteWithValidators = editor -> {
+      prefsWrite.write(editor);
+      if (validators != null) {
+        ValidatorStore.putValidators(editor, validators);
+      }
+    };
+    SyncSession syncSession = getSyncSession(queueUuid);
+    if (syncSession != null) {
+      syncSession.add(databaseWrite, prefsWriteWithValidators, onStored);
+      onFinished.run();
+      return;
+    }
+    Single.fromCallable(() -> {
+          databaseWrite.run();
+          SharedPreferences.Editor editor = sharedPrefs.edit();
+          prefsWriteWithValidators.write(editor);
+          editor.apply();
+          return true;
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(onFinished::run)
+        .subscribe(ignored -> onStored.run(), throwable -> {
+          if (validators != null) {
+            // the old validators don't fit to a table which was maybe written partially
+            validatorStore.removeValidators(validators.getUrl());
+          }
+          if (onError != null) {
+            onError.onError(throwable);
+          }
+        });
+  }
+
+  /**
+   * Returns the handler for a conditional GET of a QueueItem, which is called instead of the
+   * response listener if the entity list did not change on the server (304 Not Modified).
+   * Then only the db-changed-time is stored. Returns null if the QueueItem has a listener
+   * for the decoded objects, because these can't be provided without a response body, and
+   * for forced updates, which must download the list even if the server reports no change.
+   */
+  @Nullable
+  public Runnable getNotModifiedHandler(
+      @Nullable String queueUuid,
+      String prefKey,
+      String dbChangedTime,
+      boolean forceUpdate,
+      @Nullable OnObjectsResponseListener<?> onResponseListener,
+      @Nullable OnStringResponseListener responseListener
+  ) {
+    if (forceUpdate || onResponseListener != null) {
+      return null;
+    }
+    return () -> {
+      if (debug) {
+        Log.i(tag, "download skipped, not modified: " + prefKey);
+      }
+      storeObjects(
+          queueUuid,
+          () -> {},
+          editor -> editor.putString(prefKey, dbChangedTime),
+          () -> {},
+          () -> {
+            if (responseListener != null) {
+              responseListener.onResponse(null);
+            }
+          },
+          null
+      );
+    };
+  }
+
+  @Nullable
+  private SyncSession getSyncSession(@Nullable String queueUuid) {
+    if (queueUuid == null) {
+      return null;
+    }
+    for (NetworkQueue queue : queueArrayList) {
+      if (queue.getUuid().equals(queueUuid)) {
+        return queue.getSyncSession();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param priority one of the NetworkQueue priorities, it decides which queue gets the free
+   *                 request slots first if several queues are waiting
+   */
   public NetworkQueue newQueue(
       OnQueueEmptyListener onQueueEmptyListener,
-      OnMultiTypeErrorListener onErrorListener
+      OnMultiTypeErrorListener onErrorListener,
+      int priority
   ) {
     NetworkQueue queue = new NetworkQueue(
         requestQueue,
         onQueueEmptyListener,
         onErrorListener,
-        onLoadingListener
+        onLoadingListener,
+        priority
     );
     queueArrayList.add(queue);
     return queue;
@@ -441,6 +911,25 @@ public class DownloadHelper {
       boolean forceUpdate,
       boolean errorsOnlyWithForceUpdate,
       Class<?>... types
+  ) {
+    updateData(
+        onFinished,
+        errorListener,
+        forceUpdate,
+        errorsOnlyWithForceUpdate,
+        NetworkQueue.PRIORITY_VISIBLE,
+        types
+    );
+  }
+
+  // for syncs which no visible screen waits for, e.g. with NetworkQueue.PRIORITY_BACKGROUND
+  public void updateData(
+      OnQueueEmptyListener onFinished,
+      OnMultiTypeErrorListener errorListener,
+      boolean forceUpdate,
+      boolean errorsOnlyWithForceUpdate,
+      int priority,
+      Class<?>... types
   ) {
     updateData(
         onFinished,
@@ -449,6 +938,28 @@ public class DownloadHelper {
         forceUpdate,
         errorsOnlyWithForceUpdate,
         null,
+        priority,
+        types
+    );
+  }
+
+  public void updateData(
+      OnQueueEmptyListener onFinished,
+      OnMultiTypeErrorListener errorListener,
+      @Nullable String dbChangedTime,
+      boolean forceUpdate,
+      boolean errorsOnlyWithForceUpdate,
+      @Nullable QueueItem extraQueueItem,
+      Class<?>... types
+  ) {
+    updateData(
+        onFinished,
+        errorListener,
+        dbChangedTime,
+        forceUpdate,
+        errorsOnlyWithForceUpdate,
+        extraQueueItem,
+        NetworkQueue.PRIORITY_VISIBLE,
         types
     );
   }
@@ -465,6 +976,8 @@ public class DownloadHelper {
       // banner (live updated with offlineLive data)
       boolean errorsOnlyWithForceUpdate,
       @Nullable QueueItem extraQueueItem,
+      // priority of the queue, see NetworkQueue
+      int priority,
       Class<?>... types
   ) {
     if (dbChangedTime == null) {
@@ -476,6 +989,7 @@ public class DownloadHelper {
               forceUpdate,
               errorsOnlyWithForceUpdate,
               extraQueueItem,
+              priority,
               types
           ),
           error -> {
@@ -491,6 +1005,15 @@ public class DownloadHelper {
 
     NetworkQueue queue = newQueue(updated -> {
       if (offlineLive != null) offlineLive.setValue(false);
+      if (debug && updated) {
+        Log.i(tag, "updateData: " + ResponseBodyDecoder.getTransferStatsAndReset());
+      }
+      if (updated) {
+        // the InvalidationTracker of Room would invalidate them too late for the reload below
+        EntityCache.getInstance(application).invalidate(types);
+        ProductDetailsCache.getInstance().clear();
+      }
+      storeLastSyncTimes(types);
       onFinished.onQueueEmpty(updated);
     }, error -> {
       if (offlineLive != null) offlineLive.setValue(true);
@@ -498,7 +1021,9 @@ public class DownloadHelper {
         return;
       }
       errorListener.onError(error);
-    });
+    }, priority);
+    // all entities of this run are committed in one transaction when the queue is empty
+    queue.setSyncSession(new SyncSession(appDatabase, sharedPrefs, tag, debug));
 
     for (Class<?> type : types) {
       if (type == Product.class) {
@@ -570,6 +1095,20 @@ public class DownloadHelper {
     queue.start();
   }
 
+  // lets background jobs like the reminders decide whether local data is recent enough
+  private void storeLastSyncTimes(Class<?>... types) {
+    long now = System.currentTimeMillis();
+    SharedPreferences.Editor editor = sharedPrefs.edit();
+    for (Class<?> type : types) {
+      if (type == StockItem.class) {
+        editor.putLong(Constants.PREF.DB_LAST_SYNC_STOCK_ITEMS, now);
+      } else if (type == ChoreEntry.class) {
+        editor.putLong(Constants.PREF.DB_LAST_SYNC_CHORE_ENTRIES, now);
+      }
+    }
+    editor.apply();
+  }
+
   public interface OnObjectsResponseListener<T> {
 
     void onResponse(List<T> objects);
@@ -610,6 +1149,27 @@ public class DownloadHelper {
     void onError(Object error);
   }
 
+  private interface OutboxSendAction {
+
+    void send(OnErrorListener onError);
+  }
+
+  public interface OnPrefsWriteListener {
+
+    void write(SharedPreferences.Editor editor);
+  }
+
+  public interface OnDeltaSyncCheckedListener {
+
+    void onChecked(boolean idsMatch);
+  }
+
+  public interface OnStreamedPrefsWriteListener {
+
+    // notModified is true if the server answered with 304 Not Modified
+    void write(SharedPreferences.Editor editor, boolean notModified);
+  }
+
   public interface OnLoadingListener {
 
     void onLoadingChanged(boolean isLoading);
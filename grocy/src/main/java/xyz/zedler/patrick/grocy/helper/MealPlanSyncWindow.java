@@ -0,0 +1,179 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS.NETWORK;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
+import xyz.zedler.patrick.grocy.api.GrocyApi.COMPARISON;
+import xyz.zedler.patrick.grocy.api.GrocyApi.COMPARISON_OPERATOR;
+import xyz.zedler.patrick.grocy.util.DateUtil;
+
+/**
+ * Day range of the meal plan which is synced with the server. The local table only holds
+ * the entries of this range, it grows when adjacent weeks are displayed and is trimmed to
+ * the weeks around the displayed week if it gets too long.
+ */
+public class MealPlanSyncWindow {
+
+  // adjacent weeks are downloaded before they are displayed
+  private final static int PRELOAD_WEEKS = 1;
+  private final static DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+  private final LocalDate start;
+  private final LocalDate end;
+
+  public MealPlanSyncWindow(@NonNull LocalDate start, @NonNull LocalDate end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the configured number of weeks before and after the week of the given date
+   */
+  public static MealPlanSyncWindow getAround(SharedPreferences sharedPrefs, LocalDate date) {
+    return getAround(sharedPrefs, date, getSyncWeeks(sharedPrefs));
+  }
+
+  private static MealPlanSyncWindow getAround(
+      SharedPreferences sharedPrefs,
+      LocalDate date,
+      int weeks
+  ) {
+    DayOfWeek firstDayOfWeek = DateUtil.getMealPlanFirstDayOfWeek(sharedPrefs);
+    LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(firstDayOfWeek));
+    return new MealPlanSyncWindow(
+        weekStart.minusWeeks(weeks),
+        weekStart.plusWeeks(weeks + 1).minusDays(1)
+    );
+  }
+
+  @Nullable
+  public static MealPlanSyncWindow getStored(SharedPreferences sharedPrefs) {
+    String start = sharedPrefs.getString(PREF.DB_MEAL_PLAN_WINDOW_START, null);
+    String end = sharedPrefs.getString(PREF.DB_MEAL_PLAN_WINDOW_END, null);
+    if (start == null || end == null) {
+      return null;
+    }
+    try {
+      return new MealPlanSyncWindow(
+          LocalDate.parse(start, FORMATTER),
+          LocalDate.parse(end, FORMATTER)
+      );
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  public void store(SharedPreferences.Editor editor) {
+    editor.putString(PREF.DB_MEAL_PLAN_WINDOW_START, getStartDay());
+    editor.putString(PREF.DB_MEAL_PLAN_WINDOW_END, getEndDay());
+  }
+
+  /**
+   * Returns the range which has to be downloaded to display the week of the given date and
+   * its adjacent weeks, or null if it is already in this window
+   */
+  @Nullable
+  public MealPlanSyncWindow getMissingRange(SharedPreferences sharedPrefs, LocalDate date) {
+    MealPlanSyncWindow needed = getAround(sharedPrefs, date, PRELOAD_WEEKS);
+    if (contains(needed)) {
+      return null;
+    }
+    boolean adjacent = !needed.end.isBefore(start.minusDays(1))
+        && !needed.start.isAfter(end.plusDays(1));
+    if (!adjacent) {
+      // a jump in the calendar, the window is moved instead of downloading the gap
+      return getAround(sharedPrefs, date);
+    } else if (needed.start.isBefore(start) && needed.end.isAfter(end)) {
+      return needed;
+    } else if (needed.start.isBefore(start)) {
+      return new MealPlanSyncWindow(needed.start, start.minusDays(1));
+    } else {
+      return new MealPlanSyncWindow(end.plusDays(1), needed.end);
+    }
+  }
+
+  /**
+   * Returns this window extended by the downloaded range, limited to twice the configured
+   * number of weeks around the given date, older and newer weeks are evicted
+   */
+  public MealPlanSyncWindow getExtended(
+      SharedPreferences sharedPrefs,
+      MealPlanSyncWindow downloaded,
+      LocalDate date
+  ) {
+    boolean adjacent = !downloaded.end.isBefore(start.minusDays(1))
+        && !downloaded.start.isAfter(end.plusDays(1));
+    if (!adjacent) {
+      return downloaded;
+    }
+    MealPlanSyncWindow union = new MealPlanSyncWindow(
+        downloaded.start.isBefore(start) ? downloaded.start : start,
+        downloaded.end.isAfter(end) ? downloaded.end : end
+    );
+    MealPlanSyncWindow limit = getAround(sharedPrefs, date, getSyncWeeks(sharedPrefs) * 2);
+    return new MealPlanSyncWindow(
+        union.start.isBefore(limit.start) ? limit.start : union.start,
+        union.end.isAfter(limit.end) ? limit.end : union.end
+    );
+  }
+
+  public boolean contains(MealPlanSyncWindow other) {
+    return !other.start.isBefore(start) && !other.end.isAfter(end);
+  }
+
+  public COMPARISON[] getComparisons() {
+    return new COMPARISON[]{
+        new COMPARISON("day", COMPARISON_OPERATOR.GREATER_OR_EQUAL, getStartDay()),
+        new COMPARISON("day", COMPARISON_OPERATOR.LESS_OR_EQUAL, getEndDay())
+    };
+  }
+
+  public String getStartDay() {
+    return start.format(FORMATTER);
+  }
+
+  public String getEndDay() {
+    return end.format(FORMATTER);
+  }
+
+  private static int getSyncWeeks(SharedPreferences sharedPrefs) {
+    return sharedPrefs.getInt(
+        NETWORK.MEAL_PLAN_SYNC_WEEKS,
+        SETTINGS_DEFAULT.NETWORK.MEAL_PLAN_SYNC_WEEKS
+    );
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "MealPlanSyncWindow(" + getStartDay() + " - " + getEndDay() + ")";
+  }
+}
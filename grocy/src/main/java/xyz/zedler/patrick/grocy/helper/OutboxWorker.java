@@ -0,0 +1,275 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.app.Application;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.text.TextUtils;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.preference.PreferenceManager;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.json.JSONException;
+import org.json.JSONObject;
+import xyz.zedler.patrick.grocy.Constants;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS.NOTIFICATIONS;
+import xyz.zedler.patrick.grocy.R;
+import xyz.zedler.patrick.grocy.activity.MainActivity;
+import xyz.zedler.patrick.grocy.dao.OutboxRequestDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.OutboxRequest;
+import xyz.zedler.patrick.grocy.util.ReminderUtil;
+import xyz.zedler.patrick.grocy.web.ProductDetailsCache;
+import xyz.zedler.patrick.grocy.web.RequestHeaders;
+import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
+
+/**
+ * Sends the requests of the outbox in the order they were made. If the server is not reachable
+ * or responds with a temporary error, the worker stops at this request and is retried with
+ * exponential backoff, so later requests never overtake earlier ones. Requests which are
+ * rejected by the server are removed and reported in one notification. Only server errors
+ * count towards the attempt limit, so requests are kept however long the device is offline.
+ */
+public class OutboxWorker extends Worker {
+
+  private final static String TAG = OutboxWorker.class.getSimpleName();
+
+  private final static String UNIQUE_WORK_NAME = "outbox";
+  private final static String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+  private final static MediaType MEDIA_TYPE_JSON = MediaType.get("application/json; charset=utf-8");
+  private final static long BACKOFF_DELAY_SECONDS = 30;
+  // server errors (5xx) until a request is given up
+  private final static int MAX_ATTEMPTS = 8;
+
+  private final static int SENT = 0;
+  private final static int REJECTED = 1;
+  private final static int RETRY = 2;
+  private final static int RETRY_SERVER_ERROR = 3;
+
+  private final List<String> rejectedEntries = new ArrayList<>();
+
+  public OutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+    super(context, params);
+  }
+
+  /**
+   * Appends a run after a possibly running one, so requests which are stored while the outbox
+   * is sent are not missed.
+   */
+  public static void enqueue(Context context) {
+    OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxWorker.class)
+        .setConstraints(new Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.CONNECTED)
+            .build())
+        .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+        .build();
+    WorkManager.getInstance(context).enqueueUniqueWork(
+        UNIQUE_WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request
+    );
+  }
+
+  /**
+   * @return true if the connection could not be established, so the server can't have received
+   * the request and it is safe to send it again later
+   */
+  public static boolean isNotSent(@Nullable Throwable throwable) {
+    return throwable instanceof UnknownHostException
+        || throwable instanceof ConnectException
+        || throwable instanceof NoRouteToHostException;
+  }
+
+  @NonNull
+  @Override
+  public Result doWork() {
+    Context context = getApplicationContext();
+    OutboxRequestDao dao = AppDatabase.getAppDatabase(context).outboxRequestDao();
+    SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+    int timeoutSeconds = sharedPrefs.getInt(
+        Constants.SETTINGS.NETWORK.LOADING_TIMEOUT,
+        Constants.SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
+    );
+    // derived client shares connection pool and dispatcher with the original one
+    OkHttpClient client = RequestQueueSingleton.getInstance(context).getOkHttpClient()
+        .newBuilder()
+        .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
+        .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+        .writeTimeout(timeoutSeconds, TimeUnit.SECONDS)
+        .build();
+    Map<String, String> headers = RequestHeaders.getGrocyAuthHeaders((Application) context);
+
+    Result result = Result.success();
+    // requests which are stored while sending are picked up by the next pass
+    List<OutboxRequest> outboxRequests = dao.getOutboxRequests().blockingGet();
+    while (!outboxRequests.isEmpty() && !isStopped()) {
+      boolean retry = false;
+      for (OutboxRequest outboxRequest : outboxRequests) {
+        if (isStopped()) break;
+        int status = send(client, headers, outboxRequest);
+        if (status == RETRY) {
+          dao.updateOutboxRequest(outboxRequest).blockingGet();
+          retry = true;
+          break;
+        } else if (status == RETRY_SERVER_ERROR) {
+          outboxRequest.setAttempts(outboxRequest.getAttempts() + 1);
+          if (outboxRequest.getAttempts() < MAX_ATTEMPTS) {
+            dao.updateOutboxRequest(outboxRequest).blockingGet();
+            retry = true;
+            break;
+          }
+          reject(outboxRequest, outboxRequest.getLastError());
+        }
+        dao.deleteOutboxRequest(outboxRequest).blockingGet();
+      }
+      if (retry) {
+        result = Result.retry();
+        break;
+      }
+      outboxRequests = dao.getOutboxRequests().blockingGet();
+    }
+    notifyRejected();
+    return result;
+  }
+
+  private int send(
+      OkHttpClient client,
+      Map<String, String> headers,
+      OutboxRequest outboxRequest
+  ) {
+    ProductDetailsCache.getInstance().invalidate(outboxRequest.getUrl());
+    RequestBody body = outboxRequest.getBody() != null
+        ? RequestBody.create(outboxRequest.getBody(), MEDIA_TYPE_JSON)
+        : RequestBody.create(new byte[0], null);
+    Request.Builder builder = new Request.Builder()
+        .url(outboxRequest.getUrl())
+        .header(HEADER_IDEMPOTENCY_KEY, outboxRequest.getIdempotencyKey());
+    switch (outboxRequest.getMethod()) {
+      case OutboxRequest.METHOD_PUT:
+        builder.put(body);
+        break;
+      case OutboxRequest.METHOD_DELETE:
+        builder.delete();
+        break;
+      default:
+        builder.post(body);
+    }
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      // Base64.DEFAULT terminates basic auth credentials with a line break
+      builder.header(header.getKey(), header.getValue().trim());
+    }
+    try (Response response = client.newCall(builder.build()).execute()) {
+      ProductDetailsCache.getInstance().invalidate(outboxRequest.getUrl());
+      int code = response.code();
+      if (response.isSuccessful()) {
+        return SENT;
+      } else if (code >= 400 && code < 500 && code != 401 && code != 403
+          && code != 408 && code != 429) {
+        reject(outboxRequest, getErrorMessage(response.body(), code));
+        return REJECTED;
+      }
+      outboxRequest.setLastError("HTTP " + code);
+      // no connection, missing authorization or rate limiting don't count as attempts
+      return code >= 500 ? RETRY_SERVER_ERROR : RETRY;
+    } catch (IOException e) {
+      ProductDetailsCache.getInstance().invalidate(outboxRequest.getUrl());
+      if (isNotSent(e)) {
+        outboxRequest.setLastError(e.toString());
+        return RETRY;
+      }
+      // the server may have applied the request already, so it is not sent again
+      reject(outboxRequest, e.getLocalizedMessage());
+      return REJECTED;
+    }
+  }
+
+  private void reject(OutboxRequest outboxRequest, @Nullable String errorMessage) {
+    Log.e(TAG, "reject: " + outboxRequest + ": " + errorMessage);
+    Context context = getApplicationContext();
+    rejectedEntries.add(context.getString(
+        R.string.notification_outbox_rejected_entry,
+        outboxRequest.getDescription(),
+        errorMessage != null ? errorMessage : context.getString(R.string.error_network)
+    ));
+  }
+
+  private static String getErrorMessage(@Nullable ResponseBody body, int code) {
+    if (body != null) {
+      try {
+        return new JSONObject(body.string()).getString("error_message");
+      } catch (IOException | JSONException e) {
+        Log.w(TAG, "getErrorMessage: " + e);
+      }
+    }
+    return "HTTP " + code;
+  }
+
+  private void notifyRejected() {
+    if (rejectedEntries.isEmpty()) return;
+    Context context = getApplicationContext();
+    NotificationManager notificationManager = (NotificationManager) context
+        .getSystemService(Context.NOTIFICATION_SERVICE);
+    if (notificationManager == null) return;
+    ReminderUtil.createChannel(
+        notificationManager,
+        NOTIFICATIONS.OUTBOX_CHANNEL,
+        context.getString(R.string.notification_outbox_channel),
+        context.getString(R.string.notification_outbox_channel_description)
+    );
+    Intent intent = new Intent(context, MainActivity.class);
+    intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+    notificationManager.notify(NOTIFICATIONS.OUTBOX_ID, ReminderUtil.getNotification(
+        context,
+        context.getResources().getQuantityString(
+            R.plurals.notification_outbox_rejected_title,
+            rejectedEntries.size(),
+            rejectedEntries.size()
+        ),
+        TextUtils.join("\n", rejectedEntries),
+        NOTIFICATIONS.OUTBOX_ID,
+        NOTIFICATIONS.OUTBOX_CHANNEL,
+        intent
+    ));
+  }
+}
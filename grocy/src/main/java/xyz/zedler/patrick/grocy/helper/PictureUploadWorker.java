@@ -0,0 +1,160 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.preference.PreferenceManager;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import xyz.zedler.patrick.grocy.Constants;
+import xyz.zedler.patrick.grocy.util.PictureUtil;
+import xyz.zedler.patrick.grocy.web.FileUploadRequest;
+import xyz.zedler.patrick.grocy.web.FileUploadRequest.HttpException;
+import xyz.zedler.patrick.grocy.web.RequestHeaders;
+import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
+
+/**
+ * Scales a picture from a file or content uri down, encodes it into a temporary JPEG file and
+ * uploads this file as streamed body to the given url. Progress is reported in percent, where
+ * the scaling step accounts for the first PROGRESS_SCALED percent.
+ */
+public class PictureUploadWorker extends Worker {
+
+  private final static String TAG = PictureUploadWorker.class.getSimpleName();
+
+  public final static String SOURCE_URI = "source_uri";
+  public final static String UPLOAD_URL = "upload_url";
+  public final static String PROGRESS = "progress";
+  public final static String ERROR_MESSAGE = "error_message";
+  public final static String ERROR_STATUS_CODE = "error_status_code";
+
+  private final static int PROGRESS_SCALED = 10;
+
+  public PictureUploadWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+    super(context, params);
+  }
+
+  /**
+   * Replaces a possibly running upload with the same name, so only the latest picture is kept.
+   */
+  public static UUID enqueue(Context context, String uniqueName, Uri source, String uploadUrl) {
+    OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(PictureUploadWorker.class)
+        .setInputData(new Data.Builder()
+            .putString(SOURCE_URI, source.toString())
+            .putString(UPLOAD_URL, uploadUrl)
+            .build())
+        .setConstraints(new Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.CONNECTED)
+            .build())
+        .build();
+    WorkManager.getInstance(context)
+        .enqueueUniqueWork(uniqueName, ExistingWorkPolicy.REPLACE, request);
+    return request.getId();
+  }
+
+  /**
+   * Only the screen which started the upload links the picture to its object, so the upload is
+   * cancelled if this screen is closed before.
+   */
+  public static void cancel(Context context, String uniqueName) {
+    WorkManager.getInstance(context).cancelUniqueWork(uniqueName);
+  }
+
+  public static LiveData<WorkInfo> getWorkInfoLive(Context context, UUID id) {
+    return WorkManager.getInstance(context).getWorkInfoByIdLiveData(id);
+  }
+
+  @NonNull
+  @Override
+  public Result doWork() {
+    String source = getInputData().getString(SOURCE_URI);
+    String uploadUrl = getInputData().getString(UPLOAD_URL);
+    if (source == null || uploadUrl == null) {
+      return Result.failure();
+    }
+    Context context = getApplicationContext();
+    File scaledFile = null;
+    try {
+      setProgressAsync(new Data.Builder().putInt(PROGRESS, 0).build());
+      scaledFile = PictureUtil.createImageFile(context.getCacheDir());
+      PictureUtil.scaleImageToFile(context.getContentResolver(), Uri.parse(source), scaledFile);
+      if (isStopped()) {
+        return Result.failure();
+      }
+      setProgressAsync(new Data.Builder().putInt(PROGRESS, PROGRESS_SCALED).build());
+
+      SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+      int timeoutSeconds = sharedPrefs.getInt(
+          Constants.SETTINGS.NETWORK.LOADING_TIMEOUT,
+          Constants.SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
+      );
+      FileUploadRequest request = new FileUploadRequest(
+          uploadUrl,
+          scaledFile,
+          RequestHeaders.getGrocyAuthHeaders((Application) context),
+          timeoutSeconds
+      );
+      int[] lastProgress = {PROGRESS_SCALED};
+      request.execute(
+          RequestQueueSingleton.getInstance(context).getOkHttpClient(),
+          (bytesWritten, contentLength) -> {
+            int progress = PROGRESS_SCALED + (int) ((100 - PROGRESS_SCALED)
+                * bytesWritten / Math.max(1, contentLength));
+            if (progress == lastProgress[0]) return;
+            lastProgress[0] = progress;
+            setProgressAsync(new Data.Builder().putInt(PROGRESS, progress).build());
+          }
+      );
+      return Result.success();
+    } catch (HttpException e) {
+      Log.e(TAG, "doWork: upload failed: " + e);
+      return Result.failure(new Data.Builder()
+          .putString(ERROR_MESSAGE, e.getLocalizedMessage())
+          .putInt(ERROR_STATUS_CODE, e.getStatusCode())
+          .build());
+    } catch (IOException | RuntimeException e) {
+      Log.e(TAG, "doWork: picture could not be processed or uploaded: " + e);
+      return Result.failure(new Data.Builder()
+          .putString(ERROR_MESSAGE, e.getLocalizedMessage())
+          .build());
+    } finally {
+      if (scaledFile != null && scaledFile.exists() && !scaledFile.delete()) {
+        Log.w(TAG, "doWork: could not delete temporary file " + scaledFile);
+      }
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.util.Log;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.json.JSONException;
+import org.json.JSONObject;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.model.ShoppingListItem;
+import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
+import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
+
+/**
+ * Collects done status changes and deletions of shopping list items and sends them together.
+ * Several changes of one item are coalesced into the last one and deleted items are not
+ * edited before. Clearing the done items of a list is a single request since Grocy 4.0.0,
+ * all other changes are sent through one NetworkQueue, which limits the requests in flight.
+ * <p>
+ * The shopping list items table is updated in one transaction with all changes the server
+ * accepted, also if some of the requests failed, so a reload doesn't have to download the
+ * list again.
+ */
+public class ShoppingListItemBatch {
+
+  private final DownloadHelper dlHelper;
+  private final boolean bulkClearSupported;
+  private final LinkedHashMap<Integer, ShoppingListItem> doneChanges;
+  private final LinkedHashSet<Integer> deletions;
+  // shopping list id -> ids of its done items which are removed with one clear request
+  private final LinkedHashMap<Integer, List<Integer>> doneItemClears;
+
+  public ShoppingListItemBatch(DownloadHelper dlHelper) {
+    this.dlHelper = dlHelper;
+    bulkClearSupported = VersionUtil.isGrocyServerMin400(dlHelper.sharedPrefs);
+    doneChanges = new LinkedHashMap<>();
+    deletions = new LinkedHashSet<>();
+    doneItemClears = new LinkedHashMap<>();
+  }
+
+  /**
+   * The item must already have the done status which should be sent to the server.
+   * An item whose status equals the last synced status again only gets its sync flag reset.
+   */
+  public ShoppingListItemBatch setDone(ShoppingListItem item) {
+    if (!deletions.contains(item.getId())) {
+      doneChanges.put(item.getId(), item);
+    }
+    return this;
+  }
+
+  public ShoppingListItemBatch delete(int itemId) {
+    doneChanges.remove(itemId);
+    deletions.add(itemId);
+    return this;
+  }
+
+  public ShoppingListItemBatch clearDoneItems(
+      int shoppingListId,
+      List<ShoppingListItem> shoppingListItems
+  ) {
+    ArrayList<Integer> doneItemIds = new ArrayList<>();
+    // done changes which are not synced yet would be ignored or wrongly applied by the server
+    boolean hasUnsyncedItems = false;
+    for (ShoppingListItem item : shoppingListItems) {
+      if (item.getShoppingListIdInt() != shoppingListId) {
+        continue;
+      }
+      if (item.getDoneSynced() != -1) {
+        hasUnsyncedItems = true;
+      }
+      if (item.getDoneInt() == 1) {
+        doneItemIds.add(item.getId());
+      }
+    }
+    if (bulkClearSupported && !hasUnsyncedItems && !doneItemIds.isEmpty()) {
+      for (Integer itemId : doneItemIds) {
+        doneChanges.remove(itemId);
+      }
+      doneItemClears.put(shoppingListId, doneItemIds);
+    } else {
+      for (Integer itemId : doneItemIds) {
+        delete(itemId);
+      }
+    }
+    return this;
+  }
+
+  public boolean isEmpty() {
+    return doneChanges.isEmpty() && deletions.isEmpty() && doneItemClears.isEmpty();
+  }
+
+  public void commit(Runnable onSuccess, OnMultiTypeErrorListener onError) {
+    ArrayList<Integer> deletedIds = new ArrayList<>();
+    ArrayList<ShoppingListItem> updatedItems = new ArrayList<>();
+
+    NetworkQueue queue = dlHelper.newQueue(
+        updated -> storeChanges(deletedIds, updatedItems, onSuccess, onError),
+        error -> storeChanges(deletedIds, updatedItems, () -> onError.onError(error), onError),
+        NetworkQueue.PRIORITY_USER_ACTION
+    );
+    for (int shoppingListId : doneItemClears.keySet()) {
+      List<Integer> itemIds = doneItemClears.get(shoppingListId);
+      queue.append(clearDoneItems(shoppingListId, response -> {
+        if (itemIds != null) deletedIds.addAll(itemIds);
+      }));
+    }
+    for (int itemId : deletions) {
+      queue.append(ShoppingListItem.deleteShoppingListItem(
+          dlHelper, itemId, response -> deletedIds.add(itemId), null
+      ));
+    }
+    for (ShoppingListItem item : doneChanges.values()) {
+      if (item.getDoneSynced() == item.getDoneInt()) {
+        // toggled back to the synced status while offline
+        item.setDoneSynced(-1);
+        updatedItems.add(item);
+        continue;
+      }
+      JSONObject body = new JSONObject();
+      try {
+        body.put("done", item.getDoneInt());
+      } catch (JSONException e) {
+        if (dlHelper.debug) {
+          Log.e(dlHelper.tag, "commit: " + e);
+        }
+      }
+      queue.append(ShoppingListItem.editShoppingListItem(dlHelper, item.getId(), body, response -> {
+        item.setDoneSynced(-1);
+        updatedItems.add(item);
+      }, null));
+    }
+    doneChanges.clear();
+    deletions.clear();
+    doneItemClears.clear();
+    queue.start();
+  }
+
+  private QueueItem clearDoneItems(int shoppingListId, OnStringResponseListener onResponse) {
+    return new QueueItem() {
+      @Override
+      public void perform(
+          OnStringResponseListener responseListener,
+          OnMultiTypeErrorListener errorListener,
+          String uuid
+      ) {
+        JSONObject body = new JSONObject();
+        try {
+          body.put("list_id", shoppingListId);
+          body.put("done_only", true);
+        } catch (JSONException e) {
+          if (dlHelper.debug) {
+            Log.e(dlHelper.tag, "clearDoneItems: " + e);
+          }
+        }
+        dlHelper.post(
+            dlHelper.grocyApi.clearShoppingList(),
+            body,
+            response -> {
+              onResponse.onResponse(null);
+              if (responseListener != null) {
+                responseListener.onResponse(null);
+              }
+            },
+            error -> {
+              if (errorListener != null) {
+                errorListener.onError(error);
+              }
+            }
+        );
+      }
+    };
+  }
+
+  private void storeChanges(
+      List<Integer> deletedIds,
+      List<ShoppingListItem> updatedItems,
+      Runnable onFinished,
+      OnMultiTypeErrorListener onError
+  ) {
+    if (deletedIds.isEmpty() && updatedItems.isEmpty()) {
+      onFinished.run();
+      return;
+    }
+    Single.fromCallable(() -> {
+          dlHelper.appDatabase.shoppingListItemDao().applyChanges(deletedIds, updatedItems);
+          return true;
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(ignored -> onFinished.run(), onError::onError);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.content.SharedPreferences;
+import android.util.Log;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnPrefsWriteListener;
+import xyz.zedler.patrick.grocy.web.ValidatorStore;
+
+/**
+ * Collects the database writes and db-changed-time preferences of all QueueItems of one
+ * NetworkQueue run, so they can be committed in a single transaction when the queue is empty.
+ * Readers then either see all old or all new tables.
+ */
+public class SyncSession {
+
+  private final AppDatabase appDatabase;
+  private final SharedPreferences sharedPrefs;
+  private final String tag;
+  private final boolean debug;
+  private final ArrayList<Runnable> databaseWrites;
+  private final ArrayList<OnPrefsWriteListener> prefsWrites;
+  private final ArrayList<Runnable> storedListeners;
+
+  public SyncSession(
+      AppDatabase appDatabase,
+      SharedPreferences sharedPrefs,
+      String tag,
+      boolean debug
+  ) {
+    this.appDatabase = appDatabase;
+    this.sharedPrefs = sharedPrefs;
+    this.tag = tag;
+    this.debug = debug;
+    databaseWrites = new ArrayList<>();
+    prefsWrites = new ArrayList<>();
+    storedListeners = new ArrayList<>();
+  }
+
+  /**
+   * @param onStored called on the main thread after the whole session was committed, so
+   *                 listeners never see tables of a session which was rolled back
+   */
+  public void add(
+      Runnable databaseWrite,
+      OnPrefsWriteListener prefsWrite,
+      Runnable onStored
+  ) {
+    databaseWrites.add(databaseWrite);
+    prefsWrites.add(prefsWrite);
+    storedListeners.add(onStored);
+  }
+
+  public boolean isEmpty() {
+    return databaseWrites.isEmpty();
+  }
+
+  public void clear() {
+    databaseWrites.clear();
+    prefsWrites.clear();
+    storedListeners.clear();
+  }
+
+  public void commit(Runnable onCommitted, OnMultiTypeErrorListener onError) {
+    ArrayList<Runnable> databaseWrites = new ArrayList<>(this.databaseWrites);
+    ArrayList<OnPrefsWriteListener> prefsWrites = new ArrayList<>(this.prefsWrites);
+    ArrayList<Runnable> storedListeners = new ArrayList<>(this.storedListeners);
+    clear();
+    Single.fromCallable(() -> {
+          long startTime = System.currentTimeMillis();
+          appDatabase.runInTransaction(() -> {
+            for (Runnable databaseWrite : databaseWrites) {
+              databaseWrite.run();
+            }
+          });
+          // only written after the transaction succeeded, else the next sync would skip
+          // the entities because the db-changed-time would be up to date
+          SharedPreferences.Editor editor = sharedPrefs.edit();
+          for (OnPrefsWriteListener prefsWrite : prefsWrites) {
+            prefsWrite.write(editor);
+          }
+          editor.apply();
+          if (debug) {
+            Log.i(tag, "commit sync session: " + databaseWrites.size() + " entities in "
+                + (System.currentTimeMillis() - startTime) + "ms");
+          }
+          return true;
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(ignored -> {
+          for (Runnable onStored : storedListeners) {
+            if (onStored != null) {
+              onStored.run();
+            }
+          }
+          onCommitted.run();
+        }, throwable -> {
+          // validators are only written with the commit, but the ones of earlier runs must
+          // not cause 304 responses for tables which are maybe not as expected now
+          SharedPreferences.Editor editor = sharedPrefs.edit();
+          ValidatorStore.clear(editor, sharedPrefs);
+          editor.apply();
+          onError.onError(throwable);
+        });
+  }
+}
@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -452,29 +449,31 @@ public class Chore implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download Chores: " + chores);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.choreDao().deleteChores().blockingSubscribe();
-                  dlHelper.appDatabase.choreDao().insertChores(chores).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_CHORES, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.choreDao().replaceChores(chores),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_CHORES, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(chores);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_CHORES,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -33,9 +33,6 @@ import androidx.room.PrimaryKey;
 import com.android.volley.Response;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +44,7 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
@@ -74,6 +72,10 @@ public class ChoreEntry implements Parcelable {
   @SerializedName("next_estimated_execution_time")
   private String nextEstimatedExecutionTime;
 
+  // parsed once when stored, so sorting and filtering doesn't have to parse the string
+  @ColumnInfo(name = "next_estimated_execution_epoch_second")
+  private Long nextEstimatedExecutionEpochSecond;
+
   @ColumnInfo(name = "track_date_only")
   @SerializedName("track_date_only")
   private String trackDateOnly;
@@ -158,6 +160,18 @@ public class ChoreEntry implements Parcelable {
 
   public void setNextEstimatedExecutionTime(String nextEstimatedExecutionTime) {
     this.nextEstimatedExecutionTime = nextEstimatedExecutionTime;
+    this.nextEstimatedExecutionEpochSecond = null;
+  }
+
+  public Long getNextEstimatedExecutionEpochSecond() {
+    if (nextEstimatedExecutionEpochSecond == null) {
+      nextEstimatedExecutionEpochSecond = DateUtil.getEpochSecond(nextEstimatedExecutionTime);
+    }
+    return nextEstimatedExecutionEpochSecond;
+  }
+
+  public void setNextEstimatedExecutionEpochSecond(Long nextEstimatedExecutionEpochSecond) {
+    this.nextEstimatedExecutionEpochSecond = nextEstimatedExecutionEpochSecond;
   }
 
   public String getTrackDateOnly() {
@@ -276,31 +290,31 @@ public class ChoreEntry implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download ChoreEntries: " + choreEntries);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.choreEntryDao()
-                      .deleteChoreEntries().blockingSubscribe();
-                  dlHelper.appDatabase.choreEntryDao()
-                      .insertChoreEntries(choreEntries).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_CHORE_ENTRIES, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.choreEntryDao().replaceChoreEntries(choreEntries),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_CHORE_ENTRIES, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(choreEntries);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_CHORE_ENTRIES,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -31,9 +31,6 @@ import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -278,31 +275,31 @@ public class Location implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download Locations: " + locations);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.locationDao()
-                      .deleteLocations().blockingSubscribe();
-                  dlHelper.appDatabase.locationDao()
-                      .insertLocations(locations).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_LOCATIONS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.locationDao().replaceLocations(locations),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_LOCATIONS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(locations);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_LOCATIONS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -28,13 +28,12 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -42,12 +41,13 @@ import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.MealPlanSyncWindow;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "meal_plan_entry_table")
+@Entity(tableName = "meal_plan_entry_table", indices = {@Index("day")})
 public class MealPlanEntry extends GroupedListItem implements Parcelable {
 
   public final static String TYPE_RECIPE = "recipe";
@@ -300,6 +300,10 @@ public class MealPlanEntry extends GroupedListItem implements Parcelable {
         Constants.PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES, null
     );
     if (lastTime == null || !lastTime.equals(dbChangedTime)) {
+      // only the weeks around the displayed ones, not the whole history
+      MealPlanSyncWindow storedWindow = MealPlanSyncWindow.getStored(dlHelper.sharedPrefs);
+      MealPlanSyncWindow window = storedWindow != null ? storedWindow
+          : MealPlanSyncWindow.getAround(dlHelper.sharedPrefs, LocalDate.now());
       return new QueueItem() {
         @Override
         public void perform(
@@ -308,41 +312,50 @@ public class MealPlanEntry extends GroupedListItem implements Parcelable {
             @Nullable String uuid
         ) {
           dlHelper.get(
-              dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.MEAL_PLAN),
+              dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.MEAL_PLAN, window.getComparisons()),
               uuid,
               response -> {
                 Type type = new TypeToken<List<MealPlanEntry>>() {
                 }.getType();
                 ArrayList<MealPlanEntry> mealPlanEntries = dlHelper.gson.fromJson(response, type);
                 if (dlHelper.debug) {
-                  Log.i(dlHelper.tag, "download MealPlanEntries: " + mealPlanEntries);
+                  Log.i(dlHelper.tag, "download MealPlanEntries: " + window
+                      + ": " + mealPlanEntries);
                 }
-                Single.fromCallable(() -> {
-                      dlHelper.appDatabase.mealPlanEntryDao()
-                          .deleteMealPlanEntries().blockingSubscribe();
-                      dlHelper.appDatabase.mealPlanEntryDao()
-                          .insertMealPlanEntries(mealPlanEntries).blockingSubscribe();
-                      dlHelper.sharedPrefs.edit()
-                          .putString(PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES, dbChangedTime).apply();
-                      return true;
-                    })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doOnError(throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    })
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.mealPlanEntryDao().replaceMealPlanEntriesBetween(
+                        window.getStartDay(),
+                        window.getEndDay(),
+                        window.getStartDay(),
+                        window.getEndDay(),
+                        mealPlanEntries
+                    ),
+                    editor -> {
+                      editor.putString(PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES, dbChangedTime);
+                      window.store(editor);
+                    },
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(mealPlanEntries);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe();
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES,
+                  dbChangedTime,
+                  false,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -358,4 +371,74 @@ public class MealPlanEntry extends GroupedListItem implements Parcelable {
       return null;
     }
   }
+
+  /**
+   * Downloads the weeks next to the week of the given date if they are not in the local
+   * table yet. Weeks far away from the date are evicted. Returns null if nothing is missing.
+   */
+  @Nullable
+  public static QueueItem downloadMealPlanEntriesAround(
+      DownloadHelper dlHelper,
+      LocalDate date,
+      @Nullable Runnable onStored
+  ) {
+    MealPlanSyncWindow window = MealPlanSyncWindow.getStored(dlHelper.sharedPrefs);
+    if (window == null) {
+      return null;  // the next regular sync downloads the weeks around today
+    }
+    MealPlanSyncWindow missing = window.getMissingRange(dlHelper.sharedPrefs, date);
+    if (missing == null) {
+      return null;
+    }
+    MealPlanSyncWindow newWindow = window.getExtended(dlHelper.sharedPrefs, missing, date);
+    return new QueueItem() {
+      @Override
+      public void perform(
+          @Nullable OnStringResponseListener responseListener,
+          @Nullable OnMultiTypeErrorListener errorListener,
+          @Nullable String uuid
+      ) {
+        dlHelper.get(
+            dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.MEAL_PLAN, missing.getComparisons()),
+            uuid,
+            response -> {
+              Type type = new TypeToken<List<MealPlanEntry>>() {
+              }.getType();
+              ArrayList<MealPlanEntry> mealPlanEntries = dlHelper.gson.fromJson(response, type);
+              if (dlHelper.debug) {
+                Log.i(dlHelper.tag, "download MealPlanEntries: " + missing
+                    + ", new " + newWindow + ": " + mealPlanEntries);
+              }
+              dlHelper.storeObjects(
+                  uuid,
+                  () -> dlHelper.appDatabase.mealPlanEntryDao().replaceMealPlanEntriesBetween(
+                      missing.getStartDay(),
+                      missing.getEndDay(),
+                      newWindow.getStartDay(),
+                      newWindow.getEndDay(),
+                      mealPlanEntries
+                  ),
+                  newWindow::store,
+                  () -> {
+                    if (onStored != null) {
+                      onStored.run();
+                    }
+                  },
+                  () -> {
+                    if (responseListener != null) {
+                      responseListener.onResponse(response);
+                    }
+                  },
+                  errorListener
+              );
+            },
+            error -> {
+              if (errorListener != null) {
+                errorListener.onError(error);
+              }
+            }
+        );
+      }
+    };
+  }
 }
@@ -31,9 +31,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -233,32 +230,32 @@ public class MealPlanSection extends GroupedListItem implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download MealPlanSections: " + mealPlanSections);
                 }
-                Single.fromCallable(() -> {
-                      dlHelper.appDatabase.mealPlanSectionDao()
-                          .deleteMealPlanSections().blockingSubscribe();
-                      dlHelper.appDatabase.mealPlanSectionDao()
-                          .insertMealPlanSections(mealPlanSections).blockingSubscribe();
-                      dlHelper.sharedPrefs.edit()
-                          .putString(PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS, dbChangedTime).apply();
-                      return true;
-                    })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doOnError(throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    })
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.mealPlanSectionDao()
+                        .replaceMealPlanSections(mealPlanSections),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(mealPlanSections);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe();
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS,
+                  dbChangedTime,
+                  false,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -31,9 +31,6 @@ import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.ArrayList;
 import java.util.List;
 import org.json.JSONException;
@@ -198,29 +195,23 @@ public class MissingItem implements Parcelable {
                   }
                 }
                 ArrayList<MissingItem> finalMissingItems = missingItems;
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.missingItemDao().deleteMissingItems().blockingSubscribe();
-                  dlHelper.appDatabase.missingItemDao()
-                      .insertMissingItems(finalMissingItems).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_VOLATILE_MISSING, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.missingItemDao()
+                        .replaceMissingItems(finalMissingItems),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_VOLATILE_MISSING, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(finalMissingItems);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
               error -> {
                 if (errorListener != null) {
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import java.util.UUID;
+
+/**
+ * Write request which could not be sent to the server and waits in the outbox until the
+ * OutboxWorker sends it. Requests are sent in the order of their ids.
+ */
+@Entity(
+    tableName = "outbox_request_table",
+    indices = {@Index(value = "idempotency_key", unique = true)}
+)
+public class OutboxRequest {
+
+  public final static String METHOD_POST = "POST";
+  public final static String METHOD_PUT = "PUT";
+  public final static String METHOD_DELETE = "DELETE";
+
+  @PrimaryKey(autoGenerate = true)
+  @ColumnInfo(name = "id")
+  private int id;
+
+  @NonNull
+  @ColumnInfo(name = "idempotency_key")
+  private String idempotencyKey;
+
+  @ColumnInfo(name = "method")
+  private String method;
+
+  @ColumnInfo(name = "url")
+  private String url;
+
+  @ColumnInfo(name = "body")
+  private String body;
+
+  // shown to the user if the request is rejected by the server
+  @ColumnInfo(name = "description")
+  private String description;
+
+  @ColumnInfo(name = "created_time")
+  private long createdTime;
+
+  @ColumnInfo(name = "attempts")
+  private int attempts;
+
+  @ColumnInfo(name = "last_error")
+  private String lastError;
+
+  public OutboxRequest() {
+    idempotencyKey = UUID.randomUUID().toString();
+  }
+
+  @Ignore
+  public OutboxRequest(
+      String method,
+      String url,
+      @Nullable String body,
+      String description
+  ) {
+    this.idempotencyKey = UUID.randomUUID().toString();
+    this.method = method;
+    this.url = url;
+    this.body = body;
+    this.description = description;
+    this.createdTime = System.currentTimeMillis();
+    this.attempts = 0;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  @NonNull
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  public void setIdempotencyKey(@NonNull String idempotencyKey) {
+    this.idempotencyKey = idempotencyKey;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public void setMethod(String method) {
+    this.method = method;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public long getCreatedTime() {
+    return createdTime;
+  }
+
+  public void setCreatedTime(long createdTime) {
+    this.createdTime = createdTime;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "OutboxRequest(" + method + " " + url + ')';
+  }
+}
@@ -34,7 +34,6 @@ import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -49,6 +48,8 @@ import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.api.GrocyApi.COMPARISON;
+import xyz.zedler.patrick.grocy.api.GrocyApi.COMPARISON_OPERATOR;
 import xyz.zedler.patrick.grocy.database.Converters;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
@@ -56,6 +57,7 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.CustomJsonStreamRequest.OnBatchListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItemWithoutLoading;
 
@@ -1111,7 +1113,12 @@ public class Product extends GroupedListItem implements Parcelable {
     String lastTime = !forceUpdate ? dlHelper.sharedPrefs.getString(  // get last offline db-changed-time value
         Constants.PREF.DB_LAST_TIME_PRODUCTS, null
     ) : null;
-    if (lastTime == null || !lastTime.equals(dbChangedTime)) {
+    if (lastTime == null || !lastTime.equals(dbChangedTime) || dlHelper.isDeltaSyncReconcileDue(
+        PREF.DB_DELTA_MAX_ID_PRODUCTS, PREF.DB_LAST_FULL_SYNC_PRODUCTS
+    )) {
+      int watermark = dlHelper.getDeltaSyncMaxId(
+          PREF.DB_DELTA_MAX_ID_PRODUCTS, PREF.DB_LAST_FULL_SYNC_PRODUCTS, forceUpdate
+      );
       return new QueueItem() {
         @Override
         public void perform(
@@ -1119,40 +1126,133 @@ public class Product extends GroupedListItem implements Parcelable {
             @Nullable OnMultiTypeErrorListener errorListener,
             @Nullable String uuid
         ) {
+          if (watermark < 0) {
+            download(-1, responseListener, errorListener, uuid);
+            return;
+          }
+          dlHelper.checkDeltaSyncIds(
+              GrocyApi.ENTITY.PRODUCTS,
+              watermark,
+              dlHelper.appDatabase.productDao().countProductsUpToId(watermark),
+              uuid,
+              idsMatch -> download(
+                  idsMatch ? watermark : -1, responseListener, errorListener, uuid
+              ),
+              errorListener
+          );
+        }
+
+        private void download(
+            int deltaMaxId,
+            @Nullable OnStringResponseListener responseListener,
+            @Nullable OnMultiTypeErrorListener errorListener,
+            @Nullable String uuid
+        ) {
+          String url = deltaMaxId >= 0
+              ? dlHelper.grocyApi.getObjects(
+                  GrocyApi.ENTITY.PRODUCTS,
+                  new COMPARISON("id", COMPARISON_OPERATOR.GREATER, String.valueOf(deltaMaxId))
+              ) : dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.PRODUCTS);
+          if (onResponseListener == null) {
+            // nobody needs the decoded list, so it is streamed into the database
+            int[] maxId = {Math.max(deltaMaxId, 0)};
+            dlHelper.downloadStreamed(
+                url,
+                uuid,
+                Product.class,
+                new OnBatchListener<>() {
+                  @Override
+                  public void onStart() {
+                    if (deltaMaxId < 0) {
+                      dlHelper.appDatabase.productDao().deleteProducts().blockingGet();
+                    }
+                  }
+
+                  @Override
+                  public void onBatch(List<Product> products) {
+                    dlHelper.appDatabase.productDao().insertProducts(products).blockingGet();
+                    for (Product product : products) {
+                      maxId[0] = Math.max(maxId[0], product.getId());
+                    }
+                  }
+                },
+                (editor, notModified) -> {
+                  if (notModified) {
+                    // a full download which is not modified confirms the local table
+                    if (deltaMaxId < 0) {
+                      editor.putLong(
+                          PREF.DB_LAST_FULL_SYNC_PRODUCTS, System.currentTimeMillis()
+                      );
+                    }
+                    return;
+                  }
+                  dlHelper.putDeltaSyncWatermark(
+                      editor,
+                      PREF.DB_DELTA_MAX_ID_PRODUCTS,
+                      PREF.DB_LAST_FULL_SYNC_PRODUCTS,
+                      maxId[0],
+                      deltaMaxId < 0
+                  );
+                },
+                PREF.DB_LAST_TIME_PRODUCTS,
+                dbChangedTime,
+                forceUpdate,
+                responseListener,
+                errorListener
+            );
+            return;
+          }
           dlHelper.get(
-              dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.PRODUCTS),
+              url,
               uuid,
               response -> {
                 Type type = new TypeToken<List<Product>>() {
                 }.getType();
                 ArrayList<Product> products = dlHelper.gson.fromJson(response, type);
                 if (dlHelper.debug) {
-                  Log.i(dlHelper.tag, "download Products: " + products);
+                  Log.i(dlHelper.tag, "download Products" + (deltaMaxId >= 0
+                      ? " (delta after id " + deltaMaxId + ")" : "") + ": " + products);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productDao()
-                      .deleteProducts().blockingSubscribe();
-                  dlHelper.appDatabase.productDao()
-                      .insertProducts(products).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_PRODUCTS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                int maxId = Math.max(deltaMaxId, 0);
+                for (Product product : products) {
+                  maxId = Math.max(maxId, product.getId());
+                }
+                int finalMaxId = maxId;
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> {
+                      if (deltaMaxId < 0) {
+                        dlHelper.appDatabase.productDao().replaceProducts(products);
+                        return;
+                      }
+                      dlHelper.appDatabase.productDao().insertProducts(products).blockingGet();
+                      if (onResponseListener != null) {
+                        // listeners expect all products, not only the new ones
+                        List<Product> allProducts = dlHelper.appDatabase.productDao()
+                            .getProducts().blockingGet();
+                        products.clear();
+                        products.addAll(allProducts);
+                      }
+                    },
+                    editor -> dlHelper.putDeltaSyncWatermark(
+                        editor,
+                        PREF.DB_DELTA_MAX_ID_PRODUCTS,
+                        PREF.DB_LAST_FULL_SYNC_PRODUCTS,
+                        finalMaxId,
+                        deltaMaxId < 0
+                    ).putString(PREF.DB_LAST_TIME_PRODUCTS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(products);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
               error -> {
                 if (errorListener != null) {
@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -160,31 +157,33 @@ public class ProductAveragePrice implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download ProductsAveragePrice: " + productsAveragePrice);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productAveragePriceDao()
-                      .deleteProductsAveragePrice().blockingSubscribe();
-                  dlHelper.appDatabase.productAveragePriceDao()
-                      .insertProductsAveragePrice(productsAveragePrice).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_PRODUCTS_AVERAGE_PRICE, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.productAveragePriceDao()
+                        .replaceProductsAveragePrice(productsAveragePrice),
+                    editor -> editor
+                        .putString(PREF.DB_LAST_TIME_PRODUCTS_AVERAGE_PRICE, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(productsAveragePrice);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_PRODUCTS_AVERAGE_PRICE,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (isOptional) {
                   if (responseListener != null) {
@@ -29,12 +29,10 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +42,8 @@ import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.api.GrocyApi.COMPARISON;
+import xyz.zedler.patrick.grocy.api.GrocyApi.COMPARISON_OPERATOR;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
@@ -51,9 +51,13 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
+import xyz.zedler.patrick.grocy.web.CustomJsonStreamRequest.OnBatchListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "product_barcode_table")
+@Entity(
+    tableName = "product_barcode_table",
+    indices = {@Index("product_id"), @Index("barcode")}
+)
 public class ProductBarcode implements Parcelable {
 
   @PrimaryKey
@@ -344,7 +348,12 @@ public class ProductBarcode implements Parcelable {
     String lastTime = !forceUpdate ? dlHelper.sharedPrefs.getString(  // get last offline db-changed-time value
         Constants.PREF.DB_LAST_TIME_PRODUCT_BARCODES, null
     ) : null;
-    if (lastTime == null || !lastTime.equals(dbChangedTime)) {
+    if (lastTime == null || !lastTime.equals(dbChangedTime) || dlHelper.isDeltaSyncReconcileDue(
+        PREF.DB_DELTA_MAX_ID_PRODUCT_BARCODES, PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES
+    )) {
+      int watermark = dlHelper.getDeltaSyncMaxId(
+          PREF.DB_DELTA_MAX_ID_PRODUCT_BARCODES, PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES, forceUpdate
+      );
       return new QueueItem() {
         @Override
         public void perform(
@@ -352,8 +361,86 @@ public class ProductBarcode implements Parcelable {
             @Nullable OnMultiTypeErrorListener errorListener,
             @Nullable String uuid
         ) {
+          if (watermark < 0) {
+            download(-1, responseListener, errorListener, uuid);
+            return;
+          }
+          dlHelper.checkDeltaSyncIds(
+              GrocyApi.ENTITY.PRODUCT_BARCODES,
+              watermark,
+              dlHelper.appDatabase.productBarcodeDao().countProductBarcodesUpToId(watermark),
+              uuid,
+              idsMatch -> download(
+                  idsMatch ? watermark : -1, responseListener, errorListener, uuid
+              ),
+              errorListener
+          );
+        }
+
+        private void download(
+            int deltaMaxId,
+            @Nullable OnStringResponseListener responseListener,
+            @Nullable OnMultiTypeErrorListener errorListener,
+            @Nullable String uuid
+        ) {
+          String url = deltaMaxId >= 0
+              ? dlHelper.grocyApi.getObjects(
+                  GrocyApi.ENTITY.PRODUCT_BARCODES,
+                  new COMPARISON("id", COMPARISON_OPERATOR.GREATER, String.valueOf(deltaMaxId))
+              ) : dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.PRODUCT_BARCODES);
+          if (onResponseListener == null) {
+            // nobody needs the decoded list, so it is streamed into the database
+            int[] maxId = {Math.max(deltaMaxId, 0)};
+            dlHelper.downloadStreamed(
+                url,
+                uuid,
+                ProductBarcode.class,
+                new OnBatchListener<>() {
+                  @Override
+                  public void onStart() {
+                    if (deltaMaxId < 0) {
+                      dlHelper.appDatabase.productBarcodeDao().deleteProductBarcodes()
+                          .blockingGet();
+                    }
+                  }
+
+                  @Override
+                  public void onBatch(List<ProductBarcode> barcodes) {
+                    dlHelper.appDatabase.productBarcodeDao()
+                        .insertProductBarcodes(barcodes).blockingGet();
+                    for (ProductBarcode barcode : barcodes) {
+                      maxId[0] = Math.max(maxId[0], barcode.getId());
+                    }
+                  }
+                },
+                (editor, notModified) -> {
+                  if (notModified) {
+                    // a full download which is not modified confirms the local table
+                    if (deltaMaxId < 0) {
+                      editor.putLong(
+                          PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES, System.currentTimeMillis()
+                      );
+                    }
+                    return;
+                  }
+                  dlHelper.putDeltaSyncWatermark(
+                      editor,
+                      PREF.DB_DELTA_MAX_ID_PRODUCT_BARCODES,
+                      PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES,
+                      maxId[0],
+                      deltaMaxId < 0
+                  );
+                },
+                PREF.DB_LAST_TIME_PRODUCT_BARCODES,
+                dbChangedTime,
+                forceUpdate,
+                responseListener,
+                errorListener
+            );
+            return;
+          }
           dlHelper.get(
-              dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.PRODUCT_BARCODES),
+              url,
               uuid,
               response -> {
                 Type type = new TypeToken<List<ProductBarcode>>() {
@@ -361,32 +448,50 @@ public class ProductBarcode implements Parcelable {
                 ArrayList<ProductBarcode> barcodes
                     = dlHelper.gson.fromJson(response, type);
                 if (dlHelper.debug) {
-                  Log.i(dlHelper.tag, "download Barcodes: " + barcodes);
+                  Log.i(dlHelper.tag, "download Barcodes" + (deltaMaxId >= 0
+                      ? " (delta after id " + deltaMaxId + ")" : "") + ": " + barcodes);
+                }
+                int maxId = Math.max(deltaMaxId, 0);
+                for (ProductBarcode barcode : barcodes) {
+                  maxId = Math.max(maxId, barcode.getId());
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productBarcodeDao()
-                      .deleteProductBarcodes().blockingSubscribe();
-                  dlHelper.appDatabase.productBarcodeDao()
-                      .insertProductBarcodes(barcodes).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_PRODUCT_BARCODES, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                int finalMaxId = maxId;
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> {
+                      if (deltaMaxId < 0) {
+                        dlHelper.appDatabase.productBarcodeDao().replaceProductBarcodes(barcodes);
+                        return;
+                      }
+                      dlHelper.appDatabase.productBarcodeDao()
+                          .insertProductBarcodes(barcodes).blockingGet();
+                      if (onResponseListener != null) {
+                        // listeners expect all barcodes, not only the new ones
+                        List<ProductBarcode> allBarcodes = dlHelper.appDatabase
+                            .productBarcodeDao().getProductBarcodes().blockingGet();
+                        barcodes.clear();
+                        barcodes.addAll(allBarcodes);
+                      }
+                    },
+                    editor -> dlHelper.putDeltaSyncWatermark(
+                        editor,
+                        PREF.DB_DELTA_MAX_ID_PRODUCT_BARCODES,
+                        PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES,
+                        finalMaxId,
+                        deltaMaxId < 0
+                    ).putString(PREF.DB_LAST_TIME_PRODUCT_BARCODES, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(barcodes);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
               error -> {
                 if (errorListener != null) {
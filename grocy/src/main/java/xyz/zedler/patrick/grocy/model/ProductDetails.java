@@ -35,6 +35,7 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
+import xyz.zedler.patrick.grocy.web.ProductDetailsCache;
 
 public class ProductDetails implements Parcelable {
 
@@ -284,11 +285,17 @@ public class ProductDetails implements Parcelable {
     return "ProductDetails(" + product + ')';
   }
 
+  /**
+   * With useCache, the details are taken from the ProductDetailsCache if they were
+   * downloaded shortly before, which is meant for the scanning flows where the same products
+   * are looked up again and again.
+   */
   public static QueueItem getProductDetails(
       DownloadHelper dlHelper,
       int productId,
       OnObjectResponseListener<ProductDetails> onResponseListener,
-      OnErrorListener onErrorListener
+      OnErrorListener onErrorListener,
+      boolean useCache
   ) {
     return new QueueItem() {
       @Override
@@ -297,22 +304,29 @@ public class ProductDetails implements Parcelable {
           @Nullable OnMultiTypeErrorListener errorListener,
           @Nullable String uuid
       ) {
+        ProductDetailsCache cache = ProductDetailsCache.getInstance();
+        String cachedResponse = useCache ? cache.get(productId) : null;
+        if (cachedResponse != null) {
+          onResponse(parse(cachedResponse), cachedResponse, responseListener);
+          return;
+        }
+        int generation = cache.getGeneration();
         dlHelper.get(
             dlHelper.grocyApi.getStockProductDetails(productId),
             uuid,
             response -> {
-              Type type = new TypeToken<ProductDetails>() {
-              }.getType();
-              ProductDetails productDetails = dlHelper.gson.fromJson(response, type);
-              if (dlHelper.debug) {
-                Log.i(dlHelper.tag, "download ProductDetails: " + productDetails);
-              }
-              if (onResponseListener != null) {
-                onResponseListener.onResponse(productDetails);
-              }
-              if (responseListener != null) {
-                responseListener.onResponse(response);
-              }
+              ProductDetails productDetails = parse(response);
+              Product product = productDetails.getProduct();
+              cache.put(
+                  productId,
+                  product != null && NumUtil.isStringInt(product.getParentProductId())
+                      ? Integer.parseInt(product.getParentProductId()) : -1,
+                  NumUtil.isStringInt(productDetails.getHasChilds())
+                      && Integer.parseInt(productDetails.getHasChilds()) == 1,
+                  response,
+                  generation
+              );
+              onResponse(productDetails, response, responseListener);
             },
             error -> {
               if (onErrorListener != null) {
@@ -324,9 +338,40 @@ public class ProductDetails implements Parcelable {
             }
         );
       }
+
+      private ProductDetails parse(String response) {
+        Type type = new TypeToken<ProductDetails>() {
+        }.getType();
+        return dlHelper.gson.fromJson(response, type);
+      }
+
+      private void onResponse(
+          ProductDetails productDetails,
+          String response,
+          @Nullable OnStringResponseListener responseListener
+      ) {
+        if (dlHelper.debug) {
+          Log.i(dlHelper.tag, "download ProductDetails: " + productDetails);
+        }
+        if (onResponseListener != null) {
+          onResponseListener.onResponse(productDetails);
+        }
+        if (responseListener != null) {
+          responseListener.onResponse(response);
+        }
+      }
     };
   }
 
+  public static QueueItem getProductDetails(
+      DownloadHelper dlHelper,
+      int productId,
+      OnObjectResponseListener<ProductDetails> onResponseListener,
+      OnErrorListener onErrorListener
+  ) {
+    return getProductDetails(dlHelper, productId, onResponseListener, onErrorListener, false);
+  }
+
   public static QueueItem getProductDetails(
       DownloadHelper dlHelper,
       int productId,
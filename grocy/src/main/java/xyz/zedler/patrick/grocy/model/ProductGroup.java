@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -266,31 +263,32 @@ public class ProductGroup extends GroupedListItem implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download ProductGroups: " + productGroups);
                 }
-                Single.fromCallable(() -> {
-                      dlHelper.appDatabase.productGroupDao()
-                          .deleteProductGroups().blockingSubscribe();
-                      dlHelper.appDatabase.productGroupDao()
-                          .insertProductGroups(productGroups).blockingSubscribe();
-                      dlHelper.sharedPrefs.edit()
-                          .putString(PREF.DB_LAST_TIME_PRODUCT_GROUPS, dbChangedTime).apply();
-                      return true;
-                    })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.productGroupDao()
+                        .replaceProductGroups(productGroups),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_PRODUCT_GROUPS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(productGroups);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_PRODUCT_GROUPS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
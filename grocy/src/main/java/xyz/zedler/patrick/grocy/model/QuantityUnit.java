@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -313,30 +310,32 @@ public class QuantityUnit implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download QuantityUnits: " + quantityUnits);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.quantityUnitDao().deleteQuantityUnits().blockingSubscribe();
-                  dlHelper.appDatabase.quantityUnitDao()
-                      .insertQuantityUnits(quantityUnits).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_QUANTITY_UNITS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.quantityUnitDao()
+                        .replaceQuantityUnits(quantityUnits),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_QUANTITY_UNITS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(quantityUnits);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_QUANTITY_UNITS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
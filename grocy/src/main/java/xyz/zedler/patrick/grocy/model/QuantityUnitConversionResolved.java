@@ -24,6 +24,7 @@ import android.annotation.SuppressLint;
 import android.util.Log;
 import androidx.annotation.Nullable;
 import androidx.room.Entity;
+import androidx.room.Index;
 import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
@@ -40,7 +41,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "quantity_unit_conversion_resolved_table")
+@Entity(
+    tableName = "quantity_unit_conversion_resolved_table",
+    indices = {@Index("product_id")}
+)
 public class QuantityUnitConversionResolved extends QuantityUnitConversion {
 
   public QuantityUnitConversionResolved() {
@@ -124,24 +128,29 @@ public class QuantityUnitConversionResolved extends QuantityUnitConversion {
                             + conversionsResolved);
                       }
                     }
-                dlHelper.appDatabase.quantityUnitConversionResolvedDao()
-                    .deleteConversionsResolved().blockingSubscribe();
-                dlHelper.appDatabase.quantityUnitConversionResolvedDao()
-                    .insertConversionsResolved(conversionsResolved).blockingSubscribe();
-                dlHelper.sharedPrefs.edit()
-                    .putString(PREF.DB_LAST_TIME_QUANTITY_UNIT_CONVERSIONS_RESOLVED, dbChangedTime).apply();
                 return conversionsResolved;
               })
                   .subscribeOn(Schedulers.io())
                   .observeOn(AndroidSchedulers.mainThread())
-                  .subscribe(conversionsResolved -> {
-                    if (onResponseListener != null) {
-                      onResponseListener.onResponse(conversionsResolved);
-                    }
-                    if (responseListener != null) {
-                      responseListener.onResponse(response);
-                    }
-                  }, throwable -> {
+                  .subscribe(conversionsResolved -> dlHelper.storeObjects(
+                      uuid,
+                      () -> dlHelper.appDatabase.quantityUnitConversionResolvedDao()
+                          .replaceConversionsResolved(conversionsResolved),
+                      editor -> editor.putString(
+                          PREF.DB_LAST_TIME_QUANTITY_UNIT_CONVERSIONS_RESOLVED, dbChangedTime
+                      ),
+                      () -> {
+                        if (onResponseListener != null) {
+                          onResponseListener.onResponse(conversionsResolved);
+                        }
+                      },
+                      () -> {
+                        if (responseListener != null) {
+                          responseListener.onResponse(response);
+                        }
+                      },
+                      errorListener
+                  ), throwable -> {
                     if (errorListener != null) {
                       errorListener.onError(throwable);
                     }
@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -322,31 +319,33 @@ public class RecipeFulfillment implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download RecipeFulfillments: " + recipeFulfillments);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.recipeFulfillmentDao()
-                      .deleteRecipeFulfillments().blockingSubscribe();
-                  dlHelper.appDatabase.recipeFulfillmentDao()
-                      .insertRecipeFulfillments(recipeFulfillments).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_RECIPE_FULFILLMENTS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.recipeFulfillmentDao()
+                        .replaceRecipeFulfillments(recipeFulfillments),
+                    editor -> editor
+                        .putString(PREF.DB_LAST_TIME_RECIPE_FULFILLMENTS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(recipeFulfillments);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_RECIPE_FULFILLMENTS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
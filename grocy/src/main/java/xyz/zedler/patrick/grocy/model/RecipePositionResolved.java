@@ -30,9 +30,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -465,33 +462,33 @@ public class RecipePositionResolved extends GroupedListItem {
                     recipePos.setStockAmount(0);
                   }
                 }
-                Single.fromCallable(() -> {
-                      dlHelper.appDatabase.recipePositionResolvedDao()
-                          .deleteRecipePositionsResolved().blockingSubscribe();
-                      dlHelper.appDatabase.recipePositionResolvedDao()
-                          .insertRecipePositionsResolved(recipePositionsResolved)
-                          .blockingSubscribe();
-                      dlHelper.sharedPrefs.edit()
-                          .putString(PREF.DB_LAST_TIME_RECIPE_POSITIONS_RESOLVED, dbChangedTime)
-                          .apply();
-                      return true;
-                    })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.recipePositionResolvedDao()
+                        .replaceRecipePositionsResolved(recipePositionsResolved),
+                    editor -> editor
+                        .putString(PREF.DB_LAST_TIME_RECIPE_POSITIONS_RESOLVED, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(recipePositionsResolved);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_RECIPE_POSITIONS_RESOLVED,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -31,9 +31,6 @@ import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -199,31 +196,32 @@ public class ShoppingList implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download ShoppingLists: " + shoppingLists);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.shoppingListDao()
-                      .deleteShoppingLists().blockingSubscribe();
-                  dlHelper.appDatabase.shoppingListDao()
-                      .insertShoppingLists(shoppingLists).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_SHOPPING_LISTS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.shoppingListDao()
+                        .replaceShoppingLists(shoppingLists),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_SHOPPING_LISTS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(shoppingLists);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_SHOPPING_LISTS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -382,31 +382,33 @@ public class ShoppingListItem extends GroupedListItem implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download ShoppingListItems: " + shoppingListItems);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.shoppingListItemDao()
-                      .deleteShoppingListItems().blockingSubscribe();
-                  dlHelper.appDatabase.shoppingListItemDao()
-                      .insertShoppingListItems(shoppingListItems).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.shoppingListItemDao()
+                        .replaceShoppingListItems(shoppingListItems),
+                    editor -> editor
+                        .putString(PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(shoppingListItems);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -469,8 +471,8 @@ public class ShoppingListItem extends GroupedListItem implements Parcelable {
                       }
                     })
                     .flatMap(completeItems -> {
-                      dlHelper.appDatabase.shoppingListItemDao().deleteAll();
-                      dlHelper.appDatabase.shoppingListItemDao().insertAll(shoppingListItems);
+                      dlHelper.appDatabase.shoppingListItemDao()
+                          .replaceShoppingListItems(shoppingListItems);
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, dbChangedTime).apply();
                       return Single.just(shoppingListItems);
@@ -29,12 +29,10 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,10 +44,17 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
+import xyz.zedler.patrick.grocy.web.CustomJsonStreamRequest.OnBatchListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "stock_entry_table")
+@Entity(
+    tableName = "stock_entry_table",
+    indices = {
+        @Index("product_id"), @Index("location_id"), @Index("best_before_date_epoch_day")
+    }
+)
 public class StockEntry extends GroupedListItem implements Parcelable {
 
   @PrimaryKey
@@ -69,6 +74,10 @@ public class StockEntry extends GroupedListItem implements Parcelable {
   @SerializedName("best_before_date")
   private String bestBeforeDate;
 
+  // parsed once when stored, so sorting and filtering doesn't have to parse the string
+  @ColumnInfo(name = "best_before_date_epoch_day")
+  private Long bestBeforeDateEpochDay;
+
   @ColumnInfo(name = "purchased_date")
   @SerializedName("purchased_date")
   private String purchasedDate;
@@ -190,6 +199,18 @@ public class StockEntry extends GroupedListItem implements Parcelable {
 
   public void setBestBeforeDate(String bestBeforeDate) {
     this.bestBeforeDate = bestBeforeDate;
+    this.bestBeforeDateEpochDay = null;
+  }
+
+  public Long getBestBeforeDateEpochDay() {
+    if (bestBeforeDateEpochDay == null) {
+      bestBeforeDateEpochDay = DateUtil.getEpochDay(bestBeforeDate);
+    }
+    return bestBeforeDateEpochDay;
+  }
+
+  public void setBestBeforeDateEpochDay(Long bestBeforeDateEpochDay) {
+    this.bestBeforeDateEpochDay = bestBeforeDateEpochDay;
   }
 
   public String getPurchasedDate() {
@@ -339,6 +360,33 @@ public class StockEntry extends GroupedListItem implements Parcelable {
             @Nullable OnMultiTypeErrorListener errorListener,
             @Nullable String uuid
         ) {
+          if (onResponseListener == null) {
+            // nobody needs the decoded list, so it is streamed into the database
+            dlHelper.downloadStreamed(
+                dlHelper.grocyApi.getObjects(ENTITY.STOCK_ENTRIES),
+                uuid,
+                StockEntry.class,
+                new OnBatchListener<>() {
+                  @Override
+                  public void onStart() {
+                    dlHelper.appDatabase.stockEntryDao().deleteStockEntries().blockingGet();
+                  }
+
+                  @Override
+                  public void onBatch(List<StockEntry> stockEntries) {
+                    dlHelper.appDatabase.stockEntryDao().insertStockEntries(stockEntries)
+                        .blockingGet();
+                  }
+                },
+                null,
+                PREF.DB_LAST_TIME_STOCK_ENTRIES,
+                dbChangedTime,
+                forceUpdate,
+                responseListener,
+                errorListener
+            );
+            return;
+          }
           dlHelper.get(
               dlHelper.grocyApi.getObjects(ENTITY.STOCK_ENTRIES),
               uuid,
@@ -349,30 +397,31 @@ public class StockEntry extends GroupedListItem implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "dowload StockEntries: " + stockEntries);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.stockEntryDao().deleteStockEntries().blockingSubscribe();
-                  dlHelper.appDatabase.stockEntryDao()
-                      .insertStockEntries(stockEntries).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_STOCK_ENTRIES, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.stockEntryDao().replaceStockEntries(stockEntries),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_STOCK_ENTRIES, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(stockEntries);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_STOCK_ENTRIES,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
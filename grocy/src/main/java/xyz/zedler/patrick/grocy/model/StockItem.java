@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,6 +42,7 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
@@ -70,6 +68,10 @@ public class StockItem extends GroupedListItem implements Parcelable {
   @SerializedName("best_before_date")
   private String bestBeforeDate;
 
+  // parsed once when stored, so sorting and filtering doesn't have to parse the string
+  @ColumnInfo(name = "best_before_date_epoch_day")
+  private Long bestBeforeDateEpochDay;
+
   @ColumnInfo(name = "amount_opened")
   @SerializedName("amount_opened")
   private String amountOpened;
@@ -249,6 +251,18 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   public void setBestBeforeDate(String bestBeforeDate) {
     this.bestBeforeDate = bestBeforeDate;
+    this.bestBeforeDateEpochDay = null;
+  }
+
+  public Long getBestBeforeDateEpochDay() {
+    if (bestBeforeDateEpochDay == null) {
+      bestBeforeDateEpochDay = DateUtil.getEpochDay(bestBeforeDate);
+    }
+    return bestBeforeDateEpochDay;
+  }
+
+  public void setBestBeforeDateEpochDay(Long bestBeforeDateEpochDay) {
+    this.bestBeforeDateEpochDay = bestBeforeDateEpochDay;
   }
 
   public void setAmountOpened(String amountOpened) {
@@ -378,6 +392,28 @@ public class StockItem extends GroupedListItem implements Parcelable {
             itemMissing, itemMissingAndPartlyInStock);
   }
 
+  @NonNull
+  public StockItem getClone() {
+    StockItem stockItem = new StockItem();
+    stockItem.amount = this.amount;
+    stockItem.amountAggregated = this.amountAggregated;
+    stockItem.value = this.value;
+    stockItem.bestBeforeDate = this.bestBeforeDate;
+    stockItem.bestBeforeDateEpochDay = this.bestBeforeDateEpochDay;
+    stockItem.amountOpened = this.amountOpened;
+    stockItem.amountOpenedAggregated = this.amountOpenedAggregated;
+    stockItem.isAggregatedAmount = this.isAggregatedAmount;
+    stockItem.dueType = this.dueType;
+    stockItem.productId = this.productId;
+    stockItem.product = this.product;
+    stockItem.itemDue = this.itemDue;
+    stockItem.itemOverdue = this.itemOverdue;
+    stockItem.itemExpired = this.itemExpired;
+    stockItem.itemMissing = this.itemMissing;
+    stockItem.itemMissingAndPartlyInStock = this.itemMissingAndPartlyInStock;
+    return stockItem;
+  }
+
   @NonNull
   @Override
   public String toString() {
@@ -412,30 +448,31 @@ public class StockItem extends GroupedListItem implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download StockItems: " + stockItems);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.stockItemDao().deleteStockItems().blockingSubscribe();
-                  dlHelper.appDatabase.stockItemDao()
-                      .insertStockItems(stockItems).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_STOCK_ITEMS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.stockItemDao().replaceStockItems(stockItems),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_STOCK_ITEMS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(stockItems);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_STOCK_ITEMS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
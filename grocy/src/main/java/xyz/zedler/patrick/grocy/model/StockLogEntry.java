@@ -25,11 +25,15 @@ import android.os.Parcelable;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Objects;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
@@ -38,72 +42,98 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "stock_item_table")
+@Entity(
+    tableName = "stock_log_table",
+    indices = {@Index("product_id"), @Index("transaction_type")}
+)
 public class StockLogEntry implements Parcelable {
 
+  @PrimaryKey
+  @ColumnInfo(name = "id")
   @SerializedName("id")
   private int id;
 
+  @ColumnInfo(name = "product_id")
   @SerializedName("product_id")
   private int productId;
 
+  @ColumnInfo(name = "amount")
   @SerializedName("amount")
   private String amount;
 
+  @ColumnInfo(name = "best_before_date")
   @SerializedName("best_before_date")
   private String bestBeforeDate;
 
+  @ColumnInfo(name = "purchased_date")
   @SerializedName("purchased_date")
   private String purchasedDate;
 
+  @ColumnInfo(name = "used_date")
   @SerializedName("used_date")
   private String usedDate;
 
+  @ColumnInfo(name = "spoiled")
   @SerializedName("spoiled")
   private String spoiled;
 
+  @ColumnInfo(name = "stock_id")
   @SerializedName("stock_id")
   private String stockId;
 
+  @ColumnInfo(name = "transaction_type")
   @SerializedName("transaction_type")
   private String transactionType;
 
+  @ColumnInfo(name = "price")
   @SerializedName("price")
   private String price;
 
+  @ColumnInfo(name = "undone")
   @SerializedName("undone")
   private String undone;
 
+  @ColumnInfo(name = "undone_timestamp")
   @SerializedName("undone_timestamp")
   private String undoneTimestamp;
 
+  @ColumnInfo(name = "opened_date")
   @SerializedName("opened_date")
   private String openedDate;
 
+  @ColumnInfo(name = "location_id")
   @SerializedName("location_id")
   private String locationId;
 
+  @ColumnInfo(name = "recipe_id")
   @SerializedName("recipe_id")
   private String recipeId;
 
+  @ColumnInfo(name = "correlation_id")
   @SerializedName("correlation_id")
   private String correlationId;
 
+  @ColumnInfo(name = "transaction_id")
   @SerializedName("transaction_id")
   private String transactionId;
 
+  @ColumnInfo(name = "stock_row_id")
   @SerializedName("stock_row_id")
   private String stockRowId;
 
+  @ColumnInfo(name = "shopping_location_id")
   @SerializedName("shopping_location_id")
   private String shoppingLocationId;
 
+  @ColumnInfo(name = "user_id")
   @SerializedName("user_id")
   private String userId;
 
+  @ColumnInfo(name = "row_created_timestamp")
   @SerializedName("row_created_timestamp")
   private String rowCreatedTimestamp;
 
+  @ColumnInfo(name = "note")
   @SerializedName("note")
   private String note;
 
@@ -177,46 +207,90 @@ public class StockLogEntry implements Parcelable {
     return id;
   }
 
+  public void setId(int id) {
+    this.id = id;
+  }
+
   public int getProductId() {
     return productId;
   }
 
+  public void setProductId(int productId) {
+    this.productId = productId;
+  }
+
   public String getAmount() {
     return amount;
   }
 
+  public void setAmount(String amount) {
+    this.amount = amount;
+  }
+
   public String getBestBeforeDate() {
     return bestBeforeDate;
   }
 
+  public void setBestBeforeDate(String bestBeforeDate) {
+    this.bestBeforeDate = bestBeforeDate;
+  }
+
   public String getPurchasedDate() {
     return purchasedDate;
   }
 
+  public void setPurchasedDate(String purchasedDate) {
+    this.purchasedDate = purchasedDate;
+  }
+
   public String getUsedDate() {
     return usedDate;
   }
 
+  public void setUsedDate(String usedDate) {
+    this.usedDate = usedDate;
+  }
+
   public String getSpoiled() {
     return spoiled;
   }
 
+  public void setSpoiled(String spoiled) {
+    this.spoiled = spoiled;
+  }
+
   public String getStockId() {
     return stockId;
   }
 
+  public void setStockId(String stockId) {
+    this.stockId = stockId;
+  }
+
   public String getTransactionType() {
     return transactionType;
   }
 
+  public void setTransactionType(String transactionType) {
+    this.transactionType = transactionType;
+  }
+
   public String getPrice() {
     return price;
   }
 
+  public void setPrice(String price) {
+    this.price = price;
+  }
+
   public String getUndone() {
     return undone;
   }
 
+  public void setUndone(String undone) {
+    this.undone = undone;
+  }
+
   public boolean getUndoneBoolean() {
     return NumUtil.isStringInt(undone) && Integer.parseInt(undone) == 1;
   }
@@ -225,46 +299,132 @@ public class StockLogEntry implements Parcelable {
     return undoneTimestamp;
   }
 
+  public void setUndoneTimestamp(String undoneTimestamp) {
+    this.undoneTimestamp = undoneTimestamp;
+  }
+
   public String getOpenedDate() {
     return openedDate;
   }
 
+  public void setOpenedDate(String openedDate) {
+    this.openedDate = openedDate;
+  }
+
   public String getLocationId() {
     return locationId;
   }
 
+  public void setLocationId(String locationId) {
+    this.locationId = locationId;
+  }
+
   public String getRecipeId() {
     return recipeId;
   }
 
+  public void setRecipeId(String recipeId) {
+    this.recipeId = recipeId;
+  }
+
   public String getCorrelationId() {
     return correlationId;
   }
 
+  public void setCorrelationId(String correlationId) {
+    this.correlationId = correlationId;
+  }
+
   public String getTransactionId() {
     return transactionId;
   }
 
+  public void setTransactionId(String transactionId) {
+    this.transactionId = transactionId;
+  }
+
   public String getStockRowId() {
     return stockRowId;
   }
 
+  public void setStockRowId(String stockRowId) {
+    this.stockRowId = stockRowId;
+  }
+
   public String getShoppingLocationId() {
     return shoppingLocationId;
   }
 
+  public void setShoppingLocationId(String shoppingLocationId) {
+    this.shoppingLocationId = shoppingLocationId;
+  }
+
   public String getUserId() {
     return userId;
   }
 
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
   public String getRowCreatedTimestamp() {
     return rowCreatedTimestamp;
   }
 
+  public void setRowCreatedTimestamp(String rowCreatedTimestamp) {
+    this.rowCreatedTimestamp = rowCreatedTimestamp;
+  }
+
   public String getNote() {
     return note;
   }
 
+  public void setNote(String note) {
+    this.note = note;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    StockLogEntry that = (StockLogEntry) o;
+    return id == that.id && productId == that.productId
+        && Objects.equals(amount, that.amount)
+        && Objects.equals(bestBeforeDate, that.bestBeforeDate)
+        && Objects.equals(purchasedDate, that.purchasedDate)
+        && Objects.equals(usedDate, that.usedDate)
+        && Objects.equals(spoiled, that.spoiled)
+        && Objects.equals(stockId, that.stockId)
+        && Objects.equals(transactionType, that.transactionType)
+        && Objects.equals(price, that.price)
+        && Objects.equals(undone, that.undone)
+        && Objects.equals(undoneTimestamp, that.undoneTimestamp)
+        && Objects.equals(openedDate, that.openedDate)
+        && Objects.equals(locationId, that.locationId)
+        && Objects.equals(recipeId, that.recipeId)
+        && Objects.equals(correlationId, that.correlationId)
+        && Objects.equals(transactionId, that.transactionId)
+        && Objects.equals(stockRowId, that.stockRowId)
+        && Objects.equals(shoppingLocationId, that.shoppingLocationId)
+        && Objects.equals(userId, that.userId)
+        && Objects.equals(rowCreatedTimestamp, that.rowCreatedTimestamp)
+        && Objects.equals(note, that.note);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        id, productId, amount, bestBeforeDate, purchasedDate, usedDate, spoiled, stockId,
+        transactionType, price, undone, undoneTimestamp, openedDate, locationId, recipeId,
+        correlationId, transactionId, stockRowId, shoppingLocationId, userId, rowCreatedTimestamp,
+        note
+    );
+  }
+
   @Override
   public int describeContents() {
     return 0;
@@ -31,9 +31,6 @@ import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -201,29 +198,31 @@ public class Store implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download Stores: " + stores);
                 }
-                Single.fromCallable(() -> {
-                      dlHelper.appDatabase.storeDao().deleteStores().blockingSubscribe();
-                      dlHelper.appDatabase.storeDao().insertStores(stores).blockingSubscribe();
-                      dlHelper.sharedPrefs.edit()
-                          .putString(Constants.PREF.DB_LAST_TIME_STORES, dbChangedTime).apply();
-                      return true;
-                    })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.storeDao().replaceStores(stores),
+                    editor -> editor.putString(Constants.PREF.DB_LAST_TIME_STORES, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(stores);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  Constants.PREF.DB_LAST_TIME_STORES,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +45,7 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
@@ -71,6 +69,10 @@ public class Task implements Parcelable {
   @SerializedName("due_date")
   private String dueDate;
 
+  // parsed once when stored, so sorting and filtering doesn't have to parse the string
+  @ColumnInfo(name = "due_date_epoch_day")
+  private Long dueDateEpochDay;
+
   @ColumnInfo(name = "done")
   @SerializedName("done")
   private Integer done;
@@ -157,6 +159,18 @@ public class Task implements Parcelable {
 
   public void setDueDate(String dueDate) {
     this.dueDate = dueDate;
+    this.dueDateEpochDay = null;
+  }
+
+  public Long getDueDateEpochDay() {
+    if (dueDateEpochDay == null) {
+      dueDateEpochDay = DateUtil.getEpochDay(dueDate);
+    }
+    return dueDateEpochDay;
+  }
+
+  public void setDueDateEpochDay(Long dueDateEpochDay) {
+    this.dueDateEpochDay = dueDateEpochDay;
   }
 
   public Integer getDone() {
@@ -327,29 +341,31 @@ public class Task implements Parcelable {
                 if (dlHelper.debug) {
                   Log.i(dlHelper.tag, "download Tasks: " + tasks);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.taskDao().deleteTasks().blockingSubscribe();
-                  dlHelper.appDatabase.taskDao().insertTasks(tasks).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_TASKS, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> dlHelper.appDatabase.taskDao().replaceTasks(tasks),
+                    editor -> editor.putString(PREF.DB_LAST_TIME_TASKS, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(tasks);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
+              dlHelper.getNotModifiedHandler(
+                  uuid,
+                  PREF.DB_LAST_TIME_TASKS,
+                  dbChangedTime,
+                  forceUpdate,
+                  onResponseListener,
+                  responseListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -32,9 +32,6 @@ import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.android.volley.Response;
 import com.google.gson.reflect.TypeToken;
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -220,34 +217,32 @@ public class VolatileItem implements Parcelable {
                 ArrayList<StockItem> finalOverdueItems = overdueItems;
                 ArrayList<StockItem> finalExpiredItems = expiredItems;
                 ArrayList<MissingItem> finalMissingItems = missingItems;
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.volatileItemDao().deleteVolatileItems().blockingSubscribe();
-                  dlHelper.appDatabase.volatileItemDao()
-                      .insertVolatileItems(volatileItemsTogether).blockingSubscribe();
-                  dlHelper.appDatabase.missingItemDao().deleteMissingItems().blockingSubscribe();
-                  dlHelper.appDatabase.missingItemDao()
-                      .insertMissingItems(finalMissingItems).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_VOLATILE, dbChangedTime)
-                      .putString(PREF.DB_LAST_TIME_VOLATILE_MISSING, dbChangedTime).apply();
-                  return true;
-                })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
+                dlHelper.storeObjects(
+                    uuid,
+                    () -> {
+                      dlHelper.appDatabase.runInTransaction(() -> {
+                        dlHelper.appDatabase.volatileItemDao()
+                            .replaceVolatileItems(volatileItemsTogether);
+                        dlHelper.appDatabase.missingItemDao()
+                            .replaceMissingItems(finalMissingItems);
+                      });
+                    },
+                    editor -> editor
+                        .putString(PREF.DB_LAST_TIME_VOLATILE, dbChangedTime)
+                        .putString(PREF.DB_LAST_TIME_VOLATILE_MISSING, dbChangedTime),
+                    () -> {
                       if (onResponseListener != null) {
                         onResponseListener.onResponse(finalDueItems, finalOverdueItems,
                             finalExpiredItems, finalMissingItems);
                       }
+                    },
+                    () -> {
                       if (responseListener != null) {
                         responseListener.onResponse(response);
                       }
-                    })
-                    .subscribe(ignored -> {}, throwable -> {
-                      if (errorListener != null) {
-                        errorListener.onError(throwable);
-                      }
-                    });
+                    },
+                    errorListener
+                );
               },
               error -> {
                 if (errorListener != null) {
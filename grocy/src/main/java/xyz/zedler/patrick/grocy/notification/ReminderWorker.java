@@ -0,0 +1,243 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.notification;
+
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.preference.PreferenceManager;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS.NETWORK;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS.NOTIFICATIONS;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
+import xyz.zedler.patrick.grocy.R;
+import xyz.zedler.patrick.grocy.activity.MainActivity;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.fragment.ChoresFragmentArgs;
+import xyz.zedler.patrick.grocy.fragment.StockOverviewFragmentArgs;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.model.ChoreEntry;
+import xyz.zedler.patrick.grocy.model.FilterChipLiveDataStatusChores;
+import xyz.zedler.patrick.grocy.model.FilterChipLiveDataStatusStock;
+import xyz.zedler.patrick.grocy.model.StockItem;
+import xyz.zedler.patrick.grocy.util.NavUtil;
+import xyz.zedler.patrick.grocy.util.NumUtil;
+import xyz.zedler.patrick.grocy.util.ReminderUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
+
+/**
+ * Computes the reminder notifications from the local database. The server is only asked for
+ * changes if the last sync of the needed table is older than MAX_DATA_AGE_HOURS, and if it is
+ * not reachable, the notification is built from the local data anyway.
+ */
+public class ReminderWorker extends Worker {
+
+  private final static String TAG = ReminderWorker.class.getSimpleName();
+
+  public final static String REMINDER_TYPE = "reminder_type";
+
+  private final static int MAX_DATA_AGE_HOURS = 6;
+
+  private final SharedPreferences sharedPrefs;
+  private final AppDatabase appDatabase;
+
+  public ReminderWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+    super(context, params);
+    sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+    appDatabase = AppDatabase.getAppDatabase(context);
+  }
+
+  public static void enqueue(Context context, String reminderType) {
+    OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ReminderWorker.class)
+        .setInputData(new Data.Builder().putString(REMINDER_TYPE, reminderType).build())
+        .build();
+    WorkManager.getInstance(context).enqueueUniqueWork(
+        TAG + "_" + reminderType, ExistingWorkPolicy.REPLACE, request
+    );
+  }
+
+  @NonNull
+  @Override
+  public Result doWork() {
+    NotificationManager notificationManager = (NotificationManager) getApplicationContext()
+        .getSystemService(Context.NOTIFICATION_SERVICE);
+    if (notificationManager == null) {
+      return Result.failure();
+    }
+    String reminderType = getInputData().getString(REMINDER_TYPE);
+    if (ReminderUtil.STOCK_TYPE.equals(reminderType)) {
+      refreshIfStale(
+          StockItem.class,
+          PREF.DB_LAST_SYNC_STOCK_ITEMS,
+          appDatabase.stockItemDao().countStockItemsWithoutEpochDay().blockingGet() > 0
+      );
+      notifyStock(notificationManager);
+    } else if (ReminderUtil.CHORES_TYPE.equals(reminderType)) {
+      refreshIfStale(
+          ChoreEntry.class,
+          PREF.DB_LAST_SYNC_CHORE_ENTRIES,
+          appDatabase.choreEntryDao().countChoreEntriesWithoutEpochSecond().blockingGet() > 0
+      );
+      notifyChores(notificationManager);
+    } else {
+      Log.e(TAG, "doWork: unknown reminder type: " + reminderType);
+      return Result.failure();
+    }
+    return Result.success();
+  }
+
+  private void notifyStock(NotificationManager notificationManager) {
+    String days = sharedPrefs.getString(STOCK.DUE_SOON_DAYS, SETTINGS_DEFAULT.STOCK.DUE_SOON_DAYS);
+    int dueSoonDays = NumUtil.isStringInt(days)
+        ? Integer.parseInt(days)
+        : Integer.parseInt(SETTINGS_DEFAULT.STOCK.DUE_SOON_DAYS);
+    long dueSoonEpochDay = LocalDate.now().plusDays(dueSoonDays).toEpochDay();
+    int notFreshCount = appDatabase.stockItemDao()
+        .countNotFreshStockItems(dueSoonEpochDay).blockingGet();
+    if (notFreshCount == 0) return;
+
+    Context context = getApplicationContext();
+    ReminderUtil.createChannel(
+        notificationManager,
+        NOTIFICATIONS.STOCK_CHANNEL,
+        context.getString(R.string.category_stock),
+        context.getString(R.string.setting_notifications_stock_description)
+    );
+    Uri uri = NavUtil.getUriWithArgs(
+        context.getString(R.string.deep_link_stockOverviewFragment),
+        new StockOverviewFragmentArgs.Builder()
+            .setStatusFilterId(String.valueOf(FilterChipLiveDataStatusStock.STATUS_NOT_FRESH))
+            .build().toBundle()
+    );
+    notificationManager.notify(NOTIFICATIONS.STOCK_ID, ReminderUtil.getNotification(
+        context,
+        context.getResources().getQuantityString(
+            R.plurals.notification_stock_not_fresh_title, notFreshCount, notFreshCount
+        ),
+        context.getString(R.string.notification_stock_content),
+        NOTIFICATIONS.STOCK_ID,
+        NOTIFICATIONS.STOCK_CHANNEL,
+        getNotificationIntent(uri)
+    ));
+  }
+
+  private void notifyChores(NotificationManager notificationManager) {
+    // same representation as ChoreEntry.getNextEstimatedExecutionEpochSecond
+    long tomorrowEpochSecond = LocalDate.now().plusDays(1).atStartOfDay()
+        .toEpochSecond(ZoneOffset.UTC);
+    int choresDueCount = appDatabase.choreEntryDao()
+        .countChoreEntriesDueBefore(tomorrowEpochSecond).blockingGet();
+    if (choresDueCount == 0) return;
+
+    Context context = getApplicationContext();
+    ReminderUtil.createChannel(
+        notificationManager,
+        NOTIFICATIONS.CHORES_CHANNEL,
+        context.getString(R.string.title_chores),
+        context.getString(R.string.setting_notifications_chores_description)
+    );
+    Uri uri = NavUtil.getUriWithArgs(
+        context.getString(R.string.deep_link_choresFragment),
+        new ChoresFragmentArgs.Builder()
+            .setStatusFilterId(String.valueOf(FilterChipLiveDataStatusChores.STATUS_DUE))
+            .build().toBundle()
+    );
+    notificationManager.notify(NOTIFICATIONS.CHORES_ID, ReminderUtil.getNotification(
+        context,
+        context.getResources().getQuantityString(
+            R.plurals.notification_chores_due_title, choresDueCount, choresDueCount
+        ),
+        context.getString(R.string.notification_chores_content),
+        NOTIFICATIONS.CHORES_ID,
+        NOTIFICATIONS.CHORES_CHANNEL,
+        getNotificationIntent(uri)
+    ));
+  }
+
+  /**
+   * Blocks until the table of the given type is updated or the update failed, in which case
+   * the notification is computed from the data which is already stored.
+   * With missingEpochValues, the table is downloaded even if the server did not change it,
+   * because the COUNT queries can't see rows without epoch values.
+   */
+  private void refreshIfStale(Class<?> type, String lastSyncPref, boolean missingEpochValues) {
+    long lastSync = sharedPrefs.getLong(lastSyncPref, 0);
+    if (System.currentTimeMillis() - lastSync < TimeUnit.HOURS.toMillis(MAX_DATA_AGE_HOURS)) {
+      return;
+    }
+    int timeoutSeconds = sharedPrefs.getInt(
+        NETWORK.LOADING_TIMEOUT, SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
+    );
+    CountDownLatch latch = new CountDownLatch(1);
+    DownloadHelper[] dlHelper = new DownloadHelper[1];
+    Handler handler = new Handler(Looper.getMainLooper());
+    // responses of DownloadHelper are delivered on the main thread
+    handler.post(() -> {
+      dlHelper[0] = new DownloadHelper(getApplicationContext(), TAG);
+      dlHelper[0].updateData(
+          updated -> latch.countDown(),
+          error -> {
+            Log.w(TAG, "refreshIfStale: using local data, update failed: " + error);
+            latch.countDown();
+          },
+          missingEpochValues,
+          false,
+          NetworkQueue.PRIORITY_BACKGROUND,
+          type
+      );
+    });
+    try {
+      // one request for the db-changed-time and one for the data
+      if (!latch.await(timeoutSeconds * 2L + 5, TimeUnit.SECONDS)) {
+        Log.w(TAG, "refreshIfStale: using local data, update timed out");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    handler.post(() -> {
+      if (dlHelper[0] != null) dlHelper[0].destroy();
+    });
+  }
+
+  private Intent getNotificationIntent(Uri uri) {
+    Intent notificationIntent = new Intent(Intent.ACTION_VIEW, uri);
+    notificationIntent.setClass(getApplicationContext(), MainActivity.class);
+    notificationIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+    return notificationIntent;
+  }
+}
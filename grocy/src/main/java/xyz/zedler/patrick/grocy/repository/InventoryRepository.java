@@ -27,6 +27,7 @@ import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -38,9 +39,11 @@ import xyz.zedler.patrick.grocy.model.Store;
 public class InventoryRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public InventoryRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -108,12 +111,12 @@ public class InventoryRepository {
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
-            appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getProducts(),
+            entityCache.getProductBarcodes(),
+            entityCache.getQuantityUnits(),
+            entityCache.getConversionsResolved(),
+            entityCache.getStores(),
+            entityCache.getLocations(),
             appDatabase.stockItemDao().getStockItems(),
             InventoryData::new
         )
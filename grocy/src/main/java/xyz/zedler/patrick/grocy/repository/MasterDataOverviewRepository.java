@@ -27,6 +27,7 @@ import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -37,9 +38,11 @@ import xyz.zedler.patrick.grocy.model.TaskCategory;
 public class MasterDataOverviewRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public MasterDataOverviewRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -99,11 +102,11 @@ public class MasterDataOverviewRepository {
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
     Single
         .zip(
-            appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
-            appDatabase.productGroupDao().getProductGroups(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getStores(),
+            entityCache.getLocations(),
+            entityCache.getProductGroups(),
+            entityCache.getQuantityUnits(),
+            entityCache.getProducts(),
             appDatabase.taskCategoryDao().getTaskCategories(),
             MasterDataOverviewData::new
         )
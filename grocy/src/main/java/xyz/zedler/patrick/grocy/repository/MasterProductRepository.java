@@ -21,6 +21,7 @@
 package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
+import androidx.annotation.Nullable;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
@@ -121,17 +122,34 @@ public class MasterProductRepository {
   }
 
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
+    loadFromDatabase(null, onSuccess, onError);
+  }
+
+  /**
+   * @param productId if not null, only the barcodes and resolved conversions of this product
+   *                  are loaded
+   */
+  public void loadFromDatabase(
+      @Nullable Integer productId,
+      DataListener onSuccess,
+      Consumer<Throwable> onError
+  ) {
     Single
         .zip(
             appDatabase.productDao().getProducts(),
             appDatabase.productGroupDao().getProductGroups(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
+            productId != null
+                ? appDatabase.productBarcodeDao().getBarcodesForProduct(productId)
+                : appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.pendingProductBarcodeDao().getProductBarcodes(),
             appDatabase.storeDao().getStores(),
             appDatabase.locationDao().getLocations(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            productId != null
+                ? appDatabase.quantityUnitConversionResolvedDao()
+                    .getConversionsForProduct(productId)
+                : appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
             MasterProductData::new
         )
         .subscribeOn(Schedulers.io())
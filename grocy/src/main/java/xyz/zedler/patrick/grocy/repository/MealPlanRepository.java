@@ -26,6 +26,7 @@ import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -41,9 +42,11 @@ import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 public class MealPlanRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public MealPlanRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface MealPlanDataListener {
@@ -135,13 +138,13 @@ public class MealPlanRepository {
             appDatabase.recipeDao().getRecipes(),
             appDatabase.recipeFulfillmentDao().getRecipeFulfillments(),
             appDatabase.recipePositionDao().getRecipePositions(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getProducts(),
+            entityCache.getQuantityUnits(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
             appDatabase.mealPlanEntryDao().getMealPlanEntries(),
             appDatabase.mealPlanSectionDao().getMealPlanSections(),
             appDatabase.stockItemDao().getStockItems(),
-            appDatabase.userfieldDao().getUserfields(),
+            entityCache.getUserfields(),
             MealPlanData::new
         )
         .subscribeOn(Schedulers.io())
@@ -151,4 +154,17 @@ public class MealPlanRepository {
         .onErrorComplete()
         .subscribe();
   }
+
+  public void loadMealPlanEntries(
+      Consumer<List<MealPlanEntry>> onSuccess,
+      Consumer<Throwable> onError
+  ) {
+    appDatabase.mealPlanEntryDao().getMealPlanEntries()
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(onSuccess)
+        .doOnError(onError)
+        .onErrorComplete()
+        .subscribe();
+  }
 }
@@ -26,6 +26,7 @@ import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.ChoreEntry;
 import xyz.zedler.patrick.grocy.model.MissingItem;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -41,9 +42,11 @@ import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 public class OverviewStartRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public OverviewStartRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -134,7 +137,7 @@ public class OverviewStartRepository {
             appDatabase.stockItemDao().getStockItems(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
             appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.storedPurchaseDao().getStoredPurchases(),
             appDatabase.recipeDao().getRecipes(),
             appDatabase.choreEntryDao().getChoreEntries(),
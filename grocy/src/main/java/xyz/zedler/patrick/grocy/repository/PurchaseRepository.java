@@ -24,8 +24,12 @@ import android.app.Application;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
+import xyz.zedler.patrick.grocy.database.EntityCache.Snapshot;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
@@ -41,9 +45,11 @@ import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 public class PurchaseRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public PurchaseRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -52,11 +58,11 @@ public class PurchaseRepository {
 
   public static class PurchaseData {
 
-    private final List<Product> products;
+    private final Snapshot<Product> products;
     private final List<PendingProduct> pendingProducts;
     private final List<ProductBarcode> barcodes;
     private final List<PendingProductBarcode> pendingProductBarcodes;
-    private final List<QuantityUnit> quantityUnits;
+    private final Snapshot<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversionResolved> quantityUnitConversions;
     private final List<Store> stores;
     private final List<Location> locations;
@@ -64,11 +70,11 @@ public class PurchaseRepository {
     private final List<StoredPurchase> storedPurchases;
 
     public PurchaseData(
-        List<Product> products,
+        Snapshot<Product> products,
         List<PendingProduct> pendingProducts,
         List<ProductBarcode> barcodes,
         List<PendingProductBarcode> pendingProductBarcodes,
-        List<QuantityUnit> quantityUnits,
+        Snapshot<QuantityUnit> quantityUnits,
         List<QuantityUnitConversionResolved> quantityUnitConversions,
         List<Store> stores,
         List<Location> locations,
@@ -88,7 +94,11 @@ public class PurchaseRepository {
     }
 
     public List<Product> getProducts() {
-      return products;
+      return new ArrayList<>(products.getList());
+    }
+
+    public HashMap<Integer, Product> getProductHashMap() {
+      return products.getHashMap();
     }
 
     public List<PendingProduct> getPendingProducts() {
@@ -104,7 +114,11 @@ public class PurchaseRepository {
     }
 
     public List<QuantityUnit> getQuantityUnits() {
-      return quantityUnits;
+      return new ArrayList<>(quantityUnits.getList());
+    }
+
+    public HashMap<Integer, QuantityUnit> getQuantityUnitHashMap() {
+      return quantityUnits.getHashMap();
     }
 
     public List<QuantityUnitConversionResolved> getQuantityUnitConversionsResolved() {
@@ -131,14 +145,14 @@ public class PurchaseRepository {
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
     RxJavaUtil
         .zip(
-            appDatabase.productDao().getProducts(),
+            entityCache.getProductsSnapshot(),
             appDatabase.pendingProductDao().getPendingProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
+            entityCache.getProductBarcodes(),
             appDatabase.pendingProductBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
-            appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getQuantityUnitsSnapshot(),
+            entityCache.getConversionsResolved(),
+            entityCache.getStores(),
+            entityCache.getLocations(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
             appDatabase.storedPurchaseDao().getStoredPurchases(),
             PurchaseData::new
@@ -27,6 +27,7 @@ import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
@@ -36,9 +37,11 @@ import xyz.zedler.patrick.grocy.model.RecipePosition;
 public class RecipeEditRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public RecipeEditRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -91,11 +94,11 @@ public class RecipeEditRepository {
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
+            entityCache.getProducts(),
+            entityCache.getProductBarcodes(),
             appDatabase.recipePositionDao().getRecipePositions(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            entityCache.getQuantityUnits(),
+            entityCache.getConversionsResolved(),
             RecipeEditData::new
         )
         .subscribeOn(Schedulers.io())
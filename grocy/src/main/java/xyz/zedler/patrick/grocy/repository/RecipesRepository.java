@@ -24,8 +24,10 @@ import android.app.Application;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.HashMap;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
@@ -36,14 +38,17 @@ import xyz.zedler.patrick.grocy.model.RecipePositionResolved;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.Userfield;
+import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 
 public class RecipesRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public RecipesRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface RecipesDataListener {
@@ -55,6 +60,7 @@ public class RecipesRepository {
 
     private final List<Recipe> recipes;
     private final List<RecipeFulfillment> recipeFulfillments;
+    private final HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
     private final List<RecipePosition> recipePositions;
     private final List<RecipePositionResolved> recipePositionsResolved;
     private final List<Product> products;
@@ -78,6 +84,8 @@ public class RecipesRepository {
     ) {
       this.recipes = recipes;
       this.recipeFulfillments = recipeFulfillments;
+      // built on the background thread, recipes look up their fulfillment by id
+      this.recipeFulfillmentHashMap = ArrayUtil.getRecipeFulfillmentHashMap(recipeFulfillments);
       this.recipePositions = recipePositions;
       this.recipePositionsResolved = recipePositionsResolved;
       this.products = products;
@@ -96,6 +104,10 @@ public class RecipesRepository {
       return recipeFulfillments;
     }
 
+    public HashMap<Integer, RecipeFulfillment> getRecipeFulfillmentHashMap() {
+      return recipeFulfillmentHashMap;
+    }
+
     public List<RecipePosition> getRecipePositions() {
       return recipePositions;
     }
@@ -136,12 +148,12 @@ public class RecipesRepository {
             appDatabase.recipeFulfillmentDao().getRecipeFulfillments(),
             appDatabase.recipePositionDao().getRecipePositions(),
             appDatabase.recipePositionResolvedDao().getRecipePositionsResolved(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            entityCache.getProducts(),
+            entityCache.getQuantityUnits(),
+            entityCache.getConversionsResolved(),
             appDatabase.stockItemDao().getStockItems(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
-            appDatabase.userfieldDao().getUserfields(),
+            entityCache.getUserfields(),
             RecipesData::new
         )
         .subscribeOn(Schedulers.io())
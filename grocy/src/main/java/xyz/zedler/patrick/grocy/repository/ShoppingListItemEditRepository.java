@@ -27,6 +27,7 @@ import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
@@ -36,9 +37,11 @@ import xyz.zedler.patrick.grocy.model.ShoppingList;
 public class ShoppingListItemEditRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public ShoppingListItemEditRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -92,10 +95,10 @@ public class ShoppingListItemEditRepository {
     Single
         .zip(
             appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            entityCache.getProducts(),
+            entityCache.getProductBarcodes(),
+            entityCache.getQuantityUnits(),
+            entityCache.getConversionsResolved(),
             ShoppingListItemEditData::new
         )
         .subscribeOn(Schedulers.io())
@@ -26,8 +26,12 @@ import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
+import xyz.zedler.patrick.grocy.database.EntityCache.Snapshot;
 import xyz.zedler.patrick.grocy.model.MissingItem;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -41,9 +45,11 @@ import xyz.zedler.patrick.grocy.model.Store;
 public class ShoppingListRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public ShoppingListRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -55,23 +61,23 @@ public class ShoppingListRepository {
 
     private final List<ShoppingListItem> shoppingListItems;
     private final List<ShoppingList> shoppingLists;
-    private final List<ProductGroup> productGroups;
-    private final List<QuantityUnit> quantityUnits;
+    private final Snapshot<ProductGroup> productGroups;
+    private final Snapshot<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversionResolved> unitConversions;
-    private final List<Product> products;
+    private final Snapshot<Product> products;
     private final List<ProductLastPurchased> productsLastPurchased;
-    private final List<Store> stores;
+    private final Snapshot<Store> stores;
     private final List<MissingItem> missingItems;
 
     public ShoppingListData(
         List<ShoppingListItem> shoppingListItems,
         List<ShoppingList> shoppingLists,
-        List<ProductGroup> productGroups,
-        List<QuantityUnit> quantityUnits,
+        Snapshot<ProductGroup> productGroups,
+        Snapshot<QuantityUnit> quantityUnits,
         List<QuantityUnitConversionResolved> unitConversions,
-        List<Product> products,
+        Snapshot<Product> products,
         List<ProductLastPurchased> productsLastPurchased,
-        List<Store> stores,
+        Snapshot<Store> stores,
         List<MissingItem> missingItems
     ) {
       this.shoppingListItems = shoppingListItems;
@@ -94,11 +100,19 @@ public class ShoppingListRepository {
     }
 
     public List<ProductGroup> getProductGroups() {
-      return productGroups;
+      return new ArrayList<>(productGroups.getList());
+    }
+
+    public HashMap<Integer, ProductGroup> getProductGroupHashMap() {
+      return productGroups.getHashMap();
     }
 
     public List<QuantityUnit> getQuantityUnits() {
-      return quantityUnits;
+      return new ArrayList<>(quantityUnits.getList());
+    }
+
+    public HashMap<Integer, QuantityUnit> getQuantityUnitHashMap() {
+      return quantityUnits.getHashMap();
     }
 
     public List<QuantityUnitConversionResolved> getUnitConversionsResolved() {
@@ -106,7 +120,11 @@ public class ShoppingListRepository {
     }
 
     public List<Product> getProducts() {
-      return products;
+      return new ArrayList<>(products.getList());
+    }
+
+    public HashMap<Integer, Product> getProductHashMap() {
+      return products.getHashMap();
     }
 
     public List<ProductLastPurchased> getProductsLastPurchased() {
@@ -114,7 +132,11 @@ public class ShoppingListRepository {
     }
 
     public List<Store> getStores() {
-      return stores;
+      return new ArrayList<>(stores.getList());
+    }
+
+    public HashMap<Integer, Store> getStoreHashMap() {
+      return stores.getHashMap();
     }
 
     public List<MissingItem> getMissingItems() {
@@ -127,12 +149,12 @@ public class ShoppingListRepository {
         .zip(
             appDatabase.shoppingListItemDao().getShoppingListItems(),
             appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productGroupDao().getProductGroups(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProductGroupsSnapshot(),
+            entityCache.getQuantityUnitsSnapshot(),
+            entityCache.getConversionsResolved(),
+            entityCache.getProductsSnapshot(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
-            appDatabase.storeDao().getStores(),
+            entityCache.getStoresSnapshot(),
             appDatabase.missingItemDao().getMissingItems(),
             ShoppingListData::new
         )
@@ -21,12 +21,17 @@
 package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
+import androidx.annotation.Nullable;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
+import xyz.zedler.patrick.grocy.database.EntityCache.Snapshot;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -38,9 +43,11 @@ import xyz.zedler.patrick.grocy.model.User;
 public class StockEntriesRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public StockEntriesRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface StockOverviewDataListener {
@@ -49,21 +56,21 @@ public class StockEntriesRepository {
 
   public static class StockOverviewData {
 
-    private final List<QuantityUnit> quantityUnits;
+    private final Snapshot<QuantityUnit> quantityUnits;
     private final List<StockEntry> stockEntries;
-    private final List<Product> products;
+    private final Snapshot<Product> products;
     private final List<ProductBarcode> productBarcodes;
-    private final List<Location> locations;
-    private final List<Store> stores;
+    private final Snapshot<Location> locations;
+    private final Snapshot<Store> stores;
     private final List<User> users;
 
     public StockOverviewData(
-        List<QuantityUnit> quantityUnits,
+        Snapshot<QuantityUnit> quantityUnits,
         List<StockEntry> stockEntries,
-        List<Product> products,
+        Snapshot<Product> products,
         List<ProductBarcode> productBarcodes,
-        List<Location> locations,
-        List<Store> stores,
+        Snapshot<Location> locations,
+        Snapshot<Store> stores,
         List<User> users
     ) {
       this.quantityUnits = quantityUnits;
@@ -76,7 +83,11 @@ public class StockEntriesRepository {
     }
 
     public List<QuantityUnit> getQuantityUnits() {
-      return quantityUnits;
+      return new ArrayList<>(quantityUnits.getList());
+    }
+
+    public HashMap<Integer, QuantityUnit> getQuantityUnitHashMap() {
+      return quantityUnits.getHashMap();
     }
 
     public List<StockEntry> getStockEntries() {
@@ -84,7 +95,11 @@ public class StockEntriesRepository {
     }
 
     public List<Product> getProducts() {
-      return products;
+      return new ArrayList<>(products.getList());
+    }
+
+    public HashMap<Integer, Product> getProductHashMap() {
+      return products.getHashMap();
     }
 
     public List<ProductBarcode> getProductBarcodes() {
@@ -92,11 +107,19 @@ public class StockEntriesRepository {
     }
 
     public List<Location> getLocations() {
-      return locations;
+      return new ArrayList<>(locations.getList());
+    }
+
+    public HashMap<Integer, Location> getLocationHashMap() {
+      return locations.getHashMap();
     }
 
     public List<Store> getStores() {
-      return stores;
+      return new ArrayList<>(stores.getList());
+    }
+
+    public HashMap<Integer, Store> getStoreHashMap() {
+      return stores.getHashMap();
     }
 
     public List<User> getUsers() {
@@ -104,15 +127,24 @@ public class StockEntriesRepository {
     }
   }
 
-  public void loadFromDatabase(StockOverviewDataListener onSuccess, Consumer<Throwable> onError) {
+  /**
+   * @param productId if not null, only the stock entries of this product are loaded
+   */
+  public void loadFromDatabase(
+      @Nullable Integer productId,
+      StockOverviewDataListener onSuccess,
+      Consumer<Throwable> onError
+  ) {
     Single
         .zip(
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.stockEntryDao().getStockEntries(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.locationDao().getLocations(),
-            appDatabase.storeDao().getStores(),
+            entityCache.getQuantityUnitsSnapshot(),
+            productId != null
+                ? appDatabase.stockEntryDao().getEntriesForProduct(productId)
+                : appDatabase.stockEntryDao().getStockEntries(),
+            entityCache.getProductsSnapshot(),
+            entityCache.getProductBarcodes(),
+            entityCache.getLocationsSnapshot(),
+            entityCache.getStoresSnapshot(),
             appDatabase.userDao().getUsers(),
             StockOverviewData::new
         )
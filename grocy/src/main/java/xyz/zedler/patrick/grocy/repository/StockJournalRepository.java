@@ -0,0 +1,78 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import android.app.Application;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.lifecycle.LiveData;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import kotlinx.coroutines.CoroutineScope;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
+
+public class StockJournalRepository {
+
+  private final AppDatabase appDatabase;
+
+  public StockJournalRepository(Application application) {
+    this.appDatabase = AppDatabase.getAppDatabase(application);
+  }
+
+  /**
+   * @param filterProductId -1 for all products
+   * @param filterTransactionType null for all transaction types
+   */
+  @OptIn(markerClass = ExperimentalPagingApi.class)
+  public LiveData<PagingData<StockLogEntry>> getStockLogEntriesLive(
+      DownloadHelper dlHelper,
+      int filterProductId,
+      @Nullable String filterTransactionType,
+      CoroutineScope scope
+  ) {
+    Pager<Integer, StockLogEntry> pager = new Pager<>(
+        new PagingConfig(
+            StockLogRemoteMediator.PAGE_SIZE,
+            StockLogRemoteMediator.PAGE_SIZE,  // prefetch distance
+            false
+        ),
+        null,
+        new StockLogRemoteMediator(dlHelper, filterProductId, filterTransactionType),
+        () -> appDatabase.stockLogEntryDao()
+            .getPagingSource(filterProductId, filterTransactionType)
+    );
+    return PagingLiveData.cachedIn(PagingLiveData.getLiveData(pager), scope);
+  }
+
+  public void setTransactionUndone(String transactionId, String undoneTimestamp) {
+    appDatabase.stockLogEntryDao()
+        .setTransactionUndone(transactionId, undoneTimestamp)
+        .subscribeOn(Schedulers.io())
+        .onErrorComplete()
+        .subscribe();
+  }
+}
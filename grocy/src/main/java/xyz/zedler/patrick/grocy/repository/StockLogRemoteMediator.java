@@ -0,0 +1,193 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import android.content.SharedPreferences;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.LoadType;
+import androidx.paging.PagingState;
+import androidx.paging.rxjava3.RxRemoteMediator;
+import com.google.gson.reflect.TypeToken;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+import xyz.zedler.patrick.grocy.dao.StockLogEntryDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
+
+/**
+ * Downloads the stock journal page by page into the stock_log_table, from which the
+ * journal is displayed. The newest page is downloaded again every time the journal is
+ * opened, older pages when the user scrolls to the end of the local rows. The cached rows
+ * of a filter are always the newest entries without gaps, so the offset of the next page
+ * is the number of cached rows.
+ * <p>
+ * All filters share the table, so rows downloaded with another filter can leave gaps in the
+ * current one, e.g. old entries of one product below the newest unfiltered page. The filter
+ * of the last refresh is stored, and if it doesn't contain the current filter, the rows of
+ * the current filter below its newest page are deleted on refresh.
+ */
+@OptIn(markerClass = ExperimentalPagingApi.class)
+public class StockLogRemoteMediator extends RxRemoteMediator<Integer, StockLogEntry> {
+
+  private final static String TAG = StockLogRemoteMediator.class.getSimpleName();
+
+  public final static int PAGE_SIZE = 50;
+  // rows older than the newest entries are deleted on every refresh
+  private final static int MAX_CACHED_ENTRIES = 500;
+
+  private final DownloadHelper dlHelper;
+  private final AppDatabase appDatabase;
+  private final int filterProductId;
+  private final String filterTransactionType;
+
+  public StockLogRemoteMediator(
+      DownloadHelper dlHelper,
+      int filterProductId,
+      @Nullable String filterTransactionType
+  ) {
+    this.dlHelper = dlHelper;
+    this.appDatabase = dlHelper.appDatabase;
+    this.filterProductId = filterProductId;
+    this.filterTransactionType = filterTransactionType;
+  }
+
+  @NonNull
+  @Override
+  public Single<InitializeAction> initializeSingle() {
+    // the local rows are shown while the newest page is downloaded
+    return Single.just(InitializeAction.LAUNCH_INITIAL_REFRESH);
+  }
+
+  @NonNull
+  @Override
+  public Single<MediatorResult> loadSingle(
+      @NonNull LoadType loadType,
+      @NonNull PagingState<Integer, StockLogEntry> state
+  ) {
+    if (loadType == LoadType.PREPEND) {
+      // the newest entries are always loaded by the refresh
+      return Single.just(new MediatorResult.Success(true));
+    }
+    StockLogEntryDao dao = appDatabase.stockLogEntryDao();
+    Single<Integer> offsetSingle = loadType == LoadType.REFRESH
+        ? Single.just(0)
+        : dao.countStockLogEntries(filterProductId, filterTransactionType);
+    return offsetSingle
+        .subscribeOn(Schedulers.io())
+        .flatMap(offset -> downloadPage(offset)
+            .observeOn(Schedulers.io())
+            .map(entries -> {
+              appDatabase.runInTransaction(() -> {
+                if (loadType == LoadType.REFRESH) {
+                  dao.deleteAllButNewestStockLogEntries(MAX_CACHED_ENTRIES).blockingGet();
+                  if (!entries.isEmpty()) {
+                    deleteOutdatedEntries(entries, isCacheWithoutGaps());
+                  } else {
+                    // the server has no entries for this filter anymore
+                    dao.deleteStockLogEntriesBelow(
+                        Integer.MAX_VALUE, filterProductId, filterTransactionType
+                    ).blockingGet();
+                  }
+                }
+                dao.insertStockLogEntries(entries).blockingGet();
+              });
+              if (loadType == LoadType.REFRESH) {
+                dlHelper.sharedPrefs.edit()
+                    .putInt(PREF.DB_STOCK_LOG_FILTER_PRODUCT_ID, filterProductId)
+                    .putString(PREF.DB_STOCK_LOG_FILTER_TRANSACTION_TYPE, filterTransactionType)
+                    .apply();
+              }
+              if (dlHelper.debug) {
+                Log.i(TAG, "loadSingle: " + loadType + ", offset " + offset
+                    + ", " + entries.size() + " entries");
+              }
+              return (MediatorResult) new MediatorResult.Success(entries.size() < PAGE_SIZE);
+            }))
+        .onErrorReturn(MediatorResult.Error::new);
+  }
+
+  /**
+   * Whether the rows of the current filter have no gaps, because the filter of the last
+   * refresh contains it. Its rows were the newest entries without gaps and every page since
+   * was downloaded with that filter or one of its subsets.
+   */
+  private boolean isCacheWithoutGaps() {
+    SharedPreferences sharedPrefs = dlHelper.sharedPrefs;
+    if (!sharedPrefs.contains(PREF.DB_STOCK_LOG_FILTER_PRODUCT_ID)) {
+      return false;
+    }
+    int cachedProductId = sharedPrefs.getInt(PREF.DB_STOCK_LOG_FILTER_PRODUCT_ID, -1);
+    String cachedTransactionType = sharedPrefs.getString(
+        PREF.DB_STOCK_LOG_FILTER_TRANSACTION_TYPE, null
+    );
+    return (cachedProductId == -1 || cachedProductId == filterProductId)
+        && (cachedTransactionType == null
+        || Objects.equals(cachedTransactionType, filterTransactionType));
+  }
+
+  /**
+   * Removes the cached rows in the id range of the newest page which the server doesn't
+   * return anymore. The older rows are only kept if they have no gaps and the page overlaps
+   * with them, otherwise there may be entries between them which are not downloaded yet.
+   */
+  private void deleteOutdatedEntries(List<StockLogEntry> newestEntries, boolean withoutGaps) {
+    StockLogEntryDao dao = appDatabase.stockLogEntryDao();
+    List<Integer> ids = new ArrayList<>();
+    for (StockLogEntry entry : newestEntries) {
+      ids.add(entry.getId());
+    }
+    int oldestId = newestEntries.get(newestEntries.size() - 1).getId();
+    boolean overlapsCache = dao.countStockLogEntriesWithIds(ids).blockingGet() > 0;
+    if (!withoutGaps || newestEntries.size() >= PAGE_SIZE && !overlapsCache) {
+      dao.deleteStockLogEntriesBelow(oldestId, filterProductId, filterTransactionType)
+          .blockingGet();
+    }
+    dao.deleteStockLogEntriesNotInPage(oldestId, ids, filterProductId, filterTransactionType)
+        .blockingGet();
+  }
+
+  private Single<ArrayList<StockLogEntry>> downloadPage(int offset) {
+    return Single.<String>create(emitter -> dlHelper.get(
+            dlHelper.grocyApi.getStockLogEntries(
+                PAGE_SIZE, offset, filterProductId, filterTransactionType
+            ),
+            emitter::onSuccess,
+            emitter::tryOnError
+        ))
+        .subscribeOn(Schedulers.io())
+        .observeOn(Schedulers.computation())
+        .map(response -> {
+          Type type = new TypeToken<ArrayList<StockLogEntry>>() {
+          }.getType();
+          return dlHelper.gson.fromJson(response, type);
+        });
+  }
+}
@@ -21,11 +21,18 @@
 package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
+import androidx.annotation.Nullable;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
+import xyz.zedler.patrick.grocy.database.EntityCache.Snapshot;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.MissingItem;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -45,9 +52,21 @@ import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 public class StockOverviewRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public StockOverviewRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
+  }
+
+  public interface StockItemChangedListener {
+
+    void onChanged(@Nullable StockItem previous);
+  }
+
+  public interface StockItemListener {
+
+    void onLoaded(@Nullable StockItem stockItem);
   }
 
   public interface StockOverviewDataListener {
@@ -56,32 +75,32 @@ public class StockOverviewRepository {
 
   public static class StockOverviewData {
 
-    private final List<QuantityUnit> quantityUnits;
+    private final Snapshot<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversionResolved> quantityUnitConversions;
-    private final List<ProductGroup> productGroups;
+    private final Snapshot<ProductGroup> productGroups;
     private final List<StockItem> stockItems;
-    private final List<Product> products;
+    private final Snapshot<Product> products;
     private final List<ProductAveragePrice> productsAveragePrice;
     private final List<ProductLastPurchased> productsLastPurchased;
     private final List<ProductBarcode> productBarcodes;
     private final List<ShoppingListItem> shoppingListItems;
-    private final List<Location> locations;
+    private final Snapshot<Location> locations;
     private final List<StockLocation> stockCurrentLocations;
     private final List<VolatileItem> volatileItems;
     private final List<MissingItem> missingItems;
     private final List<Userfield> userfields;
 
     public StockOverviewData(
-        List<QuantityUnit> quantityUnits,
+        Snapshot<QuantityUnit> quantityUnits,
         List<QuantityUnitConversionResolved> quantityUnitConversions,
-        List<ProductGroup> productGroups,
+        Snapshot<ProductGroup> productGroups,
         List<StockItem> stockItems,
-        List<Product> products,
+        Snapshot<Product> products,
         List<ProductAveragePrice> productsAveragePrice,
         List<ProductLastPurchased> productsLastPurchased,
         List<ProductBarcode> productBarcodes,
         List<ShoppingListItem> shoppingListItems,
-        List<Location> locations,
+        Snapshot<Location> locations,
         List<StockLocation> stockCurrentLocations,
         List<VolatileItem> volatileItems,
         List<MissingItem> missingItems,
@@ -104,7 +123,11 @@ public class StockOverviewRepository {
     }
 
     public List<QuantityUnit> getQuantityUnits() {
-      return quantityUnits;
+      return new ArrayList<>(quantityUnits.getList());
+    }
+
+    public HashMap<Integer, QuantityUnit> getQuantityUnitHashMap() {
+      return quantityUnits.getHashMap();
     }
 
     public List<QuantityUnitConversionResolved> getQuantityUnitConversions() {
@@ -112,7 +135,11 @@ public class StockOverviewRepository {
     }
 
     public List<ProductGroup> getProductGroups() {
-      return productGroups;
+      return new ArrayList<>(productGroups.getList());
+    }
+
+    public HashMap<Integer, ProductGroup> getProductGroupHashMap() {
+      return productGroups.getHashMap();
     }
 
     public List<StockItem> getStockItems() {
@@ -120,7 +147,11 @@ public class StockOverviewRepository {
     }
 
     public List<Product> getProducts() {
-      return products;
+      return new ArrayList<>(products.getList());
+    }
+
+    public HashMap<Integer, Product> getProductHashMap() {
+      return products.getHashMap();
     }
 
     public List<ProductAveragePrice> getProductsAveragePrice() {
@@ -140,7 +171,11 @@ public class StockOverviewRepository {
     }
 
     public List<Location> getLocations() {
-      return locations;
+      return new ArrayList<>(locations.getList());
+    }
+
+    public HashMap<Integer, Location> getLocationHashMap() {
+      return locations.getHashMap();
     }
 
     public List<StockLocation> getStockCurrentLocations() {
@@ -163,20 +198,20 @@ public class StockOverviewRepository {
   public void loadFromDatabase(StockOverviewDataListener onSuccess, Consumer<Throwable> onError) {
     RxJavaUtil
         .zip(
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
-            appDatabase.productGroupDao().getProductGroups(),
+            entityCache.getQuantityUnitsSnapshot(),
+            entityCache.getConversionsResolved(),
+            entityCache.getProductGroupsSnapshot(),
             appDatabase.stockItemDao().getStockItems(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProductsSnapshot(),
             appDatabase.productAveragePriceDao().getProductsAveragePrice(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
+            entityCache.getProductBarcodes(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getLocationsSnapshot(),
             appDatabase.stockLocationDao().getStockLocations(),
             appDatabase.volatileItemDao().getVolatileItems(),
             appDatabase.missingItemDao().getMissingItems(),
-            appDatabase.userfieldDao().getUserfields(),
+            entityCache.getUserfields(),
             StockOverviewData::new
         )
         .subscribeOn(Schedulers.io())
@@ -186,4 +221,81 @@ public class StockOverviewRepository {
         .onErrorComplete()
         .subscribe();
   }
+
+  // the listener receives null if the product is not in stock
+  public void loadStockItem(
+      int productId,
+      StockItemListener onSuccess,
+      Consumer<Throwable> onError
+  ) {
+    appDatabase.stockItemDao().getStockItemsForProduct(productId)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(stockItems -> onSuccess.onLoaded(
+            !stockItems.isEmpty() ? stockItems.get(0) : null
+        ))
+        .doOnError(onError)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  /**
+   * Applies the expected result of a stock transaction before the server responds. The listener
+   * receives the stock item before the change, so it can be restored if the transaction fails.
+   */
+  public void changeStockItemAmount(
+      int productId,
+      double amountChange,
+      double amountOpenedChange,
+      StockItemChangedListener onSuccess,
+      Consumer<Throwable> onError
+  ) {
+    StockItem[] previous = new StockItem[1];
+    Single.fromCallable(() -> {
+          previous[0] = appDatabase.stockItemDao()
+              .changeStockItemAmount(productId, amountChange, amountOpenedChange);
+          return true;
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(changed -> onSuccess.onChanged(previous[0]))
+        .doOnError(onError)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  public void restoreStockItem(
+      int productId,
+      @Nullable StockItem previous,
+      Runnable onSuccess,
+      Consumer<Throwable> onError
+  ) {
+    Single.fromCallable(() -> {
+          appDatabase.stockItemDao().restoreStockItem(productId, previous);
+          return true;
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(restored -> onSuccess.run())
+        .doOnError(onError)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  public void consumeFromStockEntries(
+      Map<String, Double> amountsByStockId,
+      Runnable onSuccess,
+      Consumer<Throwable> onError
+  ) {
+    Single.fromCallable(() -> {
+          appDatabase.stockEntryDao().consumeFromEntries(amountsByStockId);
+          return true;
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(consumed -> onSuccess.run())
+        .doOnError(onError)
+        .onErrorComplete()
+        .subscribe();
+  }
 }
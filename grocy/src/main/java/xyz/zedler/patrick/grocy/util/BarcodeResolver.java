@@ -0,0 +1,159 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.PendingProduct;
+import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.ProductBarcode;
+import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
+
+/**
+ * Resolves scanned codes to products with hash lookups instead of searching the barcode list
+ * on every scan. Server barcodes take precedence over pending barcodes with the same code.
+ * The resolver has to be built again together with the products after every sync, barcodes
+ * which are added in between must be passed to add() so they are found on the next scan.
+ */
+public class BarcodeResolver {
+
+  public final static int TYPE_UNKNOWN = 0;
+  public final static int TYPE_PRODUCT = 1;
+  public final static int TYPE_PENDING_PRODUCT = 2;
+  public final static int TYPE_GROCYCODE_NOT_FOUND = 3;
+  public final static int TYPE_GROCYCODE_WRONG_TYPE = 4;
+
+  private final HashMap<String, ProductBarcode> barcodeHashMap;
+  private final HashMap<Integer, Product> productHashMap;
+  private final HashMap<Integer, PendingProduct> pendingProductHashMap;
+
+  public BarcodeResolver() {
+    this(null, null, null, null);
+  }
+
+  public BarcodeResolver(
+      @Nullable List<ProductBarcode> barcodes,
+      @Nullable List<PendingProductBarcode> pendingBarcodes,
+      @Nullable HashMap<Integer, Product> productHashMap,
+      @Nullable List<PendingProduct> pendingProducts
+  ) {
+    this.productHashMap = productHashMap != null ? productHashMap : new HashMap<>();
+    barcodeHashMap = new HashMap<>();
+    pendingProductHashMap = new HashMap<>();
+    if (barcodes != null) {
+      for (ProductBarcode barcode : barcodes) {
+        add(barcode);
+      }
+    }
+    if (pendingBarcodes != null) {
+      for (PendingProductBarcode barcode : pendingBarcodes) {
+        add(barcode);
+      }
+    }
+    if (pendingProducts != null) {
+      for (PendingProduct pendingProduct : pendingProducts) {
+        pendingProductHashMap.put(pendingProduct.getId(), pendingProduct);
+      }
+    }
+  }
+
+  // the first barcode with the same code wins like in ProductBarcode.getFromBarcode()
+  public void add(ProductBarcode barcode) {
+    if (barcode.getBarcode() == null || barcodeHashMap.containsKey(barcode.getBarcode())) {
+      return;
+    }
+    barcodeHashMap.put(barcode.getBarcode(), barcode);
+  }
+
+  public boolean contains(String barcode) {
+    return barcodeHashMap.containsKey(barcode);
+  }
+
+  public Result resolve(String code) {
+    Grocycode grocycode = GrocycodeUtil.getGrocycode(code);
+    if (grocycode != null && grocycode.isProduct()) {
+      Product product = productHashMap.get(grocycode.getObjectId());
+      if (product == null) {
+        return new Result(TYPE_GROCYCODE_NOT_FOUND, null, null, null);
+      }
+      return new Result(TYPE_PRODUCT, product, null, grocycode.getProductStockEntryId());
+    } else if (grocycode != null) {
+      return new Result(TYPE_GROCYCODE_WRONG_TYPE, null, null, null);
+    }
+
+    ProductBarcode barcode = barcodeHashMap.get(code);
+    if (barcode instanceof PendingProductBarcode) {
+      PendingProduct pendingProduct = pendingProductHashMap.get(barcode.getProductIdInt());
+      if (pendingProduct != null) {
+        return new Result(TYPE_PENDING_PRODUCT, pendingProduct, barcode, null);
+      }
+    } else if (barcode != null) {
+      Product product = productHashMap.get(barcode.getProductIdInt());
+      if (product != null) {
+        return new Result(TYPE_PRODUCT, product, barcode, null);
+      }
+    }
+    return new Result(TYPE_UNKNOWN, null, null, null);
+  }
+
+  public static class Result {
+
+    private final int type;
+    private final Product product;
+    private final ProductBarcode productBarcode;
+    private final String stockEntryId;
+
+    private Result(
+        int type,
+        @Nullable Product product,
+        @Nullable ProductBarcode productBarcode,
+        @Nullable String stockEntryId
+    ) {
+      this.type = type;
+      this.product = product;
+      this.productBarcode = productBarcode;
+      this.stockEntryId = stockEntryId;
+    }
+
+    public int getType() {
+      return type;
+    }
+
+    // a PendingProduct if the type is TYPE_PENDING_PRODUCT
+    @Nullable
+    public Product getProduct() {
+      return product;
+    }
+
+    // null if a Grocycode was resolved
+    @Nullable
+    public ProductBarcode getProductBarcode() {
+      return productBarcode;
+    }
+
+    @Nullable
+    public String getStockEntryId() {
+      return stockEntryId;
+    }
+  }
+}
@@ -63,7 +63,7 @@ public class ConfigUtil {
       if (onError != null) {
         onError.onError(error);
       }
-    });
+    }, NetworkQueue.PRIORITY_BACKGROUND);
 
     queue.append(
         getStringData(
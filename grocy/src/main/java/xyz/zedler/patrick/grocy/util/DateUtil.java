@@ -27,6 +27,9 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.WeekFields;
 import java.util.Calendar;
 import java.util.Date;
@@ -46,14 +49,14 @@ public class DateUtil {
   public static final int FORMAT_SHORT = 0;
   public static final int FORMAT_SHORT_WITH_TIME = 3;
 
-  public static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat(
-      "yyyy-MM-dd", Locale.ENGLISH
+  // SimpleDateFormat is not thread-safe, but dates are also parsed on background threads
+  public static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal.withInitial(
+      () -> new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH)
   );
-  private static final SimpleDateFormat DATE_FORMAT_WITH_TIME = new SimpleDateFormat(
-      "yyyy-MM-dd HH:mm:ss", Locale.ENGLISH
-  );
-  private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat(
-      "HH:mm:ss", Locale.ENGLISH
+  private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT_WITH_TIME
+      = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ENGLISH));
+  private static final ThreadLocal<SimpleDateFormat> TIME_FORMAT = ThreadLocal.withInitial(
+      () -> new SimpleDateFormat("HH:mm:ss", Locale.ENGLISH)
   );
   private final Context context;
 
@@ -68,16 +71,60 @@ public class DateUtil {
     Date date = null;
     try {
       date = dateString.split(" ").length == 2
-          ? DATE_FORMAT_WITH_TIME.parse(dateString)
-          : DATE_FORMAT.parse(dateString);
+          ? DATE_FORMAT_WITH_TIME.get().parse(dateString)
+          : DATE_FORMAT.get().parse(dateString);
     } catch (ParseException e) {
       Log.e(TAG, "getDate: ");
     }
     return date;
   }
 
+  /**
+   * Days since 1970-01-01 of the date part of a date or date-time string, can be stored and
+   * compared as number instead of parsing the string again for every comparison.
+   */
+  public static Long getEpochDay(String dateString) {
+    if (dateString == null || dateString.length() < 10) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(dateString.substring(0, 10)).toEpochDay();
+    } catch (DateTimeParseException e) {
+      Log.e(TAG, "getEpochDay: " + e);
+      return null;
+    }
+  }
+
+  // local date-time in seconds, only for comparisons with other values of this method
+  public static Long getEpochSecond(String dateString) {
+    if (dateString == null || dateString.length() < 10) {
+      return null;
+    }
+    try {
+      LocalDateTime dateTime = dateString.length() >= 19
+          ? LocalDateTime.parse(dateString.substring(0, 19).replace(' ', 'T'))
+          : LocalDate.parse(dateString.substring(0, 10)).atStartOfDay();
+      return dateTime.toEpochSecond(ZoneOffset.UTC);
+    } catch (DateTimeParseException e) {
+      Log.e(TAG, "getEpochSecond: " + e);
+      return null;
+    }
+  }
+
+  public static int getDaysFromNowForEpochDay(Long epochDay) {
+    if (epochDay == null) return 0;
+    return (int) (epochDay - LocalDate.now().toEpochDay());
+  }
+
+  // truncated like getDaysFromNow(String), which compares with the start of today
+  public static int getDaysFromNowForEpochSecond(Long epochSecond) {
+    if (epochSecond == null) return 0;
+    long startOfToday = LocalDate.now().atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    return (int) ((epochSecond - startOfToday) / TimeUnit.DAYS.toSeconds(1));
+  }
+
   public static String getDateStringToday() {
-    return DATE_FORMAT.format(getCurrentDate());
+    return DATE_FORMAT.get().format(getCurrentDate());
   }
 
   public static int getDaysFromNow(String dateString) {
@@ -90,7 +137,7 @@ public class DateUtil {
   public static String getTodayWithDaysAdded(int daysToAdd) {
     Calendar calendar = Calendar.getInstance();
     calendar.add(Calendar.DAY_OF_MONTH, daysToAdd);
-    return DATE_FORMAT.format(calendar.getTime());
+    return DATE_FORMAT.get().format(calendar.getTime());
   }
 
   public static String getDateWithDaysAdded(String dateString, int daysToAdd) {
@@ -99,7 +146,7 @@ public class DateUtil {
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.add(Calendar.DAY_OF_MONTH, daysToAdd);
-    return DATE_FORMAT.format(calendar.getTime());
+    return DATE_FORMAT.get().format(calendar.getTime());
   }
 
   private static Date getCurrentDate() {
@@ -120,13 +167,13 @@ public class DateUtil {
   public String getCurrentDateWithTimeStr() {
     Calendar cal = Calendar.getInstance();
     cal.set(Calendar.MILLISECOND, 0);
-    return DATE_FORMAT_WITH_TIME.format(cal.getTime());
+    return DATE_FORMAT_WITH_TIME.get().format(cal.getTime());
   }
 
   public String getCurrentDateWithoutTimeStr() {
     Calendar cal = Calendar.getInstance();
     cal.set(Calendar.MILLISECOND, 0);
-    return DATE_FORMAT.format(cal.getTime());
+    return DATE_FORMAT.get().format(cal.getTime());
   }
 
   public boolean isTimeLessThanOneMinuteAway(String dateWithTimeStr) {
@@ -136,7 +183,7 @@ public class DateUtil {
     Date currentDateWithTime = getCurrentDateWithTime();
     Date askedDateWithTime = null;
     try {
-      askedDateWithTime = DATE_FORMAT_WITH_TIME.parse(dateWithTimeStr);
+      askedDateWithTime = DATE_FORMAT_WITH_TIME.get().parse(dateWithTimeStr);
     } catch (ParseException e) {
       Log.e(TAG, "isTimeMoreThanOneMinuteAway: " + e);
     }
@@ -158,8 +205,8 @@ public class DateUtil {
     Date date = null;
     try {
       date = dateString.split(" ").length == 2
-          ? DATE_FORMAT_WITH_TIME.parse(dateString)
-          : DATE_FORMAT.parse(dateString);
+          ? DATE_FORMAT_WITH_TIME.get().parse(dateString)
+          : DATE_FORMAT.get().parse(dateString);
     } catch (ParseException e) {
       Log.e(TAG, "getLocalizedDate: " + e);
     }
@@ -190,7 +237,7 @@ public class DateUtil {
     }
     Date date = null;
     try {
-      date = TIME_FORMAT.parse(timeString);
+      date = TIME_FORMAT.get().parse(timeString);
     } catch (ParseException e) {
       Log.e(TAG, "getLocalizedTime: " + e);
     }
@@ -270,7 +317,7 @@ public class DateUtil {
         // Check if days are about the same as to the never expiring date
         Calendar calendarNever = Calendar.getInstance();
         try {
-          Date dateNever = DATE_FORMAT.parse(Constants.DATE.NEVER_OVERDUE);
+          Date dateNever = DATE_FORMAT.get().parse(Constants.DATE.NEVER_OVERDUE);
           if (dateNever != null) {
             calendarNever.setTime(dateNever);
           }
@@ -25,8 +25,10 @@ import java.util.regex.Pattern;
 
 public class GrocycodeUtil {
 
+  private final static Pattern GROCYCODE_PATTERN = Pattern.compile("grcy:([a-z]+):([0-9]+)(:.+)*");
+
   private static Matcher getMatcher(String barcode) {
-    return Pattern.compile("grcy:([a-z]+):([0-9]+)(:.+)*").matcher(barcode);
+    return GROCYCODE_PATTERN.matcher(barcode);
   }
 
   public static Grocycode getGrocycode(String barcode) {
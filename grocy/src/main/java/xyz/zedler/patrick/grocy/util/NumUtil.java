@@ -77,6 +77,11 @@ public class NumUtil {
     }
   }
 
+  // amounts from the server are rounded differently than locally summed up doubles
+  public static boolean isAmountEqual(double amount1, double amount2) {
+    return Math.abs(amount1 - amount2) < 0.0001;
+  }
+
   public static boolean isStringInt(String s) {
     if (s == null || s.isEmpty()) {
       return false;
@@ -20,10 +20,12 @@
 
 package xyz.zedler.patrick.grocy.util;
 
+import android.content.ContentResolver;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Matrix;
 import android.graphics.drawable.Drawable;
+import android.net.Uri;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -40,15 +42,23 @@ import com.bumptech.glide.load.resource.bitmap.CenterCrop;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.target.Target;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class PictureUtil {
 
   private static final String TAG = PictureUtil.class.getSimpleName();
 
+  public static final int MAX_WIDTH = 1280;
+  public static final int MAX_HEIGHT = 800;
+
   public static void loadPicture(ImageView imageView, @Nullable CardView frame, String pictureUrl) {
     Glide.with(imageView.getContext())
         .load(new GlideUrl(
@@ -111,50 +121,106 @@ public class PictureUtil {
     }).into(picture);
   }
 
-  public static Bitmap scaleBitmap(String imagePath) {
-    int maxWidth = 1280;
-    int maxHeight = 800;
+  /**
+   * Decodes the image behind the given uri, scales it down to fit into MAX_WIDTH x MAX_HEIGHT,
+   * applies the exif orientation and writes it as JPEG into the destination file.
+   * The image is subsampled by the largest power of two that keeps it at least as large as the
+   * target size, so only a fraction of the full resolution image is ever held in memory.
+   * Scaling and rotation are applied in a single transformation of the sampled bitmap.
+   */
+  public static void scaleImageToFile(
+      ContentResolver resolver,
+      Uri source,
+      File destination
+  ) throws IOException {
     BitmapFactory.Options options = new BitmapFactory.Options();
     options.inJustDecodeBounds = true;
-    BitmapFactory.decodeFile(imagePath, options);
-    int imageHeight = options.outHeight;
-    int imageWidth = options.outWidth;
-    int scaleFactor = Math.min(imageWidth / maxWidth, imageHeight / maxHeight);
-    options.inJustDecodeBounds = false;
-    options.inSampleSize = scaleFactor;
+    try (InputStream stream = openStream(resolver, source)) {
+      BitmapFactory.decodeStream(stream, null, options);
+    }
+    if (options.outWidth <= 0 || options.outHeight <= 0) {
+      throw new IOException("Could not decode image bounds of " + source);
+    }
+
     int rotation = 0;
-    try {
-      var exif = new ExifInterface(imagePath);
-      rotation = exif.getRotationDegrees();
+    try (InputStream stream = openStream(resolver, source)) {
+      rotation = new ExifInterface(stream).getRotationDegrees();
     } catch (IOException e) {
       Log.w(TAG, "Reading exif data failed, ignoring possible rotation: " + e);
     }
-    var bitmap = BitmapFactory.decodeFile(imagePath, options);
-    if (rotation == 0) return bitmap;
-    else {
-      var matrix = new Matrix();
+
+    // bounds apply to the image as it is displayed, so swap dimensions for portrait photos
+    boolean swapped = rotation == 90 || rotation == 270;
+    int orientedWidth = swapped ? options.outHeight : options.outWidth;
+    int orientedHeight = swapped ? options.outWidth : options.outHeight;
+    float scale = Math.min(1, Math.min(
+        (float) MAX_WIDTH / orientedWidth,
+        (float) MAX_HEIGHT / orientedHeight
+    ));
+    int targetWidth = Math.max(1, Math.round(options.outWidth * scale));
+    int targetHeight = Math.max(1, Math.round(options.outHeight * scale));
+
+    options.inJustDecodeBounds = false;
+    options.inSampleSize = calculateInSampleSize(
+        options.outWidth, options.outHeight, targetWidth, targetHeight
+    );
+    Bitmap sampled;
+    try (InputStream stream = openStream(resolver, source)) {
+      sampled = BitmapFactory.decodeStream(stream, null, options);
+    }
+    if (sampled == null) {
+      throw new IOException("Could not decode image " + source);
+    }
+
+    Bitmap result = sampled;
+    float remainingScale = (float) targetWidth / sampled.getWidth();
+    if (remainingScale < 1 || rotation != 0) {
+      Matrix matrix = new Matrix();
+      if (remainingScale < 1) {
+        matrix.postScale(remainingScale, remainingScale);
+      }
       matrix.postRotate(rotation);
-      return Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+      result = Bitmap.createBitmap(
+          sampled, 0, 0, sampled.getWidth(), sampled.getHeight(), matrix, true
+      );
+      if (result != sampled) {
+        sampled.recycle();
+      }
+    }
+
+    try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(destination))) {
+      if (!result.compress(Bitmap.CompressFormat.JPEG, 80, stream)) {
+        throw new IOException("Could not encode image into " + destination);
+      }
+    } finally {
+      result.recycle();
     }
   }
 
-  public static Bitmap scaleBitmap(Bitmap bitmap) {
-    int maxWidth = 1280;
-    int maxHeight = 800;
-    float scale = Math.min(
-        ((float)maxWidth / bitmap.getWidth()),
-        ((float)maxHeight / bitmap.getHeight())
-    );
-    int newWidth = Math.round(bitmap.getWidth() * scale);
-    int newHeight = Math.round(bitmap.getHeight() * scale);
-    return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
+  /**
+   * Largest power of two which keeps the sampled image at least as large as the target size.
+   * BitmapFactory rounds other values down to the next power of two anyway.
+   */
+  public static int calculateInSampleSize(
+      int width,
+      int height,
+      int targetWidth,
+      int targetHeight
+  ) {
+    int inSampleSize = 1;
+    while (width / (inSampleSize * 2) >= targetWidth
+        && height / (inSampleSize * 2) >= targetHeight) {
+      inSampleSize *= 2;
+    }
+    return inSampleSize;
   }
 
-  public static byte[] convertBitmapToByteArray(Bitmap bitmap) {
-    if (bitmap == null) return null;
-    ByteArrayOutputStream stream = new ByteArrayOutputStream();
-    bitmap.compress(Bitmap.CompressFormat.JPEG, 80, stream);
-    return stream.toByteArray();
+  private static InputStream openStream(ContentResolver resolver, Uri source) throws IOException {
+    InputStream stream = resolver.openInputStream(source);
+    if (stream == null) {
+      throw new FileNotFoundException("Could not open " + source);
+    }
+    return new BufferedInputStream(stream);
   }
 
   public static File createImageFile(File storageDir) throws IOException {
@@ -47,6 +47,8 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.activity.MainActivity;
+import xyz.zedler.patrick.grocy.web.ProductDetailsCache;
+import xyz.zedler.patrick.grocy.web.ValidatorStore;
 
 public class PrefsUtil {
   private final SharedPreferences sharedPreferences;
@@ -246,7 +248,19 @@ public class PrefsUtil {
     editPrefs.remove(PREF.DB_LAST_TIME_USERFIELDS);
     editPrefs.remove(PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES);
     editPrefs.remove(PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS);
+    editPrefs.remove(PREF.DB_DELTA_MAX_ID_PRODUCTS);
+    editPrefs.remove(PREF.DB_DELTA_MAX_ID_PRODUCT_BARCODES);
+    editPrefs.remove(PREF.DB_LAST_FULL_SYNC_PRODUCTS);
+    editPrefs.remove(PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES);
+    editPrefs.remove(PREF.DB_MEAL_PLAN_WINDOW_START);
+    editPrefs.remove(PREF.DB_MEAL_PLAN_WINDOW_END);
+    editPrefs.remove(PREF.DB_LAST_SYNC_STOCK_ITEMS);
+    editPrefs.remove(PREF.DB_LAST_SYNC_CHORE_ENTRIES);
+    editPrefs.remove(PREF.DB_STOCK_LOG_FILTER_PRODUCT_ID);
+    editPrefs.remove(PREF.DB_STOCK_LOG_FILTER_TRANSACTION_TYPE);
+    ValidatorStore.clear(editPrefs, sharedPrefs);
     editPrefs.apply();
+    ProductDetailsCache.getInstance().clear();
   }
 
   public static void clearServerRelatedSharedPreferences(SharedPreferences sharedPrefs) {
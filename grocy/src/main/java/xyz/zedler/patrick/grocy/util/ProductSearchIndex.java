@@ -0,0 +1,67 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.ProductBarcode;
+import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
+
+/**
+ * Search index for product names which also resolves barcodes and product Grocycodes,
+ * so a search input can be matched against all of them with one lookup each.
+ */
+public class ProductSearchIndex extends SearchIndex<Product> {
+
+  private volatile HashMap<Integer, Product> productHashMap;
+  private volatile HashMap<String, ProductBarcode> productBarcodeHashMap;
+
+  public ProductSearchIndex() {
+    super(Product::getName);
+    productHashMap = new HashMap<>();
+    productBarcodeHashMap = new HashMap<>();
+  }
+
+  public void setProducts(List<Product> products) {
+    setItems(products);
+    productHashMap = ArrayUtil.getProductsHashMap(products);
+  }
+
+  public void setProductBarcodes(List<ProductBarcode> productBarcodes) {
+    productBarcodeHashMap = ArrayUtil.getProductBarcodesHashMap(productBarcodes);
+  }
+
+  @Nullable
+  public Product getProductForGrocycode(String input) {
+    if (input == null) return null;
+    Grocycode grocycode = GrocycodeUtil.getGrocycode(input);
+    if (grocycode == null || !grocycode.isProduct()) return null;
+    return productHashMap.get(grocycode.getObjectId());
+  }
+
+  @Nullable
+  public ProductBarcode getProductBarcode(String input) {
+    if (input == null) return null;
+    return productBarcodeHashMap.get(input.toLowerCase());
+  }
+}
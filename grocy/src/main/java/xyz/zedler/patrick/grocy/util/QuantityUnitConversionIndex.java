@@ -0,0 +1,171 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.QuantityUnit;
+import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
+
+/**
+ * Quantity unit conversions grouped by product and by "from" unit, so the conversions of a
+ * product can be found without scanning the whole conversion list. The unit factors of a
+ * product are computed on first use and then reused, which is why the index has to be built
+ * again together with the products after every sync.
+ * <p>
+ * Returned factor maps are shared between all callers and must not be modified.
+ */
+public class QuantityUnitConversionIndex {
+
+  private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
+  private final boolean useResolvedConversions;
+  // product specific conversions by product id, in the order of the original list
+  private final HashMap<Integer, List<QuantityUnitConversionResolved>> productConversions;
+  // conversions without product by "from" unit id
+  private final HashMap<Integer, List<QuantityUnitConversionResolved>> standardConversions;
+  private final HashMap<Integer, HashMap<QuantityUnit, Double>> unitFactorsCache;
+
+  public QuantityUnitConversionIndex(
+      @Nullable HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+      @Nullable List<QuantityUnitConversionResolved> unitConversions,
+      boolean useResolvedConversions
+  ) {
+    this.quantityUnitHashMap = quantityUnitHashMap != null
+        ? quantityUnitHashMap : new HashMap<>();
+    // useResolvedConversions is always the VersionUtil.isGrocyServerMin400() value because
+    // starting with this version, transitive conversions are
+    // calculated (see QuantityUnitConversionResolved class). For easier version compatibility
+    // changes of this app in future versions, the QuantityUnitConversionsResolved table of this app
+    // contains with earlier server versions just the simple conversions from the Grocy
+    // server (not resolved). If 4.0.0 is the min. server version requirement, this behavior
+    // can simply be removed and not all pages have to be edited.
+    this.useResolvedConversions = useResolvedConversions;
+    productConversions = new HashMap<>();
+    standardConversions = new HashMap<>();
+    unitFactorsCache = new HashMap<>();
+    if (unitConversions == null) return;
+    for (QuantityUnitConversionResolved conversion : unitConversions) {
+      if (NumUtil.isStringInt(conversion.getProductId())) {
+        getOrCreate(productConversions, conversion.getProductIdInt()).add(conversion);
+      } else {
+        getOrCreate(standardConversions, conversion.getFromQuId()).add(conversion);
+      }
+    }
+  }
+
+  /**
+   * Factors to convert an amount in the stock unit of the product into the unit of the key.
+   */
+  public synchronized HashMap<QuantityUnit, Double> getUnitFactors(Product product) {
+    HashMap<QuantityUnit, Double> unitFactors = unitFactorsCache.get(product.getId());
+    if (unitFactors == null) {
+      unitFactors = useResolvedConversions
+          ? computeUnitFactorsResolved(product)
+          : computeUnitFactors(product);
+      unitFactorsCache.put(product.getId(), unitFactors);
+    }
+    return unitFactors;
+  }
+
+  @Nullable
+  public Double getUnitFactor(Product product, int quId) {
+    QuantityUnit unit = quantityUnitHashMap.get(quId);
+    return unit != null ? getUnitFactors(product).get(unit) : null;
+  }
+
+  @Nullable
+  public QuantityUnitConversionResolved findConversion(int productId, int fromQuId, int toQuId) {
+    List<QuantityUnitConversionResolved> conversions = productConversions.get(productId);
+    if (conversions == null) return null;
+    for (QuantityUnitConversionResolved conversion : conversions) {
+      if (conversion.getFromQuId() == fromQuId && conversion.getToQuId() == toQuId) {
+        return conversion;
+      }
+    }
+    return null;
+  }
+
+  private HashMap<QuantityUnit, Double> computeUnitFactorsResolved(Product product) {
+    HashMap<QuantityUnit, Double> unitFactors = new HashMap<>();
+    for (QuantityUnitConversionResolved conversion : getProductConversions(product.getId())) {
+      // The list can contain multiple entries for the same "to" unit, e.g.
+      // Bottle -> mL | 100.0, mL -> Bottle | 0.01 and Bottle -> Bottle | 1.0
+      // so only conversions from the stock unit are used.
+      if (conversion.getFromQuId() != product.getQuIdStockInt()) continue;
+
+      QuantityUnit unit = quantityUnitHashMap.get(conversion.getToQuId());
+      if (unit == null || unitFactors.containsKey(unit)) continue;
+      unitFactors.put(unit, conversion.getFactor());
+    }
+    return unitFactors;
+  }
+
+  private HashMap<QuantityUnit, Double> computeUnitFactors(Product product) {
+    QuantityUnit stockUnit = quantityUnitHashMap.get(product.getQuIdStockInt());
+    QuantityUnit purchaseUnit = quantityUnitHashMap.get(product.getQuIdPurchaseInt());
+
+    HashMap<QuantityUnit, Double> unitFactors = new HashMap<>();
+    if (stockUnit == null || purchaseUnit == null) {
+      return unitFactors;
+    }
+    unitFactors.put(stockUnit, (double) 1);
+    if (!unitFactors.containsKey(purchaseUnit)) {
+      unitFactors.put(purchaseUnit, 1 / product.getQuFactorPurchaseToStockDouble());
+    }
+    // product specific conversions "override" the standard conversions added afterwards
+    for (QuantityUnitConversionResolved conversion : getProductConversions(product.getId())) {
+      QuantityUnit unit = quantityUnitHashMap.get(conversion.getToQuId());
+      if (unit == null || unitFactors.containsKey(unit)) continue;
+      unitFactors.put(unit, conversion.getFactor());
+    }
+    List<QuantityUnitConversionResolved> conversionsFromStock
+        = standardConversions.get(stockUnit.getId());
+    if (conversionsFromStock != null) {
+      for (QuantityUnitConversionResolved conversion : conversionsFromStock) {
+        QuantityUnit unit = quantityUnitHashMap.get(conversion.getToQuId());
+        if (unit == null || unitFactors.containsKey(unit)) continue;
+        unitFactors.put(unit, conversion.getFactor());
+      }
+    }
+    return unitFactors;
+  }
+
+  private List<QuantityUnitConversionResolved> getProductConversions(int productId) {
+    List<QuantityUnitConversionResolved> conversions = productConversions.get(productId);
+    return conversions != null ? conversions : Collections.emptyList();
+  }
+
+  private static List<QuantityUnitConversionResolved> getOrCreate(
+      HashMap<Integer, List<QuantityUnitConversionResolved>> hashMap,
+      int key
+  ) {
+    List<QuantityUnitConversionResolved> list = hashMap.get(key);
+    if (list == null) {
+      list = new ArrayList<>();
+      hashMap.put(key, list);
+    }
+    return list;
+  }
+}
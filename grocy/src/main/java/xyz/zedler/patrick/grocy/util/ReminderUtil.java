@@ -24,6 +24,7 @@ import android.Manifest;
 import android.annotation.SuppressLint;
 import android.app.AlarmManager;
 import android.app.Notification;
+import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.BroadcastReceiver;
@@ -140,30 +141,6 @@ public class ReminderUtil {
     }
   }
 
-  public void scheduleAgainIn10Minutes(
-      int reminderId,
-      Class<? extends BroadcastReceiver> receiverClass
-  ) {
-    Calendar calendar = Calendar.getInstance();
-    calendar.setTimeInMillis(System.currentTimeMillis());
-    calendar.add(Calendar.MINUTE, 10);
-
-    PendingIntent pendingIntent = PendingIntent.getBroadcast(
-        context,
-        reminderId,
-        new Intent(context, receiverClass),
-        getPendingIntentFlags()
-    );
-
-    if (notificationManager != null) {
-      notificationManager.cancel(reminderId);
-    }
-    if (alarmManager != null) {
-      alarmManager.cancel(pendingIntent);
-      alarmManager.set(AlarmManager.RTC_WAKEUP, calendar.getTimeInMillis(), pendingIntent);
-    }
-  }
-
   public void setReminderEnabled(String reminderType, boolean enabled) {
     int reminderId;
     String reminderTime;
@@ -263,6 +240,21 @@ public class ReminderUtil {
     return builder.build();
   }
 
+  public static void createChannel(
+      NotificationManager notificationManager,
+      String channelId,
+      CharSequence name,
+      String description
+  ) {
+    if (VERSION.SDK_INT >= VERSION_CODES.O) {
+      NotificationChannel channel = new NotificationChannel(
+          channelId, name, NotificationManager.IMPORTANCE_HIGH
+      );
+      channel.setDescription(description);
+      notificationManager.createNotificationChannel(channel);
+    }
+  }
+
   private static int getPendingIntentFlags() {
     return VERSION.SDK_INT >= VERSION_CODES.M
         ? PendingIntent.FLAG_IMMUTABLE
@@ -0,0 +1,214 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import me.xdrop.fuzzywuzzy.FuzzySearch;
+import me.xdrop.fuzzywuzzy.ToStringFunction;
+import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
+
+/**
+ * In-memory fuzzy search over the names of a list of objects. Names are split into trigrams
+ * once when the items are set, so a search only scores the few items which share the most
+ * trigrams with the query instead of computing the fuzzy ratio for every item.
+ * Searching is thread-safe, new items replace the index atomically.
+ */
+public class SearchIndex<T> {
+
+  // items with less shared trigrams are not scored, the fuzzy ratio would be too low
+  private final static float MIN_SHARED_TRIGRAMS_FRACTION = 0.3f;
+  private final static int MAX_CANDIDATES = 200;
+
+  private final ToStringFunction<T> nameFunction;
+  private volatile Snapshot<T> snapshot;
+
+  public SearchIndex(ToStringFunction<T> nameFunction) {
+    this.nameFunction = nameFunction;
+    this.snapshot = new Snapshot<>(new ArrayList<>(), new HashMap<>());
+  }
+
+  /**
+   * Replaces the indexed items. Trigrams of names which are already indexed are reused,
+   * so after a sync only new or renamed items are split again.
+   */
+  public void setItems(Collection<? extends T> items) {
+    Snapshot<T> old = snapshot;
+    HashMap<String, int[]> oldTrigramsByName = new HashMap<>();
+    for (Entry<T> entry : old.entries) {
+      oldTrigramsByName.put(entry.name, entry.trigrams);
+    }
+    HashMap<String, Integer> trigramIds = new HashMap<>(old.trigramIds);
+
+    ArrayList<Entry<T>> entries = new ArrayList<>(items.size());
+    for (T item : items) {
+      if (item == null) continue;
+      String name = normalize(nameFunction.apply(item));
+      int[] trigrams = oldTrigramsByName.get(name);
+      if (trigrams == null) {
+        trigrams = getTrigramIds(name, trigramIds, true);
+      }
+      entries.add(new Entry<>(item, name, trigrams));
+    }
+    snapshot = new Snapshot<>(entries, trigramIds);
+  }
+
+  public boolean isEmpty() {
+    return snapshot.entries.isEmpty();
+  }
+
+  /**
+   * Results like FuzzySearch.extractTop with the default scorer, but only the items
+   * sharing enough trigrams with the query are scored.
+   */
+  public List<T> search(String query, int limit, int cutoff) {
+    Snapshot<T> snapshot = this.snapshot;
+    ArrayList<T> results = new ArrayList<>(limit);
+    if (query == null || snapshot.entries.isEmpty()) {
+      return results;
+    }
+    String normalizedQuery = normalize(query);
+    int[] queryTrigrams = getTrigramIds(normalizedQuery, snapshot.trigramIds, false);
+
+    int[] sharedCounts = new int[snapshot.entries.size()];
+    ArrayList<Integer> candidates = new ArrayList<>();
+    for (int trigram : queryTrigrams) {
+      if (trigram < 0) continue;
+      for (int entryIndex : snapshot.postings.get(trigram)) {
+        if (sharedCounts[entryIndex]++ == 0) {
+          candidates.add(entryIndex);
+        }
+      }
+    }
+
+    int minShared = Math.max(1, (int) (queryTrigrams.length * MIN_SHARED_TRIGRAMS_FRACTION));
+    ArrayList<Entry<T>> scoredEntries = new ArrayList<>(
+        Math.min(candidates.size(), MAX_CANDIDATES)
+    );
+    if (candidates.size() > MAX_CANDIDATES) {
+      candidates.sort((a, b) -> Integer.compare(sharedCounts[b], sharedCounts[a]));
+    }
+    for (int entryIndex : candidates) {
+      if (scoredEntries.size() >= MAX_CANDIDATES) break;
+      if (sharedCounts[entryIndex] < minShared) continue;
+      scoredEntries.add(snapshot.entries.get(entryIndex));
+    }
+    if (scoredEntries.isEmpty()) {
+      return results;
+    }
+
+    List<BoundExtractedResult<Entry<T>>> extracted = FuzzySearch.extractTop(
+        normalizedQuery,
+        scoredEntries,
+        entry -> entry.name,
+        limit,
+        cutoff
+    );
+    for (BoundExtractedResult<Entry<T>> result : extracted) {
+      results.add(result.getReferent().item);
+    }
+    return results;
+  }
+
+  private static String normalize(String name) {
+    return name != null ? name.toLowerCase(Locale.getDefault()).trim() : "";
+  }
+
+  /**
+   * Trigrams of the name padded with spaces, so also names with less than three characters
+   * and word beginnings have trigrams. Unknown trigrams are -1 if they are not added.
+   */
+  private static int[] getTrigramIds(
+      String name,
+      HashMap<String, Integer> trigramIds,
+      boolean addUnknown
+  ) {
+    String padded = "  " + name + " ";
+    int[] trigrams = new int[padded.length() - 2];
+    int count = 0;
+    for (int i = 0; i < padded.length() - 2; i++) {
+      String trigram = padded.substring(i, i + 3);
+      Integer id = trigramIds.get(trigram);
+      if (id == null && addUnknown) {
+        id = trigramIds.size();
+        trigramIds.put(trigram, id);
+      }
+      int trigramId = id != null ? id : -1;
+      // each trigram once, else repeated ones would count more than once
+      boolean duplicate = false;
+      for (int j = 0; j < count; j++) {
+        if (trigrams[j] == trigramId && trigramId != -1) {
+          duplicate = true;
+          break;
+        }
+      }
+      if (!duplicate) {
+        trigrams[count++] = trigramId;
+      }
+    }
+    return Arrays.copyOf(trigrams, count);
+  }
+
+  private static class Entry<T> {
+
+    final T item;
+    final String name;
+    final int[] trigrams;
+
+    Entry(T item, String name, int[] trigrams) {
+      this.item = item;
+      this.name = name;
+      this.trigrams = trigrams;
+    }
+  }
+
+  private static class Snapshot<T> {
+
+    final List<Entry<T>> entries;
+    final HashMap<String, Integer> trigramIds;
+    final ArrayList<int[]> postings;
+
+    Snapshot(List<Entry<T>> entries, HashMap<String, Integer> trigramIds) {
+      this.entries = entries;
+      this.trigramIds = trigramIds;
+      int[] sizes = new int[trigramIds.size()];
+      for (Entry<T> entry : entries) {
+        for (int trigram : entry.trigrams) {
+          sizes[trigram]++;
+        }
+      }
+      postings = new ArrayList<>(sizes.length);
+      for (int size : sizes) {
+        postings.add(new int[size]);
+      }
+      int[] filled = new int[sizes.length];
+      for (int i = 0; i < entries.size(); i++) {
+        for (int trigram : entries.get(i).trigrams) {
+          postings.get(trigram)[filled[trigram]++] = i;
+        }
+      }
+    }
+  }
+}
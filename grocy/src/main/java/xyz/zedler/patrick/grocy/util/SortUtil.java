@@ -23,11 +23,12 @@ package xyz.zedler.patrick.grocy.util;
 import android.content.pm.ShortcutInfo;
 import android.os.Build;
 import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import java.text.CollationKey;
 import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -60,20 +61,56 @@ public class SortUtil {
       "þ <u,U<v,V<w,W<x,X<y,Y<z,Z&AE,Æ&AE,æ&OE,Œ&OE,œ";
 
   private static void compareStockItemsWithExtGerman(List<StockItem> items, boolean asc) {
-    Collections.sort(items, (item1, item2) -> Collator.getInstance(Locale.GERMAN).compare(
-        (asc ? item1 : item2).getProduct().getName().toLowerCase(),
-        (asc ? item2 : item1).getProduct().getName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(Locale.GERMAN);
+    sortByKey(items, item -> getCollationKey(collator, item.getProduct().getName()), asc);
+  }
+
+  /**
+   * Sorts the list by keys which are computed only once per item, instead of twice per
+   * comparison. For names these are CollationKeys, which are compared bitwise, so the
+   * collator rules are only applied n times and not O(n log n) times.
+   * Items without key come first in ascending order.
+   */
+  @VisibleForTesting
+  static <T, K extends Comparable<K>> void sortByKey(
+      List<T> items,
+      SortKeyFunction<T, K> keyFunction,
+      boolean ascending
+  ) {
+    ArrayList<KeyedItem<T, K>> keyedItems = new ArrayList<>(items.size());
+    for (T item : items) {
+      keyedItems.add(new KeyedItem<>(item, keyFunction.getKey(item)));
+    }
+    Comparator<KeyedItem<T, K>> comparator = (item1, item2) -> {
+      if (item1.key == null && item2.key == null) {
+        return 0;
+      } else if (item1.key == null) {
+        return -1;
+      } else if (item2.key == null) {
+        return 1;
+      }
+      return item1.key.compareTo(item2.key);
+    };
+    Collections.sort(keyedItems, ascending ? comparator : Collections.reverseOrder(comparator));
+    for (int i = 0; i < keyedItems.size(); i++) {
+      items.set(i, keyedItems.get(i).item);
+    }
+  }
+
+  // lowercase like before, else the collator rules would sort uppercase letters differently
+  private static CollationKey getCollationKey(Collator collator, String name) {
+    return name != null ? collator.getCollationKey(name.toLowerCase()) : null;
   }
 
   public static void sortStockItemsByName(List<StockItem> stockItems, boolean ascending) {
     if (stockItems == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(stockItems, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getProduct().getName().toLowerCase(),
-        (ascending ? item2 : item1).getProduct().getName().toLowerCase())
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(
+        stockItems,
+        item -> getCollationKey(collator, item.getProduct().getName()),
+        ascending
     );
   }
 
@@ -81,21 +118,7 @@ public class SortUtil {
     if (stockItems == null) {
       return;
     }
-    Collections.sort(
-        stockItems,
-        (item1, item2) -> {
-          String bbd1 = (ascending ? item1 : item2).getBestBeforeDate();
-          String bbd2 = (ascending ? item2 : item1).getBestBeforeDate();
-          if (bbd1 == null && bbd2 == null) {
-            return 0;
-          } else if (bbd1 == null) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (bbd2 == null) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          return DateUtil.getDate(bbd1).compareTo(DateUtil.getDate(bbd2));
-        }
-    );
+    sortByKey(stockItems, StockItem::getBestBeforeDateEpochDay, ascending);
   }
 
   public static void sortStockItemsByCreatedTimestamp(List<StockItem> stockItems, boolean ascending) {
@@ -165,21 +188,7 @@ public class SortUtil {
     if (stockEntries == null) {
       return;
     }
-    Collections.sort(
-        stockEntries,
-        (item1, item2) -> {
-          String bbd1 = (ascending ? item1 : item2).getBestBeforeDate();
-          String bbd2 = (ascending ? item2 : item1).getBestBeforeDate();
-          if (bbd1 == null && bbd2 == null) {
-            return 0;
-          } else if (bbd1 == null) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (bbd2 == null) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          return DateUtil.getDate(bbd1).compareTo(DateUtil.getDate(bbd2));
-        }
-    );
+    sortByKey(stockEntries, StockEntry::getBestBeforeDateEpochDay, ascending);
   }
 
   public static void sortStockEntriesByName(
@@ -188,78 +197,40 @@ public class SortUtil {
     if (stockEntries == null || productHashMap == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(stockEntries, (entry1, entry2) -> {
-      int productId1 = (ascending ? entry1 : entry2).getProductId();
-      int productId2 = (ascending ? entry2 : entry1).getProductId();
-      Product product1 = productHashMap.get(productId1);
-      Product product2 = productHashMap.get(productId2);
-      if (product1 == null && product2 == null) {
-        return 0;
-      } else if (product1 == null) {
-        return -1;
-      } else if (product2 == null) {
-        return 1;
-      }
-      return Collator.getInstance(locale).compare(
-          product1.getName().toLowerCase(),
-          product2.getName().toLowerCase()
-      );
-    });
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(stockEntries, entry -> {
+      Product product = productHashMap.get(entry.getProductId());
+      return product != null ? getCollationKey(collator, product.getName()) : null;
+    }, ascending);
   }
 
   public static void sortProductsByName(List<Product> products, boolean ascending) {
     if (products == null) {
       return;
     }
-    Collections.sort(
-        products,
-        (item1, item2) -> (ascending ? item1 : item2).getName().toLowerCase().compareTo(
-            (ascending ? item2 : item1).getName().toLowerCase()
-        )
-    );
+    sortByKey(products, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortStockLocationItemsByName(ArrayList<StockLocation> stockLocations) {
     if (stockLocations == null) {
       return;
     }
-    Collections.sort(
-        stockLocations, Comparator.comparing(item -> item.getLocationName().toLowerCase())
-    );
+    sortByKey(stockLocations, item -> item.getLocationName().toLowerCase(), true);
   }
 
   public static void sortTasksByName(List<Task> tasks, boolean ascending) {
     if (tasks == null || tasks.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(tasks, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(tasks, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
   public static void sortTasksByDueDate(List<Task> tasks, boolean ascending) {
     if (tasks == null || tasks.isEmpty()) {
       return;
     }
-    Collections.sort(
-        tasks,
-        (item1, item2) -> {
-          String bbd1 = (ascending ? item1 : item2).getDueDate();
-          String bbd2 = (ascending ? item2 : item1).getDueDate();
-          if (bbd1 == null && bbd2 == null
-              || bbd1 != null && bbd1.isEmpty() && bbd2 != null && bbd2.isEmpty()) {
-            return 0;
-          } else if (bbd1 == null || bbd1.isEmpty()) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (bbd2 == null || bbd2.isEmpty()) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          return DateUtil.getDate(bbd1).compareTo(DateUtil.getDate(bbd2));
-        }
-    );
+    sortByKey(tasks, Task::getDueDateEpochDay, ascending);
   }
 
   public static void sortTaskCategoriesByName(
@@ -268,11 +239,8 @@ public class SortUtil {
     if (taskCategories == null || taskCategories.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(taskCategories, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(taskCategories, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
   public static void sortTasksByCategory(
@@ -311,60 +279,31 @@ public class SortUtil {
     if (choreEntries == null || choreEntries.isEmpty()) {
       return;
     }
-    Collections.sort(
-        choreEntries,
-        (item1, item2) -> {
-          String time1 = (ascending ? item1 : item2).getNextEstimatedExecutionTime();
-          String time2 = (ascending ? item2 : item1).getNextEstimatedExecutionTime();
-          if (time1 == null && time2 == null
-              || time1 != null && time1.isEmpty() && time2 != null && time2.isEmpty()) {
-            return 0;
-          } else if (time1 == null || time1.isEmpty()) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (time2 == null || time2.isEmpty()) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          Date date1 = DateUtil.getDate(time1);
-          Date date2 = DateUtil.getDate(time2);
-          if (date1 == null || date2 == null) {
-            return 0;
-          }
-          return DateUtil.getDate(time1).compareTo(DateUtil.getDate(time2));
-        }
-    );
+    sortByKey(choreEntries, ChoreEntry::getNextEstimatedExecutionEpochSecond, ascending);
   }
 
   public static void sortChoreEntriesByName(ArrayList<ChoreEntry> choreEntries, boolean ascending) {
     if (choreEntries == null || choreEntries.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(choreEntries, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getChoreName().toLowerCase(),
-        (ascending ? item2 : item1).getChoreName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(choreEntries, item -> getCollationKey(collator, item.getChoreName()), ascending);
   }
 
   public static void sortUsersByName(ArrayList<User> users, boolean ascending) {
     if (users == null || users.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(users, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getDisplayName().toLowerCase(),
-        (ascending ? item2 : item1).getDisplayName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(users, item -> getCollationKey(collator, item.getDisplayName()), ascending);
   }
 
   public static void sortStringsByName(List<String> strings, boolean ascending) {
     if (strings == null || strings.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(strings, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).toLowerCase(),
-        (ascending ? item2 : item1).toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(strings, item -> getCollationKey(collator, item), ascending);
   }
 
   public static void sortStringsByValue(List<String> strings) {
@@ -390,32 +329,24 @@ public class SortUtil {
     if (locations == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(locations, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(locations, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
   public static void sortStoresByName(List<Store> stores, boolean ascending) {
     if (stores == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(stores, (item1, item2) -> Collator.getInstance(locale).compare(
-            (ascending ? item1 : item2).getName().toLowerCase(),
-            (ascending ? item2 : item1).getName().toLowerCase()));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(stores, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
   public static void sortProductGroupsByName(List<ProductGroup> productGroups, boolean ascending) {
     if (productGroups == null || productGroups.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(productGroups, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(productGroups, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
   public static void sortQuantityUnitsByName(
@@ -424,11 +355,8 @@ public class SortUtil {
     if (quantityUnits == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(quantityUnits, (item1, item2) -> Collator.getInstance(locale).compare(
-            (ascending ? item1 : item2).getName().toLowerCase(),
-            (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(quantityUnits, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
   public static void sortShoppingListItemsByName(
@@ -439,48 +367,24 @@ public class SortUtil {
     if (shoppingListItems == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
     ArrayList<ShoppingListItem> itemsWithoutProduct = new ArrayList<>();
     for (ShoppingListItem shoppingListItem : shoppingListItems) {
       if (!shoppingListItem.hasProduct()) {
         itemsWithoutProduct.add(shoppingListItem);
       }
     }
-    Collections.sort(
+    // notes and product names are compared without lowercasing them
+    sortByKey(
         itemsWithoutProduct,
-        (item1, item2) -> {
-          String noteA = (ascending ? item1 : item2).getNote();
-          String noteB = (ascending ? item2 : item1).getNote();
-          if (noteA != null && noteB != null) {
-            return Collator.getInstance(locale).compare(noteA, noteB);
-          } else if (noteA == null && noteB != null) {
-            return -1;
-          } else if (noteA != null) {
-            return 1;
-          } else {
-            return 0;
-          }
-        }
+        item -> item.getNote() != null ? collator.getCollationKey(item.getNote()) : null,
+        ascending
     );
     shoppingListItems.removeAll(itemsWithoutProduct);
-    Collections.sort(
-        shoppingListItems,
-        (item1, item2) -> {
-          String nameA = productNamesHashMap.get((ascending ? item1 : item2)
-              .getProductIdInt());
-          String nameB = productNamesHashMap.get((ascending ? item2 : item1)
-              .getProductIdInt());
-          if (nameA != null && nameB != null) {
-            return Collator.getInstance(locale).compare(nameA, nameB);
-          } else if (nameA == null && nameB != null) {
-            return -1;
-          } else if (nameA != null) {
-            return 1;
-          } else {
-            return 0;
-          }
-        }
-    );
+    sortByKey(shoppingListItems, item -> {
+      String name = productNamesHashMap.get(item.getProductIdInt());
+      return name != null ? collator.getCollationKey(name) : null;
+    }, ascending);
     shoppingListItems.addAll(itemsWithoutProduct);
   }
 
@@ -488,11 +392,8 @@ public class SortUtil {
     if (users == null || users.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(users, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getUserName().toLowerCase(),
-        (ascending ? item2 : item1).getUserName().toLowerCase()
-    ));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(users, item -> getCollationKey(collator, item.getUserName()), ascending);
   }
 
   public static void sortMealPlanSections(List<MealPlanSection> mealPlanSections) {
@@ -509,7 +410,7 @@ public class SortUtil {
     if (languages == null) {
       return;
     }
-    Collections.sort(languages, Comparator.comparing(item -> item.getName().toLowerCase()));
+    sortByKey(languages, item -> item.getName().toLowerCase(), true);
   }
 
   @RequiresApi(api = Build.VERSION_CODES.N_MR1)
@@ -535,40 +436,36 @@ public class SortUtil {
     if (recipes == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(recipes, (item1, item2) -> Collator.getInstance(locale).compare(
-            (ascending ? item1 : item2).getName().toLowerCase(),
-            (ascending ? item2 : item1).getName().toLowerCase()));
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(recipes, item -> getCollationKey(collator, item.getName()), ascending);
   }
 
-  public static void sortRecipesByCalories(List<Recipe> recipes, List<RecipeFulfillment> recipeFulfillments, boolean ascending) {
-    if (recipes == null || recipeFulfillments == null) {
+  public static void sortRecipesByCalories(
+      List<Recipe> recipes,
+      HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap,
+      boolean ascending
+  ) {
+    if (recipes == null || recipeFulfillmentHashMap == null) {
       return;
     }
-    Collections.sort(recipes, (recipe1, recipe2) -> {
-      RecipeFulfillment recipeFulfillment1 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe1.getId());
-      RecipeFulfillment recipeFulfillment2 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe2.getId());
-
-      double recipe1Calories = recipeFulfillment1 != null ? recipeFulfillment1.getCalories() : 0;
-      double recipe2Calories = recipeFulfillment2 != null ? recipeFulfillment2.getCalories() : 0;
-
-      return (int)(ascending ? recipe1Calories : recipe2Calories) - (int)(ascending ? recipe2Calories : recipe1Calories);
-    });
+    sortByKey(recipes, recipe -> {
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
+      return recipeFulfillment != null ? (int) recipeFulfillment.getCalories() : 0;
+    }, ascending);
   }
 
-  public static void sortRecipesByDueScore(List<Recipe> recipes, List<RecipeFulfillment> recipeFulfillments, boolean ascending) {
-    if (recipes == null || recipeFulfillments == null) {
+  public static void sortRecipesByDueScore(
+      List<Recipe> recipes,
+      HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap,
+      boolean ascending
+  ) {
+    if (recipes == null || recipeFulfillmentHashMap == null) {
       return;
     }
-    Collections.sort(recipes, (recipe1, recipe2) -> {
-      RecipeFulfillment recipeFulfillment1 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe1.getId());
-      RecipeFulfillment recipeFulfillment2 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe2.getId());
-
-      int recipe1DueScore = recipeFulfillment1 != null ? recipeFulfillment1.getDueScore() : 0;
-      int recipe2DueScore = recipeFulfillment2 != null ? recipeFulfillment2.getDueScore() : 0;
-
-      return (ascending ? recipe1DueScore : recipe2DueScore) - (ascending ? recipe2DueScore : recipe1DueScore);
-    });
+    sortByKey(recipes, recipe -> {
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
+      return recipeFulfillment != null ? recipeFulfillment.getDueScore() : 0;
+    }, ascending);
   }
 
   public static void sortRecipesByUserfieldValue(
@@ -596,17 +493,11 @@ public class SortUtil {
       return;
     }
     Locale locale = LocaleUtil.getLocale();
-    Collections.sort(objects, (item1, item2) -> {
-      String name1 = ObjectUtil.getObjectName(isAscending ? item1 : item2, entity);
-      String name2 = ObjectUtil.getObjectName(isAscending ? item2 : item1, entity);
-      if (name1 == null || name2 == null) {
-        return 0;
-      }
-      return Collator.getInstance(locale).compare(
-          name1.toLowerCase(locale),
-          name2.toLowerCase(locale)
-      );
-    });
+    Collator collator = Collator.getInstance(locale);
+    sortByKey(objects, item -> {
+      String name = ObjectUtil.getObjectName(item, entity);
+      return name != null ? collator.getCollationKey(name.toLowerCase(locale)) : null;
+    }, isAscending);
   }
 
   public static void sortObjectsByCreatedTimestamp(
@@ -648,4 +539,21 @@ public class SortUtil {
       return compareUserfieldValues(value1, value2, userfield.getType());
     });
   }
+
+  @VisibleForTesting
+  interface SortKeyFunction<T, K> {
+
+    K getKey(T item);
+  }
+
+  private static class KeyedItem<T, K> {
+
+    final T item;
+    final K key;
+
+    KeyedItem(T item, K key) {
+      this.item = item;
+      this.key = key;
+    }
+  }
 }
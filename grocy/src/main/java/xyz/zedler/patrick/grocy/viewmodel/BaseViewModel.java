@@ -50,6 +50,7 @@ import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.BaseBottomSheetDialogFragment;
 import xyz.zedler.patrick.grocy.model.BottomSheetEvent;
 import xyz.zedler.patrick.grocy.model.Event;
@@ -79,6 +80,14 @@ public class BaseViewModel extends AndroidViewModel {
     Configuration config = resources.getConfiguration();
     config.setLocale(LocaleUtil.getLocale());
     resources.updateConfiguration(config, resources.getDisplayMetrics());
+
+    EntityCache.getInstance(application).acquire();
+  }
+
+  @Override
+  protected void onCleared() {
+    EntityCache.getInstance(getApplication()).release();
+    super.onCleared();
   }
 
   SharedPreferences getSharedPrefs() {
@@ -177,6 +186,16 @@ public class BaseViewModel extends AndroidViewModel {
     }
   }
 
+  public void showUploadErrorMessage(int statusCode, @Nullable String errorMessage) {
+    if (statusCode == 403) {
+      showMessageLongDuration(getString(R.string.error_permission));
+    } else if (errorMessage != null) {
+      showMessageLongDuration(getString(R.string.error_network_exact, errorMessage));
+    } else {
+      showMessageLongDuration(getString(R.string.error_network));
+    }
+  }
+
   public void showJSONErrorMessage(JSONException error) {
     String messageShort;
     String messageLong;
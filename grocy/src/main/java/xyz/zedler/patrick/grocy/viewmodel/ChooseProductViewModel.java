@@ -30,8 +30,6 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
@@ -41,6 +39,7 @@ import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.repository.ChooseProductRepository;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.util.SearchIndex;
 import xyz.zedler.patrick.grocy.util.SortUtil;
 
 public class ChooseProductViewModel extends BaseViewModel {
@@ -68,6 +67,7 @@ public class ChooseProductViewModel extends BaseViewModel {
   private final HashMap<String, Product> productHashMap;
   private List<PendingProduct> pendingProducts;
   private final HashMap<String, PendingProduct> pendingProductHashMap;
+  private final SearchIndex<Product> searchIndex;
   private final boolean forbidCreateProductInitial;
   private final boolean pendingProductsActive;
   private String nameFromOnlineSource;
@@ -111,6 +111,7 @@ public class ChooseProductViewModel extends BaseViewModel {
     products = new ArrayList<>();
     productHashMap = new HashMap<>();
     pendingProductHashMap = new HashMap<>();
+    searchIndex = new SearchIndex<>(Product::getName);
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
@@ -125,6 +126,9 @@ public class ChooseProductViewModel extends BaseViewModel {
       for (PendingProduct pendingProduct : this.pendingProducts) {
         pendingProductHashMap.put(pendingProduct.getName().toLowerCase(), pendingProduct);
       }
+      ArrayList<Product> allProducts = new ArrayList<>(products);
+      allProducts.addAll(pendingProducts);
+      searchIndex.setItems(allProducts);
       displayItems();
       if (downloadAfterLoading) {
         downloadData(false);
@@ -175,21 +179,7 @@ public class ChooseProductViewModel extends BaseViewModel {
       productNameErrorLive.setValue(null);
     }
 
-    ArrayList<Product> allProducts = new ArrayList<>();
-    allProducts.addAll(products);
-    allProducts.addAll(pendingProducts);
-    ArrayList<Product> suggestions = new ArrayList<>(30);
-    List<BoundExtractedResult<Product>> results = FuzzySearch.extractTop(
-            productName.toLowerCase(),
-            allProducts,
-            Product::getName,
-            30,
-            20
-    );
-    for (BoundExtractedResult<Product> result : results) {
-      suggestions.add(result.getReferent());
-    }
-
+    List<Product> suggestions = searchIndex.search(productName.toLowerCase(), 30, 20);
     displayedItemsLive.setValue(suggestions);
     createProductTextLive.setValue(
         getApplication().getString(R.string.msg_create_new_product_filled, productName)
@@ -150,7 +150,9 @@ public class ChoresViewModel extends BaseViewModel {
             || choreEntry.getNextEstimatedExecutionTime().isEmpty()) {
           continue;
         }
-        int daysFromNow = DateUtil.getDaysFromNow(choreEntry.getNextEstimatedExecutionTime());
+        int daysFromNow = DateUtil.getDaysFromNowForEpochSecond(
+            choreEntry.getNextEstimatedExecutionEpochSecond()
+        );
         if (daysFromNow < 0) {
           choresOverdueCount++;
         }
@@ -205,7 +207,9 @@ public class ChoresViewModel extends BaseViewModel {
         continue;
       }
 
-      int daysFromNow = DateUtil.getDaysFromNow(choreEntry.getNextEstimatedExecutionTime());
+      int daysFromNow = DateUtil.getDaysFromNowForEpochSecond(
+          choreEntry.getNextEstimatedExecutionEpochSecond()
+      );
       if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusChores.STATUS_DUE
           && daysFromNow > 0
           || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusChores.STATUS_OVERDUE
@@ -265,9 +269,11 @@ public class ChoresViewModel extends BaseViewModel {
       showErrorMessage();
       return;
     }
-    dlHelper.post(
+    dlHelper.postOrStore(
         grocyApi.executeChore(choreEntry.getChoreId()),
         body,
+        getApplication().getString(R.string.msg_chore_executed)
+            + " (" + choreEntry.getChoreName() + ")",
         response -> {
           showMessage(getApplication().getString(R.string.msg_chore_executed));
           downloadData(false);
@@ -275,6 +281,7 @@ public class ChoresViewModel extends BaseViewModel {
             Log.i(TAG, "executeChore: " + response);
           }
         },
+        () -> showMessage(R.string.msg_stored_in_outbox),
         error -> {
           showNetworkErrorMessage(error);
           if (debug) {
@@ -65,12 +65,12 @@ import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.StockLocation;
 import xyz.zedler.patrick.grocy.repository.InventoryRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
+import xyz.zedler.patrick.grocy.util.BarcodeResolver;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class ConsumeViewModel extends BaseViewModel {
 
@@ -84,8 +84,8 @@ public class ConsumeViewModel extends BaseViewModel {
   private final FormDataConsume formData;
 
   private List<Product> products;
-  private List<QuantityUnitConversionResolved> unitConversions;
-  private List<ProductBarcode> barcodes;
+  private QuantityUnitConversionIndex unitConversionIndex;
+  private BarcodeResolver barcodeResolver;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
   private final MutableLiveData<Boolean> isLoadingLive;
@@ -126,7 +126,7 @@ public class ConsumeViewModel extends BaseViewModel {
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
 
-    barcodes = new ArrayList<>();
+    barcodeResolver = new BarcodeResolver();
   }
 
   public FormDataConsume getFormData() {
@@ -136,9 +136,18 @@ public class ConsumeViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
+      this.barcodeResolver = new BarcodeResolver(
+          data.getBarcodes(),
+          null,
+          ArrayUtil.getProductsHashMap(products),
+          null
+      );
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getQuantityUnitConversionsResolved();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getQuantityUnitConversionsResolved(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
       formData.getProductsLive().setValue(
           Product.getActiveInStockProductsOnly(products, data.getStockItems())
       );
@@ -189,12 +198,7 @@ public class ConsumeViewModel extends BaseViewModel {
       formData.getConsumeExactAmountLive().setValue(false);
 
       // quantity unit
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(product);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       QuantityUnit stock = quantityUnitHashMap.get(product.getQuIdStockInt());
       formData.getQuantityUnitStockLive().setValue(stock);
@@ -294,12 +298,15 @@ public class ConsumeViewModel extends BaseViewModel {
 
     dlHelper.newQueue(
         updated -> onQueueEmptyListener.run(),
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details)),
+        NetworkQueue.PRIORITY_USER_ACTION
     ).append(
         ProductDetails.getProductDetails(
             dlHelper,
             productId,
-            productDetails -> formData.getProductDetailsLive().setValue(productDetails)
+            productDetails -> formData.getProductDetailsLive().setValue(productDetails),
+            null,
+            true
         ), StockLocation.getStockLocations(
             dlHelper,
             productId,
@@ -314,35 +321,24 @@ public class ConsumeViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
+      if (!barcodeResolver.contains(barcode)) {
         formData.getBarcodeLive().setValue(barcode);
       } else {
         showMessage(R.string.msg_clear_form_first);
       }
       return;
     }
-    Product product = null;
-    String stockEntryId = null;
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
-    if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-      stockEntryId = grocycode.getProductStockEntryId();
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(barcode);
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
-      return;
-    }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
-    if (product != null) {
-      setProduct(product.getId(), productBarcode, stockEntryId);
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(
+          result.getProduct().getId(),
+          result.getProductBarcode(),
+          result.getStockEntryId()
+      );
     } else {
       Bundle bundle = new Bundle();
       bundle.putString(ARGUMENT.BARCODE, barcode);
@@ -358,29 +354,19 @@ public class ConsumeViewModel extends BaseViewModel {
     }
     Product product = Product.getProductFromName(products, input);
 
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
-    if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(input.trim());
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+      return;
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
-    }
-    if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT
+        && result.getProductBarcode() == null) {
+      product = result.getProduct(); // Grocycode
+    } else if (product == null && result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(result.getProduct().getId(), result.getProductBarcode(), null);
+      return;
     }
 
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
@@ -414,11 +400,15 @@ public class ConsumeViewModel extends BaseViewModel {
     assert formData.getProductDetailsLive().getValue() != null;
     Product product = formData.getProductDetailsLive().getValue().getProduct();
     JSONObject body = formData.getFilledJSONObject(isActionOpen);
-    dlHelper.postWithArray(
+    double amountExpected = formData.getAmountStockDouble();
+    dlHelper.postWithArrayOrStore(
         isActionOpen
             ? grocyApi.openProduct(product.getId())
             : grocyApi.consumeProduct(product.getId()),
         body,
+        formData.getTransactionSuccessMsg(
+            isActionOpen, isActionOpen ? amountExpected : -amountExpected
+        ),
         response -> {
           // UNDO OPTION
           String transactionId = null;
@@ -455,6 +445,10 @@ public class ConsumeViewModel extends BaseViewModel {
           showSnackbar(snackbarMessage);
           sendEvent(Event.CONSUME_SUCCESS);
         },
+        () -> {
+          showMessage(R.string.msg_stored_in_outbox);
+          sendEvent(Event.CONSUME_SUCCESS);
+        },
         error -> {
           showNetworkErrorMessage(error);
           if (debug) {
@@ -482,7 +476,8 @@ public class ConsumeViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     ProductBarcode.addProductBarcode(dlHelper, body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      // add to resolver so it will be found on next scan without reload
+      barcodeResolver.add(productBarcode);
       if (onSuccess != null) {
         onSuccess.run();
       }
@@ -65,12 +65,11 @@ import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.repository.InventoryRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
+import xyz.zedler.patrick.grocy.util.BarcodeResolver;
 import xyz.zedler.patrick.grocy.util.DateUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 
 public class InventoryViewModel extends BaseViewModel {
@@ -85,8 +84,8 @@ public class InventoryViewModel extends BaseViewModel {
   private final FormDataInventory formData;
 
   private List<Product> products;
-  private List<QuantityUnitConversionResolved> unitConversions;
-  private List<ProductBarcode> barcodes;
+  private QuantityUnitConversionIndex unitConversionIndex;
+  private BarcodeResolver barcodeResolver;
   private List<Store> stores;
   private List<Location> locations;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
@@ -132,7 +131,7 @@ public class InventoryViewModel extends BaseViewModel {
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
 
-    barcodes = new ArrayList<>();
+    barcodeResolver = new BarcodeResolver();
   }
 
   public FormDataInventory getFormData() {
@@ -142,9 +141,18 @@ public class InventoryViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
+      this.barcodeResolver = new BarcodeResolver(
+          data.getBarcodes(),
+          null,
+          ArrayUtil.getProductsHashMap(products),
+          null
+      );
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getQuantityUnitConversionsResolved();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getQuantityUnitConversionsResolved(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
       this.stores = data.getStores();
       this.locations = data.getLocations();
       formData.getProductsLive().setValue(Product.getActiveAndStockEnabledProductsOnly(products));
@@ -194,12 +202,7 @@ public class InventoryViewModel extends BaseViewModel {
       formData.getProductNameLive().setValue(updatedProduct.getName());
 
       // quantity unit
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          updatedProduct,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(updatedProduct);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       QuantityUnit stock = quantityUnitHashMap.get(updatedProduct.getQuIdStockInt());
       formData.getQuantityUnitLive().setValue(stock);
@@ -270,39 +273,27 @@ public class InventoryViewModel extends BaseViewModel {
         dlHelper,
         productId,
         listener,
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details)),
+        true
     ).perform(dlHelper.getUuid());
   }
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
+      if (!barcodeResolver.contains(barcode)) {
         formData.getBarcodeLive().setValue(barcode);
       } else {
         showMessage(R.string.msg_clear_form_first);
       }
       return;
     }
-    Product product = null;
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
-    if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(barcode);
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
-      return;
-    }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
-    if (product != null) {
-      setProduct(product.getId(), productBarcode);
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(result.getProduct().getId(), result.getProductBarcode());
     } else {
       Bundle bundle = new Bundle();
       bundle.putString(ARGUMENT.BARCODE, barcode);
@@ -318,29 +309,19 @@ public class InventoryViewModel extends BaseViewModel {
       }
     Product product = Product.getProductFromName(products, input);
 
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
-    if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(input.trim());
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+      return;
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
-    }
-    if (product == null) {
-      ProductBarcode barcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          barcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), barcode);
-        return;
-      }
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT
+        && result.getProductBarcode() == null) {
+      product = result.getProduct(); // Grocycode
+    } else if (product == null && result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(result.getProduct().getId(), result.getProductBarcode());
+      return;
     }
 
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
@@ -374,9 +355,10 @@ public class InventoryViewModel extends BaseViewModel {
 
     Product product = formData.getProductDetailsLive().getValue().getProduct();
     JSONObject body = formData.getFilledJSONObject();
-    dlHelper.postWithArray(
+    dlHelper.postWithArrayOrStore(
         grocyApi.inventoryProduct(product.getId()),
         body,
+        formData.getTransactionSuccessMsg(formData.getAmountDiff()),
         response -> {
           // UNDO OPTION
           String transactionId = null;
@@ -410,6 +392,10 @@ public class InventoryViewModel extends BaseViewModel {
           showSnackbar(snackbarMessage);
           sendEvent(Event.TRANSACTION_SUCCESS);
         },
+        () -> {
+          showMessage(R.string.msg_stored_in_outbox);
+          sendEvent(Event.TRANSACTION_SUCCESS);
+        },
         error -> {
           showNetworkErrorMessage(error);
             if (debug) {
@@ -442,7 +428,8 @@ public class InventoryViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     ProductBarcode.addProductBarcode(dlHelper, body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      // add to resolver so it will be found on next scan without reload
+      barcodeResolver.add(productBarcode);
         if (onSuccess != null) {
             onSuccess.run();
         }
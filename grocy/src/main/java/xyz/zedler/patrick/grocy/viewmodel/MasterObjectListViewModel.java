@@ -32,8 +32,6 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
@@ -58,6 +56,7 @@ import xyz.zedler.patrick.grocy.repository.MasterObjectListRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.ObjectUtil;
+import xyz.zedler.patrick.grocy.util.SearchIndex;
 import xyz.zedler.patrick.grocy.util.SortUtil;
 
 public class MasterObjectListViewModel extends BaseViewModel {
@@ -77,6 +76,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
   private final MutableLiveData<ArrayList<Object>> displayedItemsLive;
   private final FilterChipLiveDataProductGroup filterChipLiveDataProductGroup;
   private final FilterChipLiveDataSort filterChipLiveDataSort;
+  private final SearchIndex<Object> searchIndex;
 
   private List<?> objects;
   private List<QuantityUnit> quantityUnits;
@@ -114,6 +114,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
     );
 
     objects = new ArrayList<>();
+    searchIndex = new SearchIndex<>(item -> ObjectUtil.getObjectName(item, entity));
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
@@ -141,6 +142,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
           this.objects = data.getStores();
           break;
       }
+      searchIndex.setItems(objects);
       userfieldHashMap = ArrayUtil.getUserfieldHashMap(data.getUserfields());
       filterChipLiveDataSort.setUserfields(data.getUserfields(), entity);
 
@@ -176,20 +178,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
     ArrayList<Object> searchedItems;
     if (search != null && !search.isEmpty()) {
 
-      ArrayList<Object> searchResultsFuzzy = new ArrayList<>(30);
-      List results = FuzzySearch.extractTop(
-          search,
-          objects,
-          item -> {
-            String name = ObjectUtil.getObjectName(item, entity);
-            return name != null ? name.toLowerCase() : "";
-          },
-          30,
-          70
-      );
-      for (Object result : results) {
-        searchResultsFuzzy.add(((BoundExtractedResult<?>) result).getReferent());
-      }
+      List<Object> searchResultsFuzzy = searchIndex.search(search, 30, 70);
 
       searchedItems = new ArrayList<>();
       ArrayList<Integer> objectIdsInList = new ArrayList<>();
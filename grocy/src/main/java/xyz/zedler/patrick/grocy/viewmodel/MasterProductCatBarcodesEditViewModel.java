@@ -56,7 +56,7 @@ import xyz.zedler.patrick.grocy.repository.MasterProductRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 
 public class MasterProductCatBarcodesEditViewModel extends BaseViewModel {
@@ -75,7 +75,7 @@ public class MasterProductCatBarcodesEditViewModel extends BaseViewModel {
 
   private List<Store> stores;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private List<QuantityUnitConversionResolved> unitConversions;
+  private QuantityUnitConversionIndex unitConversionIndex;
 
   private Runnable queueEmptyAction;
   private final boolean debug;
@@ -114,7 +114,11 @@ public class MasterProductCatBarcodesEditViewModel extends BaseViewModel {
       this.stores = data.getStores();
       formData.getBarcodesLive().setValue(getBarcodes(data.getBarcodes()));
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getConversionsResolved();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getConversionsResolved(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
       if (downloadAfterLoading) {
         downloadData(false);
       } else {
@@ -225,12 +229,7 @@ public class MasterProductCatBarcodesEditViewModel extends BaseViewModel {
 
   private void setProductQuantityUnitsAndFactors(Product product) {
     try {
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(product);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       formData.setQuantityUnitPurchase(quantityUnitHashMap.get(product.getQuIdPurchaseInt()));
       formData.setQuantityUnitStock(quantityUnitHashMap.get(product.getQuIdStockInt()));
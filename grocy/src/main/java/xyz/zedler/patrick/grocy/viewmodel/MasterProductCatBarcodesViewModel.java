@@ -79,7 +79,8 @@ public class MasterProductCatBarcodesViewModel extends BaseViewModel {
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
-    repository.loadFromDatabase(data -> {
+    assert args.getProduct() != null;
+    repository.loadFromDatabase(args.getProduct().getId(), data -> {
       this.productBarcodes = data.getBarcodes();
       this.quantityUnits = data.getQuantityUnits();
       this.stores = data.getStores();
@@ -25,24 +25,21 @@ import android.content.ClipData;
 import android.content.ClipboardManager;
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.net.Uri;
 import android.os.Environment;
-import android.os.Handler;
-import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
+import androidx.work.WorkInfo;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.UUID;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -53,6 +50,7 @@ import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.form.FormDataMasterProductCatOptional;
 import xyz.zedler.patrick.grocy.fragment.MasterProductCatOptionalFragmentArgs;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.PictureUploadWorker;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -75,6 +73,9 @@ public class MasterProductCatOptionalViewModel extends BaseViewModel {
 
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
+  private final MutableLiveData<Integer> pictureUploadProgressLive;
+  private LiveData<WorkInfo> pictureUploadInfoLive;
+  private Observer<WorkInfo> pictureUploadObserver;
 
   private List<Product> products;
   private List<ProductGroup> productGroups;
@@ -103,6 +104,7 @@ public class MasterProductCatOptionalViewModel extends BaseViewModel {
     args = startupArgs;
     isActionEdit = startupArgs.getAction().equals(Constants.ACTION.EDIT);
     infoFullscreenLive = new MutableLiveData<>();
+    pictureUploadProgressLive = new MutableLiveData<>();
   }
 
   public FormDataMasterProductCatOptional getFormData() {
@@ -199,14 +201,7 @@ public class MasterProductCatOptionalViewModel extends BaseViewModel {
       showMessage(R.string.error_clipboard_no_image);
       return;
     }
-    try {
-      InputStream imageStream = getApplication().getContentResolver().openInputStream(item.getUri());
-      Bitmap bitmap = BitmapFactory.decodeStream(imageStream);
-      scaleAndUploadBitmap(null, bitmap);
-    } catch (FileNotFoundException e) {
-      e.printStackTrace();
-      showMessage(R.string.error_clipboard_no_image);
-    }
+    scaleAndUploadPicture(item.getUri());
   }
 
   public File createImageFile() throws IOException {
@@ -216,44 +211,58 @@ public class MasterProductCatOptionalViewModel extends BaseViewModel {
     return image;
   }
 
-  public void scaleAndUploadBitmap(@Nullable String filePath, @Nullable Bitmap image) {
-    if (filePath == null && image == null) {
-      showErrorMessage();
-      return;
-    }
-    isLoadingLive.setValue(true);
-    ExecutorService executor = Executors.newSingleThreadExecutor();
-    executor.execute(() -> {
-      Bitmap scaledBitmap = filePath != null
-          ? PictureUtil.scaleBitmap(filePath)
-          : PictureUtil.scaleBitmap(image);
-      byte[] imageArray = PictureUtil.convertBitmapToByteArray(scaledBitmap);
-      new Handler(Looper.getMainLooper()).post(() -> {
-        uploadPicture(imageArray);
-        executor.shutdown();
-      });
-    });
+  public void scaleAndUploadPicture(@Nullable String filePath) {
+    scaleAndUploadPicture(filePath != null ? Uri.fromFile(new File(filePath)) : null);
   }
 
-  public void uploadPicture(byte[] pictureData) {
-    if (pictureData == null) {
+  public void scaleAndUploadPicture(@Nullable Uri source) {
+    if (source == null) {
       showErrorMessage();
-      isLoadingLive.setValue(false);
       return;
     }
+    isLoadingLive.setValue(true);
+    pictureUploadProgressLive.setValue(0);
     String filename = PictureUtil.createImageFilename();
-    dlHelper.putFile(
-        grocyApi.getProductPicture(filename),
-        pictureData,
-        () -> {
+    UUID workId = PictureUploadWorker.enqueue(
+        getApplication(), TAG, source, grocyApi.getProductPicture(filename)
+    );
+    removePictureUploadObserver();
+    pictureUploadInfoLive = PictureUploadWorker.getWorkInfoLive(getApplication(), workId);
+    pictureUploadObserver = workInfo -> {
+      if (workInfo == null) return;
+      switch (workInfo.getState()) {
+        case RUNNING:
+          pictureUploadProgressLive.setValue(
+              workInfo.getProgress().getInt(PictureUploadWorker.PROGRESS, 0)
+          );
+          break;
+        case SUCCEEDED:
+          removePictureUploadObserver();
+          pictureUploadProgressLive.setValue(null);
           deleteCurrentPicture(filename);
           formData.getPictureFilenameLive().setValue(filename);
-        },
-        error -> {
+          break;
+        case FAILED:
+        case CANCELLED:
+          removePictureUploadObserver();
+          pictureUploadProgressLive.setValue(null);
           isLoadingLive.setValue(false);
-          showNetworkErrorMessage(error);
-        }
-    );
+          showUploadErrorMessage(
+              workInfo.getOutputData().getInt(PictureUploadWorker.ERROR_STATUS_CODE, 0),
+              workInfo.getOutputData().getString(PictureUploadWorker.ERROR_MESSAGE)
+          );
+          break;
+      }
+    };
+    pictureUploadInfoLive.observeForever(pictureUploadObserver);
+  }
+
+  private void removePictureUploadObserver() {
+    if (pictureUploadInfoLive != null && pictureUploadObserver != null) {
+      pictureUploadInfoLive.removeObserver(pictureUploadObserver);
+    }
+    pictureUploadInfoLive = null;
+    pictureUploadObserver = null;
   }
 
   public void deleteCurrentPicture(String newFilename) {
@@ -313,12 +322,22 @@ public class MasterProductCatOptionalViewModel extends BaseViewModel {
     return infoFullscreenLive;
   }
 
+  @NonNull
+  public MutableLiveData<Integer> getPictureUploadProgressLive() {
+    return pictureUploadProgressLive;
+  }
+
   public void setQueueEmptyAction(Runnable queueEmptyAction) {
     this.queueEmptyAction = queueEmptyAction;
   }
 
   @Override
   protected void onCleared() {
+    if (pictureUploadInfoLive != null) {
+      // the filename of an upload which finishes later would never be linked
+      PictureUploadWorker.cancel(getApplication(), TAG);
+    }
+    removePictureUploadObserver();
     dlHelper.destroy();
     super.onCleared();
   }
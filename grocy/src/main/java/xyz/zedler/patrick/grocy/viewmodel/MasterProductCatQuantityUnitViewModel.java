@@ -102,7 +102,8 @@ public class MasterProductCatQuantityUnitViewModel extends BaseViewModel {
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
-    repository.loadFromDatabase(data -> {
+    Product product = args.getProduct();
+    repository.loadFromDatabase(product != null ? product.getId() : null, data -> {
       this.quantityUnits = data.getQuantityUnits();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.conversionsResolved = data.getConversionsResolved();
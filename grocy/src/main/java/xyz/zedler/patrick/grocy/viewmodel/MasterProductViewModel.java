@@ -318,7 +318,8 @@ public class MasterProductViewModel extends BaseViewModel {
         updated -> {
           pendingProductBarcodesLive.setValue(null);
           onFinished.run();
-        }, error -> onFinished.run()
+        }, error -> onFinished.run(),
+        NetworkQueue.PRIORITY_USER_ACTION
     );
     for (PendingProductBarcode pendingProductBarcode : pendingProductBarcodes) {
       pendingProductBarcode.setPendingProductId(productId);
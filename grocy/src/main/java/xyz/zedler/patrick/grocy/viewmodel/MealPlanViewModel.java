@@ -60,6 +60,8 @@ import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PluralUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.util.SortUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
+import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class MealPlanViewModel extends BaseViewModel {
@@ -108,6 +110,8 @@ public class MealPlanViewModel extends BaseViewModel {
   private final int decimalPlacesPriceDisplay;
   private final String currency;
   private boolean initialScrollDone;
+  private boolean isDownloadingAdjacentWeeks;
+  private LocalDate pendingAdjacentWeeksDate;
   private final boolean debug;
 
   public MealPlanViewModel(@NonNull Application application) {
@@ -213,6 +217,48 @@ public class MealPlanViewModel extends BaseViewModel {
     );
   }
 
+  /**
+   * Downloads the weeks next to the displayed week if they are not stored yet,
+   * so paging through the meal plan doesn't need the whole history.
+   * Only one download runs at a time because each one extends the stored window, a date
+   * requested meanwhile is downloaded afterwards with the window of the finished download.
+   */
+  public void downloadAdjacentWeeks(LocalDate date) {
+    if (isOffline()) {
+      return;
+    }
+    if (isDownloadingAdjacentWeeks) {
+      pendingAdjacentWeeksDate = date;
+      return;
+    }
+    QueueItem queueItem = MealPlanEntry.downloadMealPlanEntriesAround(
+        dlHelper,
+        date,
+        () -> repository.loadMealPlanEntries(entries -> {
+          this.mealPlanEntries = entries;
+          mealPlanEntriesLive.setValue(ArrayUtil.getMealPlanEntriesForDayHashMap(entries));
+        }, error -> onError(error, TAG))
+    );
+    if (queueItem == null) {
+      return;
+    }
+    isDownloadingAdjacentWeeks = true;
+    NetworkQueue queue = dlHelper.newQueue(updated -> {
+      isDownloadingAdjacentWeeks = false;
+      LocalDate pendingDate = pendingAdjacentWeeksDate;
+      pendingAdjacentWeeksDate = null;
+      if (pendingDate != null) {
+        downloadAdjacentWeeks(pendingDate);
+      }
+    }, error -> {
+      isDownloadingAdjacentWeeks = false;
+      pendingAdjacentWeeksDate = null;
+      onError(error, TAG);
+    }, NetworkQueue.PRIORITY_VISIBLE);
+    queue.append(queueItem);
+    queue.start();
+  }
+
   public DayOfWeek getFirstDayOfWeek() {
     return DateUtil.getMealPlanFirstDayOfWeek(sharedPrefs);
   }
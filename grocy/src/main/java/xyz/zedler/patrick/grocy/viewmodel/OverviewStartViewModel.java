@@ -465,8 +465,9 @@ public class OverviewStartViewModel extends BaseViewModel {
             || choreEntry.getNextEstimatedExecutionTime().isEmpty()) {
           continue;
         }
-        int daysFromNow = DateUtil
-            .getDaysFromNow(choreEntry.getNextEstimatedExecutionTime());
+        int daysFromNow = DateUtil.getDaysFromNowForEpochSecond(
+            choreEntry.getNextEstimatedExecutionEpochSecond()
+        );
         if (daysFromNow < 0) {
           choresOverdueCount++;
         }
@@ -75,12 +75,11 @@ import xyz.zedler.patrick.grocy.model.StoredPurchase;
 import xyz.zedler.patrick.grocy.repository.PurchaseRepository;
 import xyz.zedler.patrick.grocy.util.AmountUtil;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
+import xyz.zedler.patrick.grocy.util.BarcodeResolver;
 import xyz.zedler.patrick.grocy.util.DateUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 
 public class PurchaseViewModel extends BaseViewModel {
@@ -99,10 +98,9 @@ public class PurchaseViewModel extends BaseViewModel {
   private List<PendingProduct> pendingProducts;
   private List<QuantityUnit> quantityUnits;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private List<QuantityUnitConversionResolved> unitConversions;
+  private QuantityUnitConversionIndex unitConversionIndex;
   private HashMap<Integer, Double> shoppingListItemAmountsHashMap;
-  private List<ProductBarcode> barcodes;
-  private List<PendingProductBarcode> pendingProductBarcodes;
+  private BarcodeResolver barcodeResolver;
   private List<Store> stores;
   private List<Location> locations;
   private List<ShoppingListItem> shoppingListItems;
@@ -183,12 +181,20 @@ public class PurchaseViewModel extends BaseViewModel {
       formData.getProductsLive().setValue(
               appendPendingProducts(Product.getActiveProductsOnly(products), pendingProducts)
       );
-      productHashMap = ArrayUtil.getProductsHashMap(products);
-      this.pendingProductBarcodes = data.getPendingProductBarcodes();
-      this.barcodes = appendPendingProductBarcodes(data.getBarcodes(), pendingProductBarcodes);
+      productHashMap = data.getProductHashMap();
+      this.barcodeResolver = new BarcodeResolver(
+          data.getBarcodes(),
+          data.getPendingProductBarcodes(),
+          productHashMap,
+          pendingProducts
+      );
       this.quantityUnits = data.getQuantityUnits();
-      quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(quantityUnits);
-      this.unitConversions = data.getQuantityUnitConversionsResolved();
+      quantityUnitHashMap = data.getQuantityUnitHashMap();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getQuantityUnitConversionsResolved(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
       this.stores = data.getStores();
       this.locations = data.getLocations();
       this.shoppingListItems = data.getShoppingListItems();
@@ -269,12 +275,7 @@ public class PurchaseViewModel extends BaseViewModel {
       } else if (shoppingListItem != null && shoppingListItem.hasQuId()) {
         forcedQuId = shoppingListItem.getQuIdInt();
       }
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          updatedProduct,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(updatedProduct);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       formData.getQuantityUnitStockLive().setValue(
           quantityUnitHashMap.get(updatedProduct.getQuIdStockInt())
@@ -302,8 +303,7 @@ public class PurchaseViewModel extends BaseViewModel {
         formData.getAmountLive().setValue(NumUtil.trimAmount(barcode.getAmountDouble(), maxDecimalPlacesAmount));
       } else if (!isTareWeightEnabled && shoppingListItem != null) {
         Double amountInUnit = AmountUtil.getShoppingListItemAmount(
-            shoppingListItem, productHashMap, quantityUnitHashMap, unitConversions,
-            VersionUtil.isGrocyServerMin400(sharedPrefs)
+            shoppingListItem, productHashMap, quantityUnitHashMap, unitConversionIndex
         );
         formData.getAmountLive().setValue(
             NumUtil.trimAmount(
@@ -411,7 +411,8 @@ public class PurchaseViewModel extends BaseViewModel {
         dlHelper,
         productId,
         listener,
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details)),
+        true
     ).perform(dlHelper.getUuid());
   }
 
@@ -497,42 +498,30 @@ public class PurchaseViewModel extends BaseViewModel {
   }
 
   public void onBarcodeRecognized(String barcode) {
-    if (barcodes == null) {
+    if (barcodeResolver == null) {
       loadFromDatabase(true);
       return;
     }
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
+      if (!barcodeResolver.contains(barcode)) {
         formData.getBarcodeLive().setValue(barcode);
       } else {
         showMessage(R.string.msg_clear_form_first);
       }
       return;
     }
-    Product product = null;
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
-    if (grocycode != null && grocycode.isProduct()) {
-      product = productHashMap.get(grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(barcode);
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
-      return;
-    }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      if (productBarcode instanceof PendingProductBarcode) {
-        setPendingProduct(productBarcode.getProductIdInt(), (PendingProductBarcode) productBarcode);
-        return;
-      } else if (productBarcode != null) {
-        product = productHashMap.get(productBarcode.getProductIdInt());
-      }
-    }
-    if (product != null) {
-      setProduct(product.getId(), productBarcode, null);
+    } else if (result.getType() == BarcodeResolver.TYPE_PENDING_PRODUCT) {
+      setPendingProduct(
+          result.getProduct().getId(),
+          (PendingProductBarcode) result.getProductBarcode()
+      );
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(result.getProduct().getId(), result.getProductBarcode(), null);
     } else {
       Bundle bundle = new Bundle();
       bundle.putString(ARGUMENT.BARCODE, barcode);
@@ -548,33 +537,25 @@ public class PurchaseViewModel extends BaseViewModel {
     }
     Product product = Product.getProductFromName(products, input);
 
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
-    if (grocycode != null && grocycode.isProduct()) {
-      product = productHashMap.get(grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(input.trim());
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+      return;
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
-    }
-    if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          if (code instanceof PendingProductBarcode) {
-            product = PendingProduct.getFromId(pendingProducts, code.getProductIdInt());
-          } else {
-            product = productHashMap.get(code.getProductIdInt());
-          }
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT
+        && result.getProductBarcode() == null) {
+      product = result.getProduct(); // Grocycode
+    } else if (product == null && result.getType() == BarcodeResolver.TYPE_PENDING_PRODUCT) {
+      setPendingProduct(
+          result.getProduct().getId(),
+          (PendingProductBarcode) result.getProductBarcode()
+      );
+      return;
+    } else if (product == null && result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(result.getProduct().getId(), result.getProductBarcode(), null);
+      return;
     }
 
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
@@ -748,7 +729,8 @@ public class PurchaseViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     ProductBarcode.addProductBarcode(dlHelper, body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      // add to resolver so it will be found on next scan without reload
+      barcodeResolver.add(productBarcode);
       if (onSuccess != null) {
         onSuccess.run();
       }
@@ -782,8 +764,8 @@ public class PurchaseViewModel extends BaseViewModel {
   private void storePendingProductBarcode(Runnable onSuccess) {
     PendingProductBarcode productBarcode = formData.fillPendingProductBarcode();
     formData.getBarcodeLive().setValue(null);
-    barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
-    pendingProductBarcodes.add(productBarcode);
+    // add to resolver so it will be found on next scan without reload
+    barcodeResolver.add(productBarcode);
     repository.insertPendingProductBarcode(productBarcode, onSuccess);
   }
 
@@ -844,10 +826,9 @@ public class PurchaseViewModel extends BaseViewModel {
     if (shoppingListItems == null) {
       return;
     }
-    boolean isGrocyServerMin400 = VersionUtil.isGrocyServerMin400(sharedPrefs);
     for (ShoppingListItem item : shoppingListItems) {
       Double amount = AmountUtil.getShoppingListItemAmount(
-          item, productHashMap, quantityUnitHashMap, unitConversions, isGrocyServerMin400
+          item, productHashMap, quantityUnitHashMap, unitConversionIndex
       );
       if (amount != null) {
         shoppingListItemAmountsHashMap.put(item.getId(), amount);
@@ -1018,22 +999,6 @@ public class PurchaseViewModel extends BaseViewModel {
     return newList;
   }
 
-  private ArrayList<ProductBarcode> appendPendingProductBarcodes(
-      List<ProductBarcode> productBarcodes,
-      List<PendingProductBarcode> pendingProductBarcodes
-  ) {
-    ArrayList<String> barcodeStrings = new ArrayList<>();
-    for (ProductBarcode productBarcode : productBarcodes) {
-      barcodeStrings.add(productBarcode.getBarcode());
-    }
-    ArrayList<ProductBarcode> newList = new ArrayList<>(productBarcodes);
-    for (PendingProductBarcode pendingProductBarcode : pendingProductBarcodes) {
-      if (barcodeStrings.contains(pendingProductBarcode.getBarcode())) continue;
-      newList.add(pendingProductBarcode);
-    }
-    return newList;
-  }
-
   public boolean hasStoredPurchase() {
     return storedPurchaseId != null;
   }
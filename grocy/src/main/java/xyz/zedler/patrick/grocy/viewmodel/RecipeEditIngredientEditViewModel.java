@@ -59,8 +59,9 @@ import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class RecipeEditIngredientEditViewModel extends BaseViewModel {
 
@@ -79,7 +80,7 @@ public class RecipeEditIngredientEditViewModel extends BaseViewModel {
   private List<Product> products;
   private List<ProductBarcode> productBarcodes;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private List<QuantityUnitConversionResolved> unitConversions;
+  private QuantityUnitConversionIndex unitConversionIndex;
 
   private final boolean debug;
   private final boolean isActionEdit;
@@ -112,7 +113,11 @@ public class RecipeEditIngredientEditViewModel extends BaseViewModel {
       this.products = data.getProducts();
       this.productBarcodes = data.getProductBarcodes();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getQuantityUnitConversionsResolved();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getQuantityUnitConversionsResolved(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
 
       if (downloadAfterLoading) {
         downloadData(false);
@@ -157,12 +162,7 @@ public class RecipeEditIngredientEditViewModel extends BaseViewModel {
       formData.getProductDetailsLive().setValue(productDetails);
       formData.getProductNameLive().setValue(product.getName());
 
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(product);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       formData.getQuantityUnitStockLive().setValue(
           quantityUnitHashMap.get(product.getQuIdStockInt())
@@ -189,7 +189,8 @@ public class RecipeEditIngredientEditViewModel extends BaseViewModel {
 
     dlHelper.newQueue(
         updated -> onQueueEmptyListener.run(),
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details)),
+        NetworkQueue.PRIORITY_USER_ACTION
     ).append(
         ProductDetails.getProductDetails(
             dlHelper,
@@ -83,7 +83,7 @@ public class RecipesViewModel extends BaseViewModel {
   private final FilterChipLiveDataFields filterChipLiveDataFields;
 
   private List<Recipe> recipes;
-  private List<RecipeFulfillment> recipeFulfillments;
+  private HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
   private List<RecipePosition> recipePositions;
   private List<Product> products;
   private List<QuantityUnit> quantityUnits;
@@ -134,7 +134,7 @@ public class RecipesViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       recipes = ArrayUtil.getRecipesWithoutShadowRecipes(data.getRecipes());
-      recipeFulfillments = data.getRecipeFulfillments();
+      recipeFulfillmentHashMap = data.getRecipeFulfillmentHashMap();
       recipePositions = data.getRecipePositions();
       products = data.getProducts();
       quantityUnits = data.getQuantityUnits();
@@ -177,12 +177,12 @@ public class RecipesViewModel extends BaseViewModel {
     int notEnoughInStockButInShoppingListCount = 0;
     int notEnoughInStockCount = 0;
 
-    if (recipes == null || recipeFulfillments == null) {
+    if (recipes == null || recipeFulfillmentHashMap == null) {
       loadFromDatabase(true);
       return;
     }
     for (Recipe recipe : recipes) {
-      RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe.getId());
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
 
       if (recipeFulfillment != null) {
         if (recipeFulfillment.isNeedFulfilled()) {
@@ -227,9 +227,9 @@ public class RecipesViewModel extends BaseViewModel {
     boolean sortAscending = filterChipLiveDataSort.isSortAscending();
 
     if (sortMode.equals(SORT_ENERGY)) {
-      SortUtil.sortRecipesByCalories(filteredRecipes, recipeFulfillments, sortAscending);
+      SortUtil.sortRecipesByCalories(filteredRecipes, recipeFulfillmentHashMap, sortAscending);
     } else if (sortMode.equals(SORT_DUE_SCORE)) {
-      SortUtil.sortRecipesByDueScore(filteredRecipes, recipeFulfillments, sortAscending);
+      SortUtil.sortRecipesByDueScore(filteredRecipes, recipeFulfillmentHashMap, sortAscending);
     } else if (sortMode.startsWith(Userfield.NAME_PREFIX)) {
       String userfieldName = sortMode.substring(Userfield.NAME_PREFIX.length());
       Userfield userfield = userfieldHashMap.get(userfieldName);
@@ -260,8 +260,8 @@ public class RecipesViewModel extends BaseViewModel {
     sendEvent(Event.SCROLL_UP);
   }
 
-  public ArrayList<RecipeFulfillment> getRecipeFulfillments() {
-    return new ArrayList<>(recipeFulfillments);
+  public HashMap<Integer, RecipeFulfillment> getRecipeFulfillmentHashMap() {
+    return recipeFulfillmentHashMap;
   }
 
   public ArrayList<RecipePosition> getRecipePositions() {
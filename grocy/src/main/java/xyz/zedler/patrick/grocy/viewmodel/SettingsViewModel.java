@@ -255,6 +255,46 @@ public class SettingsViewModel extends BaseViewModel {
     sharedPrefs.edit().putInt(Constants.SETTINGS.NETWORK.LOADING_TIMEOUT, seconds).apply();
   }
 
+  public void showCacheSizeBottomSheet() {
+    Bundle bundle = new Bundle();
+    bundle.putInt(Constants.ARGUMENT.NUMBER, getCacheSize());
+    bundle.putString(Constants.ARGUMENT.HINT, getString(R.string.property_megabytes));
+    bundle.putString(ARGUMENT.TYPE, NETWORK.CACHE_SIZE);
+    showBottomSheet(new InputBottomSheet(), bundle);
+  }
+
+  public int getCacheSize() {
+    return sharedPrefs.getInt(
+        Constants.SETTINGS.NETWORK.CACHE_SIZE,
+        Constants.SETTINGS_DEFAULT.NETWORK.CACHE_SIZE
+    );
+  }
+
+  public void setCacheSize(int megabytes) {
+    // the disk cache is only created with the request queue on app start
+    if (megabytes != getCacheSize()) needsRestartLive.setValue(true);
+    sharedPrefs.edit().putInt(Constants.SETTINGS.NETWORK.CACHE_SIZE, megabytes).apply();
+  }
+
+  public void showMealPlanSyncWeeksBottomSheet() {
+    Bundle bundle = new Bundle();
+    bundle.putInt(Constants.ARGUMENT.NUMBER, getMealPlanSyncWeeks());
+    bundle.putString(Constants.ARGUMENT.HINT, getString(R.string.property_weeks));
+    bundle.putString(ARGUMENT.TYPE, NETWORK.MEAL_PLAN_SYNC_WEEKS);
+    showBottomSheet(new InputBottomSheet(), bundle);
+  }
+
+  public int getMealPlanSyncWeeks() {
+    return sharedPrefs.getInt(
+        Constants.SETTINGS.NETWORK.MEAL_PLAN_SYNC_WEEKS,
+        Constants.SETTINGS_DEFAULT.NETWORK.MEAL_PLAN_SYNC_WEEKS
+    );
+  }
+
+  public void setMealPlanSyncWeeks(int weeks) {
+    sharedPrefs.edit().putInt(Constants.SETTINGS.NETWORK.MEAL_PLAN_SYNC_WEEKS, weeks).apply();
+  }
+
   public boolean getLoggingEnabled() {
     return sharedPrefs.getBoolean(
         Constants.SETTINGS.DEBUGGING.ENABLE_DEBUGGING,
@@ -902,6 +942,32 @@ public class SettingsViewModel extends BaseViewModel {
     sharedPrefs.edit().putBoolean(Constants.SETTINGS.NETWORK.LOADING_CIRCLE, enabled).apply();
   }
 
+  public boolean getDeltaSyncEnabled() {
+    return sharedPrefs.getBoolean(
+        Constants.SETTINGS.NETWORK.DELTA_SYNC,
+        Constants.SETTINGS_DEFAULT.NETWORK.DELTA_SYNC
+    );
+  }
+
+  public void setDeltaSyncEnabled(boolean enabled) {
+    sharedPrefs.edit().putBoolean(Constants.SETTINGS.NETWORK.DELTA_SYNC, enabled).apply();
+  }
+
+  public boolean getPooledConnectionsEnabled() {
+    return sharedPrefs.getBoolean(
+        Constants.SETTINGS.NETWORK.POOLED_CONNECTIONS,
+        Constants.SETTINGS_DEFAULT.NETWORK.POOLED_CONNECTIONS
+    );
+  }
+
+  public void setPooledConnectionsEnabled(boolean enabled) {
+    // the HTTP client is only created once per app start
+    if (enabled != getPooledConnectionsEnabled()) needsRestartLive.setValue(true);
+    sharedPrefs.edit()
+        .putBoolean(Constants.SETTINGS.NETWORK.POOLED_CONNECTIONS, enabled)
+        .apply();
+  }
+
   public MutableLiveData<Boolean> getNeedsRestartLive() {
     return needsRestartLive;
   }
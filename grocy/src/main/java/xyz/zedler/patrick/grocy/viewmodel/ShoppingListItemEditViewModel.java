@@ -60,7 +60,7 @@ import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 
 public class ShoppingListItemEditViewModel extends BaseViewModel {
@@ -80,7 +80,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
   private List<ShoppingList> shoppingLists;
   private List<Product> products;
   private List<ProductBarcode> barcodes;
-  private List<QuantityUnitConversionResolved> unitConversions;
+  private QuantityUnitConversionIndex unitConversionIndex;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
   private Runnable queueEmptyAction;
@@ -122,7 +122,11 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
       this.products = data.getProducts();
       this.barcodes = data.getBarcodes();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getQuantityUnitConversions();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getQuantityUnitConversions(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
       formData.getProductsLive().setValue(Product.getActiveProductsOnly(products));
       ShoppingList selectedShoppingList = formData.getShoppingListLive().getValue();
       if (!isActionEdit && selectedShoppingList == null) {
@@ -238,12 +242,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
       formData.getProductLive().setValue(product);
       formData.getProductNameLive().setValue(product.getName());
 
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(product);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       formData.getQuantityUnitStockLive().setValue(
           quantityUnitHashMap.get(product.getQuIdStockInt())
@@ -273,12 +272,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
     formData.getProductLive().setValue(product);
     formData.getProductNameLive().setValue(product.getName());
 
-    HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-        quantityUnitHashMap,
-        unitConversions,
-        product,
-        VersionUtil.isGrocyServerMin400(sharedPrefs)
-    );
+    HashMap<QuantityUnit, Double> unitFactors = unitConversionIndex.getUnitFactors(product);
     formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
     formData.getQuantityUnitStockLive().setValue(
         quantityUnitHashMap.get(product.getQuIdStockInt())
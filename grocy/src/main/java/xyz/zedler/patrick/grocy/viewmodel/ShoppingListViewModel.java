@@ -42,6 +42,7 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.ShoppingListItemBatch;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataFields;
@@ -64,8 +65,8 @@ import xyz.zedler.patrick.grocy.repository.ShoppingListRepository;
 import xyz.zedler.patrick.grocy.util.AmountUtil;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
-import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class ShoppingListViewModel extends BaseViewModel {
 
@@ -96,6 +97,7 @@ public class ShoppingListViewModel extends BaseViewModel {
   private HashMap<Integer, ProductGroup> productGroupHashMap;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
   private List<QuantityUnitConversionResolved> unitConversions;
+  private QuantityUnitConversionIndex unitConversionIndex;
   private HashMap<Integer, Double> shoppingListItemAmountsHashMap;
   private HashMap<Integer, Product> productHashMap;
   private HashMap<Integer, String> productNamesHashMap;
@@ -163,12 +165,17 @@ public class ShoppingListViewModel extends BaseViewModel {
     repository.loadFromDatabase(data -> {
       this.shoppingListItems = data.getShoppingListItems();
       this.shoppingLists = data.getShoppingLists();
-      productGroupHashMap = ArrayUtil.getProductGroupsHashMap(data.getProductGroups());
-      quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
+      productGroupHashMap = data.getProductGroupHashMap();
+      quantityUnitHashMap = data.getQuantityUnitHashMap();
       unitConversions = data.getUnitConversionsResolved();
-      storeHashMap = ArrayUtil.getStoresHashMap(data.getStores());
+      unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          unitConversions,
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
+      storeHashMap = data.getStoreHashMap();
       missingProductIds = ArrayUtil.getMissingProductsIds(data.getMissingItems());
-      productHashMap = ArrayUtil.getProductsHashMap(data.getProducts());
+      productHashMap = data.getProductHashMap();
       productNamesHashMap = ArrayUtil.getProductNamesHashMap(data.getProducts());
       productLastPurchasedHashMap = ArrayUtil
           .getProductLastPurchasedHashMap(data.getProductsLastPurchased());
@@ -314,21 +321,14 @@ public class ShoppingListViewModel extends BaseViewModel {
       }
     }
     if (itemsToSync.isEmpty()) return;
-    Runnable emptyListener = () -> {
-      ArrayList<ShoppingListItem> itemsToUpdate = new ArrayList<>();
-      for (ShoppingListItem itemToSync : itemsToSync) {
-        itemToSync.setDoneSynced(-1);
-        itemsToUpdate.add(itemToSync);
-      }
-      repository.insertShoppingListItems(
-          () -> {
-            showMessage(getString(R.string.msg_synced));
-            loadFromDatabase(false);
-          },
-          itemsToUpdate.toArray(new ShoppingListItem[0])
-      );
-    };
-    DownloadHelper.OnMultiTypeErrorListener errorListener = error -> {
+    ShoppingListItemBatch batch = new ShoppingListItemBatch(dlHelper);
+    for (ShoppingListItem itemToSync : itemsToSync) {
+      batch.setDone(itemToSync);
+    }
+    batch.commit(() -> {
+      showMessage(getString(R.string.msg_synced));
+      loadFromDatabase(false);
+    }, error -> {
       SnackbarMessage snackbarMessage = new SnackbarMessage(getString(R.string.msg_failed_to_sync));
       snackbarMessage.setAction(
           getString(R.string.action_details),
@@ -337,20 +337,7 @@ public class ShoppingListViewModel extends BaseViewModel {
       snackbarMessage.setDurationSecs(5);
       showSnackbar(snackbarMessage);
       showMessage(getString(R.string.msg_failed_to_sync));
-    };
-    NetworkQueue queue = dlHelper.newQueue(updated -> emptyListener.run(), errorListener);
-    for (ShoppingListItem itemToSync : itemsToSync) {
-      JSONObject body = new JSONObject();
-      try {
-        body.put("done", itemToSync.getDoneInt());
-      } catch (JSONException e) {
-        if (debug) {
-          Log.e(TAG, "syncItems: " + e);
-        }
-      }
-      queue.append(ShoppingListItem.editShoppingListItem(dlHelper, itemToSync.getId(), body));
-    }
-    queue.start();
+    });
   }
 
   private void showSyncErrorDetailsAlertDialog() {
@@ -605,28 +592,18 @@ public class ShoppingListViewModel extends BaseViewModel {
   }
 
   public void clearDoneItems(ShoppingList shoppingList) {
-    NetworkQueue queue = dlHelper.newQueue(
-        updated -> {
+    new ShoppingListItemBatch(dlHelper)
+        .clearDoneItems(shoppingList.getId(), shoppingListItems)
+        .commit(() -> {
           showMessage(getApplication().getString(
               R.string.msg_shopping_list_cleared,
               shoppingList.getName()
           ));
-          downloadData(false, false);
-        }, volleyError -> {
+          loadFromDatabase(false);
+        }, error -> {
           showMessage(getString(R.string.error_undefined));
           downloadData(false, false);
-        }
-    );
-    for (ShoppingListItem shoppingListItem : shoppingListItems) {
-      if (shoppingListItem.getShoppingListIdInt() != shoppingList.getId()) {
-        continue;
-      }
-      if (shoppingListItem.getDoneInt() == 0) {
-        continue;
-      }
-      queue.append(ShoppingListItem.deleteShoppingListItem(dlHelper, shoppingListItem.getId()));
-    }
-    queue.start();
+        });
   }
 
   @Nullable
@@ -715,10 +692,9 @@ public class ShoppingListViewModel extends BaseViewModel {
 
   private void fillShoppingListItemAmountsHashMap() {
     shoppingListItemAmountsHashMap = new HashMap<>();
-    boolean isGrocyServerMin400 = VersionUtil.isGrocyServerMin400(sharedPrefs);
     for (ShoppingListItem item : shoppingListItems) {
       Double amount = AmountUtil.getShoppingListItemAmount(
-          item, productHashMap, quantityUnitHashMap, unitConversions, isGrocyServerMin400
+          item, productHashMap, quantityUnitHashMap, unitConversionIndex
       );
       if (amount != null) {
         shoppingListItemAmountsHashMap.put(item.getId(), amount);
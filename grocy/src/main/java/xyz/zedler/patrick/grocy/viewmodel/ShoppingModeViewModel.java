@@ -40,6 +40,7 @@ import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.ShoppingListItemBatch;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataFields;
@@ -61,6 +62,7 @@ import xyz.zedler.patrick.grocy.repository.ShoppingListRepository;
 import xyz.zedler.patrick.grocy.util.AmountUtil;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
@@ -94,6 +96,7 @@ public class ShoppingModeViewModel extends BaseViewModel {
   private HashMap<Integer, ProductGroup> productGroupHashMap;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
   private List<QuantityUnitConversionResolved> unitConversions;
+  private QuantityUnitConversionIndex unitConversionIndex;
   private HashMap<Integer, Double> shoppingListItemAmountsHashMap;
   private HashMap<Integer, Store> storeHashMap;
   private HashMap<Integer, Product> productHashMap;
@@ -151,14 +154,19 @@ public class ShoppingModeViewModel extends BaseViewModel {
     repository.loadFromDatabase(data -> {
       this.shoppingListItems = data.getShoppingListItems();
       this.shoppingLists = data.getShoppingLists();
-      productGroupHashMap = ArrayUtil.getProductGroupsHashMap(data.getProductGroups());
-      quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
+      productGroupHashMap = data.getProductGroupHashMap();
+      quantityUnitHashMap = data.getQuantityUnitHashMap();
       unitConversions = data.getUnitConversionsResolved();
-      productHashMap = ArrayUtil.getProductsHashMap(data.getProducts());
+      unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          unitConversions,
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
+      productHashMap = data.getProductHashMap();
       productNamesHashMap = ArrayUtil.getProductNamesHashMap(data.getProducts());
       productLastPurchasedHashMap = ArrayUtil
           .getProductLastPurchasedHashMap(data.getProductsLastPurchased());
-      storeHashMap = ArrayUtil.getStoresHashMap(data.getStores());
+      storeHashMap = data.getStoreHashMap();
       missingProductIds = ArrayUtil.getMissingProductsIds(data.getMissingItems());
       fillShoppingListItemAmountsHashMap();
       updateFilteredShoppingListItems();
@@ -205,6 +213,11 @@ public class ShoppingModeViewModel extends BaseViewModel {
   }
 
   public void downloadData(boolean forceUpdate, boolean noSync) {
+    downloadData(forceUpdate, noSync, NetworkQueue.PRIORITY_VISIBLE);
+  }
+
+  // the periodic auto sync runs with NetworkQueue.PRIORITY_BACKGROUND
+  public void downloadData(boolean forceUpdate, boolean noSync, int priority) {
     dlHelper.updateData(
         updated -> {
           if (updated) {
@@ -216,6 +229,7 @@ public class ShoppingModeViewModel extends BaseViewModel {
         error -> onError(error, TAG),
         forceUpdate,
         true,
+        priority,
         noSync ? ShoppingListItem.class : ShoppingListItemWithSync.class,
         ShoppingList.class,
         ProductGroup.class,
@@ -244,21 +258,14 @@ public class ShoppingModeViewModel extends BaseViewModel {
     if (itemsToSync.isEmpty()) {
       return;
     }
-    Runnable emptyListener = () -> {
-      ArrayList<ShoppingListItem> itemsToUpdate = new ArrayList<>();
-      for (ShoppingListItem itemToSync : itemsToSync) {
-        itemToSync.setDoneSynced(-1);
-        itemsToUpdate.add(itemToSync);
-      }
-      repository.insertShoppingListItems(
-          () -> {
-            showMessage(getString(R.string.msg_synced));
-            loadFromDatabase(false);
-          },
-          itemsToUpdate.toArray(new ShoppingListItem[0])
-      );
-    };
-    DownloadHelper.OnMultiTypeErrorListener errorListener = error -> {
+    ShoppingListItemBatch batch = new ShoppingListItemBatch(dlHelper);
+    for (ShoppingListItem itemToSync : itemsToSync) {
+      batch.setDone(itemToSync);
+    }
+    batch.commit(() -> {
+      showMessage(getString(R.string.msg_synced));
+      loadFromDatabase(false);
+    }, error -> {
       SnackbarMessage snackbarMessage = new SnackbarMessage(getString(R.string.msg_failed_to_sync));
       snackbarMessage.setAction(
           getString(R.string.action_details),
@@ -267,20 +274,7 @@ public class ShoppingModeViewModel extends BaseViewModel {
       snackbarMessage.setDurationSecs(5);
       showSnackbar(snackbarMessage);
       showMessage(getString(R.string.msg_failed_to_sync));
-    };
-    NetworkQueue queue = dlHelper.newQueue(updated -> emptyListener.run(), errorListener);
-    for (ShoppingListItem itemToSync : itemsToSync) {
-      JSONObject body = new JSONObject();
-      try {
-        body.put("done", itemToSync.getDoneInt());
-      } catch (JSONException e) {
-        if (debug) {
-          Log.e(TAG, "syncItems: " + e);
-        }
-      }
-      queue.append(ShoppingListItem.editShoppingListItem(dlHelper, itemToSync.getId(), body));
-    }
-    queue.start();
+    });
   }
 
   private void showSyncErrorDetailsAlertDialog() {
@@ -428,10 +422,9 @@ public class ShoppingModeViewModel extends BaseViewModel {
 
   private void fillShoppingListItemAmountsHashMap() {
     shoppingListItemAmountsHashMap = new HashMap<>();
-    boolean isGrocyServerMin400 = VersionUtil.isGrocyServerMin400(sharedPrefs);
     for (ShoppingListItem item : shoppingListItems) {
       Double amount = AmountUtil.getShoppingListItemAmount(
-          item, productHashMap, quantityUnitHashMap, unitConversions, isGrocyServerMin400
+          item, productHashMap, quantityUnitHashMap, unitConversionIndex
       );
       if (amount != null) {
         shoppingListItemAmountsHashMap.put(item.getId(), amount);
@@ -143,15 +143,15 @@ public class StockEntriesViewModel extends BaseViewModel {
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
-    repository.loadFromDatabase(data -> {
-      quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      productHashMap = ArrayUtil.getProductsHashMap(data.getProducts());
+    repository.loadFromDatabase(productId, data -> {
+      quantityUnitHashMap = data.getQuantityUnitHashMap();
+      productHashMap = data.getProductHashMap();
       productBarcodeHashMap = ArrayUtil.getProductBarcodesHashMap(data.getProductBarcodes());
       this.stockEntries = data.getStockEntries();
 
       filterChipLiveDataLocation.setLocations(data.getLocations());
-      locationHashMap = ArrayUtil.getLocationsHashMap(data.getLocations());
-      storeHashMap = ArrayUtil.getStoresHashMap(data.getStores());
+      locationHashMap = data.getLocationHashMap();
+      storeHashMap = data.getStoreHashMap();
 
       updateFilteredStockEntries();
       if (downloadAfterLoading) {
@@ -24,17 +24,20 @@ import android.app.Application;
 import android.content.SharedPreferences;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.CombinedLoadStates;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
 import androidx.preference.PreferenceManager;
+import com.android.volley.VolleyError;
 import com.google.android.material.snackbar.Snackbar;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
-import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -43,9 +46,10 @@ import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.StockLogEntry;
 import xyz.zedler.patrick.grocy.model.User;
 import xyz.zedler.patrick.grocy.repository.StockEntriesRepository;
+import xyz.zedler.patrick.grocy.repository.StockJournalRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class StockJournalViewModel extends BaseViewModel {
 
@@ -55,23 +59,22 @@ public class StockJournalViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final StockEntriesRepository repository;
+  private final StockJournalRepository journalRepository;
 
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
-  private final MutableLiveData<ArrayList<StockLogEntry>> filteredStockLogEntriesLive;
+  private final MutableLiveData<Boolean> masterDataLoadedLive;
+  private final LiveData<PagingData<StockLogEntry>> stockLogEntriesLive;
 
-  private List<StockLogEntry> stockLogEntries;
   private HashMap<Integer, Product> productHashMap;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
   private HashMap<Integer, Location> locationHashMap;
   private HashMap<Integer, User> userHashMap;
 
   private String searchInput;
+  private Throwable lastRefreshError;
   private final boolean debug;
 
-  private int currentPage = 0;
-  private boolean isLastPage = false;
-
   public StockJournalViewModel(@NonNull Application application) {
     super(application);
 
@@ -82,33 +85,28 @@ public class StockJournalViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
     grocyApi = new GrocyApi(getApplication());
     repository = new StockEntriesRepository(application);
+    journalRepository = new StockJournalRepository(application);
 
     infoFullscreenLive = new MutableLiveData<>();
-    filteredStockLogEntriesLive = new MutableLiveData<>();
+    masterDataLoadedLive = new MutableLiveData<>(false);
+    stockLogEntriesLive = journalRepository.getStockLogEntriesLive(
+        dlHelper,
+        -1,
+        null,
+        ViewModelKt.getViewModelScope(this)
+    );
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
-    repository.loadFromDatabase(data -> {
-      quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      productHashMap = ArrayUtil.getProductsHashMap(data.getProducts());
-
-      locationHashMap = ArrayUtil.getLocationsHashMap(data.getLocations());
+    repository.loadFromDatabase(null, data -> {
+      quantityUnitHashMap = data.getQuantityUnitHashMap();
+      productHashMap = data.getProductHashMap();
+      locationHashMap = data.getLocationHashMap();
       userHashMap = ArrayUtil.getUsersHashMap(data.getUsers());
+      masterDataLoadedLive.setValue(true);
 
       if (downloadAfterLoading) {
         downloadData(false);
-      } else {
-        NetworkQueue queue = dlHelper.newQueue(
-            updated -> updateFilteredStockLogEntries(),
-            error -> onError(error, TAG)
-        );
-        queue.append(StockLogEntry.getStockLogEntries(
-            dlHelper,
-            20,
-            0,
-            entries -> this.stockLogEntries = entries
-        ));
-        queue.start();
       }
     }, error -> onError(error, TAG));
   }
@@ -117,11 +115,11 @@ public class StockJournalViewModel extends BaseViewModel {
     dlHelper.updateData(
         updated -> {
           if (isOffline()) setOfflineLive(false);
-          loadFromDatabase(false);
+          if (updated) loadFromDatabase(false);
         },
         error -> onError(error, TAG),
         forceUpdate,
-        false,
+        true,
         QuantityUnit.class,
         Product.class,
         Location.class,
@@ -129,24 +127,29 @@ public class StockJournalViewModel extends BaseViewModel {
     );
   }
 
-  public void loadNextPage(OnObjectsResponseListener<StockLogEntry> responseListener) {
-    NetworkQueue queue = dlHelper.newQueue(updated -> {
-      if (isOffline()) setOfflineLive(false);
-    }, error -> onError(error, TAG));
-    queue.append(StockLogEntry.getStockLogEntries(
-        dlHelper,
-        20,
-        currentPage*20,
-        responseListener
-    ));
-    queue.start();
-  }
-
-  public void updateFilteredStockLogEntries() {
-    if (this.stockLogEntries == null) return;
-    ArrayList<StockLogEntry> filteredStockLogEntries = new ArrayList<>(this.stockLogEntries);
+  public void onLoadStatesChanged(CombinedLoadStates loadStates, int itemCount) {
+    LoadState refresh = loadStates.getRefresh();
+    isLoadingLive.setValue(refresh instanceof LoadState.Loading);
+
+    if (loadStates.getMediator() != null
+        && loadStates.getMediator().getRefresh() instanceof LoadState.Error) {
+      // the listener is called for every load state change, but the error is handled once
+      Throwable error = ((LoadState.Error) loadStates.getMediator().getRefresh()).getError();
+      if (error != lastRefreshError) {
+        lastRefreshError = error;
+        // local entries are still displayed, so only the offline banner is shown
+        if (error instanceof VolleyError) {
+          setOfflineLive(true);
+        } else {
+          onError(error, TAG);
+        }
+      }
+    }
 
-    if (filteredStockLogEntries.isEmpty()) {
+    if (refresh instanceof LoadState.Loading) {
+      return;
+    }
+    if (itemCount == 0) {
       InfoFullscreen info;
       if (searchInput != null && !searchInput.isEmpty()) {
         info = new InfoFullscreen(InfoFullscreen.INFO_NO_SEARCH_RESULTS);
@@ -157,14 +160,17 @@ public class StockJournalViewModel extends BaseViewModel {
     } else {
       infoFullscreenLive.setValue(null);
     }
-
-    filteredStockLogEntriesLive.setValue(filteredStockLogEntries);
   }
 
   public void undoTransaction(StockLogEntry entry) {
     dlHelper.post(
         grocyApi.undoStockTransaction(entry.getTransactionId()),
         response -> {
+          // the cached rows are updated, the paged list reloads them by itself
+          journalRepository.setTransactionUndone(
+              entry.getTransactionId(),
+              new DateUtil(getApplication()).getCurrentDateWithTimeStr()
+          );
           downloadData(false);
           showSnackbar(new SnackbarMessage(
               getString(R.string.msg_undone_transaction),
@@ -183,14 +189,16 @@ public class StockJournalViewModel extends BaseViewModel {
     setIsSearchVisible(false);
   }
 
-  public MutableLiveData<ArrayList<StockLogEntry>> getFilteredStockLogEntriesLive() {
-    return filteredStockLogEntriesLive;
+  public LiveData<PagingData<StockLogEntry>> getStockLogEntriesLive() {
+    return stockLogEntriesLive;
+  }
+
+  public MutableLiveData<Boolean> getMasterDataLoadedLive() {
+    return masterDataLoadedLive;
   }
 
   public void updateSearchInput(String input) {
     this.searchInput = input.toLowerCase();
-
-    updateFilteredStockLogEntries();
   }
 
   public HashMap<Integer, Product> getProductHashMap() {
@@ -209,22 +217,6 @@ public class StockJournalViewModel extends BaseViewModel {
     return userHashMap;
   }
 
-  public boolean isLastPage() {
-    return isLastPage;
-  }
-
-  public void setLastPage(boolean lastPage) {
-    isLastPage = lastPage;
-  }
-
-  public int getCurrentPage() {
-    return currentPage;
-  }
-
-  public void setCurrentPage(int currentPage) {
-    this.currentPage = currentPage;
-  }
-
   @NonNull
   public MutableLiveData<Boolean> getIsLoadingLive() {
     return isLoadingLive;
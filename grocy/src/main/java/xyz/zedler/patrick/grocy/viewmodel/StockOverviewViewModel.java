@@ -24,16 +24,23 @@ import android.app.Application;
 import android.content.SharedPreferences;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
 import com.google.android.material.snackbar.Snackbar;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
+import java.util.concurrent.TimeUnit;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -73,11 +80,10 @@ import xyz.zedler.patrick.grocy.model.Userfield;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
 import xyz.zedler.patrick.grocy.repository.StockOverviewRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PluralUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.util.ProductSearchIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 
 public class StockOverviewViewModel extends BaseViewModel {
@@ -85,6 +91,8 @@ public class StockOverviewViewModel extends BaseViewModel {
   private final static String TAG = ShoppingListViewModel.class.getSimpleName();
   public final static String[] DISPLAYED_USERFIELD_ENTITIES = { ENTITY.PRODUCTS };
 
+  private final static long SEARCH_DEBOUNCE_MILLIS = 150;
+
   public final static String SORT_NAME = "sort_name";
   public final static String SORT_DUE_DATE = "sort_due_date";
   public final static String SORT_CREATED_TIMESTAMP = "sort_created_timestamp";
@@ -114,11 +122,14 @@ public class StockOverviewViewModel extends BaseViewModel {
   private final FilterChipLiveDataSort filterChipLiveDataSort;
   private final FilterChipLiveDataGroupingStock filterChipLiveDataGrouping;
   private final FilterChipLiveDataFields filterChipLiveDataFields;
+  private final PublishSubject<Boolean> filterSubject; // value is whether to scroll to top
+  private final PublishSubject<String> searchInputSubject;
+  private final Disposable filterDisposable;
+  private final ProductSearchIndex productSearchIndex;
+  private final HashMap<Integer, ArrayDeque<Runnable>> waitingStockChanges;
 
   private List<StockItem> stockItems;
-  private List<Product> products;
   private HashMap<Integer, ProductGroup> productGroupHashMap;
-  private HashMap<String, ProductBarcode> productBarcodeHashMap;
   private HashMap<Integer, Product> productHashMap;
   private HashMap<Integer, String> productAveragePriceHashMap;
   private HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
@@ -132,7 +143,6 @@ public class StockOverviewViewModel extends BaseViewModel {
   private HashMap<String, Userfield> userfieldHashMap;
 
   private String searchInput;
-  private ArrayList<String> searchResultsFuzzy;
   private final boolean debug;
   private final int maxDecimalPlacesAmount;
   private boolean alreadyLoadedFromDatabase;
@@ -158,6 +168,29 @@ public class StockOverviewViewModel extends BaseViewModel {
     filteredStockItemsLive = new MutableLiveData<>();
     scannerVisibilityLive = new MutableLiveData<>(false);
 
+    productSearchIndex = new ProductSearchIndex();
+    waitingStockChanges = new HashMap<>();
+
+    // filtering runs on a background thread, results of outdated requests are dropped
+    filterSubject = PublishSubject.create();
+    searchInputSubject = PublishSubject.create();
+    filterDisposable = Observable.merge(
+            searchInputSubject.debounce(
+                SEARCH_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS, AndroidSchedulers.mainThread()
+            ).map(input -> false),
+            filterSubject
+        )
+        .filter(scrollToTop -> stockItems != null)
+        .map(FilterState::new) // snapshot of the current state on the main thread
+        .switchMap(state -> Observable.fromCallable(() -> filterStockItems(state))
+            .subscribeOn(Schedulers.computation())
+            .observeOn(AndroidSchedulers.mainThread())
+            .onErrorResumeNext(throwable -> {
+              Log.e(TAG, "updateFilteredStockItems: " + throwable);
+              return Observable.empty();
+            }))
+        .subscribe(this::onStockItemsFiltered);
+
     filterChipLiveDataStatus = new FilterChipLiveDataStatusStock(
         getApplication(),
         this::updateFilteredStockItemsWithTopScroll
@@ -209,17 +242,17 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
-      quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
+      quantityUnitHashMap = data.getQuantityUnitHashMap();
       quantityUnitConversions = data.getQuantityUnitConversions();
-      productGroupHashMap = ArrayUtil.getProductGroupsHashMap(data.getProductGroups());
+      productGroupHashMap = data.getProductGroupHashMap();
       filterChipLiveDataProductGroup.setProductGroups(data.getProductGroups());
-      this.products = data.getProducts();
-      productHashMap = ArrayUtil.getProductsHashMap(data.getProducts());
+      productHashMap = data.getProductHashMap();
+      productSearchIndex.setProducts(data.getProducts());
       productAveragePriceHashMap = ArrayUtil
           .getProductAveragePriceHashMap(data.getProductsAveragePrice());
       productLastPurchasedHashMap = ArrayUtil
           .getProductLastPurchasedHashMap(data.getProductsLastPurchased());
-      productBarcodeHashMap = ArrayUtil.getProductBarcodesHashMap(data.getProductBarcodes());
+      productSearchIndex.setProductBarcodes(data.getProductBarcodes());
       this.stockItems = data.getStockItems();
 
       int itemsDueCount = 0;
@@ -276,7 +309,7 @@ public class StockOverviewViewModel extends BaseViewModel {
         }
       }
       filterChipLiveDataLocation.setLocations(data.getLocations());
-      locationHashMap = ArrayUtil.getLocationsHashMap(data.getLocations());
+      locationHashMap = data.getLocationHashMap();
 
       stockLocationsHashMap = new HashMap<>();
       for (StockLocation stockLocation : data.getStockCurrentLocations()) {
@@ -335,21 +368,32 @@ public class StockOverviewViewModel extends BaseViewModel {
   }
 
   public void updateFilteredStockItems() {
+    filterSubject.onNext(false);
+  }
+
+  public void updateFilteredStockItemsWithTopScroll() {
+    filterSubject.onNext(true);
+  }
+
+  // called on a background thread, must only use the given state
+  private FilterState filterStockItems(FilterState state) {
     ArrayList<StockItem> filteredStockItems = new ArrayList<>();
 
+    String searchInput = state.searchInput;
     Product productSearch = null;
     ProductBarcode productBarcodeSearch = null;
+    HashSet<Integer> searchResultsFuzzy = new HashSet<>();
     if (searchInput != null && !searchInput.isEmpty()) {
-      Grocycode grocycode = GrocycodeUtil.getGrocycode(searchInput);
-      if (grocycode != null && grocycode.isProduct()) {
-        productSearch = productHashMap.get(grocycode.getObjectId());
-      }
+      productSearch = productSearchIndex.getProductForGrocycode(searchInput);
       if (productSearch == null) {
-        productBarcodeSearch = productBarcodeHashMap.get(searchInput);
+        productBarcodeSearch = productSearchIndex.getProductBarcode(searchInput);
+      }
+      for (Product product : productSearchIndex.search(searchInput, 30, 70)) {
+        searchResultsFuzzy.add(product.getId());
       }
     }
 
-    for (StockItem item : this.stockItems) {
+    for (StockItem item : state.stockItems) {
       if (item.getProduct() == null) {
         // invalidate products and stock items offline cache because products may have changed
         SharedPreferences.Editor editPrefs = sharedPrefs.edit();
@@ -368,7 +412,7 @@ public class StockOverviewViewModel extends BaseViewModel {
         String productName = item.getProduct().getName().toLowerCase();
         searchContainsItem = productName.contains(searchInput);
         if (!searchContainsItem) {
-          searchContainsItem = searchResultsFuzzy.contains(productName);
+          searchContainsItem = searchResultsFuzzy.contains(item.getProductId());
         }
       }
       if (!searchContainsItem && productSearch == null && productBarcodeSearch == null) {
@@ -382,7 +426,7 @@ public class StockOverviewViewModel extends BaseViewModel {
         continue;
       }
 
-      int productGroupFilterId = filterChipLiveDataProductGroup.getSelectedId();
+      int productGroupFilterId = state.productGroupFilterId;
       if (productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
           && NumUtil.isStringInt(item.getProduct().getProductGroupId())
           && productGroupFilterId != Integer.parseInt(item.getProduct().getProductGroupId())
@@ -391,10 +435,10 @@ public class StockOverviewViewModel extends BaseViewModel {
       ) {
         continue;
       }
-      int locationFilterId = filterChipLiveDataLocation.getSelectedId();
+      int locationFilterId = state.locationFilterId;
       if (locationFilterId != FilterChipLiveDataLocation.NO_FILTER) {
         HashMap<Integer, StockLocation> stockLocationsForProductId
-            = stockLocationsHashMap.get(item.getProductId());
+            = state.stockLocationsHashMap.get(item.getProductId());
         if (stockLocationsForProductId == null
             || !stockLocationsForProductId.containsKey(locationFilterId)
         ) {
@@ -402,38 +446,40 @@ public class StockOverviewViewModel extends BaseViewModel {
         }
       }
 
-      MissingItem missingItem = productIdsMissingItems.get(item.getProductId());
+      MissingItem missingItem = state.productIdsMissingItems.get(item.getProductId());
       boolean hasOwnStock = !item.getProduct().getNoOwnStockBoolean();
-      if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_ALL
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_NOT_FRESH
+      if (state.status == FilterChipLiveDataStatusStock.STATUS_ALL
+          || state.status == FilterChipLiveDataStatusStock.STATUS_NOT_FRESH
           && (item.isItemDue() || item.isItemOverdue() || item.isItemExpired()) && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_DUE_SOON
+          || state.status == FilterChipLiveDataStatusStock.STATUS_DUE_SOON
           && item.isItemDue() && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_OVERDUE
+          || state.status == FilterChipLiveDataStatusStock.STATUS_OVERDUE
           && item.isItemOverdue() && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_EXPIRED
+          || state.status == FilterChipLiveDataStatusStock.STATUS_EXPIRED
           && item.isItemExpired() && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_BELOW_MIN
+          || state.status == FilterChipLiveDataStatusStock.STATUS_BELOW_MIN
           && missingItem != null
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_IN_STOCK
+          || state.status == FilterChipLiveDataStatusStock.STATUS_IN_STOCK
           && (missingItem == null || missingItem.getIsPartlyInStockBoolean())
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusStock.STATUS_OPENED
+          || state.status == FilterChipLiveDataStatusStock.STATUS_OPENED
           && item.getAmountOpenedDouble() > 0
       ) {
         filteredStockItems.add(item);
       }
     }
 
-    if (filteredStockItems.isEmpty()) {
+    state.filteredStockItems = filteredStockItems;
+    return state;
+  }
+
+  private void onStockItemsFiltered(FilterState state) {
+    if (state.filteredStockItems.isEmpty()) {
       InfoFullscreen info;
-      if (searchInput != null && !searchInput.isEmpty()) {
+      if (state.searchInput != null && !state.searchInput.isEmpty()) {
         info = new InfoFullscreen(InfoFullscreen.INFO_NO_SEARCH_RESULTS);
-      } else if (filterChipLiveDataStatus.getStatus()
-          != FilterChipLiveDataStatusStock.STATUS_ALL
-          || filterChipLiveDataProductGroup.getSelectedId()
-          != FilterChipLiveDataProductGroup.NO_FILTER
-          || filterChipLiveDataLocation.getSelectedId()
-          != FilterChipLiveDataProductGroup.NO_FILTER
+      } else if (state.status != FilterChipLiveDataStatusStock.STATUS_ALL
+          || state.productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
+          || state.locationFilterId != FilterChipLiveDataProductGroup.NO_FILTER
       ) {
         info = new InfoFullscreen(InfoFullscreen.INFO_NO_FILTER_RESULTS);
       } else {
@@ -444,15 +490,33 @@ public class StockOverviewViewModel extends BaseViewModel {
       infoFullscreenLive.setValue(null);
     }
 
-    filteredStockItemsLive.setValue(filteredStockItems);
+    filteredStockItemsLive.setValue(state.filteredStockItems);
+    if (state.scrollToTop) {
+      sendEvent(Event.SCROLL_UP);
+    }
   }
 
-  public void updateFilteredStockItemsWithTopScroll() {
-    updateFilteredStockItems();
-    sendEvent(Event.SCROLL_UP);
+  public void performAction(String action, StockItem stockItem) {
+    int productId = stockItem.getProductId();
+    Product product = stockItem.getProduct();
+    // the amounts are loaded when the change runs, because earlier changes of the same
+    // product may have changed them since the swipe
+    runStockChange(productId, () -> repository.loadStockItem(productId, currentStockItem -> {
+      if (currentStockItem == null) {
+        showMessage(getApplication().getString(R.string.msg_not_in_stock, product.getName()));
+        loadFromDatabase(false);
+        finishStockChange(productId);
+        return;
+      }
+      currentStockItem.setProduct(product);
+      performActionNow(action, currentStockItem);
+    }, error -> {
+      onError(error, TAG);
+      finishStockChange(productId);
+    }));
   }
 
-  public void performAction(String action, StockItem stockItem) {
+  private void performActionNow(String action, StockItem stockItem) {
     switch (action) {
       case Constants.ACTION.CONSUME:
         consumeProduct(stockItem, stockItem.getProduct().getQuickConsumeAmountDouble(), false);
@@ -490,68 +554,119 @@ public class StockOverviewViewModel extends BaseViewModel {
         Log.e(TAG, "consumeProduct: " + e);
       }
     }
-    dlHelper.postWithArray(
-        grocyApi.consumeProduct(stockItem.getProductId()),
-        body,
-        response -> {
-          String transactionId = null;
-          double amountConsumed = 0;
-          try {
-            transactionId = response.getJSONObject(0)
-                .getString("transaction_id");
-            for (int i = 0; i < response.length(); i++) {
-              amountConsumed -= response.getJSONObject(i).getDouble("amount");
-            }
-          } catch (JSONException e) {
-            if (debug) {
-              Log.e(TAG, "consumeProduct: " + e);
+    // with tare weight handling, the amount is the gross weight which is left after consuming
+    double stockAmount = stockItem.getIsAggregatedAmountInt() == 1
+        ? stockItem.getAmountAggregatedDouble()
+        : stockItem.getAmountDouble();
+    double amountExpected = stockItem.getProduct().getEnableTareWeightHandlingInt() == 0
+        ? amount
+        : stockAmount - amount + stockItem.getProduct().getTareWeightDouble();
+    String description = getApplication().getString(
+        spoiled ? R.string.msg_consumed_spoiled : R.string.msg_consumed,
+        NumUtil.trimAmount(amountExpected, maxDecimalPlacesAmount),
+        pluralUtil.getQuantityUnitPlural(
+            quantityUnitHashMap,
+            stockItem.getProduct().getQuIdStockInt(),
+            amountExpected
+        ), stockItem.getProduct().getName()
+    );
+    int productId = stockItem.getProductId();
+    // the expected amount is shown right away and checked against the server's response
+    repository.changeStockItemAmount(productId, -amountExpected, 0, previous -> {
+      loadFromDatabase(false);
+      dlHelper.postWithArrayOrStore(
+          grocyApi.consumeProduct(productId),
+          body,
+          description,
+          response -> {
+            String transactionId = null;
+            double amountConsumed = 0;
+            // sub-products can be consumed instead, which are not part of the local change
+            boolean otherProductChanged = false;
+            HashMap<String, Double> amountsByStockId = new HashMap<>();
+            try {
+              transactionId = response.getJSONObject(0)
+                  .getString("transaction_id");
+              for (int i = 0; i < response.length(); i++) {
+                JSONObject logEntry = response.getJSONObject(i);
+                if (!String.valueOf(productId).equals(logEntry.getString("product_id"))) {
+                  otherProductChanged = true;
+                }
+                amountConsumed -= logEntry.getDouble("amount");
+                String stockId = logEntry.getString("stock_id");
+                Double amountOfStockId = amountsByStockId.get(stockId);
+                amountsByStockId.put(stockId, (amountOfStockId != null ? amountOfStockId : 0)
+                    - logEntry.getDouble("amount"));
+              }
+            } catch (JSONException e) {
+              if (debug) {
+                Log.e(TAG, "consumeProduct: " + e);
+              }
             }
-          }
 
-          String msg = getApplication().getString(
-              spoiled ? R.string.msg_consumed_spoiled : R.string.msg_consumed,
-              NumUtil.trimAmount(amountConsumed, maxDecimalPlacesAmount),
-              pluralUtil.getQuantityUnitPlural(
-                  quantityUnitHashMap,
-                  stockItem.getProduct().getQuIdStockInt(),
-                  amountConsumed
-              ), stockItem.getProduct().getName()
-          );
-          SnackbarMessage snackbarMsg = new SnackbarMessage(msg, 15);
-
-          // set undo button on snackBar
-          if (transactionId != null) {
-            String finalTransactionId = transactionId;
-            snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
-                grocyApi.undoStockTransaction(finalTransactionId),
-                response1 -> {
-                  downloadData(false);
-                  showSnackbar(new SnackbarMessage(
-                      getString(R.string.msg_undone_transaction),
-                      Snackbar.LENGTH_SHORT
-                  ));
-                  if (debug) {
-                    Log.i(TAG, "consumeProduct: undone");
-                  }
-                },
-                this::showNetworkErrorMessage
-            ));
-          }
-          downloadData(false);
-          showSnackbar(snackbarMsg);
-          if (debug) {
-            Log.i(
-                TAG, "consumeProduct: consumed " + amountConsumed
+            String msg = getApplication().getString(
+                spoiled ? R.string.msg_consumed_spoiled : R.string.msg_consumed,
+                NumUtil.trimAmount(amountConsumed, maxDecimalPlacesAmount),
+                pluralUtil.getQuantityUnitPlural(
+                    quantityUnitHashMap,
+                    stockItem.getProduct().getQuIdStockInt(),
+                    amountConsumed
+                ), stockItem.getProduct().getName()
             );
+            SnackbarMessage snackbarMsg = new SnackbarMessage(msg, 15);
+
+            // set undo button on snackBar
+            if (transactionId != null) {
+              String finalTransactionId = transactionId;
+              snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
+                  grocyApi.undoStockTransaction(finalTransactionId),
+                  response1 -> {
+                    downloadData(false);
+                    showSnackbar(new SnackbarMessage(
+                        getString(R.string.msg_undone_transaction),
+                        Snackbar.LENGTH_SHORT
+                    ));
+                    if (debug) {
+                      Log.i(TAG, "consumeProduct: undone");
+                    }
+                  },
+                  this::showNetworkErrorMessage
+              ));
+            }
+            if (!otherProductChanged && NumUtil.isAmountEqual(amountConsumed, amountExpected)) {
+              repository.consumeFromStockEntries(
+                  amountsByStockId,
+                  () -> {},
+                  error -> onError(error, TAG)
+              );
+            } else {
+              // e.g. other stock changes or substituted sub-products
+              downloadData(false);
+            }
+            showSnackbar(snackbarMsg);
+            if (debug) {
+              Log.i(
+                  TAG, "consumeProduct: consumed " + amountConsumed
+              );
+            }
+            finishStockChange(productId);
+          },
+          () -> {
+            showMessage(R.string.msg_stored_in_outbox);
+            finishStockChange(productId);
+          },
+          error -> {
+            restoreStockItem(productId, previous);
+            showNetworkErrorMessage(error);
+            if (debug) {
+              Log.i(TAG, "consumeProduct: " + error);
+            }
           }
-        },
-        error -> {
-          showNetworkErrorMessage(error);
-          if (debug) {
-            Log.i(TAG, "consumeProduct: " + error);
-          }
-        }
-    );
+      );
+    }, error -> {
+      onError(error, TAG);
+      finishStockChange(productId);
+    });
   }
 
   private void openProduct(StockItem stockItem, double amount) {
@@ -564,70 +679,142 @@ public class StockOverviewViewModel extends BaseViewModel {
         Log.e(TAG, "openProduct: " + e);
       }
     }
-    dlHelper.postWithArray(
-        grocyApi.openProduct(stockItem.getProductId()),
-        body,
-        response -> {
-          String transactionId = null;
-          double amountOpened = 0;
-          try {
-            transactionId = response.getJSONObject(0)
-                .getString("transaction_id");
-            for (int i = 0; i < response.length(); i++) {
-              amountOpened += response.getJSONObject(i).getDouble("amount");
-            }
-          } catch (JSONException e) {
-            if (debug) {
-              Log.e(TAG, "openProduct: " + e);
+    String description = getApplication().getString(
+        R.string.msg_opened,
+        NumUtil.trimAmount(amount, maxDecimalPlacesAmount),
+        pluralUtil.getQuantityUnitPlural(
+            quantityUnitHashMap,
+            stockItem.getProduct().getQuIdStockInt(),
+            amount
+        ), stockItem.getProduct().getName()
+    );
+    int productId = stockItem.getProductId();
+    // the expected amount is shown right away and checked against the server's response
+    repository.changeStockItemAmount(productId, 0, amount, previous -> {
+      loadFromDatabase(false);
+      dlHelper.postWithArrayOrStore(
+          grocyApi.openProduct(productId),
+          body,
+          description,
+          response -> {
+            String transactionId = null;
+            double amountOpened = 0;
+            // sub-products can be opened instead, which are not part of the local change
+            boolean otherProductChanged = false;
+            try {
+              transactionId = response.getJSONObject(0)
+                  .getString("transaction_id");
+              for (int i = 0; i < response.length(); i++) {
+                JSONObject logEntry = response.getJSONObject(i);
+                if (!String.valueOf(productId).equals(logEntry.getString("product_id"))) {
+                  otherProductChanged = true;
+                }
+                amountOpened += logEntry.getDouble("amount");
+              }
+            } catch (JSONException e) {
+              if (debug) {
+                Log.e(TAG, "openProduct: " + e);
+              }
             }
-          }
 
-          String msg = getApplication().getString(
-              R.string.msg_opened,
-              NumUtil.trimAmount(amountOpened, maxDecimalPlacesAmount),
-              pluralUtil.getQuantityUnitPlural(
-                  quantityUnitHashMap,
-                  stockItem.getProduct().getQuIdStockInt(),
-                  amountOpened
-              ), stockItem.getProduct().getName()
-          );
-          SnackbarMessage snackbarMsg = new SnackbarMessage(msg, 15);
-
-          // set undo button on snackBar
-          if (transactionId != null) {
-            String finalTransactionId = transactionId;
-            snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
-                grocyApi.undoStockTransaction(finalTransactionId),
-                response1 -> {
-                  downloadData(false);
-                  showSnackbar(new SnackbarMessage(
-                      getString(R.string.msg_undone_transaction),
-                      Snackbar.LENGTH_SHORT
-                  ));
-                  if (debug) {
-                    Log.i(TAG, "openProduct: undone");
-                  }
-                },
-                this::showNetworkErrorMessage
-            ));
-          }
-          downloadData(false);
-          showSnackbar(snackbarMsg);
-          if (debug) {
-            Log.i(
-                TAG, "openProduct: opened " + amountOpened
+            String msg = getApplication().getString(
+                R.string.msg_opened,
+                NumUtil.trimAmount(amountOpened, maxDecimalPlacesAmount),
+                pluralUtil.getQuantityUnitPlural(
+                    quantityUnitHashMap,
+                    stockItem.getProduct().getQuIdStockInt(),
+                    amountOpened
+                ), stockItem.getProduct().getName()
             );
+            SnackbarMessage snackbarMsg = new SnackbarMessage(msg, 15);
+
+            // set undo button on snackBar
+            if (transactionId != null) {
+              String finalTransactionId = transactionId;
+              snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
+                  grocyApi.undoStockTransaction(finalTransactionId),
+                  response1 -> {
+                    downloadData(false);
+                    showSnackbar(new SnackbarMessage(
+                        getString(R.string.msg_undone_transaction),
+                        Snackbar.LENGTH_SHORT
+                    ));
+                    if (debug) {
+                      Log.i(TAG, "openProduct: undone");
+                    }
+                  },
+                  this::showNetworkErrorMessage
+              ));
+            }
+            if (otherProductChanged || !NumUtil.isAmountEqual(amountOpened, amount)) {
+              downloadData(false);
+            }
+            showSnackbar(snackbarMsg);
+            if (debug) {
+              Log.i(
+                  TAG, "openProduct: opened " + amountOpened
+              );
+            }
+            finishStockChange(productId);
+          },
+          () -> {
+            showMessage(R.string.msg_stored_in_outbox);
+            finishStockChange(productId);
+          },
+          error -> {
+            restoreStockItem(productId, previous);
+            showNetworkErrorMessage(error);
+            if (debug) {
+              Log.i(TAG, "openProduct: " + error);
+            }
           }
+      );
+    }, error -> {
+      onError(error, TAG);
+      finishStockChange(productId);
+    });
+  }
+
+  private void restoreStockItem(int productId, @Nullable StockItem previous) {
+    repository.restoreStockItem(
+        productId,
+        previous,
+        () -> {
+          loadFromDatabase(false);
+          finishStockChange(productId);
         },
         error -> {
-          showNetworkErrorMessage(error);
-          if (debug) {
-            Log.i(TAG, "openProduct: " + error);
-          }
+          onError(error, TAG);
+          finishStockChange(productId);
         }
     );
   }
 
+  // Quick actions of one product run one after another. Else a failed request would restore
+  // its stale previous stock item and overwrite the optimistic change of a second swipe.
+  private void runStockChange(int productId, Runnable stockChange) {
+    ArrayDeque<Runnable> waitingChanges = waitingStockChanges.get(productId);
+    if (waitingChanges != null) {
+      waitingChanges.add(stockChange);
+      return;
+    }
+    waitingStockChanges.put(productId, new ArrayDeque<>());
+    stockChange.run();
+  }
+
+  private void finishStockChange(int productId) {
+    ArrayDeque<Runnable> waitingChanges = waitingStockChanges.get(productId);
+    if (waitingChanges == null) {
+      return;
+    }
+    Runnable nextChange = waitingChanges.poll();
+    if (nextChange == null) {
+      waitingStockChanges.remove(productId);
+      return;
+    }
+    nextChange.run();
+  }
+
   public void resetSearch() {
     searchInput = null;
     setIsSearchVisible(false);
@@ -639,20 +826,7 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   public void updateSearchInput(String input) {
     this.searchInput = input.toLowerCase();
-
-    searchResultsFuzzy = new ArrayList<>(30);
-    List<BoundExtractedResult<Product>> results = FuzzySearch.extractTop(
-        this.searchInput,
-        products,
-        item -> item.getName().toLowerCase(),
-        30,
-        70
-    );
-    for (BoundExtractedResult<Product> result : results) {
-      searchResultsFuzzy.add(result.getString());
-    }
-
-    updateFilteredStockItems();
+    searchInputSubject.onNext(this.searchInput);
   }
 
   public ArrayList<Integer> getProductIdsMissingItems() {
@@ -794,10 +968,36 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    filterDisposable.dispose();
     dlHelper.destroy();
     super.onCleared();
   }
 
+  private class FilterState {
+
+    final boolean scrollToTop;
+    final String searchInput;
+    final List<StockItem> stockItems;
+    final HashMap<Integer, HashMap<Integer, StockLocation>> stockLocationsHashMap;
+    final HashMap<Integer, MissingItem> productIdsMissingItems;
+    final int status;
+    final int productGroupFilterId;
+    final int locationFilterId;
+    ArrayList<StockItem> filteredStockItems;
+
+    FilterState(boolean scrollToTop) {
+      // collections are replaced, not modified, when new data is loaded
+      this.scrollToTop = scrollToTop;
+      searchInput = StockOverviewViewModel.this.searchInput;
+      stockItems = StockOverviewViewModel.this.stockItems;
+      stockLocationsHashMap = StockOverviewViewModel.this.stockLocationsHashMap;
+      productIdsMissingItems = StockOverviewViewModel.this.productIdsMissingItems;
+      status = filterChipLiveDataStatus.getStatus();
+      productGroupFilterId = filterChipLiveDataProductGroup.getSelectedId();
+      locationFilterId = filterChipLiveDataLocation.getSelectedId();
+    }
+  }
+
   public static class StockOverviewViewModelFactory implements ViewModelProvider.Factory {
 
     private final Application application;
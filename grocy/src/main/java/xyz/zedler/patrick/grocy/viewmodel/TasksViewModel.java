@@ -128,7 +128,7 @@ public class TasksViewModel extends BaseViewModel {
       tasksOverdueCount = 0;
       for (Task task : data.getTasks()) {
         if (task.isDone()) continue;
-        int daysFromNow = DateUtil.getDaysFromNow(task.getDueDate());
+        int daysFromNow = DateUtil.getDaysFromNowForEpochDay(task.getDueDateEpochDay());
         if (daysFromNow < 0) {
           tasksOverdueCount++;
         }
@@ -180,7 +180,7 @@ public class TasksViewModel extends BaseViewModel {
       if (!filterChipLiveDataStatus.isShowDoneTasks() && task.isDone()) {
         continue;
       }
-      int daysFromNow = DateUtil.getDaysFromNow(task.getDueDate());
+      int daysFromNow = DateUtil.getDaysFromNowForEpochDay(task.getDueDateEpochDay());
       if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusTasks.STATUS_OVERDUE
           && daysFromNow >= 0
           || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusTasks.STATUS_DUE_TODAY
@@ -225,9 +225,12 @@ public class TasksViewModel extends BaseViewModel {
         }
       }
     }
-    dlHelper.postWithArray(
+    dlHelper.postWithArrayOrStore(
         !task.isDone() ? grocyApi.completeTask(task.getId()) : grocyApi.undoTask(task.getId()),
         body,
+        getApplication().getString(
+            !task.isDone() ? R.string.msg_task_completed : R.string.msg_task_not_completed
+        ) + " (" + task.getName() + ")",
         response -> {
           String msg = getApplication().getString(
               !task.isDone() ? R.string.msg_task_completed : R.string.msg_task_not_completed
@@ -243,6 +246,7 @@ public class TasksViewModel extends BaseViewModel {
             Log.i(TAG, "undoTask: undone" + task.getName());
           }
         },
+        () -> showMessage(R.string.msg_stored_in_outbox),
         error -> {
           showNetworkErrorMessage(error);
           if (debug) {
@@ -64,12 +64,12 @@ import xyz.zedler.patrick.grocy.model.StockEntry;
 import xyz.zedler.patrick.grocy.model.StockLocation;
 import xyz.zedler.patrick.grocy.repository.InventoryRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
-import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
+import xyz.zedler.patrick.grocy.util.BarcodeResolver;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
-import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionIndex;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class TransferViewModel extends BaseViewModel {
 
@@ -83,8 +83,8 @@ public class TransferViewModel extends BaseViewModel {
   private final FormDataTransfer formData;
 
   private List<Product> products;
-  private List<QuantityUnitConversionResolved> unitConversions;
-  private List<ProductBarcode> barcodes;
+  private QuantityUnitConversionIndex unitConversionIndex;
+  private BarcodeResolver barcodeResolver;
   private List<Location> locations;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
@@ -124,7 +124,7 @@ public class TransferViewModel extends BaseViewModel {
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
 
-    barcodes = new ArrayList<>();
+    barcodeResolver = new BarcodeResolver();
   }
 
   public FormDataTransfer getFormData() {
@@ -134,10 +134,19 @@ public class TransferViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
+      this.barcodeResolver = new BarcodeResolver(
+          data.getBarcodes(),
+          null,
+          ArrayUtil.getProductsHashMap(products),
+          null
+      );
       this.locations = data.getLocations();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getQuantityUnitConversionsResolved();
+      this.unitConversionIndex = new QuantityUnitConversionIndex(
+          quantityUnitHashMap,
+          data.getQuantityUnitConversionsResolved(),
+          VersionUtil.isGrocyServerMin400(sharedPrefs)
+      );
       formData.getProductsLive().setValue(Product.getActiveAndStockEnabledProductsOnly(products));
       if (downloadAfterLoading) {
         downloadData(false);
@@ -200,12 +209,7 @@ public class TransferViewModel extends BaseViewModel {
       formData.getFromLocationLive().setValue(stockLocation);
 
       // quantity unit
-      HashMap<QuantityUnit, Double> unitFactors= QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
+      HashMap<QuantityUnit, Double> unitFactors= unitConversionIndex.getUnitFactors(product);
       formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
       QuantityUnit stock = quantityUnitHashMap.get(product.getQuIdStockInt());
       formData.getQuantityUnitStockLive().setValue(stock);
@@ -266,12 +270,15 @@ public class TransferViewModel extends BaseViewModel {
 
     dlHelper.newQueue(
         updated -> onQueueEmptyListener.run(),
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details)),
+        NetworkQueue.PRIORITY_USER_ACTION
     ).append(
         ProductDetails.getProductDetails(
             dlHelper,
             productId,
-            productDetails -> formData.getProductDetailsLive().setValue(productDetails)
+            productDetails -> formData.getProductDetailsLive().setValue(productDetails),
+            null,
+            true
         ), StockLocation.getStockLocations(
             dlHelper,
             productId,
@@ -286,35 +293,24 @@ public class TransferViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
+      if (!barcodeResolver.contains(barcode)) {
         formData.getBarcodeLive().setValue(barcode);
       } else {
         showMessage(R.string.msg_clear_form_first);
       }
       return;
     }
-    Product product = null;
-    String stockEntryId = null;
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
-    if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-      stockEntryId = grocycode.getProductStockEntryId();
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(barcode);
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
-      return;
-    }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
-    if (product != null) {
-      setProduct(product.getId(), productBarcode, stockEntryId);
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(
+          result.getProduct().getId(),
+          result.getProductBarcode(),
+          result.getStockEntryId()
+      );
     } else {
       Bundle bundle = new Bundle();
       bundle.putString(ARGUMENT.BARCODE, barcode);
@@ -330,29 +326,19 @@ public class TransferViewModel extends BaseViewModel {
     }
     Product product = Product.getProductFromName(products, input);
 
-    Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
-    if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
-      if (product == null) {
-        showMessageAndContinueScanning(R.string.msg_not_found);
-        return;
-      }
-    } else if (grocycode != null) {
+    BarcodeResolver.Result result = barcodeResolver.resolve(input.trim());
+    if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_NOT_FOUND) {
+      showMessageAndContinueScanning(R.string.msg_not_found);
+      return;
+    } else if (result.getType() == BarcodeResolver.TYPE_GROCYCODE_WRONG_TYPE) {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
-    }
-    if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+    } else if (result.getType() == BarcodeResolver.TYPE_PRODUCT
+        && result.getProductBarcode() == null) {
+      product = result.getProduct(); // Grocycode
+    } else if (product == null && result.getType() == BarcodeResolver.TYPE_PRODUCT) {
+      setProduct(result.getProduct().getId(), result.getProductBarcode(), null);
+      return;
     }
 
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
@@ -399,8 +385,9 @@ public class TransferViewModel extends BaseViewModel {
       return;
     }
 
-    dlHelper.postWithArray(grocyApi.transferProduct(product.getId()),
+    dlHelper.postWithArrayOrStore(grocyApi.transferProduct(product.getId()),
         body,
+        formData.getTransactionSuccessMsg(formData.getAmountStockDouble()),
         response -> {
           // UNDO OPTION
           String transactionId = null;
@@ -440,6 +427,10 @@ public class TransferViewModel extends BaseViewModel {
           showSnackbar(snackbarMessage);
           sendEvent(Event.CONSUME_SUCCESS);
         },
+        () -> {
+          showMessage(R.string.msg_stored_in_outbox);
+          sendEvent(Event.CONSUME_SUCCESS);
+        },
         error -> {
           showNetworkErrorMessage(error);
           if (debug) {
@@ -467,7 +458,8 @@ public class TransferViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     ProductBarcode.addProductBarcode(dlHelper, body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      // add to resolver so it will be found on next scan without reload
+      barcodeResolver.add(productBarcode);
       if (onSuccess != null) {
         onSuccess.run();
       }
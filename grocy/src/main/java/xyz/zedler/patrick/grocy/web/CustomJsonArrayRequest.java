@@ -29,8 +29,7 @@ import com.android.volley.Response;
 import com.android.volley.RetryPolicy;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.android.volley.toolbox.JsonRequest;
-import java.io.UnsupportedEncodingException;
-import java.util.Collections;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -79,8 +78,9 @@ public class CustomJsonArrayRequest extends JsonRequest<JSONArray> {
   @Override
   protected Response<JSONArray> parseNetworkResponse(NetworkResponse response) {
     try {
-      String jsonString = new String(
-          response.data,
+      // org.json only parses strings, the responses of write requests are small
+      String jsonString = ResponseBodyDecoder.getString(
+          response,
           HttpHeaderParser.parseCharset(response.headers, PROTOCOL_CHARSET)
       );
       JSONArray result = null;
@@ -88,11 +88,17 @@ public class CustomJsonArrayRequest extends JsonRequest<JSONArray> {
         result = new JSONArray(jsonString);
       }
       return Response.success(result, HttpHeaderParser.parseCacheHeaders(response));
-    } catch (UnsupportedEncodingException | JSONException e) {
+    } catch (IOException | JSONException e) {
       return Response.error(new ParseError(e));
     }
   }
 
+  @Override
+  public Priority getPriority() {
+    // user actions like purchase or consume are dispatched before pending downloads
+    return getMethod() == Method.GET ? Priority.NORMAL : Priority.HIGH;
+  }
+
   @Override
   public Map<String, String> getHeaders() {
     Map<String, String> params = new HashMap<>();
@@ -111,6 +117,7 @@ public class CustomJsonArrayRequest extends JsonRequest<JSONArray> {
       params.put("Cookie", "ingress_session=" + homeAssistantIngressSessionKey);
     }
     params.put("Content-Type", "application/json");
-    return params.isEmpty() ? Collections.emptyMap() : params;
+    ResponseBodyDecoder.putAcceptEncoding(params);
+    return params;
   }
 }
@@ -29,7 +29,7 @@ import com.android.volley.Response;
 import com.android.volley.RetryPolicy;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.android.volley.toolbox.JsonObjectRequest;
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -79,8 +79,9 @@ public class CustomJsonObjectRequest extends JsonObjectRequest {
   @Override
   protected Response<JSONObject> parseNetworkResponse(NetworkResponse response) {
     try {
-      String jsonString = new String(
-          response.data,
+      // org.json only parses strings, the responses of write requests are small
+      String jsonString = ResponseBodyDecoder.getString(
+          response,
           HttpHeaderParser.parseCharset(response.headers, PROTOCOL_CHARSET)
       );
       JSONObject result = null;
@@ -88,11 +89,17 @@ public class CustomJsonObjectRequest extends JsonObjectRequest {
         result = new JSONObject(jsonString);
       }
       return Response.success(result, HttpHeaderParser.parseCacheHeaders(response));
-    } catch (UnsupportedEncodingException | JSONException e) {
+    } catch (IOException | JSONException e) {
       return Response.error(new ParseError(e));
     }
   }
 
+  @Override
+  public Priority getPriority() {
+    // user actions like purchase or consume are dispatched before pending downloads
+    return getMethod() == Method.GET ? Priority.NORMAL : Priority.HIGH;
+  }
+
   @Override
   public Map<String, String> getHeaders() {
     Map<String, String> params = new HashMap<>();
@@ -115,6 +122,7 @@ public class CustomJsonObjectRequest extends JsonObjectRequest {
       params.put("Cookie", "ingress_session=" + homeAssistantIngressSessionKey);
     }
     params.put("Content-Type", "application/json");
+    ResponseBodyDecoder.putAcceptEncoding(params);
     return params;
   }
 }
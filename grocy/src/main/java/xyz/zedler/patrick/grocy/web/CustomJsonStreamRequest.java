@@ -0,0 +1,207 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.util.Base64;
+import androidx.annotation.Nullable;
+import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.RetryPolicy;
+import com.android.volley.toolbox.HttpHeaderParser;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GET request for JSON arrays of objects. The body is delivered as received (gzip compressed
+ * if the server supports it) and decoded later with a JsonReader in batches of fixed size,
+ * so neither the inflated String nor the complete object list is ever held in memory.
+ * The delivered response is null if the server answered with 304 Not Modified.
+ */
+public class CustomJsonStreamRequest<T> extends Request<CustomJsonStreamRequest.Body<T>> {
+
+  private final String url;
+  private final String apiKey;
+  private final String homeAssistantIngressSessionKey;
+  private final Gson gson;
+  private final Class<T> objectClass;
+  private final ValidatorStore validatorStore;
+  private final Response.Listener<Body<T>> listener;
+  private volatile Map<String, String> responseHeaders;
+
+  public CustomJsonStreamRequest(
+      String url,
+      String apiKey,
+      String homeAssistantIngressSessionKey,
+      Gson gson,
+      Class<T> objectClass,
+      @Nullable ValidatorStore validatorStore,
+      Response.Listener<Body<T>> listener,
+      @Nullable Response.ErrorListener errorListener,
+      int timeoutSeconds,
+      String tag
+  ) {
+    super(Method.GET, url, error -> {
+      if (errorListener != null) {
+        errorListener.onErrorResponse(error);
+      }
+    });
+    this.url = url;
+    this.apiKey = apiKey;
+    this.homeAssistantIngressSessionKey = homeAssistantIngressSessionKey;
+    this.gson = gson;
+    this.objectClass = objectClass;
+    this.validatorStore = validatorStore;
+    this.listener = listener;
+    if (tag != null) {
+      setTag(tag);
+    }
+    setShouldCache(false);
+    RetryPolicy policy = new DefaultRetryPolicy(
+        timeoutSeconds * 1000,
+        DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
+        DefaultRetryPolicy.DEFAULT_BACKOFF_MULT
+    );
+    setRetryPolicy(policy);
+  }
+
+  @Override
+  protected Response<Body<T>> parseNetworkResponse(NetworkResponse response) {
+    if (response.notModified) {
+      return Response.success(null, null);
+    }
+    if (response.data == null) {
+      return Response.error(new ParseError(response));
+    }
+    responseHeaders = response.headers;
+    return Response.success(
+        new Body<>(response, gson, objectClass),
+        HttpHeaderParser.parseCacheHeaders(response)
+    );
+  }
+
+  @Override
+  protected void deliverResponse(Body<T> response) {
+    if (listener == null) {
+      return;
+    }
+    if (validatorStore == null || response == null) {
+      listener.onResponse(response);
+      return;
+    }
+    // the validators are stored together with the objects after the database commit
+    validatorStore.setDeliveredValidators(url, responseHeaders);
+    try {
+      listener.onResponse(response);
+    } finally {
+      validatorStore.setDeliveredValidators(null, null);
+    }
+  }
+
+  @Override
+  public Map<String, String> getHeaders() {
+    Map<String, String> params = new HashMap<>();
+    Matcher matcher = Pattern.compile("(http|https)://(\\S+):(\\S+)@(\\S+)").matcher(url);
+    if (matcher.matches()) {
+      String user = matcher.group(2);
+      String password = matcher.group(3);
+      byte[] combination = (user + ":" + password).getBytes();
+      String encoded = Base64.encodeToString(combination, Base64.DEFAULT);
+      params.put("Authorization", "Basic " + encoded);
+    }
+    if (apiKey != null && !apiKey.isEmpty()) {
+      params.put("GROCY-API-KEY", apiKey);
+    }
+    if (homeAssistantIngressSessionKey != null) {
+      params.put("Cookie", "ingress_session=" + homeAssistantIngressSessionKey);
+    }
+    if (validatorStore != null) {
+      validatorStore.addConditionalHeaders(url, params);
+    }
+    ResponseBodyDecoder.putAcceptEncoding(params);
+    return params;
+  }
+
+  public static class Body<T> {
+
+    private final NetworkResponse response;
+    private final Gson gson;
+    private final Class<T> objectClass;
+
+    private Body(NetworkResponse response, Gson gson, Class<T> objectClass) {
+      this.response = response;
+      this.gson = gson;
+      this.objectClass = objectClass;
+    }
+
+    public int getSize() {
+      return response.data.length;
+    }
+
+    /**
+     * Decodes the array and hands the objects over in batches, gzip is inflated while the
+     * reader consumes it. Returns the number of objects.
+     */
+    public int decode(int batchSize, OnBatchListener<T> onBatchListener) throws IOException {
+      int count = 0;
+      try (JsonReader reader = new JsonReader(new InputStreamReader(
+          ResponseBodyDecoder.getInputStream(response),
+          HttpHeaderParser.parseCharset(response.headers, "UTF-8")
+      ))) {
+        onBatchListener.onStart();
+        List<T> batch = new ArrayList<>(batchSize);
+        reader.beginArray();
+        while (reader.hasNext()) {
+          batch.add(gson.fromJson(reader, objectClass));
+          if (batch.size() >= batchSize) {
+            onBatchListener.onBatch(batch);
+            count += batch.size();
+            batch = new ArrayList<>(batchSize);
+          }
+        }
+        reader.endArray();
+        if (!batch.isEmpty()) {
+          onBatchListener.onBatch(batch);
+          count += batch.size();
+        }
+      }
+      return count;
+    }
+  }
+
+  public interface OnBatchListener<T> {
+
+    // called before the first batch, e.g. to clear the table
+    void onStart();
+
+    void onBatch(List<T> batch);
+  }
+}
@@ -23,10 +23,13 @@ package xyz.zedler.patrick.grocy.web;
 import android.util.Base64;
 import androidx.annotation.Nullable;
 import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
 import com.android.volley.Response;
 import com.android.volley.RetryPolicy;
+import com.android.volley.toolbox.HttpHeaderParser;
 import com.android.volley.toolbox.StringRequest;
-import java.util.Collections;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -39,6 +42,10 @@ public class CustomStringRequest extends StringRequest {
   private final String apiKey;
   private final String homeAssistantIngressSessionKey;
   private final String userAgent;
+  private ValidatorStore validatorStore;
+  private Runnable onNotModified;
+  private volatile boolean notModified = false;
+  private volatile Map<String, String> responseHeaders;
 
   public CustomStringRequest(
       int method,
@@ -169,6 +176,63 @@ public class CustomStringRequest extends StringRequest {
     );
   }
 
+  /**
+   * Sends the stored validators of this URL and provides the new ones of a successful response
+   * to the ValidatorStore while the response is delivered.
+   * If the server answers with 304 Not Modified, onNotModified is called instead of the
+   * response listener.
+   */
+  public void setConditional(ValidatorStore validatorStore, Runnable onNotModified) {
+    this.validatorStore = validatorStore;
+    this.onNotModified = onNotModified;
+    // a cached entry would add its own validators and replace a 304 with the cached body
+    setShouldCache(false);
+  }
+
+  @Override
+  protected Response<String> parseNetworkResponse(NetworkResponse response) {
+    if (validatorStore != null) {
+      if (response.notModified) {
+        notModified = true;
+        return Response.success(null, null);
+      }
+      responseHeaders = response.headers;
+    }
+    try {
+      String parsed = ResponseBodyDecoder.getString(
+          response, HttpHeaderParser.parseCharset(response.headers)
+      );
+      return Response.success(parsed, HttpHeaderParser.parseCacheHeaders(response));
+    } catch (IOException e) {
+      return Response.error(new ParseError(e));
+    }
+  }
+
+  @Override
+  protected void deliverResponse(String response) {
+    if (notModified && onNotModified != null) {
+      onNotModified.run();
+      return;
+    }
+    if (validatorStore == null) {
+      super.deliverResponse(response);
+      return;
+    }
+    // the validators are stored together with the response after the database commit
+    validatorStore.setDeliveredValidators(url, responseHeaders);
+    try {
+      super.deliverResponse(response);
+    } finally {
+      validatorStore.setDeliveredValidators(null, null);
+    }
+  }
+
+  @Override
+  public Priority getPriority() {
+    // user actions like purchase or consume are dispatched before pending downloads
+    return getMethod() == Method.GET ? Priority.NORMAL : Priority.HIGH;
+  }
+
   @Override
   public Map<String, String> getHeaders() {
     Map<String, String> params = new HashMap<>();
@@ -191,6 +255,10 @@ public class CustomStringRequest extends StringRequest {
     if (userAgent != null) {
       params.put("User-Agent", userAgent);
     }
-    return params.isEmpty() ? Collections.emptyMap() : params;
+    if (validatorStore != null) {
+      validatorStore.addConditionalHeaders(url, params);
+    }
+    ResponseBodyDecoder.putAcceptEncoding(params);
+    return params;
   }
 }
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * PUT request which streams a file as request body instead of loading it into memory,
+ * like Volley would do with a byte array body. Must be executed on a background thread.
+ */
+public class FileUploadRequest {
+
+  private static final int SEGMENT_SIZE = 8 * 1024;
+
+  private final String url;
+  private final File file;
+  private final Map<String, String> headers;
+  private final int timeoutSeconds;
+
+  public interface OnProgressListener {
+
+    void onProgress(long bytesWritten, long contentLength);
+  }
+
+  public FileUploadRequest(
+      String url,
+      File file,
+      Map<String, String> headers,
+      int timeoutSeconds
+  ) {
+    this.url = url;
+    this.file = file;
+    this.headers = headers;
+    this.timeoutSeconds = timeoutSeconds;
+  }
+
+  /**
+   * @return HTTP status code of the response
+   * @throws IOException if the connection failed or the server responded with an error code
+   */
+  public int execute(
+      OkHttpClient client,
+      @Nullable OnProgressListener onProgress
+  ) throws IOException {
+    // derived client shares connection pool and dispatcher with the original one
+    OkHttpClient uploadClient = client.newBuilder()
+        .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
+        .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+        .writeTimeout(timeoutSeconds, TimeUnit.SECONDS)
+        .build();
+    Request.Builder builder = new Request.Builder()
+        .url(url)
+        .put(new FileRequestBody(file, onProgress));
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      // Base64.DEFAULT terminates basic auth credentials with a line break
+      builder.header(header.getKey(), header.getValue().trim());
+    }
+    try (Response response = uploadClient.newCall(builder.build()).execute()) {
+      if (!response.isSuccessful()) {
+        throw new HttpException(response.code());
+      }
+      return response.code();
+    }
+  }
+
+  public static class HttpException extends IOException {
+
+    private final int statusCode;
+
+    public HttpException(int statusCode) {
+      super("Unexpected response code " + statusCode);
+      this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+      return statusCode;
+    }
+  }
+
+  private static class FileRequestBody extends RequestBody {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/octet-stream");
+
+    private final File file;
+    private final OnProgressListener onProgress;
+
+    FileRequestBody(File file, @Nullable OnProgressListener onProgress) {
+      this.file = file;
+      this.onProgress = onProgress;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+      return file.length();
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+      long contentLength = contentLength();
+      long written = 0;
+      try (Source source = Okio.source(file)) {
+        long read;
+        while ((read = source.read(sink.getBuffer(), SEGMENT_SIZE)) != -1) {
+          sink.emitCompleteSegments();
+          written += read;
+          if (onProgress != null) {
+            onProgress.onProgress(written, contentLength);
+          }
+        }
+      }
+    }
+  }
+}
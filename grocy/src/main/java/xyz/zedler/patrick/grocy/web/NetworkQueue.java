@@ -20,22 +20,55 @@
 
 package xyz.zedler.patrick.grocy.web;
 
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.Nullable;
 import com.android.volley.RequestQueue;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnLoadingListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.helper.SyncSession;
 
 public class NetworkQueue {
 
+  // user actions like consuming a product should never wait for background downloads
+  public final static int PRIORITY_USER_ACTION = 0;
+  // data for the currently visible screen
+  public final static int PRIORITY_VISIBLE = 1;
+  // data which is only prefetched for later use
+  public final static int PRIORITY_BACKGROUND = 2;
+
+  // maximum number of QueueItems of all queues which are performed at the same time,
+  // lower than the number of Volley dispatcher threads so single requests outside
+  // of queues always find a free thread
+  private final static int MAX_ITEMS_IN_FLIGHT = 4;
+  // an item which didn't call back after this time doesn't block the other queues anymore,
+  // its response is still handled if it comes later
+  private final static long SLOT_TIMEOUT_MILLIS = 3 * 60 * 1000;
+  private final static Handler HANDLER = new Handler(Looper.getMainLooper());
+  private final static List<ArrayDeque<NetworkQueue>> WAITING_QUEUES = Arrays.asList(
+      new ArrayDeque<>(), new ArrayDeque<>(), new ArrayDeque<>()
+  );
+  private static int itemsInFlight = 0;
+  private static boolean isDispatching = false;
+
   private final ArrayList<QueueItem> queueItems;
+  private final ArrayDeque<QueueItem> pendingItems;
+  private final ArrayList<Slot> slotsInFlight;
   private final OnQueueEmptyListener onQueueEmptyListener;
   private final OnMultiTypeErrorListener onErrorListener;
   private final OnLoadingListener onLoadingListener;
   private final RequestQueue requestQueue;
   private final String uuidQueue;
+  private final int priority;
+  private SyncSession syncSession;
   private int requestsNotFinishedCount;
+  private int generation;
   private boolean isRunning; // state of queue
   private boolean isLoading; // state of "loading" circle
   private boolean realRequestsMade; // true if any real requests were made (not only QueueItemWithoutLoading in queue)
@@ -44,15 +77,20 @@ public class NetworkQueue {
       RequestQueue requestQueue,
       OnQueueEmptyListener onQueueEmptyListener,
       OnMultiTypeErrorListener onErrorListener,
-      OnLoadingListener onLoadingListener
+      OnLoadingListener onLoadingListener,
+      int priority
   ) {
     this.onQueueEmptyListener = onQueueEmptyListener;
     this.onErrorListener = onErrorListener;
     this.onLoadingListener = onLoadingListener;
     this.requestQueue = requestQueue;
+    this.priority = priority;
     queueItems = new ArrayList<>();
+    pendingItems = new ArrayDeque<>();
+    slotsInFlight = new ArrayList<>();
     uuidQueue = UUID.randomUUID().toString();
     requestsNotFinishedCount = 0;
+    generation = 0;
     isRunning = false;
     isLoading = false;
     realRequestsMade = false;
@@ -115,33 +153,116 @@ public class NetworkQueue {
         onLoadingListener.onLoadingChanged(true);
         isLoading = true;
       }
-      queueItem.perform(response -> {
-        requestsNotFinishedCount--;
-        if (requestsNotFinishedCount > 0) {
-          return;
-        }
-        isRunning = false;
-        isLoading = false;
-        if (onLoadingListener != null) {
-          onLoadingListener.onLoadingChanged(false);
-        }
-        if (onQueueEmptyListener != null) {
-          onQueueEmptyListener.onQueueEmpty(realRequestsMade); // TODO: Test it
-        }
-        reset(false);
-      }, error -> {
-        isRunning = false;
-        isLoading = false;
-        if (onLoadingListener != null) {
-          onLoadingListener.onLoadingChanged(false);
+      pendingItems.add(queueItem);
+    }
+    queueItems.clear();
+    ArrayDeque<NetworkQueue> waiting = WAITING_QUEUES.get(priority);
+    if (!waiting.contains(this)) {
+      waiting.add(this);
+    }
+    dispatch();
+  }
+
+  /**
+   * Starts waiting items of all queues until MAX_ITEMS_IN_FLIGHT is reached. Queues with
+   * higher priority are served first, queues with the same priority take turns one item at
+   * a time. Must be called on the main thread like all other queue methods.
+   */
+  private static void dispatch() {
+    if (isDispatching) {
+      return; // items which respond synchronously would otherwise recurse
+    }
+    isDispatching = true;
+    while (itemsInFlight < MAX_ITEMS_IN_FLIGHT) {
+      NetworkQueue queue = null;
+      for (ArrayDeque<NetworkQueue> waiting : WAITING_QUEUES) {
+        queue = waiting.poll();
+        if (queue != null) {
+          break;
         }
-        if (onErrorListener != null) {
-          onErrorListener.onError(error);
+      }
+      if (queue == null) {
+        break;
+      }
+      QueueItem queueItem = queue.pendingItems.poll();
+      if (!queue.pendingItems.isEmpty()) {
+        WAITING_QUEUES.get(queue.priority).add(queue);
+      }
+      if (queueItem != null) {
+        queue.performQueueItem(queueItem);
+      }
+    }
+    isDispatching = false;
+  }
+
+  private void performQueueItem(QueueItem queueItem) {
+    Slot slot = new Slot(generation);
+    queueItem.perform(response -> {
+      if (!slot.release()) {
+        return;
+      }
+      requestsNotFinishedCount--;
+      if (requestsNotFinishedCount <= 0) {
+        if (syncSession != null && !syncSession.isEmpty()) {
+          syncSession.commit(this::onQueueFinished, this::onQueueFailed);
+        } else {
+          onQueueFinished();
         }
-        reset(true);
-      }, uuidQueue);
+      }
+      dispatch();
+    }, error -> {
+      if (!slot.release()) {
+        return;
+      }
+      onQueueFailed(error);
+      dispatch();
+    }, uuidQueue);
+  }
+
+  private void onQueueFinished() {
+    isRunning = false;
+    isLoading = false;
+    if (onLoadingListener != null) {
+      onLoadingListener.onLoadingChanged(false);
     }
-    queueItems.clear();
+    if (onQueueEmptyListener != null) {
+      onQueueEmptyListener.onQueueEmpty(realRequestsMade); // TODO: Test it
+    }
+    reset(false);
+  }
+
+  private void onQueueFailed(Object error) {
+    isRunning = false;
+    isLoading = false;
+    if (onLoadingListener != null) {
+      onLoadingListener.onLoadingChanged(false);
+    }
+    if (onErrorListener != null) {
+      onErrorListener.onError(error);
+    }
+    reset(true);
+  }
+
+  /**
+   * In sync session mode, QueueItems hand their database writes over to the session
+   * (see DownloadHelper.storeObjects) and all of them are committed together
+   * before the OnQueueEmptyListener is called.
+   */
+  public void setSyncSession(@Nullable SyncSession syncSession) {
+    this.syncSession = syncSession;
+  }
+
+  @Nullable
+  public SyncSession getSyncSession() {
+    return syncSession;
+  }
+
+  public String getUuid() {
+    return uuidQueue;
+  }
+
+  public int getPriority() {
+    return priority;
   }
 
   public int getSize() {
@@ -155,10 +276,57 @@ public class NetworkQueue {
   public void reset(boolean cancelAll) {
     if (cancelAll) {
       requestQueue.cancelAll(uuidQueue);
+      // responses of cancelled items are ignored, so their slots have to be freed here
+      generation++;
+      for (Slot slot : new ArrayList<>(slotsInFlight)) {
+        slot.free();
+      }
     }
+    WAITING_QUEUES.get(priority).remove(this);
+    pendingItems.clear();
     queueItems.clear();
     requestsNotFinishedCount = 0;
     realRequestsMade = false;
+    if (syncSession != null) {
+      syncSession.clear();
+    }
+  }
+
+  private class Slot {
+
+    private final int generation;
+    private final Runnable timeout;
+    private boolean released = false;
+
+    Slot(int generation) {
+      this.generation = generation;
+      timeout = () -> {
+        free();
+        dispatch();
+      };
+      itemsInFlight++;
+      slotsInFlight.add(this);
+      HANDLER.postDelayed(timeout, SLOT_TIMEOUT_MILLIS);
+    }
+
+    // returns false if the response belongs to a cancelled run or was already reported
+    boolean release() {
+      if (released || generation != NetworkQueue.this.generation) {
+        return false;
+      }
+      released = true;
+      free();
+      return true;
+    }
+
+    // gives the slot back to all queues, does nothing if it was already given back
+    void free() {
+      if (!slotsInFlight.remove(this)) {
+        return;
+      }
+      HANDLER.removeCallbacks(timeout);
+      itemsInFlight--;
+    }
   }
 
   public abstract static class QueueItem {
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import androidx.annotation.Nullable;
+import com.android.volley.AuthFailureError;
+import com.android.volley.Header;
+import com.android.volley.Request;
+import com.android.volley.toolbox.BaseHttpStack;
+import com.android.volley.toolbox.HttpResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Volley stack on top of OkHttp. All requests share the connection pool of the given client,
+ * so parallel downloads are multiplexed over one HTTP/2 connection or reuse kept-alive
+ * HTTP/1.1 connections instead of doing a TLS handshake for every request.
+ */
+public class OkHttpStack extends BaseHttpStack {
+
+  private final OkHttpClient client;
+
+  public OkHttpStack(OkHttpClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public HttpResponse executeRequest(
+      Request<?> request,
+      Map<String, String> additionalHeaders
+  ) throws IOException, AuthFailureError {
+    int timeoutMs = request.getTimeoutMs();
+    // derived clients share connection pool and dispatcher with the original one
+    OkHttpClient client = this.client.newBuilder()
+        .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .build();
+
+    okhttp3.Request.Builder builder = new okhttp3.Request.Builder().url(request.getUrl());
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    for (Map.Entry<String, String> header : additionalHeaders.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    setMethodAndBody(builder, request);
+
+    Response response = client.newCall(builder.build()).execute();
+    List<Header> headers = getHeaders(response.headers());
+    ResponseBody body = response.body();
+    if (body == null) {
+      return new HttpResponse(response.code(), headers);
+    }
+    // the stream is closed by Volley after reading, which also releases the connection
+    return new HttpResponse(
+        response.code(),
+        headers,
+        (int) body.contentLength(),
+        body.byteStream()
+    );
+  }
+
+  private static void setMethodAndBody(
+      okhttp3.Request.Builder builder,
+      Request<?> request
+  ) throws AuthFailureError {
+    switch (request.getMethod()) {
+      case Request.Method.DEPRECATED_GET_OR_POST:
+        byte[] postBody = request.getBody();
+        if (postBody != null) {
+          builder.post(RequestBody.create(postBody, getMediaType(request)));
+        } else {
+          builder.get();
+        }
+        break;
+      case Request.Method.GET:
+        builder.get();
+        break;
+      case Request.Method.DELETE:
+        RequestBody deleteBody = getBody(request);
+        if (deleteBody != null) {
+          builder.delete(deleteBody);
+        } else {
+          builder.delete();
+        }
+        break;
+      case Request.Method.POST:
+        builder.post(getBodyOrEmpty(request));
+        break;
+      case Request.Method.PUT:
+        builder.put(getBodyOrEmpty(request));
+        break;
+      case Request.Method.HEAD:
+        builder.head();
+        break;
+      case Request.Method.OPTIONS:
+        builder.method("OPTIONS", null);
+        break;
+      case Request.Method.TRACE:
+        builder.method("TRACE", null);
+        break;
+      case Request.Method.PATCH:
+        builder.patch(getBodyOrEmpty(request));
+        break;
+      default:
+        throw new IllegalStateException("Unknown method type.");
+    }
+  }
+
+  @Nullable
+  private static RequestBody getBody(Request<?> request) throws AuthFailureError {
+    byte[] body = request.getBody();
+    return body != null ? RequestBody.create(body, getMediaType(request)) : null;
+  }
+
+  private static RequestBody getBodyOrEmpty(Request<?> request) throws AuthFailureError {
+    RequestBody body = getBody(request);
+    return body != null ? body : RequestBody.create(new byte[0], getMediaType(request));
+  }
+
+  @Nullable
+  private static MediaType getMediaType(Request<?> request) {
+    return MediaType.parse(request.getBodyContentType());
+  }
+
+  private static List<Header> getHeaders(Headers responseHeaders) {
+    List<Header> headers = new ArrayList<>(responseHeaders.size());
+    for (int i = 0; i < responseHeaders.size(); i++) {
+      headers.add(new Header(responseHeaders.name(i), responseHeaders.value(i)));
+    }
+    return headers;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the last stock product details responses in memory, so scanning the same product
+ * again shortly after doesn't need a request. The entry of a product is removed as soon as
+ * this app sends a request which could change its details, requests which can't be
+ * assigned to one product and syncs which downloaded changes remove all entries.
+ * The aggregated amounts of a parent product include its sub products, so the entry of the
+ * parent is removed together with the entry of a sub product and the other way round.
+ * Entries are additionally limited in age because changes of other clients are only noticed
+ * with the next sync.
+ */
+public class ProductDetailsCache {
+
+  private final static int MAX_ENTRIES = 20;
+  private final static int MAX_PARENT_IDS = 200;
+  private final static long MAX_AGE = 5 * 60 * 1000;
+  private final static Pattern PRODUCT_URL_PATTERN = Pattern.compile(
+      "/(?:stock|objects)/products/([0-9]+)(?:[/?].*)?$"
+  );
+
+  private static ProductDetailsCache INSTANCE;
+
+  private final LinkedHashMap<Integer, Entry> entries;
+  // parent product ids of all products seen in a response, kept after their entry is removed
+  private final LinkedHashMap<Integer, Integer> parentIds;
+  // incremented by every invalidation, responses of requests started before are not stored
+  private int generation = 0;
+
+  public static synchronized ProductDetailsCache getInstance() {
+    if (INSTANCE == null) {
+      INSTANCE = new ProductDetailsCache();
+    }
+    return INSTANCE;
+  }
+
+  private ProductDetailsCache() {
+    // access order, so the least recently scanned product is removed first
+    entries = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+        return size() > MAX_ENTRIES;
+      }
+    };
+    parentIds = new LinkedHashMap<>(MAX_PARENT_IDS, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+        return size() > MAX_PARENT_IDS;
+      }
+    };
+  }
+
+  @Nullable
+  public synchronized String get(int productId) {
+    Entry entry = entries.get(productId);
+    if (entry == null) {
+      return null;
+    }
+    if (SystemClock.elapsedRealtime() - entry.time > MAX_AGE) {
+      entries.remove(productId);
+      return null;
+    }
+    return entry.response;
+  }
+
+  public synchronized int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @param parentProductId the parent product of the product or -1 if it has none
+   * @param hasChildren     whether the product is the parent of other products
+   */
+  public synchronized void put(
+      int productId,
+      int parentProductId,
+      boolean hasChildren,
+      String response,
+      int requestGeneration
+  ) {
+    parentIds.put(productId, parentProductId);
+    if (requestGeneration != generation) {
+      return;
+    }
+    entries.put(
+        productId,
+        new Entry(response, hasChildren, SystemClock.elapsedRealtime())
+    );
+  }
+
+  // for all requests which could change data on the server, before they are sent and again
+  // after their response, because details downloaded while they were sent may be outdated
+  public synchronized void invalidate(@Nullable String url) {
+    generation++;
+    Matcher matcher = url != null ? PRODUCT_URL_PATTERN.matcher(url) : null;
+    if (matcher != null && matcher.find()) {
+      String productId = matcher.group(1);
+      if (productId != null) {
+        int id = Integer.parseInt(productId);
+        entries.remove(id);
+        removeParentEntry(id);
+        removeChildEntries(id);
+        return;
+      }
+    }
+    entries.clear();
+  }
+
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+  }
+
+  private void removeParentEntry(int productId) {
+    Integer parentProductId = parentIds.get(productId);
+    if (parentProductId != null) {
+      if (parentProductId != -1) {
+        entries.remove(parentProductId);
+      }
+      return;
+    }
+    // parent is unknown, so all entries which could be its parent are removed
+    entries.values().removeIf(entry -> entry.hasChildren);
+  }
+
+  // sub products without a known parent are removed too, their parent may be this product
+  private void removeChildEntries(int productId) {
+    entries.keySet().removeIf(id -> {
+      Integer parentProductId = parentIds.get(id);
+      return parentProductId == null || parentProductId == productId;
+    });
+  }
+
+  private static class Entry {
+
+    private final String response;
+    private final boolean hasChildren;
+    private final long time;
+
+    private Entry(String response, boolean hasChildren, long time) {
+      this.response = response;
+      this.hasChildren = hasChildren;
+      this.time = time;
+    }
+  }
+}
@@ -37,16 +37,19 @@ public class ProxyHurlStack extends HurlStack {
 
   public ProxyHurlStack(SharedPreferences sharedPrefs, boolean useTor) {
     super();
+    this.proxy = getProxy(sharedPrefs, useTor);
+  }
 
+  public static Proxy getProxy(SharedPreferences sharedPrefs, boolean useTor) {
     if (useTor) {
-      this.proxy = new Proxy(
+      return new Proxy(
           Proxy.Type.SOCKS,
           InetSocketAddress.createUnresolved("127.0.0.1", 9050)
       );
     } else {
       String host = sharedPrefs.getString(NETWORK.PROXY_HOST, SETTINGS_DEFAULT.NETWORK.PROXY_HOST);
       int port = sharedPrefs.getInt(NETWORK.PROXY_PORT, SETTINGS_DEFAULT.NETWORK.PROXY_PORT);
-      this.proxy = new Proxy(Type.HTTP, InetSocketAddress.createUnresolved(host, port));
+      return new Proxy(Type.HTTP, InetSocketAddress.createUnresolved(host, port));
     }
   }
 
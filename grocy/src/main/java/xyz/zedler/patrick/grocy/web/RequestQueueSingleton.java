@@ -22,10 +22,12 @@ package xyz.zedler.patrick.grocy.web;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Log;
 import androidx.preference.PreferenceManager;
 import com.android.volley.Cache;
 import com.android.volley.Network;
 import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.BaseHttpStack;
 import com.android.volley.toolbox.BasicNetwork;
 import com.android.volley.toolbox.DiskBasedCache;
 import com.android.volley.toolbox.HurlStack;
@@ -35,11 +37,15 @@ import java.net.Socket;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.NETWORK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.ssl.ikm.InteractiveKeyManager;
@@ -47,8 +53,11 @@ import xyz.zedler.patrick.grocy.ssl.mtm.MemorizingTrustManager;
 
 public class RequestQueueSingleton {
 
+  private final static String TAG = RequestQueueSingleton.class.getSimpleName();
+
   private static RequestQueueSingleton instance;
   private RequestQueue requestQueue;
+  private OkHttpClient okHttpClient;
   private static Context context;
 
   private RequestQueueSingleton(Context context) {
@@ -70,17 +79,31 @@ public class RequestQueueSingleton {
     return requestQueue;
   }
 
-  public void newRequestQueue() {
+  public synchronized void newRequestQueue() {
     //requestQueue = Volley.newRequestQueue(ctx);
 
-    Cache cache = new DiskBasedCache(context.getCacheDir(), 1024 * 1024);
-
     SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+    int cacheSize = sharedPrefs.getInt(NETWORK.CACHE_SIZE, SETTINGS_DEFAULT.NETWORK.CACHE_SIZE);
+    Cache cache = new DiskBasedCache(context.getCacheDir(), cacheSize * 1024 * 1024);
+
     boolean useTor = sharedPrefs.getBoolean(NETWORK.TOR, SETTINGS_DEFAULT.NETWORK.TOR);
     boolean useProxy = sharedPrefs.getBoolean(NETWORK.PROXY, SETTINGS_DEFAULT.NETWORK.PROXY);
 
-    HurlStack stack;
-    if (useTor || useProxy) {
+    boolean pooledConnections = sharedPrefs.getBoolean(
+        NETWORK.POOLED_CONNECTIONS, SETTINGS_DEFAULT.NETWORK.POOLED_CONNECTIONS
+    );
+
+    if (okHttpClient != null) {
+      // connections of the previous client may use an outdated proxy configuration
+      okHttpClient.connectionPool().evictAll();
+      okHttpClient = null;
+    }
+
+    BaseHttpStack stack;
+    if (pooledConnections) {
+      okHttpClient = buildOkHttpClient(sharedPrefs, useTor || useProxy, useTor);
+      stack = new OkHttpStack(okHttpClient);
+    } else if (useTor || useProxy) {
       stack = new ProxyHurlStack(sharedPrefs, useTor);
     } else {
       try {
@@ -94,9 +117,43 @@ public class RequestQueueSingleton {
     requestQueue.start();
   }
 
+  /**
+   * Client for requests which Volley can't handle, like uploads with a streamed body.
+   * If the request queue uses OkHttp as transport, its client and connection pool are shared.
+   */
+  public synchronized OkHttpClient getOkHttpClient() {
+    if (okHttpClient == null) {
+      SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
+      boolean useTor = sharedPrefs.getBoolean(NETWORK.TOR, SETTINGS_DEFAULT.NETWORK.TOR);
+      boolean useProxy = sharedPrefs.getBoolean(NETWORK.PROXY, SETTINGS_DEFAULT.NETWORK.PROXY);
+      okHttpClient = buildOkHttpClient(sharedPrefs, useTor || useProxy, useTor);
+    }
+    return okHttpClient;
+  }
+
+  private static OkHttpClient buildOkHttpClient(
+      SharedPreferences sharedPrefs,
+      boolean useProxy,
+      boolean useTor
+  ) {
+    OkHttpClient.Builder builder = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(6, 5, TimeUnit.MINUTES));
+    if (useProxy) {
+      builder.proxy(ProxyHurlStack.getProxy(sharedPrefs, useTor));
+    }
+    try {
+      TLSSocketFactory socketFactory = new TLSSocketFactory();
+      builder.sslSocketFactory(socketFactory, socketFactory.getTrustManager());
+    } catch (NoSuchAlgorithmException | KeyManagementException e) {
+      Log.e(TAG, "buildOkHttpClient: client certificates not available: " + e);
+    }
+    return builder.build();
+  }
+
   private static class TLSSocketFactory extends SSLSocketFactory {
 
     private final SSLSocketFactory internalSSLSocketFactory;
+    private final X509TrustManager trustManager;
 
     public TLSSocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
       SSLContext sslContext = SSLContext.getInstance("TLS");
@@ -104,10 +161,15 @@ public class RequestQueueSingleton {
 
       // Client certificates
       KeyManager keyManager = new InteractiveKeyManager(context);
-      TrustManager mtm = new MemorizingTrustManager(context);
+      MemorizingTrustManager mtm = new MemorizingTrustManager(context);
       sslContext.init(new KeyManager[]{keyManager}, new TrustManager[]{mtm}, new SecureRandom());
 
       internalSSLSocketFactory = sslContext.getSocketFactory();
+      trustManager = mtm;
+    }
+
+    public X509TrustManager getTrustManager() {
+      return trustManager;
     }
 
     @Override
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import com.android.volley.NetworkResponse;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Requests ask for gzip compressed responses themselves. Because of that, neither
+ * HttpURLConnection nor OkHttp decompress them transparently and the bodies are inflated
+ * here while they are read. Received and decoded bytes are counted for the debug log.
+ */
+public class ResponseBodyDecoder {
+
+  public final static String ACCEPT_ENCODING = "gzip";
+
+  private final static AtomicLong receivedBytes = new AtomicLong();
+  private final static AtomicLong decodedBytes = new AtomicLong();
+
+  public static void putAcceptEncoding(Map<String, String> requestHeaders) {
+    requestHeaders.put("Accept-Encoding", ACCEPT_ENCODING);
+  }
+
+  public static InputStream getInputStream(NetworkResponse response) throws IOException {
+    byte[] data = response.data != null ? response.data : new byte[0];
+    receivedBytes.addAndGet(data.length);
+    InputStream inputStream = new ByteArrayInputStream(data);
+    // empty bodies of e.g. 204 responses have no gzip header
+    if (data.length > 0 && isGzip(response.headers)) {
+      inputStream = new GZIPInputStream(inputStream);
+    }
+    return new CountingInputStream(inputStream);
+  }
+
+  public static Reader getReader(NetworkResponse response, String charset) throws IOException {
+    return new InputStreamReader(getInputStream(response), charset);
+  }
+
+  /**
+   * The characters are decoded while the body is inflated, so the inflated bytes are never
+   * held in memory as a whole. Only for listeners which need the string, like the org.json
+   * parser of Android, which can't read from a Reader. Large lists are decoded from
+   * getReader() or getInputStream() instead, see CustomJsonStreamRequest.
+   */
+  public static String getString(NetworkResponse response, String charset) throws IOException {
+    try (Reader reader = getReader(response, charset)) {
+      int length = response.data != null ? response.data.length : 0;
+      // gzip compressed JSON is usually inflated to several times its size
+      StringBuilder builder = new StringBuilder(isGzip(response.headers) ? length * 4 : length);
+      char[] buffer = new char[8192];
+      int read;
+      while ((read = reader.read(buffer)) != -1) {
+        builder.append(buffer, 0, read);
+      }
+      return builder.toString();
+    }
+  }
+
+  // returns the counted bytes since the last call, e.g. for one updateData() run
+  public static String getTransferStatsAndReset() {
+    long received = receivedBytes.getAndSet(0);
+    long decoded = decodedBytes.getAndSet(0);
+    return String.format(
+        Locale.ENGLISH,
+        "received %.1f KB, decoded %.1f KB (%.1fx)",
+        received / 1024f,
+        decoded / 1024f,
+        received > 0 ? (float) decoded / received : 0
+    );
+  }
+
+  private static boolean isGzip(Map<String, String> responseHeaders) {
+    if (responseHeaders == null) {
+      return false;
+    }
+    // response headers of Volley are case-insensitive
+    String encoding = responseHeaders.get("Content-Encoding");
+    return encoding != null && encoding.trim().equalsIgnoreCase("gzip");
+  }
+
+  private static class CountingInputStream extends FilterInputStream {
+
+    CountingInputStream(InputStream inputStream) {
+      super(inputStream);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int result = super.read();
+      if (result != -1) {
+        decodedBytes.incrementAndGet();
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int result = super.read(buffer, offset, length);
+      if (result > 0) {
+        decodedBytes.addAndGet(result);
+      }
+      return result;
+    }
+  }
+}
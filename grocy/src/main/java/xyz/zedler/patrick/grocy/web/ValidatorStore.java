@@ -0,0 +1,124 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.content.SharedPreferences;
+import androidx.annotation.Nullable;
+import java.util.Map;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+
+/**
+ * Remembers the ETag and Last-Modified validators of downloaded entity lists per URL, so the
+ * next download can be a conditional GET which the server answers with 304 Not Modified if
+ * the list did not change. Validators are stored with the caching related preferences and
+ * removed together with them.
+ */
+public class ValidatorStore {
+
+  private final static String ETAG = "etag_";
+  private final static String LAST_MODIFIED = "last_modified_";
+
+  private final SharedPreferences sharedPrefs;
+  // validators of the response which is delivered to its listener right now (main thread)
+  private Validators deliveredValidators;
+
+  public ValidatorStore(SharedPreferences sharedPrefs) {
+    this.sharedPrefs = sharedPrefs;
+  }
+
+  /**
+   * Called by requests around the delivery of their response, so the validators can be taken
+   * by DownloadHelper.storeObjects and stored after the database commit of the response.
+   * Stored earlier, a failed commit would cause 304 responses for data which is not in the db.
+   */
+  public void setDeliveredValidators(
+      @Nullable String url,
+      @Nullable Map<String, String> responseHeaders
+  ) {
+    deliveredValidators = url != null ? new Validators(url, responseHeaders) : null;
+  }
+
+  @Nullable
+  public Validators getDeliveredValidators() {
+    return deliveredValidators;
+  }
+
+  public static void putValidators(SharedPreferences.Editor editor, Validators validators) {
+    if (validators.etag != null) {
+      editor.putString(PREF.HTTP_VALIDATOR_PREFIX + ETAG + validators.url, validators.etag);
+    } else {
+      editor.remove(PREF.HTTP_VALIDATOR_PREFIX + ETAG + validators.url);
+    }
+    if (validators.lastModified != null) {
+      editor.putString(
+          PREF.HTTP_VALIDATOR_PREFIX + LAST_MODIFIED + validators.url, validators.lastModified
+      );
+    } else {
+      editor.remove(PREF.HTTP_VALIDATOR_PREFIX + LAST_MODIFIED + validators.url);
+    }
+  }
+
+  public void removeValidators(String url) {
+    sharedPrefs.edit()
+        .remove(PREF.HTTP_VALIDATOR_PREFIX + ETAG + url)
+        .remove(PREF.HTTP_VALIDATOR_PREFIX + LAST_MODIFIED + url)
+        .apply();
+  }
+
+  public void addConditionalHeaders(String url, Map<String, String> requestHeaders) {
+    String etag = sharedPrefs.getString(PREF.HTTP_VALIDATOR_PREFIX + ETAG + url, null);
+    String lastModified = sharedPrefs.getString(
+        PREF.HTTP_VALIDATOR_PREFIX + LAST_MODIFIED + url, null
+    );
+    if (etag != null) {
+      requestHeaders.put("If-None-Match", etag);
+    }
+    if (lastModified != null) {
+      requestHeaders.put("If-Modified-Since", lastModified);
+    }
+  }
+
+  public static void clear(SharedPreferences.Editor editor, SharedPreferences sharedPrefs) {
+    for (String key : sharedPrefs.getAll().keySet()) {
+      if (key.startsWith(PREF.HTTP_VALIDATOR_PREFIX)) {
+        editor.remove(key);
+      }
+    }
+  }
+
+  public static class Validators {
+
+    private final String url;
+    private final String etag;
+    private final String lastModified;
+
+    // response headers of Volley are case-insensitive
+    private Validators(String url, @Nullable Map<String, String> responseHeaders) {
+      this.url = url;
+      etag = responseHeaders != null ? responseHeaders.get("ETag") : null;
+      lastModified = responseHeaders != null ? responseHeaders.get("Last-Modified") : null;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import me.xdrop.fuzzywuzzy.FuzzySearch;
+import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
+import org.junit.Test;
+import xyz.zedler.patrick.grocy.model.Product;
+
+/**
+ * Compares searching 10k product names with the ProductSearchIndex with the former scan,
+ * which scored every name with FuzzySearch.extractTop. Checks that exact names and names
+ * with a typo are still found, although items sharing less than MIN_SHARED_TRIGRAMS_FRACTION
+ * of the query trigrams are not scored anymore. Run with ./gradlew :grocy:testDebugUnitTest
+ * --tests "*ProductSearchIndexBenchmarkTest", the times are printed.
+ */
+public class ProductSearchIndexBenchmarkTest {
+
+  private final static int PRODUCT_COUNT = 10000;
+  private final static int QUERY_COUNT = 200;
+  // the scan takes about a third of a second per query, so fewer queries are timed
+  private final static int TIMED_QUERY_COUNT = 20;
+  private final static int WARMUP_RUNS = 1;
+  private final static int MEASURED_RUNS = 2;
+  // like the search of the stock overview
+  private final static int LIMIT = 30;
+  private final static int CUTOFF = 70;
+  private final static String[] BRANDS = {
+      "Alnatura", "Bio", "Gut & Günstig", "Ja!", "Rewe", "Edeka", "Milsani", "Barilla",
+      "Dr. Oetker", "Knorr", "Maggi", "Nestlé", "Müller", "Weihenstephan", "Andechser"
+  };
+  private final static String[] PRODUCTS = {
+      "Vollmilch", "Joghurt", "Spaghetti", "Penne", "Basmatireis", "Haferflocken", "Müsli",
+      "Tomaten passiert", "Kidneybohnen", "Kichererbsen", "Olivenöl", "Sonnenblumenöl",
+      "Weizenmehl", "Zucker", "Salz", "Pfeffer", "Paprikapulver", "Kaffee", "Tee", "Kakao",
+      "Butter", "Käse", "Quark", "Sahne", "Eier", "Brot", "Toast", "Marmelade", "Honig",
+      "Erdnussbutter", "Apfelsaft", "Orangensaft", "Mineralwasser", "Cola", "Bier", "Wein"
+  };
+  private final static String[] VARIANTS = {
+      "", "natur", "fettarm", "laktosefrei", "vegan", "classic", "extra", "mild", "scharf",
+      "vollkorn", "gesalzen", "ungesalzen", "light", "family"
+  };
+  private final static String[] SIZES = {"100 g", "250 g", "500 g", "1 kg", "0,5 l", "1 l"};
+
+  @Test
+  public void search() {
+    Random random = new Random(42);
+    List<Product> products = createProducts(random);
+    ProductSearchIndex index = new ProductSearchIndex();
+    index.setProducts(products);
+
+    List<Product> targets = new ArrayList<>(QUERY_COUNT);
+    List<String> exactQueries = new ArrayList<>(QUERY_COUNT);
+    List<String> typoQueries = new ArrayList<>(QUERY_COUNT);
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      Product target = products.get(random.nextInt(products.size()));
+      targets.add(target);
+      exactQueries.add(target.getName());
+      typoQueries.add(withTypo(target.getName(), random));
+    }
+
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      Product target = targets.get(i);
+      // names are unique, so the exact name has the best possible score
+      assertTrue(
+          "exact name not found: " + target.getName(),
+          index.search(exactQueries.get(i), LIMIT, CUTOFF).contains(target)
+      );
+      // a typo only changes a few trigrams, far less than the pruning threshold allows
+      assertTrue(
+          "name with typo not found: " + typoQueries.get(i),
+          index.search(typoQueries.get(i), LIMIT, CUTOFF).contains(target)
+      );
+    }
+
+    List<String> timedQueries = typoQueries.subList(0, TIMED_QUERY_COUNT);
+    for (int i = 0; i < timedQueries.size(); i++) {
+      // the pruning must not lose results which the full scan finds
+      assertEquals(
+          searchByScan(products, timedQueries.get(i)).contains(targets.get(i)),
+          index.search(timedQueries.get(i), LIMIT, CUTOFF).contains(targets.get(i))
+      );
+    }
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      searchAllWithIndex(index, timedQueries);
+      searchAllByScan(products, timedQueries);
+    }
+    long indexNanos = 0;
+    long scanNanos = 0;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      searchAllWithIndex(index, timedQueries);
+      indexNanos += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      searchAllByScan(products, timedQueries);
+      scanNanos += System.nanoTime() - start;
+    }
+    System.out.printf(
+        Locale.ENGLISH,
+        "%d products, %d queries with a typo: index %.2f ms, scan %.2f ms, speedup %.1fx%n",
+        PRODUCT_COUNT, TIMED_QUERY_COUNT,
+        indexNanos / 1e6 / MEASURED_RUNS,
+        scanNanos / 1e6 / MEASURED_RUNS,
+        (double) scanNanos / indexNanos
+    );
+  }
+
+  private static int searchAllWithIndex(ProductSearchIndex index, List<String> queries) {
+    int resultCount = 0;
+    for (String query : queries) {
+      resultCount += index.search(query, LIMIT, CUTOFF).size();
+    }
+    return resultCount;
+  }
+
+  private static int searchAllByScan(List<Product> products, List<String> queries) {
+    int resultCount = 0;
+    for (String query : queries) {
+      resultCount += searchByScan(products, query).size();
+    }
+    return resultCount;
+  }
+
+  // the former search of the stock overview
+  private static List<Product> searchByScan(List<Product> products, String query) {
+    List<Product> results = new ArrayList<>(LIMIT);
+    List<BoundExtractedResult<Product>> extracted = FuzzySearch.extractTop(
+        query.toLowerCase(Locale.getDefault()),
+        products,
+        product -> product.getName().toLowerCase(Locale.getDefault()),
+        LIMIT,
+        CUTOFF
+    );
+    for (BoundExtractedResult<Product> result : extracted) {
+      results.add(result.getReferent());
+    }
+    return results;
+  }
+
+  // deletes, replaces or swaps one letter, like a typo in the search field
+  private static String withTypo(String name, Random random) {
+    StringBuilder builder = new StringBuilder(name);
+    int position = 1 + random.nextInt(name.length() - 2);
+    switch (random.nextInt(3)) {
+      case 0:
+        builder.deleteCharAt(position);
+        break;
+      case 1:
+        builder.setCharAt(position, (char) ('a' + random.nextInt(26)));
+        break;
+      default:
+        char c = builder.charAt(position);
+        builder.setCharAt(position, builder.charAt(position + 1));
+        builder.setCharAt(position + 1, c);
+    }
+    return builder.toString();
+  }
+
+  private static List<Product> createProducts(Random random) {
+    List<Product> products = new ArrayList<>(PRODUCT_COUNT);
+    HashSet<String> names = new HashSet<>();
+    int id = 1;
+    while (products.size() < PRODUCT_COUNT) {
+      String variant = VARIANTS[random.nextInt(VARIANTS.length)];
+      String name = BRANDS[random.nextInt(BRANDS.length)] + " "
+          + PRODUCTS[random.nextInt(PRODUCTS.length)]
+          + (variant.isEmpty() ? "" : " " + variant) + " "
+          + SIZES[random.nextInt(SIZES.length)];
+      if (names.contains(name)) {
+        // products have unique names in Grocy
+        name += " " + id;
+      }
+      names.add(name);
+      Product product = new Product();
+      product.setId(id++);
+      product.setName(name);
+      products.add(product);
+    }
+    return products;
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.QuantityUnit;
+import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
+
+/**
+ * Compares the unit factors of all products looked up through the QuantityUnitConversionIndex
+ * with the former lookup, which scanned the whole conversion list for every product. Run with
+ * ./gradlew :grocy:testDebugUnitTest --tests "*QuantityUnitConversionIndexBenchmarkTest",
+ * the times are printed.
+ */
+public class QuantityUnitConversionIndexBenchmarkTest {
+
+  private final static int PRODUCT_COUNT = 5000;
+  private final static int CONVERSION_COUNT = 20000;
+  private final static int UNIT_COUNT = 50;
+  private final static int WARMUP_RUNS = 2;
+  private final static int MEASURED_RUNS = 3;
+
+  @Test
+  public void unitFactors_resolved() {
+    benchmark(true);
+  }
+
+  @Test
+  public void unitFactors_notResolved() {
+    benchmark(false);
+  }
+
+  private void benchmark(boolean useResolvedConversions) {
+    Random random = new Random(42);
+    HashMap<Integer, QuantityUnit> unitHashMap = createUnits();
+    List<Product> products = createProducts(random);
+    List<QuantityUnitConversionResolved> conversions
+        = createConversions(random, products, useResolvedConversions);
+
+    QuantityUnitConversionIndex index = new QuantityUnitConversionIndex(
+        unitHashMap, conversions, useResolvedConversions
+    );
+    for (Product product : products) {
+      assertEquals(
+          getUnitFactorsByScan(unitHashMap, conversions, product, useResolvedConversions),
+          index.getUnitFactors(product)
+      );
+    }
+
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      lookUpWithIndex(unitHashMap, conversions, products, useResolvedConversions);
+      lookUpByScan(unitHashMap, conversions, products, useResolvedConversions);
+    }
+    long indexNanos = 0;
+    long scanNanos = 0;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      long start = System.nanoTime();
+      lookUpWithIndex(unitHashMap, conversions, products, useResolvedConversions);
+      indexNanos += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      lookUpByScan(unitHashMap, conversions, products, useResolvedConversions);
+      scanNanos += System.nanoTime() - start;
+    }
+    System.out.printf(
+        Locale.ENGLISH,
+        "resolved %b, %d products, %d conversions: index %.2f ms (including build), "
+            + "scan %.2f ms, speedup %.1fx%n",
+        useResolvedConversions, PRODUCT_COUNT, conversions.size(),
+        indexNanos / 1e6 / MEASURED_RUNS,
+        scanNanos / 1e6 / MEASURED_RUNS,
+        (double) scanNanos / indexNanos
+    );
+  }
+
+  // like a screen after a sync: the index is built once, then all products are looked up
+  private static int lookUpWithIndex(
+      HashMap<Integer, QuantityUnit> unitHashMap,
+      List<QuantityUnitConversionResolved> conversions,
+      List<Product> products,
+      boolean useResolvedConversions
+  ) {
+    QuantityUnitConversionIndex index = new QuantityUnitConversionIndex(
+        unitHashMap, conversions, useResolvedConversions
+    );
+    int factorCount = 0;
+    for (Product product : products) {
+      factorCount += index.getUnitFactors(product).size();
+    }
+    return factorCount;
+  }
+
+  private static int lookUpByScan(
+      HashMap<Integer, QuantityUnit> unitHashMap,
+      List<QuantityUnitConversionResolved> conversions,
+      List<Product> products,
+      boolean useResolvedConversions
+  ) {
+    int factorCount = 0;
+    for (Product product : products) {
+      factorCount += getUnitFactorsByScan(
+          unitHashMap, conversions, product, useResolvedConversions
+      ).size();
+    }
+    return factorCount;
+  }
+
+  // the former QuantityUnitConversionUtil.getUnitFactors
+  private static HashMap<QuantityUnit, Double> getUnitFactorsByScan(
+      HashMap<Integer, QuantityUnit> unitHashMap,
+      List<QuantityUnitConversionResolved> conversions,
+      Product product,
+      boolean useResolvedConversions
+  ) {
+    HashMap<QuantityUnit, Double> unitFactors = new HashMap<>();
+    if (useResolvedConversions) {
+      for (QuantityUnitConversionResolved conversion : conversions) {
+        if (conversion.getProductIdInt() != product.getId()) continue;
+        if (conversion.getFromQuId() != product.getQuIdStockInt()) continue;
+        QuantityUnit unit = unitHashMap.get(conversion.getToQuId());
+        if (unit == null || unitFactors.containsKey(unit)) continue;
+        unitFactors.put(unit, conversion.getFactor());
+      }
+      return unitFactors;
+    }
+    QuantityUnit stockUnit = unitHashMap.get(product.getQuIdStockInt());
+    QuantityUnit purchaseUnit = unitHashMap.get(product.getQuIdPurchaseInt());
+    if (stockUnit == null || purchaseUnit == null) {
+      return unitFactors;
+    }
+    unitFactors.put(stockUnit, (double) 1);
+    if (!unitFactors.containsKey(purchaseUnit)) {
+      unitFactors.put(purchaseUnit, 1 / product.getQuFactorPurchaseToStockDouble());
+    }
+    for (QuantityUnitConversionResolved conversion : conversions) {
+      if (!NumUtil.isStringInt(conversion.getProductId())
+          || product.getId() != conversion.getProductIdInt()) {
+        continue;
+      }
+      QuantityUnit unit = unitHashMap.get(conversion.getToQuId());
+      if (unit == null || unitFactors.containsKey(unit)) continue;
+      unitFactors.put(unit, conversion.getFactor());
+    }
+    for (QuantityUnitConversionResolved conversion : conversions) {
+      if (NumUtil.isStringInt(conversion.getProductId())
+          || stockUnit.getId() != conversion.getFromQuId()) {
+        continue;
+      }
+      QuantityUnit unit = unitHashMap.get(conversion.getToQuId());
+      if (unit == null || unitFactors.containsKey(unit)) continue;
+      unitFactors.put(unit, conversion.getFactor());
+    }
+    return unitFactors;
+  }
+
+  private static HashMap<Integer, QuantityUnit> createUnits() {
+    HashMap<Integer, QuantityUnit> unitHashMap = new HashMap<>();
+    for (int id = 1; id <= UNIT_COUNT; id++) {
+      unitHashMap.put(id, new QuantityUnit(id, "Unit " + id));
+    }
+    return unitHashMap;
+  }
+
+  private static List<Product> createProducts(Random random) {
+    List<Product> products = new ArrayList<>(PRODUCT_COUNT);
+    for (int id = 1; id <= PRODUCT_COUNT; id++) {
+      Product product = new Product();
+      product.setId(id);
+      product.setName("Product " + id);
+      product.setQuIdStock(1 + random.nextInt(UNIT_COUNT));
+      product.setQuIdPurchase(1 + random.nextInt(UNIT_COUNT));
+      product.setQuFactorPurchaseToStock(String.valueOf(1 + random.nextInt(10)));
+      products.add(product);
+    }
+    return products;
+  }
+
+  /**
+   * Resolved conversions are all product specific, half of them from the stock unit.
+   * Not resolved conversions are three quarters product specific and one quarter standard.
+   */
+  private static List<QuantityUnitConversionResolved> createConversions(
+      Random random,
+      List<Product> products,
+      boolean useResolvedConversions
+  ) {
+    List<QuantityUnitConversionResolved> conversions = new ArrayList<>(CONVERSION_COUNT);
+    for (int i = 0; i < CONVERSION_COUNT; i++) {
+      Product product = products.get(random.nextInt(products.size()));
+      QuantityUnitConversionResolved conversion = new QuantityUnitConversionResolved();
+      conversion.setId(i + 1);
+      conversion.setToQuId(1 + random.nextInt(UNIT_COUNT));
+      conversion.setFactor(1 + random.nextInt(1000) / 10.0);
+      if (useResolvedConversions || i % 4 != 0) {
+        conversion.setProductId(String.valueOf(product.getId()));
+        conversion.setFromQuId(random.nextBoolean()
+            ? product.getQuIdStockInt() : 1 + random.nextInt(UNIT_COUNT));
+      } else {
+        conversion.setFromQuId(1 + random.nextInt(UNIT_COUNT));
+      }
+      conversions.add(conversion);
+    }
+    return conversions;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2024 by Patrick Zedler and Dominic Zedler
+ * Copyright (c) 2024-2025 by Patrick Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Compares sorting names by precomputed collation keys with the former comparator, which
+ * got the collator and lowercased both names in every comparison. Run with
+ * ./gradlew :grocy:testDebugUnitTest --tests "*SortUtilBenchmarkTest", the times are printed.
+ */
+public class SortUtilBenchmarkTest {
+
+  private final static int NAME_COUNT = 10000;
+  private final static int WARMUP_RUNS = 5;
+  private final static int MEASURED_RUNS = 10;
+  private final static String[] SYLLABLES = {
+      "Ap", "fel", "Bir", "ne", "Kä", "se", "Öl", "mehl", "Zu", "cker", "Müs", "li", "ßen",
+      "To", "ma", "te", "Ei", "er", "Brot", "Sah", "ne", "é", "Ça", "fé"
+  };
+
+  @Test
+  public void sortByCollationKeys_default() {
+    benchmark(Locale.ENGLISH);
+  }
+
+  @Test
+  public void sortByCollationKeys_german() {
+    benchmark(Locale.GERMAN);
+  }
+
+  private void benchmark(Locale locale) {
+    List<String> names = createNames();
+
+    List<String> sortedByKeys = new ArrayList<>(names);
+    sortByKeys(sortedByKeys, locale);
+    List<String> sortedByComparator = new ArrayList<>(names);
+    sortByComparator(sortedByComparator, locale);
+    assertEquals(sortedByComparator, sortedByKeys);
+
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      sortByKeys(new ArrayList<>(names), locale);
+      sortByComparator(new ArrayList<>(names), locale);
+    }
+    long keysNanos = 0;
+    long comparatorNanos = 0;
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      List<String> copy = new ArrayList<>(names);
+      long start = System.nanoTime();
+      sortByKeys(copy, locale);
+      keysNanos += System.nanoTime() - start;
+
+      copy = new ArrayList<>(names);
+      start = System.nanoTime();
+      sortByComparator(copy, locale);
+      comparatorNanos += System.nanoTime() - start;
+    }
+    System.out.printf(
+        Locale.ENGLISH,
+        "%s, %d names: collation keys %.2f ms, comparator %.2f ms, speedup %.1fx%n",
+        locale, NAME_COUNT,
+        keysNanos / 1e6 / MEASURED_RUNS,
+        comparatorNanos / 1e6 / MEASURED_RUNS,
+        (double) comparatorNanos / keysNanos
+    );
+  }
+
+  private static void sortByKeys(List<String> names, Locale locale) {
+    Collator collator = Collator.getInstance(locale);
+    SortUtil.sortByKey(names, name -> collator.getCollationKey(name.toLowerCase()), true);
+  }
+
+  private static void sortByComparator(List<String> names, Locale locale) {
+    Collections.sort(names, (name1, name2) -> Collator.getInstance(locale).compare(
+        name1.toLowerCase(), name2.toLowerCase()
+    ));
+  }
+
+  private static List<String> createNames() {
+    Random random = new Random(42);
+    List<String> names = new ArrayList<>(NAME_COUNT);
+    for (int i = 0; i < NAME_COUNT; i++) {
+      StringBuilder name = new StringBuilder();
+      int syllableCount = 2 + random.nextInt(4);
+      for (int j = 0; j < syllableCount; j++) {
+        name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+      }
+      name.append(' ').append(random.nextInt(1000));
+      names.add(name.toString());
+    }
+    return names;
+  }
+}